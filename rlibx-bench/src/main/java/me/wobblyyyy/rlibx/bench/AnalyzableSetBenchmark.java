@@ -0,0 +1,84 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.math.AnalyzableSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link AnalyzableSet#add(double)}, with and without a
+ * history.
+ *
+ * <p>
+ * The set is re-created before every iteration, so a set that keeps a
+ * history doesn't grow for the entire run.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AnalyzableSetBenchmark {
+    @Param({"false", "true"})
+    public boolean keepHistory;
+
+    private AnalyzableSet set;
+    private double value;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        set = new AnalyzableSet(keepHistory);
+    }
+
+    @Benchmark
+    public double add() {
+        value += 0.25;
+
+        set.add(value);
+
+        return set.getAverage();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run rlibx's benchmarks.
+ *
+ * <p>
+ * Every benchmark is run with JMH's GC profiler, which reports how many
+ * bytes each operation allocates (the {@code gc.alloc.rate.norm} metric),
+ * as well as how long it takes. Results are written as JSON, so you can
+ * save the results from one version of rlibx and compare them to the
+ * results from the next.
+ * </p>
+ *
+ * <p>
+ * Usage: {@code BenchmarkRunner [output file] [benchmark patterns...]}. If
+ * no output file is given, results are written to {@link #DEFAULT_OUTPUT}.
+ * If no patterns are given, every benchmark in this package is run.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class BenchmarkRunner {
+    /**
+     * The default file results are written to.
+     */
+    public static final String DEFAULT_OUTPUT = "rlibx-bench.json";
+
+    /**
+     * Run the benchmarks.
+     *
+     * @param args the output file, followed by any benchmark patterns.
+     * @throws RunnerException if JMH fails to run the benchmarks.
+     */
+    public static void main(String[] args) throws RunnerException {
+        String output = args.length > 0 ? args[0] : DEFAULT_OUTPUT;
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(output);
+
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) {
+                options.include(args[i]);
+            }
+        } else {
+            options.include(
+                    BenchmarkRunner.class.getPackageName() + "\\..*"
+            );
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.xml.config.ConfigLoader;
+import me.wobblyyyy.rlibx.xml.config.RobotConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link ConfigLoader#loadConfig(String)}.
+ *
+ * <p>
+ * The configuration that's loaded is the example robot configuration that
+ * ships with rlibx. It's loaded both from a temporary file and straight
+ * from memory, so the cost of the file system can be separated from the
+ * cost of actually parsing the XML.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigLoaderBenchmark {
+    private static final String RESOURCE = "/RobotConfiguration.xml";
+
+    private byte[] contents;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream stream =
+                     ConfigLoader.class.getResourceAsStream(RESOURCE)) {
+            if (stream == null) {
+                throw new IOException(
+                        "Couldn't find " + RESOURCE + " on the classpath."
+                );
+            }
+
+            contents = stream.readAllBytes();
+        }
+
+        file = Files.createTempFile("rlibx-bench", ".xml");
+        Files.write(file, contents);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public RobotConfig loadFromFile() throws JAXBException {
+        return ConfigLoader.loadConfig(file.toString());
+    }
+
+    @Benchmark
+    public RobotConfig loadFromMemory() throws JAXBException {
+        return ConfigLoader.loadConfig(new ByteArrayInputStream(contents));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.configuration.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Configuration#getDouble(String)} and
+ * {@link Configuration#getInt(String)}.
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigurationBenchmark {
+    private static final String DOUBLE_KEY = "wheelDiameter";
+    private static final String INT_KEY = "encoderCpr";
+
+    private Configuration configuration;
+
+    @Setup
+    public void setup() {
+        configuration = new Configuration(new HashMap<>());
+        configuration.add(DOUBLE_KEY, 3.75);
+        configuration.add(INT_KEY, 1024);
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return configuration.getDouble(DOUBLE_KEY);
+    }
+
+    @Benchmark
+    public int getInt() {
+        return configuration.getInt(INT_KEY);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.input.controllers.Bindings;
+import me.wobblyyyy.rlibx.input.controllers.ControllerEncoder;
+import me.wobblyyyy.rlibx.input.controllers.ControllerState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link ControllerEncoder}.
+ *
+ * <p>
+ * Both the allocating methods (which create a new array or state every
+ * call) and the non-allocating methods (which write into an existing one)
+ * are benchmarked, so the GC profiler can show the difference.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerEncoderBenchmark {
+    private ControllerState state;
+    private ControllerState decoded;
+    private double[] encoded;
+    private double[] channels;
+
+    @Setup
+    public void setup() {
+        state = new ControllerState();
+        state.setA(true);
+        state.setLsx(0.25);
+        state.setLsy(-0.5);
+        state.setRt(0.9);
+
+        decoded = new ControllerState();
+        encoded = ControllerEncoder.encode(state);
+        channels = new double[Bindings.CHANNEL_COUNT];
+    }
+
+    @Benchmark
+    public double[] encode() {
+        return ControllerEncoder.encode(state);
+    }
+
+    @Benchmark
+    public double[] encodeInto() {
+        ControllerEncoder.encode(state, channels);
+
+        return channels;
+    }
+
+    @Benchmark
+    public ControllerState decode() {
+        return ControllerEncoder.decode(encoded);
+    }
+
+    @Benchmark
+    public ControllerState decodeInto() {
+        ControllerEncoder.decode(encoded, decoded);
+
+        return decoded;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.drive.DrivetrainMeccanum;
+import me.wobblyyyy.rlibx.drive.DrivetrainSwerve;
+import me.wobblyyyy.rlibx.drive.SwerveKinematics;
+import me.wobblyyyy.rlibx.hardware.encoder.Encoder;
+import me.wobblyyyy.rlibx.hardware.gyro.Gyroscope;
+import me.wobblyyyy.rlibx.hardware.motor.Motor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for an entire drivetrain update - kinematics, desaturation,
+ * and setting power to each of the motors.
+ *
+ * <p>
+ * These should report zero bytes allocated per operation when run with the
+ * GC profiler.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DrivetrainBenchmark {
+    private static final int SAMPLE_COUNT = 1 << 12;
+
+    private final double[] samples = new double[SAMPLE_COUNT];
+    private MemoryGyroscopeCore gyroscope;
+    private DrivetrainMeccanum robotCentric;
+    private DrivetrainMeccanum fieldCentric;
+    private MemoryEncoderCore[] encoders;
+    private DrivetrainSwerve swerve;
+    private int index;
+
+    /**
+     * Create a user-controlled motor that doesn't control any hardware.
+     *
+     * @return a new motor.
+     */
+    static Motor createMotor() {
+        Motor motor = new Motor(new MemoryMotorCore());
+
+        motor.enableUserControl();
+        motor.init();
+
+        return motor;
+    }
+
+    @Setup
+    public void setup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            samples[i] = random.nextDouble(-1, 1);
+        }
+
+        gyroscope = new MemoryGyroscopeCore();
+
+        robotCentric = new DrivetrainMeccanum(
+                createMotor(),
+                createMotor(),
+                createMotor(),
+                createMotor()
+        );
+        fieldCentric = new DrivetrainMeccanum(
+                createMotor(),
+                createMotor(),
+                createMotor(),
+                createMotor(),
+                new Gyroscope(gyroscope)
+        );
+
+        Motor[] driveMotors = new Motor[4];
+        Motor[] turnMotors = new Motor[4];
+        Encoder[] turnEncoders = new Encoder[4];
+        encoders = new MemoryEncoderCore[4];
+
+        for (int i = 0; i < 4; i++) {
+            driveMotors[i] = createMotor();
+            turnMotors[i] = createMotor();
+            encoders[i] = new MemoryEncoderCore(4096);
+            turnEncoders[i] = new Encoder(encoders[i]);
+            turnEncoders[i].init();
+        }
+
+        swerve = new DrivetrainSwerve(
+                driveMotors,
+                turnMotors,
+                turnEncoders,
+                SwerveKinematics.rectangle(0.5, 0.6),
+                new Gyroscope(gyroscope)
+        );
+    }
+
+    /**
+     * Get the next sample.
+     *
+     * @return the next sample, between -1 and 1.
+     */
+    private double next() {
+        return samples[index++ & (SAMPLE_COUNT - 1)];
+    }
+
+    @Benchmark
+    public double meccanumRobotCentric() {
+        robotCentric.drive(next(), next(), next());
+
+        return robotCentric.getPowers().get(0);
+    }
+
+    @Benchmark
+    public double meccanumFieldCentric() {
+        gyroscope.setHeading(next() * 180);
+        fieldCentric.drive(next(), next(), next());
+
+        return fieldCentric.getPowers().get(0);
+    }
+
+    @Benchmark
+    public double swerveFieldCentric() {
+        gyroscope.setHeading(next() * 180);
+
+        for (MemoryEncoderCore encoder : encoders) {
+            encoder.setCount((int) (next() * 2048));
+        }
+
+        swerve.drive(next(), next(), next(), 0.004);
+
+        return swerve.getKinematics().getSpeed(0);
+    }
+}
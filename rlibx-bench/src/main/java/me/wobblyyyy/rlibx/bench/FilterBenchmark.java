@@ -0,0 +1,151 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.math.filter.Debouncer;
+import me.wobblyyyy.rlibx.math.filter.KalmanFilter;
+import me.wobblyyyy.rlibx.math.filter.KalmanFilter2D;
+import me.wobblyyyy.rlibx.math.filter.LowPassFilter;
+import me.wobblyyyy.rlibx.math.filter.MedianFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-sample benchmarks for the filters in
+ * {@link me.wobblyyyy.rlibx.math.filter}.
+ *
+ * <p>
+ * Samples are noisy values read from a pre-generated array, so the filters
+ * see something that looks like a real sensor instead of a constant. The
+ * median filter is run with a few different window sizes, to show how its
+ * cost grows with the window.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FilterBenchmark {
+    private static final int SAMPLE_COUNT = 1 << 12;
+    private static final double ELAPSED = 0.01;
+
+    /**
+     * The median filter gets its own state, so the other filters aren't
+     * run once for every window size.
+     */
+    @State(Scope.Thread)
+    public static class MedianState {
+        @Param({"5", "25", "101"})
+        public int size;
+
+        private MedianFilter median;
+
+        @Setup
+        public void setup() {
+            median = new MedianFilter(size);
+        }
+    }
+
+    private double[] samples;
+    private boolean[] switches;
+    private int index;
+
+    private LowPassFilter lowPass;
+    private KalmanFilter kalman;
+    private KalmanFilter2D kalman2D;
+    private Debouncer debouncer;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+
+        samples = new double[SAMPLE_COUNT];
+        switches = new boolean[SAMPLE_COUNT];
+
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            samples[i] = i * 0.05 + random.nextGaussian();
+            switches[i] = random.nextInt(8) != 0;
+        }
+
+        lowPass = new LowPassFilter(0.1);
+        kalman = new KalmanFilter(0.01, 1);
+        kalman2D = new KalmanFilter2D(10, 1);
+        debouncer = new Debouncer(0.05);
+    }
+
+    /**
+     * Get the next sample index.
+     *
+     * @return the next sample index.
+     */
+    private int next() {
+        return index++ & (SAMPLE_COUNT - 1);
+    }
+
+    @Benchmark
+    public double lowPass() {
+        return lowPass.calculate(samples[next()], ELAPSED);
+    }
+
+    @Benchmark
+    public double median(MedianState state) {
+        return state.median.calculate(samples[next()]);
+    }
+
+    @Benchmark
+    public double kalman() {
+        return kalman.calculate(samples[next()]);
+    }
+
+    @Benchmark
+    public double kalman2D() {
+        return kalman2D.calculate(samples[next()], ELAPSED);
+    }
+
+    @Benchmark
+    public boolean debouncer() {
+        return debouncer.calculate(switches[next()], ELAPSED);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.drive.planning.DistanceField;
+import me.wobblyyyy.rlibx.drive.planning.GridPath;
+import me.wobblyyyy.rlibx.drive.planning.GridPlanner;
+import me.wobblyyyy.rlibx.drive.planning.OccupancyGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for planning across a full field.
+ *
+ * <p>
+ * The field is 16.54 by 8.21 meters at 2 centimeter resolution, which is
+ * roughly 340,000 cells. It's got two long walls the robot has to weave
+ * around, a big round obstacle, and a handful of smaller ones scattered
+ * around. The robot's radius is 40 centimeters.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GridPlannerBenchmark {
+    private static final double RADIUS = 0.4;
+
+    private final GridPath path = new GridPath();
+    private DistanceField field;
+    private GridPlanner planner;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        OccupancyGrid grid = OccupancyGrid.ofSize(16.54, 8.21, 0.02);
+
+        grid.setRectangle(4, 0, 4.3, 6, true);
+        grid.setRectangle(8, 2, 8.3, 8.21, true);
+        grid.setCircle(12, 4, 1, true);
+
+        for (int i = 0; i < 30; i++) {
+            grid.setCircle(
+                    2 + random.nextDouble() * 13,
+                    random.nextDouble() * 8,
+                    0.15,
+                    true
+            );
+        }
+
+        field = new DistanceField(grid);
+        planner = new GridPlanner(field);
+    }
+
+    @Benchmark
+    public boolean plan() {
+        return planner.plan(1, 1, 15.5, 7, RADIUS, path);
+    }
+
+    @Benchmark
+    public DistanceField distanceField() {
+        field.compute();
+
+        return field;
+    }
+}
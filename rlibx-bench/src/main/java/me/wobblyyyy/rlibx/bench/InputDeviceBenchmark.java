@@ -0,0 +1,99 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.input.InputDevice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link InputDevice}.
+ *
+ * <p>
+ * Input devices store everything as objects in a map, so setting a
+ * primitive value boxes it. The GC profiler's allocation rate shows how
+ * much that costs.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InputDeviceBenchmark {
+    private static final String DOUBLE_KEY = "lsx";
+    private static final String INT_KEY = "mode";
+    private static final String BOOLEAN_KEY = "a";
+
+    private InputDevice device;
+    private double value;
+
+    @Setup
+    public void setup() {
+        device = new InputDevice();
+        device.set(DOUBLE_KEY, 0.5);
+        device.set(INT_KEY, 3);
+        device.set(BOOLEAN_KEY, true);
+    }
+
+    @Benchmark
+    public void setDouble() {
+        value += 0.001;
+
+        device.set(DOUBLE_KEY, value);
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return device.getDouble(DOUBLE_KEY);
+    }
+
+    @Benchmark
+    public int getInt() {
+        return device.getInt(INT_KEY);
+    }
+
+    @Benchmark
+    public boolean getBoolean() {
+        return device.getBoolean(BOOLEAN_KEY);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.math.InterpolatingTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link InterpolatingTable}, compared against the
+ * {@code TreeMap<Double, Double>} lookup tables it's meant to replace.
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InterpolatingTableBenchmark {
+    private static final int SAMPLE_COUNT = 1 << 12;
+
+    @Param({"8", "64"})
+    public int size;
+
+    private TreeMap<Double, Double> map;
+    private InterpolatingTable linear;
+    private InterpolatingTable cubic;
+    private double[] keys;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+
+        map = new TreeMap<>();
+
+        for (int i = 0; i < size; i++) {
+            map.put((double) i, Math.sqrt(i) * 1000);
+        }
+
+        linear = InterpolatingTable.of(
+                map,
+                InterpolatingTable.Interpolation.LINEAR
+        );
+        cubic = InterpolatingTable.of(
+                map,
+                InterpolatingTable.Interpolation.CUBIC
+        );
+
+        keys = new double[SAMPLE_COUNT];
+
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            keys[i] = random.nextDouble() * (size - 1);
+        }
+    }
+
+    /**
+     * Get the next key to look up.
+     *
+     * @return the next key.
+     */
+    private double next() {
+        return keys[index++ & (SAMPLE_COUNT - 1)];
+    }
+
+    @Benchmark
+    public double treeMap() {
+        double key = next();
+        Map.Entry<Double, Double> floor = map.floorEntry(key);
+        Map.Entry<Double, Double> ceiling = map.ceilingEntry(key);
+
+        if (floor == null) return ceiling.getValue();
+        if (ceiling == null || floor == ceiling) return floor.getValue();
+
+        double t = (key - floor.getKey()) /
+                (ceiling.getKey() - floor.getKey());
+
+        return floor.getValue() +
+                (ceiling.getValue() - floor.getValue()) * t;
+    }
+
+    @Benchmark
+    public double linear() {
+        return linear.get(next());
+    }
+
+    @Benchmark
+    public double cubic() {
+        return cubic.get(next());
+    }
+}
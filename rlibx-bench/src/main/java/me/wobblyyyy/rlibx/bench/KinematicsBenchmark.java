@@ -0,0 +1,119 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.drive.Kinematics;
+import me.wobblyyyy.rlibx.drive.MatrixKinematics;
+import me.wobblyyyy.rlibx.drive.PowerTank;
+import me.wobblyyyy.rlibx.drive.TranslationTank;
+import me.wobblyyyy.rlibx.drive.WheelPowers;
+import me.wobblyyyy.rlibx.math.Trig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Kinematics}.
+ *
+ * @author Colin Robertson
+ * @version 1.1.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KinematicsBenchmark {
+    private double x1;
+    private double x2;
+    private TranslationTank translation;
+    private WheelPowers powers;
+    private MatrixKinematics hDrive;
+    private WheelPowers hDrivePowers;
+    private double heading;
+
+    @Setup
+    public void setup() {
+        x1 = 0.75;
+        x2 = -0.25;
+        translation = new TranslationTank(x1, x2);
+        powers = new WheelPowers(4);
+        hDrive = MatrixKinematics.hDrive(0.5, 0.6);
+        hDrivePowers = new WheelPowers(hDrive.getCount());
+    }
+
+    @Benchmark
+    public PowerTank calculateTank() {
+        return Kinematics.calculateTank(translation);
+    }
+
+    @Benchmark
+    public PowerTank translateAndCalculateTank() {
+        return Kinematics.calculateTank(new TranslationTank(x1, x2));
+    }
+
+    @Benchmark
+    public double calculateMeccanum() {
+        Kinematics.calculateMeccanum(x1, x2, 0.5, powers);
+
+        return powers.get(0);
+    }
+
+    @Benchmark
+    public double calculateMeccanumFieldCentric() {
+        heading = (heading + 1) % 360;
+
+        Kinematics.calculateMeccanum(
+                x1,
+                x2,
+                0.5,
+                heading,
+                Trig.POLYNOMIAL,
+                powers
+        );
+
+        return powers.get(0);
+    }
+
+    @Benchmark
+    public double calculateMatrixHDrive() {
+        hDrive.calculate(x1, x2, 0.5, hDrivePowers);
+
+        return hDrivePowers.get(0);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.math.linalg.CholeskyDecomposition;
+import me.wobblyyyy.rlibx.math.linalg.LeastSquares;
+import me.wobblyyyy.rlibx.math.linalg.LuDecomposition;
+import me.wobblyyyy.rlibx.math.linalg.Matrix;
+import me.wobblyyyy.rlibx.math.linalg.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link me.wobblyyyy.rlibx.math.linalg}. The GC profiler
+ * should report zero bytes allocated per operation for every one of these.
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinearAlgebraBenchmark {
+    @Param({"3", "6"})
+    public int size;
+
+    private Matrix a;
+    private Matrix b;
+    private Matrix product;
+    private Matrix spd;
+    private Matrix inverse;
+    private Matrix tall;
+    private Vector x;
+    private Vector y;
+    private Vector z;
+    private LuDecomposition lu;
+    private CholeskyDecomposition cholesky;
+    private LeastSquares leastSquares;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+
+        a = new Matrix(size, size);
+        b = new Matrix(size, size);
+        product = new Matrix(size, size);
+        spd = new Matrix(size, size);
+        inverse = new Matrix(size, size);
+        tall = new Matrix(size * 2, size);
+        x = new Vector(size);
+        y = new Vector(size);
+        z = new Vector(size * 2);
+        lu = new LuDecomposition(size);
+        cholesky = new CholeskyDecomposition(size);
+        leastSquares = new LeastSquares(size * 2, size);
+
+        for (int i = 0; i < size; i++) {
+            x.set(i, random.nextGaussian());
+
+            for (int j = 0; j < size; j++) {
+                a.set(i, j, random.nextGaussian());
+                b.set(i, j, random.nextGaussian());
+            }
+        }
+
+        for (int i = 0; i < size * 2; i++) {
+            z.set(i, random.nextGaussian());
+
+            for (int j = 0; j < size; j++) {
+                tall.set(i, j, random.nextGaussian());
+            }
+        }
+
+        a.multiplyTransposed(a, spd);
+
+        for (int i = 0; i < size; i++) spd.set(i, i, spd.get(i, i) + 1);
+    }
+
+    @Benchmark
+    public Matrix multiply() {
+        return a.multiply(b, product);
+    }
+
+    @Benchmark
+    public Vector multiplyVector() {
+        return a.multiply(x, y);
+    }
+
+    @Benchmark
+    public Matrix transpose() {
+        return a.transpose(product);
+    }
+
+    @Benchmark
+    public Matrix luInvert() {
+        lu.decompose(a);
+
+        return lu.invert(inverse);
+    }
+
+    @Benchmark
+    public Vector luSolve() {
+        lu.decompose(a);
+
+        return lu.solve(x, y);
+    }
+
+    @Benchmark
+    public Matrix choleskyInvert() {
+        cholesky.decompose(spd);
+
+        return cholesky.invert(inverse);
+    }
+
+    @Benchmark
+    public Vector leastSquares() {
+        leastSquares.factor(tall);
+
+        return leastSquares.solve(z, y);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.interfaces.EncoderCore;
+
+/**
+ * An encoder core that doesn't read any hardware at all - it just reports
+ * whatever count it was last given.
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class MemoryEncoderCore implements EncoderCore {
+    /**
+     * The encoder's counts per rotation.
+     */
+    private final double cpr;
+
+    /**
+     * The encoder's count.
+     */
+    private int count;
+
+    /**
+     * Create a new memory encoder core.
+     *
+     * @param cpr the encoder's counts per rotation.
+     */
+    public MemoryEncoderCore(double cpr) {
+        this.cpr = cpr;
+    }
+
+    /**
+     * Initialize the component. There's nothing to initialize.
+     */
+    @Override
+    public void init() {
+
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public double getCpr() {
+        return cpr;
+    }
+
+    /**
+     * Set the count the encoder reports.
+     *
+     * @param count the encoder's new count.
+     */
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
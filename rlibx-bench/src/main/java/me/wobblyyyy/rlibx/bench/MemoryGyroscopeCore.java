@@ -0,0 +1,81 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.interfaces.GyroscopeCore;
+
+/**
+ * A gyroscope core that doesn't read any hardware at all - it just reports
+ * whatever heading it was last given.
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class MemoryGyroscopeCore implements GyroscopeCore {
+    /**
+     * The gyroscope's heading, in degrees.
+     */
+    private double heading;
+
+    /**
+     * Initialize the component. There's nothing to initialize.
+     */
+    @Override
+    public void init() {
+
+    }
+
+    @Override
+    public double getX() {
+        return 0;
+    }
+
+    @Override
+    public double getY() {
+        return 0;
+    }
+
+    @Override
+    public double getVelocity() {
+        return 0;
+    }
+
+    @Override
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * Set the heading the gyroscope reports.
+     *
+     * @param heading the gyroscope's new heading, in degrees.
+     */
+    public void setHeading(double heading) {
+        this.heading = heading;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.interfaces.MotorCore;
+
+/**
+ * A motor core that doesn't control any hardware at all - it just remembers
+ * the last power value it was given.
+ *
+ * <p>
+ * Benchmarks use this core so they measure rlibx's own overhead, rather than
+ * the overhead of whatever hardware API the motor would normally be talking
+ * to.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class MemoryMotorCore implements MotorCore {
+    /**
+     * The last power value set to the core.
+     */
+    private double power;
+
+    /**
+     * How many times power has been set to the core.
+     */
+    private long writes;
+
+    /**
+     * Initialize the component. There's nothing to initialize.
+     */
+    @Override
+    public void init() {
+
+    }
+
+    /**
+     * Get the motor's power.
+     *
+     * @return the last power value set to the core.
+     */
+    @Override
+    public double getPower() {
+        return power;
+    }
+
+    /**
+     * Set the motor's power.
+     *
+     * @param power the motor's power.
+     */
+    @Override
+    public void setPower(double power) {
+        this.power = power;
+        writes++;
+    }
+
+    /**
+     * Get how many times power has been set to the core. Lazy motors should
+     * have a lot fewer writes than eager ones.
+     *
+     * @return how many times power has been set.
+     */
+    public long getWrites() {
+        return writes;
+    }
+}
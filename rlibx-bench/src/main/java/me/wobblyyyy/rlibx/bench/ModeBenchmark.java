@@ -0,0 +1,96 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.modes.LinearMode;
+import me.wobblyyyy.rlibx.modes.RepeatingMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for starting and stopping modes.
+ *
+ * <p>
+ * Every mode runs on its own thread, so starting a mode means creating and
+ * starting a thread. Each benchmark waits for the mode's thread to finish
+ * before returning, so threads don't pile up over the course of a run.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModeBenchmark {
+    private static final Runnable NOTHING = () -> {
+    };
+
+    private int runs;
+
+    /**
+     * Wait for a mode's thread to finish, if it's still running.
+     *
+     * @param thread the mode's thread, or null if it's already finished.
+     */
+    private static void join(Thread thread) throws InterruptedException {
+        if (thread != null) thread.join();
+    }
+
+    @Benchmark
+    public int linearStart() throws InterruptedException {
+        LinearMode mode = new LinearMode(() -> runs++);
+
+        mode.start();
+        join(mode.getActiveThread());
+
+        return runs;
+    }
+
+    @Benchmark
+    public boolean repeatingStartStop() throws InterruptedException {
+        RepeatingMode mode = new RepeatingMode(NOTHING);
+
+        mode.start();
+        mode.stop();
+        join(mode.getActiveThread());
+
+        return mode.isActive();
+    }
+}
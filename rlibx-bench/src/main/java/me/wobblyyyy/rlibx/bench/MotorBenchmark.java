@@ -0,0 +1,142 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.hardware.motor.Direction;
+import me.wobblyyyy.rlibx.hardware.motor.Motor;
+import me.wobblyyyy.rlibx.hardware.motor.MotorConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Motor#setPower(double)}.
+ *
+ * <p>
+ * Lazy motors skip writing power to their core if the power hasn't changed
+ * by much, so they're benchmarked both with a power value that changes
+ * every single call and with a power value that doesn't change at all.
+ * Eager motors write power every time, no matter what.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MotorBenchmark {
+    private MemoryMotorCore lazyCore;
+    private MemoryMotorCore eagerCore;
+    private Motor lazy;
+    private Motor eager;
+    private int tick;
+
+    /**
+     * Create a motor with a given lazy setting, using the default values
+     * for everything else.
+     *
+     * @param core   the motor's core.
+     * @param isLazy should the motor be lazy?
+     * @return a new, user-controlled, motor.
+     */
+    private static Motor createMotor(MemoryMotorCore core,
+                                     boolean isLazy) {
+        Motor motor = new Motor(core, new MotorConfig(
+                MotorConfig.MIN,
+                MotorConfig.MAX,
+                MotorConfig.MULTIPLIER,
+                MotorConfig.DEADZONE,
+                isLazy,
+                Direction.FORWARDS
+        ));
+
+        motor.enableUserControl();
+        motor.init();
+
+        return motor;
+    }
+
+    @Setup
+    public void setup() {
+        lazyCore = new MemoryMotorCore();
+        eagerCore = new MemoryMotorCore();
+        lazy = createMotor(lazyCore, true);
+        eager = createMotor(eagerCore, false);
+    }
+
+    /**
+     * A power value that flips between two values that are far enough apart
+     * to always count as a change.
+     *
+     * @return the next power value.
+     */
+    private double nextPower() {
+        return (tick++ & 1) == 0 ? 0.5 : -0.5;
+    }
+
+    @Benchmark
+    public double lazyChanging() {
+        lazy.setPower(nextPower());
+
+        return lazyCore.getPower();
+    }
+
+    @Benchmark
+    public double lazySteady() {
+        lazy.setPower(0.5);
+
+        return lazyCore.getPower();
+    }
+
+    @Benchmark
+    public double eagerChanging() {
+        eager.setPower(nextPower());
+
+        return eagerCore.getPower();
+    }
+
+    @Benchmark
+    public double eagerSteady() {
+        eager.setPower(0.5);
+
+        return eagerCore.getPower();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.drive.MatrixKinematics;
+import me.wobblyyyy.rlibx.drive.Pose;
+import me.wobblyyyy.rlibx.drive.SwerveKinematics;
+import me.wobblyyyy.rlibx.drive.SwerveOdometry;
+import me.wobblyyyy.rlibx.drive.WheelOdometry;
+import me.wobblyyyy.rlibx.hardware.encoder.Encoder;
+import me.wobblyyyy.rlibx.hardware.gyro.Gyroscope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for odometry updates and pose reads.
+ *
+ * <p>
+ * Every update moves each encoder forwards by a different amount, so the
+ * robot is always driving along an arc.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OdometryBenchmark {
+    private final Pose pose = new Pose();
+    private MemoryEncoderCore[] tankEncoders;
+    private MemoryEncoderCore[] swerveEncoders;
+    private MemoryGyroscopeCore gyroscope;
+    private WheelOdometry tank;
+    private SwerveOdometry swerve;
+
+    /**
+     * Create a set of initialized encoders.
+     *
+     * @param cores the cores to wrap.
+     * @return the wrapped encoders.
+     */
+    private static Encoder[] wrap(MemoryEncoderCore[] cores) {
+        Encoder[] encoders = new Encoder[cores.length];
+
+        for (int i = 0; i < cores.length; i++) {
+            encoders[i] = new Encoder(cores[i]);
+            encoders[i].init();
+        }
+
+        return encoders;
+    }
+
+    @Setup
+    public void setup() {
+        tankEncoders = new MemoryEncoderCore[6];
+        swerveEncoders = new MemoryEncoderCore[4];
+        MemoryEncoderCore[] turnEncoders = new MemoryEncoderCore[4];
+
+        for (int i = 0; i < 6; i++) {
+            tankEncoders[i] = new MemoryEncoderCore(2048);
+        }
+
+        for (int i = 0; i < 4; i++) {
+            swerveEncoders[i] = new MemoryEncoderCore(2048);
+            turnEncoders[i] = new MemoryEncoderCore(4096);
+            turnEncoders[i].setCount(i * 100);
+        }
+
+        gyroscope = new MemoryGyroscopeCore();
+
+        tank = new WheelOdometry(
+                MatrixKinematics.tank(0.6, 0.7, 3),
+                wrap(tankEncoders),
+                0.0001,
+                new Gyroscope(gyroscope)
+        );
+        swerve = new SwerveOdometry(
+                SwerveKinematics.rectangle(0.5, 0.6),
+                wrap(swerveEncoders),
+                wrap(turnEncoders),
+                0.0001,
+                null
+        );
+    }
+
+    @Benchmark
+    public double updateTankWithGyroscope() {
+        for (int i = 0; i < tankEncoders.length; i++) {
+            MemoryEncoderCore encoder = tankEncoders[i];
+
+            encoder.setCount(encoder.getCount() + 10 + (i & 1));
+        }
+
+        gyroscope.setHeading(gyroscope.getHeading() + 0.01);
+        tank.update();
+
+        return tank.getPublisher().getVersion();
+    }
+
+    @Benchmark
+    public double updateSwerve() {
+        for (int i = 0; i < swerveEncoders.length; i++) {
+            MemoryEncoderCore encoder = swerveEncoders[i];
+
+            encoder.setCount(encoder.getCount() + 10 + i);
+        }
+
+        swerve.update();
+
+        return swerve.getPublisher().getVersion();
+    }
+
+    @Benchmark
+    public double readPose() {
+        swerve.getPose(pose);
+
+        return pose.getX();
+    }
+}
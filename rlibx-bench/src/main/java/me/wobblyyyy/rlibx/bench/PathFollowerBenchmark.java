@@ -0,0 +1,162 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.drive.ChassisSpeeds;
+import me.wobblyyyy.rlibx.drive.Pose;
+import me.wobblyyyy.rlibx.drive.PurePursuit;
+import me.wobblyyyy.rlibx.drive.Ramsete;
+import me.wobblyyyy.rlibx.drive.trajectory.Spline;
+import me.wobblyyyy.rlibx.drive.trajectory.Trajectory;
+import me.wobblyyyy.rlibx.drive.trajectory.TrajectoryConstraints;
+import me.wobblyyyy.rlibx.drive.trajectory.TrajectoryGenerator;
+import me.wobblyyyy.rlibx.drive.trajectory.TrajectoryState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for path followers on a long path.
+ *
+ * <p>
+ * The path is a 40 segment slalom, about 400 units long, with a sample
+ * every 0.01 units - roughly 40,000 samples. Every iteration moves the
+ * simulated robot 5 milliseconds further along the trajectory (slightly
+ * off to the side of it) and updates the follower, just like a 200 Hz
+ * control loop would. The full scan benchmark finds the closest sample by
+ * checking every sample, for comparison.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PathFollowerBenchmark {
+    private static final int SEGMENTS = 40;
+    private static final double PERIOD = 0.005;
+
+    private final TrajectoryState truth = new TrajectoryState();
+    private final Pose pose = new Pose();
+    private Trajectory trajectory;
+    private PurePursuit purePursuit;
+    private Ramsete ramsete;
+    private int hint;
+    private double time;
+
+    @Setup
+    public void setup() {
+        Pose[] waypoints = new Pose[SEGMENTS + 1];
+
+        for (int i = 0; i <= SEGMENTS; i++) {
+            double side = i % 2 == 0 ? -2 : 2;
+            double heading = i % 2 == 0 ? -30 : 30;
+
+            if (i == 0 || i == SEGMENTS) {
+                side = 0;
+                heading = 0;
+            }
+
+            waypoints[i] = new Pose(side, i * 10, heading);
+        }
+
+        trajectory = TrajectoryGenerator.generate(
+                Spline.QUINTIC,
+                new TrajectoryConstraints(3, 2, 4),
+                0.01,
+                waypoints
+        );
+        purePursuit = new PurePursuit(trajectory, 0.5, 0.1, 0.05);
+        ramsete = new Ramsete(trajectory);
+    }
+
+    /**
+     * Move the simulated robot to the next point along the trajectory.
+     */
+    private void next() {
+        time += PERIOD;
+
+        if (time > trajectory.getDuration()) {
+            time = 0;
+            hint = 0;
+            purePursuit.reset();
+            ramsete.reset();
+        }
+
+        hint = trajectory.sample(time, hint, truth);
+        pose.set(truth.getX() + 0.02, truth.getY(), truth.getHeading() + 1);
+    }
+
+    @Benchmark
+    public ChassisSpeeds purePursuit() {
+        next();
+
+        return purePursuit.update(pose);
+    }
+
+    @Benchmark
+    public ChassisSpeeds ramsete() {
+        next();
+
+        return ramsete.update(pose, time);
+    }
+
+    @Benchmark
+    public int fullScan() {
+        next();
+
+        int closest = 0;
+        double best = Double.MAX_VALUE;
+
+        for (int i = 0; i < trajectory.size(); i++) {
+            double dx = trajectory.getX(i) - pose.getX();
+            double dy = trajectory.getY(i) - pose.getY();
+            double distance = dx * dx + dy * dy;
+
+            if (distance < best) {
+                best = distance;
+                closest = i;
+            }
+        }
+
+        return closest;
+    }
+}
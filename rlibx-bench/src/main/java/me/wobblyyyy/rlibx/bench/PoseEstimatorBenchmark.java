@@ -0,0 +1,136 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.drive.Pose;
+import me.wobblyyyy.rlibx.drive.PoseEstimator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for each of {@link PoseEstimator}'s steps. Every step should
+ * stay well under its 20 microsecond budget.
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PoseEstimatorBenchmark {
+    private static final int SAMPLE_COUNT = 1 << 12;
+
+    private final double[] samples = new double[SAMPLE_COUNT];
+    private final Pose pose = new Pose();
+    private PoseEstimator estimator;
+    private int index;
+
+    @Setup
+    public void setup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            samples[i] = random.nextGaussian();
+        }
+
+        estimator = new PoseEstimator(new Pose(), 0.01, 1);
+    }
+
+    /**
+     * Get the next sample.
+     *
+     * @return the next sample, normally distributed.
+     */
+    private double next() {
+        return samples[index++ & (SAMPLE_COUNT - 1)];
+    }
+
+    @Benchmark
+    public double predict() {
+        estimator.predict(
+                next() * 1e-4,
+                0.001 + next() * 1e-4,
+                next() * 0.01,
+                next() * 10,
+                0.001
+        );
+
+        return estimator.getXVariance();
+    }
+
+    @Benchmark
+    public double updateHeading() {
+        estimator.predict(0, 0.001, 0.01);
+        estimator.updateHeading(estimator.getPose(pose).getHeading() +
+                next() * 0.5);
+
+        return estimator.getHeadingVariance();
+    }
+
+    @Benchmark
+    public double updatePosition() {
+        estimator.predict(0, 0.001, 0.01);
+        estimator.getPose(pose);
+        estimator.updatePosition(
+                pose.getX() + next() * 0.05,
+                pose.getY() + next() * 0.05,
+                0.0025
+        );
+
+        return estimator.getXVariance();
+    }
+
+    @Benchmark
+    public double updatePose() {
+        estimator.predict(0, 0.001, 0.01);
+        estimator.getPose(pose);
+        estimator.updatePose(
+                pose.getX() + next() * 0.05,
+                pose.getY() + next() * 0.05,
+                pose.getHeading() + next(),
+                0.0025,
+                1
+        );
+
+        return estimator.getXVariance();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.drive.Pose;
+import me.wobblyyyy.rlibx.drive.PoseHistory;
+import me.wobblyyyy.rlibx.math.Trig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link PoseHistory}, holding four seconds of 1 kHz
+ * odometry.
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PoseHistoryBenchmark {
+    private static final int CAPACITY = 4096;
+    private static final long PERIOD = 1_000_000;
+
+    private final Pose pose = new Pose();
+    private final Pose correction = new Pose();
+    private PoseHistory history;
+    private long newest;
+    private long offset;
+
+    @Setup
+    public void setup() {
+        history = new PoseHistory(CAPACITY);
+
+        for (int i = 0; i < CAPACITY; i++) {
+            newest = i * PERIOD;
+            history.add(newest, 0, i * 0.001, i * 0.01, 0, 0.001, 0.0002);
+        }
+    }
+
+    @Benchmark
+    public double interpolate() {
+        offset = (offset + 7_777_777) % (CAPACITY * PERIOD);
+        history.get(offset, pose);
+
+        return pose.getY();
+    }
+
+    @Benchmark
+    public double correct80Milliseconds() {
+        history.get(newest - (80 * PERIOD), correction);
+        history.correct(newest - (80 * PERIOD), correction, Trig.POLYNOMIAL);
+
+        return correction.getY();
+    }
+}
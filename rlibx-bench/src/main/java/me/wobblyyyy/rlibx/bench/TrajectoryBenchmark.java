@@ -0,0 +1,122 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.drive.Pose;
+import me.wobblyyyy.rlibx.drive.trajectory.Spline;
+import me.wobblyyyy.rlibx.drive.trajectory.Trajectory;
+import me.wobblyyyy.rlibx.drive.trajectory.TrajectoryCache;
+import me.wobblyyyy.rlibx.drive.trajectory.TrajectoryConstraints;
+import me.wobblyyyy.rlibx.drive.trajectory.TrajectoryGenerator;
+import me.wobblyyyy.rlibx.drive.trajectory.TrajectoryState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for trajectory generation, caching, and sampling.
+ *
+ * <p>
+ * The trajectory is a slalom through 8 waypoints, about 40 units long, with
+ * a sample every 0.01 units.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrajectoryBenchmark {
+    private static final double SPACING = 0.01;
+
+    private static final Pose[] WAYPOINTS = {
+            new Pose(0, 0, 0),
+            new Pose(2, 5, -30),
+            new Pose(-2, 10, 30),
+            new Pose(2, 15, -30),
+            new Pose(-2, 20, 30),
+            new Pose(2, 25, -30),
+            new Pose(-2, 30, 30),
+            new Pose(0, 35, 0)
+    };
+
+    private final TrajectoryConstraints constraints =
+            new TrajectoryConstraints(3, 2, 4);
+    private final TrajectoryCache cache = new TrajectoryCache();
+    private final TrajectoryState state = new TrajectoryState();
+    private Trajectory trajectory;
+    private double time;
+
+    @Setup
+    public void setup() {
+        trajectory = cache.get(
+                Spline.QUINTIC,
+                constraints,
+                SPACING,
+                WAYPOINTS
+        );
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Trajectory generateQuintic() {
+        return TrajectoryGenerator.generate(
+                Spline.QUINTIC,
+                constraints,
+                SPACING,
+                WAYPOINTS
+        );
+    }
+
+    @Benchmark
+    public Trajectory cacheHit() {
+        return cache.get(Spline.QUINTIC, constraints, SPACING, WAYPOINTS);
+    }
+
+    @Benchmark
+    public double sample() {
+        time += 0.0173;
+
+        if (time > trajectory.getDuration()) time = 0;
+
+        return trajectory.sample(time, state).getX();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.bench;
+
+import me.wobblyyyy.rlibx.math.Trig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for each {@link Trig} mode.
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrigBenchmark {
+    private static final int SAMPLE_COUNT = 1 << 12;
+
+    @Param({"EXACT", "POLYNOMIAL", "TABLE"})
+    public Trig trig;
+
+    private double[] angles;
+    private double[] xs;
+    private double[] ys;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+
+        angles = new double[SAMPLE_COUNT];
+        xs = new double[SAMPLE_COUNT];
+        ys = new double[SAMPLE_COUNT];
+
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            angles[i] = (random.nextDouble() * 2 - 1) * 4 * Math.PI;
+            xs[i] = random.nextGaussian();
+            ys[i] = random.nextGaussian();
+        }
+    }
+
+    /**
+     * Get the next sample index.
+     *
+     * @return the next sample index.
+     */
+    private int next() {
+        return index++ & (SAMPLE_COUNT - 1);
+    }
+
+    @Benchmark
+    public double sin() {
+        return trig.sin(angles[next()]);
+    }
+
+    @Benchmark
+    public double cos() {
+        return trig.cos(angles[next()]);
+    }
+
+    @Benchmark
+    public double atan2() {
+        int i = next();
+
+        return trig.atan2(ys[i], xs[i]);
+    }
+}
@@ -31,6 +31,7 @@ import me.wobblyyyy.rlibx.RLib;
 import me.wobblyyyy.rlibx.RLibCPI;
 import me.wobblyyyy.rlibx.modes.ModeExecutor;
 import me.wobblyyyy.rlibx.modes.Modes;
+import me.wobblyyyy.rlibx.operation.PreparationService;
 import me.wobblyyyy.rlibx.subsystem.Subsystem;
 
 import java.util.ArrayList;
@@ -41,6 +42,15 @@ import java.util.HashMap;
  * easily integrate with {@code rlibx}'s much more refined and obviously
  * superior method of robot management.
  *
+ * <p>
+ * Anything expensive that the autonomous period needs - trajectories,
+ * lookup tables, scripts - should be submitted to the robot's
+ * {@link PreparationService} by overriding the
+ * {@link #prepare(PreparationService)} method. That work runs in the
+ * background while the robot is initializing and disabled, and is sealed
+ * the moment autonomous starts.
+ * </p>
+ *
  * @author Colin Robertson
  * @since 0.2.0
  */
@@ -96,11 +106,28 @@ public class FRCOperationMode extends TimedRobot {
         cpi = (RLibCPI) RLib.instance;
     }
 
+    /**
+     * Submit expensive work that should be prepared ahead of the autonomous
+     * period. This is called once, when the robot is initialized, before
+     * the robot mode is activated.
+     *
+     * <p>
+     * By default, this doesn't do anything at all.
+     * </p>
+     *
+     * @param preparation the robot's preparation service.
+     */
+    protected void prepare(PreparationService preparation) {
+
+    }
+
     /**
      * Called when the robot is initialized.
      */
     @Override
     public final void robotInit() {
+        prepare(cpi.getPreparation());
+
         cpi.robot();
     }
 
@@ -197,4 +224,13 @@ public class FRCOperationMode extends TimedRobot {
     public final void testPeriodic() {
 
     }
+
+    /**
+     * Get the robot's preparation service.
+     *
+     * @return the robot's preparation service.
+     */
+    public PreparationService getPreparation() {
+        return cpi.getPreparation();
+    }
 }
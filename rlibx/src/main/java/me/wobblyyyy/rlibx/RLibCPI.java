@@ -52,12 +52,15 @@ public class RLibCPI extends RLibInstance {
 
     /**
      * Create a new RLibCPI instance, using the inputted instance's mode
-     * manager's mode HashMap.
+     * manager's mode HashMap and preparation service.
      *
      * @param rLibInstance the instance that should be upcasted.
      */
     public RLibCPI(RLibInstance rLibInstance) {
-        this(rLibInstance.getMultiMode().getManager().getModes());
+        super(
+                rLibInstance.getMultiMode().getManager().getModes(),
+                rLibInstance.getPreparation()
+        );
     }
 
     /**
@@ -29,12 +29,20 @@ package me.wobblyyyy.rlibx;
 import me.wobblyyyy.rlibx.modes.ModeExecutor;
 import me.wobblyyyy.rlibx.modes.Modes;
 import me.wobblyyyy.rlibx.operation.MultiMode;
+import me.wobblyyyy.rlibx.operation.PreparationService;
 
 import java.util.HashMap;
 
 /**
  * An instance of an RLib-mode-enabled robot operation.
  *
+ * <p>
+ * Every instance has a {@link PreparationService}. Anything expensive that
+ * autonomous needs should be submitted to it while the robot is
+ * initializing or disabled - the service is sealed as soon as the robot
+ * enters autonomous mode, so autonomous can start right away.
+ * </p>
+ *
  * @author Colin Robertson
  * @since 0.2.0
  */
@@ -45,6 +53,12 @@ public class RLibInstance {
      */
     private final MultiMode mode;
 
+    /**
+     * The service that prepares expensive work ahead of the autonomous
+     * period.
+     */
+    private final PreparationService preparation;
+
     /**
      * Create a new {@code RLibInstance} instance.
      *
@@ -52,7 +66,24 @@ public class RLibInstance {
      *              executed by the robot at any point.
      */
     public RLibInstance(HashMap<Modes, ModeExecutor> modes) {
+        this(modes, new PreparationService());
+    }
+
+    /**
+     * Create a new {@code RLibInstance} instance that shares a preparation
+     * service with another instance.
+     *
+     * @param modes       a {@code HashMap} of all of the modes that are used
+     *                    or executed by the robot at any point.
+     * @param preparation the preparation service to seal whenever the robot
+     *                    enters autonomous mode.
+     */
+    protected RLibInstance(HashMap<Modes, ModeExecutor> modes,
+                           PreparationService preparation) {
+        this.preparation = preparation;
+
         mode = new MultiMode(modes);
+        mode.getManager().setPreparation(preparation);
     }
 
     /**
@@ -64,6 +95,11 @@ public class RLibInstance {
 
     /**
      * Should be called whenever the robot enters autonomous mode.
+     *
+     * <p>
+     * This seals the instance's {@link PreparationService} before the
+     * autonomous mode is started.
+     * </p>
      */
     public void autonomous() {
         mode.setMode(Modes.AUTONOMOUS);
@@ -90,6 +126,15 @@ public class RLibInstance {
         mode.setMode(Modes.ROBOT);
     }
 
+    /**
+     * Get the instance's preparation service.
+     *
+     * @return the instance's preparation service.
+     */
+    public PreparationService getPreparation() {
+        return preparation;
+    }
+
     /**
      * Get the instance's mode execution HashMap.
      *
@@ -0,0 +1,185 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+/**
+ * How fast a robot should be moving, relative to itself.
+ *
+ * <p>
+ * Chassis speeds use the same axes as every drivetrain's drive method:
+ * right is positive X, forward is positive Y, and a positive turn is
+ * clockwise. The difference is that chassis speeds are in real units -
+ * distance per second and radians per second - rather than motor powers.
+ * Use {@link #normalize(double, double, ChassisSpeeds)} to turn them into
+ * something a drivetrain or kinematics class can use.
+ * </p>
+ *
+ * <p>
+ * Chassis speeds are mutable. Path followers write their output into the
+ * same chassis speeds every single loop, so following a path doesn't create
+ * any garbage.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see PurePursuit
+ * @see Ramsete
+ * @since 0.2.0
+ */
+public class ChassisSpeeds {
+    /**
+     * Velocity to the right, in units per second.
+     */
+    private double right;
+
+    /**
+     * Velocity forwards, in units per second.
+     */
+    private double forward;
+
+    /**
+     * Turn rate, in radians per second. Positive is clockwise.
+     */
+    private double turn;
+
+    /**
+     * Create a new set of chassis speeds, with the robot at rest.
+     */
+    public ChassisSpeeds() {
+
+    }
+
+    /**
+     * Create a new set of chassis speeds.
+     *
+     * @param right   velocity to the right, in units per second.
+     * @param forward velocity forwards, in units per second.
+     * @param turn    turn rate, in radians per second. Positive is
+     *                clockwise.
+     */
+    public ChassisSpeeds(double right,
+                         double forward,
+                         double turn) {
+        set(right, forward, turn);
+    }
+
+    /**
+     * Set the chassis speeds.
+     *
+     * @param right   velocity to the right, in units per second.
+     * @param forward velocity forwards, in units per second.
+     * @param turn    turn rate, in radians per second. Positive is
+     *                clockwise.
+     */
+    public void set(double right,
+                    double forward,
+                    double turn) {
+        this.right = right;
+        this.forward = forward;
+        this.turn = turn;
+    }
+
+    /**
+     * Set every speed to zero.
+     */
+    public void setZero() {
+        set(0, 0, 0);
+    }
+
+    /**
+     * Scale the chassis speeds down to drivetrain powers.
+     *
+     * <p>
+     * The powers can be passed straight into a drivetrain's drive method,
+     * or into a kinematics class. For example:
+     * <pre>
+     * follower.update(pose).normalize(3, 6, power);
+     * kinematics.calculate(
+     *         power.getRight(),
+     *         power.getForward(),
+     *         power.getTurn(),
+     *         wheels
+     * );
+     * </pre>
+     * </p>
+     *
+     * @param maxVelocity the velocity, in units per second, the robot moves
+     *                    at with full power.
+     * @param maxTurnRate the turn rate, in radians per second, the robot
+     *                    turns at with full power.
+     * @param into        the chassis speeds to write the powers into. This
+     *                    can be the same object the method is called on.
+     * @return the chassis speeds that were passed in.
+     */
+    public ChassisSpeeds normalize(double maxVelocity,
+                                   double maxTurnRate,
+                                   ChassisSpeeds into) {
+        into.set(
+                right / maxVelocity,
+                forward / maxVelocity,
+                turn / maxTurnRate
+        );
+
+        return into;
+    }
+
+    /**
+     * Get the velocity to the right.
+     *
+     * @return velocity to the right, in units per second.
+     */
+    public double getRight() {
+        return right;
+    }
+
+    /**
+     * Get the velocity forwards.
+     *
+     * @return velocity forwards, in units per second.
+     */
+    public double getForward() {
+        return forward;
+    }
+
+    /**
+     * Get the turn rate.
+     *
+     * @return turn rate, in radians per second. Positive is clockwise.
+     */
+    public double getTurn() {
+        return turn;
+    }
+
+    @Override
+    public String toString() {
+        return "ChassisSpeeds(" +
+                "right=" + right +
+                ", forward=" + forward +
+                ", turn=" + turn +
+                ")";
+    }
+}
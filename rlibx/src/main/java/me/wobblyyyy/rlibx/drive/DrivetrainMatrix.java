@@ -0,0 +1,153 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.hardware.motor.Motor;
+
+/**
+ * A drivetrain with any number of motors, driven by
+ * {@link MatrixKinematics}.
+ *
+ * <p>
+ * This works for any drivetrain {@code MatrixKinematics} can describe -
+ * six-wheel tank, X-drive, H-drive, and so on. Motors are given in the same
+ * order as the kinematics' wheels. Like the other drivetrains, driving
+ * doesn't create any garbage.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see MatrixKinematics
+ * @since 0.2.0
+ */
+public class DrivetrainMatrix {
+    /**
+     * The drivetrain's motors, in the same order as the kinematics' wheels.
+     */
+    private final Motor[] motors;
+
+    /**
+     * The drivetrain's kinematics.
+     */
+    private final MatrixKinematics kinematics;
+
+    /**
+     * The buffer wheel powers are calculated into.
+     */
+    private final WheelPowers powers;
+
+    /**
+     * Create a new matrix drivetrain.
+     *
+     * @param motors     the drivetrain's motors, in the same order as the
+     *                   kinematics' wheels.
+     * @param kinematics the drivetrain's kinematics.
+     */
+    public DrivetrainMatrix(Motor[] motors,
+                            MatrixKinematics kinematics) {
+        if (motors.length != kinematics.getCount()) {
+            throw new IllegalArgumentException(
+                    "The kinematics have " + kinematics.getCount() +
+                            " wheels, but you gave " + motors.length +
+                            " motors."
+            );
+        }
+
+        this.motors = motors.clone();
+        this.kinematics = kinematics;
+        this.powers = new WheelPowers(motors.length);
+    }
+
+    /**
+     * Apply the powers in the drivetrain's buffer to each of the motors.
+     */
+    private void applyPower() {
+        for (int i = 0; i < motors.length; i++) {
+            motors[i].setPower(powers.get(i));
+        }
+    }
+
+    /**
+     * Drive the robot, relative to the robot.
+     *
+     * @param x    the strafe power. Positive is to the right.
+     * @param y    the forwards power. Positive is forwards.
+     * @param turn the turn power. Positive is clockwise.
+     */
+    public void drive(double x,
+                      double y,
+                      double turn) {
+        kinematics.calculate(x, y, turn, powers);
+
+        applyPower();
+    }
+
+    /**
+     * Drive the robot, relative to the field.
+     *
+     * @param x       the strafe power, relative to the field.
+     * @param y       the forwards power, relative to the field.
+     * @param turn    the turn power. Positive is clockwise.
+     * @param heading the robot's heading, in degrees.
+     */
+    public void drive(double x,
+                      double y,
+                      double turn,
+                      double heading) {
+        kinematics.calculate(x, y, turn, heading, powers);
+
+        applyPower();
+    }
+
+    /**
+     * Stop every one of the drivetrain's motors.
+     */
+    public void stop() {
+        powers.setZero();
+
+        applyPower();
+    }
+
+    /**
+     * Get the powers that were most recently applied to the drivetrain.
+     * This is the drivetrain's own buffer.
+     *
+     * @return the drivetrain's wheel powers.
+     */
+    public WheelPowers getPowers() {
+        return powers;
+    }
+
+    /**
+     * Get the drivetrain's kinematics.
+     *
+     * @return the drivetrain's kinematics.
+     */
+    public MatrixKinematics getKinematics() {
+        return kinematics;
+    }
+}
@@ -26,11 +26,262 @@
 
 package me.wobblyyyy.rlibx.drive;
 
+import me.wobblyyyy.rlibx.hardware.gyro.Gyroscope;
+import me.wobblyyyy.rlibx.hardware.motor.Motor;
+import me.wobblyyyy.rlibx.math.Trig;
+
 /**
  * An implementation of a meccanum drivetrain.
  *
+ * <p>
+ * The drivetrain owns a single {@link WheelPowers} buffer, which every call
+ * to {@link #drive(double, double, double)} re-uses. Driving the robot
+ * doesn't create any objects at all, so it's perfectly safe to call in a
+ * tight loop.
+ * </p>
+ *
+ * <p>
+ * If the drivetrain is given a {@link Gyroscope}, it can also be driven
+ * field-centric - see {@link #setFieldCentric(boolean)}.
+ * </p>
+ *
  * @author Colin Robertson
+ * @version 1.0.0
+ * @see Kinematics#calculateMeccanum(double, double, double, WheelPowers)
  * @since 0.2.0
  */
 public class DrivetrainMeccanum {
+    /**
+     * The drivetrain's front-right motor.
+     */
+    private final Motor fr;
+
+    /**
+     * The drivetrain's front-left motor.
+     */
+    private final Motor fl;
+
+    /**
+     * The drivetrain's back-right motor.
+     */
+    private final Motor br;
+
+    /**
+     * The drivetrain's back-left motor.
+     */
+    private final Motor bl;
+
+    /**
+     * The drivetrain's gyroscope. This can be null, in which case the
+     * drivetrain can only be driven robot-centric.
+     */
+    private final Gyroscope gyroscope;
+
+    /**
+     * The buffer wheel powers are calculated into.
+     */
+    private final WheelPowers powers = new WheelPowers(4);
+
+    /**
+     * The trigonometry used for field-centric driving.
+     */
+    private Trig trig = Trig.POLYNOMIAL;
+
+    /**
+     * Is the drivetrain being driven field-centric?
+     */
+    private boolean isFieldCentric = false;
+
+    /**
+     * Create a new robot-centric meccanum drivetrain.
+     *
+     * @param fr the front-right motor.
+     * @param fl the front-left motor.
+     * @param br the back-right motor.
+     * @param bl the back-left motor.
+     */
+    public DrivetrainMeccanum(Motor fr,
+                              Motor fl,
+                              Motor br,
+                              Motor bl) {
+        this(fr, fl, br, bl, null);
+    }
+
+    /**
+     * Create a new meccanum drivetrain.
+     *
+     * <p>
+     * If a gyroscope is supplied, the drivetrain starts out field-centric.
+     * </p>
+     *
+     * @param fr        the front-right motor.
+     * @param fl        the front-left motor.
+     * @param br        the back-right motor.
+     * @param bl        the back-left motor.
+     * @param gyroscope the robot's gyroscope. This may be null.
+     */
+    public DrivetrainMeccanum(Motor fr,
+                              Motor fl,
+                              Motor br,
+                              Motor bl,
+                              Gyroscope gyroscope) {
+        this.fr = fr;
+        this.fl = fl;
+        this.br = br;
+        this.bl = bl;
+        this.gyroscope = gyroscope;
+        this.isFieldCentric = gyroscope != null;
+    }
+
+    /**
+     * Apply the powers in the drivetrain's buffer to each of the motors.
+     */
+    private void applyPower() {
+        fr.setPower(powers.get(Wheels.FR));
+        fl.setPower(powers.get(Wheels.FL));
+        br.setPower(powers.get(Wheels.BR));
+        bl.setPower(powers.get(Wheels.BL));
+    }
+
+    /**
+     * Drive the robot.
+     *
+     * <p>
+     * If the drivetrain is field-centric, X and Y are relative to the field,
+     * and the gyroscope's heading is read every time this is called.
+     * Otherwise, they're relative to the robot.
+     * </p>
+     *
+     * @param x    the strafe power. Positive is to the right.
+     * @param y    the forwards power. Positive is forwards.
+     * @param turn the turn power. Positive is clockwise.
+     */
+    public void drive(double x,
+                      double y,
+                      double turn) {
+        if (isFieldCentric) {
+            Kinematics.calculateMeccanum(
+                    x,
+                    y,
+                    turn,
+                    gyroscope.getHeading(),
+                    trig,
+                    powers
+            );
+        } else {
+            Kinematics.calculateMeccanum(x, y, turn, powers);
+        }
+
+        applyPower();
+    }
+
+    /**
+     * Drive the robot, relative to the field, using a heading you supply.
+     *
+     * <p>
+     * This is useful if your heading comes from somewhere other than the
+     * gyroscope - odometry, for example.
+     * </p>
+     *
+     * @param x       the strafe power, relative to the field.
+     * @param y       the forwards power, relative to the field.
+     * @param turn    the turn power. Positive is clockwise.
+     * @param heading the robot's heading, in degrees.
+     */
+    public void drive(double x,
+                      double y,
+                      double turn,
+                      double heading) {
+        Kinematics.calculateMeccanum(x, y, turn, heading, trig, powers);
+
+        applyPower();
+    }
+
+    /**
+     * Set power to the drivetrain based on a translation. The robot won't
+     * turn.
+     *
+     * @param translation the translation the drivetrain should follow.
+     */
+    public void setPower(Translation translation) {
+        drive(translation.getX(), translation.getY(), 0);
+    }
+
+    /**
+     * Stop every one of the drivetrain's motors.
+     */
+    public void stop() {
+        powers.setZero();
+
+        applyPower();
+    }
+
+    /**
+     * Get the powers that were most recently applied to the drivetrain.
+     *
+     * <p>
+     * This is the drivetrain's own buffer - it'll change the next time the
+     * drivetrain is driven.
+     * </p>
+     *
+     * @return the drivetrain's wheel powers.
+     */
+    public WheelPowers getPowers() {
+        return powers;
+    }
+
+    /**
+     * Is the drivetrain being driven field-centric?
+     *
+     * @return whether or not the drivetrain is field-centric.
+     */
+    public boolean isFieldCentric() {
+        return isFieldCentric;
+    }
+
+    /**
+     * Enable or disable field-centric driving.
+     *
+     * @param isFieldCentric whether or not the drivetrain should be driven
+     *                       field-centric.
+     * @throws IllegalStateException if you try to enable field-centric
+     *                               driving without a gyroscope.
+     */
+    public void setFieldCentric(boolean isFieldCentric) {
+        if (isFieldCentric && gyroscope == null) {
+            throw new IllegalStateException(
+                    "Can't drive field-centric without a gyroscope! Use " +
+                            "the constructor that accepts a gyroscope."
+            );
+        }
+
+        this.isFieldCentric = isFieldCentric;
+    }
+
+    /**
+     * Get the trigonometry used for field-centric driving.
+     *
+     * @return the drivetrain's trigonometry.
+     */
+    public Trig getTrig() {
+        return trig;
+    }
+
+    /**
+     * Set the trigonometry used for field-centric driving.
+     *
+     * @param trig the drivetrain's new trigonometry.
+     */
+    public void setTrig(Trig trig) {
+        this.trig = trig;
+    }
+
+    /**
+     * Get the drivetrain's gyroscope.
+     *
+     * @return the drivetrain's gyroscope, or null if it doesn't have one.
+     */
+    public Gyroscope getGyroscope() {
+        return gyroscope;
+    }
 }
@@ -26,11 +26,398 @@
 
 package me.wobblyyyy.rlibx.drive;
 
+import me.wobblyyyy.rlibx.hardware.encoder.Encoder;
+import me.wobblyyyy.rlibx.hardware.gyro.Gyroscope;
+import me.wobblyyyy.rlibx.hardware.motor.Motor;
+import me.wobblyyyy.rlibx.math.Trig;
+
 /**
  * An implementation of a swerve drivetrain.
  *
+ * <p>
+ * Each module has a drive motor, a turn motor, and an encoder that measures
+ * which way the module is pointing. Every time the drivetrain is driven,
+ * the target state of every module is calculated with
+ * {@link SwerveKinematics}, optimized so no module has to turn more than 90
+ * degrees, and then each module is steered towards its target angle with a
+ * proportional-derivative controller.
+ * </p>
+ *
+ * <p>
+ * A module that's still turning towards its target would push the robot in
+ * the wrong direction if it drove at full speed. So, the drive power of each
+ * module is scaled by the cosine of its steering error - a module that's
+ * right on target drives at full speed, and one that's 90 degrees off
+ * doesn't drive at all.
+ * </p>
+ *
+ * <p>
+ * Nothing in {@link #drive(double, double, double)} creates any objects,
+ * and every encoder is read exactly once per update, so the drivetrain can
+ * comfortably be updated at 250 hertz or more.
+ * </p>
+ *
+ * <p>
+ * Turn encoders are assumed to read zero when their module is pointing
+ * forwards, and their count should increase as the module turns
+ * counter-clockwise. Positive turn motor power should turn the module
+ * counter-clockwise - if it doesn't, invert the motor.
+ * </p>
+ *
  * @author Colin Robertson
+ * @version 1.0.0
+ * @see SwerveKinematics
  * @since 0.2.0
  */
 public class DrivetrainSwerve {
+    /**
+     * The default proportional steering gain, in power per degree.
+     */
+    public static final double DEFAULT_KP = 0.02;
+
+    /**
+     * The default derivative steering gain, in power per degree per second.
+     */
+    public static final double DEFAULT_KD = 0.0;
+
+    /**
+     * Each module's drive motor.
+     */
+    private final Motor[] driveMotors;
+
+    /**
+     * Each module's turn motor.
+     */
+    private final Motor[] turnMotors;
+
+    /**
+     * Each module's turn encoder.
+     */
+    private final Encoder[] turnEncoders;
+
+    /**
+     * The drivetrain's kinematics.
+     */
+    private final SwerveKinematics kinematics;
+
+    /**
+     * The drivetrain's gyroscope. This can be null, in which case the
+     * drivetrain can only be driven robot-centric.
+     */
+    private final Gyroscope gyroscope;
+
+    /**
+     * How many degrees each module turns per turn encoder count.
+     */
+    private final double[] degreesPerCount;
+
+    /**
+     * The angle each module is currently pointing at, in degrees.
+     */
+    private final double[] currentAngles;
+
+    /**
+     * Each module's steering error from the last update, in degrees.
+     */
+    private final double[] lastErrors;
+
+    /**
+     * The proportional steering gain.
+     */
+    private double kP = DEFAULT_KP;
+
+    /**
+     * The derivative steering gain.
+     */
+    private double kD = DEFAULT_KD;
+
+    /**
+     * Is the drivetrain being driven field-centric?
+     */
+    private boolean isFieldCentric;
+
+    /**
+     * The last time the drivetrain was updated, in nanoseconds.
+     */
+    private long lastTime;
+
+    /**
+     * Has a time been recorded yet? {@link System#nanoTime()} may be
+     * negative, so {@link #lastTime} can't double as that flag.
+     */
+    private boolean hasTime = false;
+
+    /**
+     * Create a new robot-centric swerve drivetrain.
+     *
+     * @param driveMotors  each module's drive motor.
+     * @param turnMotors   each module's turn motor.
+     * @param turnEncoders each module's turn encoder. Each encoder is
+     *                     assumed to make one rotation per rotation of its
+     *                     module - see {@link #setTurnRatio(int, double)}.
+     * @param kinematics   the drivetrain's kinematics.
+     */
+    public DrivetrainSwerve(Motor[] driveMotors,
+                            Motor[] turnMotors,
+                            Encoder[] turnEncoders,
+                            SwerveKinematics kinematics) {
+        this(driveMotors, turnMotors, turnEncoders, kinematics, null);
+    }
+
+    /**
+     * Create a new swerve drivetrain.
+     *
+     * <p>
+     * If a gyroscope is supplied, the drivetrain starts out field-centric.
+     * </p>
+     *
+     * @param driveMotors  each module's drive motor.
+     * @param turnMotors   each module's turn motor.
+     * @param turnEncoders each module's turn encoder.
+     * @param kinematics   the drivetrain's kinematics.
+     * @param gyroscope    the robot's gyroscope. This may be null.
+     */
+    public DrivetrainSwerve(Motor[] driveMotors,
+                            Motor[] turnMotors,
+                            Encoder[] turnEncoders,
+                            SwerveKinematics kinematics,
+                            Gyroscope gyroscope) {
+        int count = kinematics.getCount();
+
+        if (driveMotors.length != count ||
+                turnMotors.length != count ||
+                turnEncoders.length != count) {
+            throw new IllegalArgumentException(
+                    "A swerve drivetrain needs exactly one drive motor, " +
+                            "turn motor, and turn encoder for each of its " +
+                            count + " modules."
+            );
+        }
+
+        this.driveMotors = driveMotors.clone();
+        this.turnMotors = turnMotors.clone();
+        this.turnEncoders = turnEncoders.clone();
+        this.kinematics = kinematics;
+        this.gyroscope = gyroscope;
+        this.isFieldCentric = gyroscope != null;
+        this.degreesPerCount = new double[count];
+        this.currentAngles = new double[count];
+        this.lastErrors = new double[count];
+
+        for (int i = 0; i < count; i++) {
+            setTurnRatio(i, 1);
+        }
+    }
+
+    /**
+     * Set how many times a module's turn encoder rotates for every rotation
+     * of the module itself.
+     *
+     * @param module the module's index.
+     * @param ratio  encoder rotations per module rotation.
+     */
+    public void setTurnRatio(int module,
+                             double ratio) {
+        degreesPerCount[module] =
+                360 / (turnEncoders[module].getCpr() * ratio);
+    }
+
+    /**
+     * Read every turn encoder, updating the angle each module is currently
+     * pointing at.
+     */
+    private void readAngles() {
+        for (int i = 0; i < currentAngles.length; i++) {
+            currentAngles[i] = turnEncoders[i].getCount() *
+                    degreesPerCount[i];
+        }
+    }
+
+    /**
+     * Get the time, in seconds, since the drivetrain was last updated, and
+     * update the last-updated timestamp.
+     *
+     * @return elapsed time, in seconds. The very first call returns zero.
+     */
+    private double tick() {
+        long now = System.nanoTime();
+        double elapsed = hasTime ? (now - lastTime) * 1e-9 : 0;
+
+        lastTime = now;
+        hasTime = true;
+
+        return elapsed;
+    }
+
+    /**
+     * Steer each module towards the angle in the kinematics' angle array,
+     * and drive it at the speed in the kinematics' speed array.
+     *
+     * @param elapsed the time since the last update, in seconds.
+     */
+    private void applyStates(double elapsed) {
+        Trig trig = kinematics.getTrig();
+
+        for (int i = 0; i < currentAngles.length; i++) {
+            double error = kinematics.getAngle(i) - currentAngles[i];
+            double derivative = elapsed > 0
+                    ? (error - lastErrors[i]) / elapsed
+                    : 0;
+            double turn = (kP * error) + (kD * derivative);
+
+            turn = Math.max(turn, -1);
+            turn = Math.min(turn, 1);
+
+            lastErrors[i] = error;
+
+            turnMotors[i].setPower(turn);
+            driveMotors[i].setPower(
+                    kinematics.getSpeed(i) *
+                            trig.cos(Math.toRadians(error))
+            );
+        }
+    }
+
+    /**
+     * Drive the robot, using the system clock for the steering controllers.
+     *
+     * <p>
+     * If the drivetrain is field-centric, X and Y are relative to the field,
+     * and the gyroscope's heading is read every time this is called.
+     * Otherwise, they're relative to the robot.
+     * </p>
+     *
+     * @param x    the strafe power. Positive is to the right.
+     * @param y    the forwards power. Positive is forwards.
+     * @param turn the turn power. Positive is clockwise.
+     */
+    public void drive(double x,
+                      double y,
+                      double turn) {
+        drive(x, y, turn, tick());
+    }
+
+    /**
+     * Drive the robot.
+     *
+     * @param x       the strafe power. Positive is to the right.
+     * @param y       the forwards power. Positive is forwards.
+     * @param turn    the turn power. Positive is clockwise.
+     * @param elapsed the time since the last update, in seconds.
+     */
+    public void drive(double x,
+                      double y,
+                      double turn,
+                      double elapsed) {
+        if (isFieldCentric) {
+            kinematics.calculate(x, y, turn, gyroscope.getHeading());
+        } else {
+            kinematics.calculate(x, y, turn);
+        }
+
+        readAngles();
+        kinematics.optimize(currentAngles);
+        applyStates(elapsed);
+    }
+
+    /**
+     * Set power to the drivetrain based on a translation. The robot won't
+     * turn.
+     *
+     * @param translation the translation the drivetrain should follow.
+     */
+    public void setPower(Translation translation) {
+        drive(translation.getX(), translation.getY(), 0);
+    }
+
+    /**
+     * Stop every one of the drivetrain's motors. Modules keep whatever
+     * angle they're currently at.
+     */
+    public void stop() {
+        for (int i = 0; i < driveMotors.length; i++) {
+            driveMotors[i].setPower(0);
+            turnMotors[i].setPower(0);
+            lastErrors[i] = 0;
+        }
+
+        hasTime = false;
+    }
+
+    /**
+     * Get the angle a module was pointing at during the last update.
+     *
+     * @param module the module's index.
+     * @return the module's angle, in degrees.
+     */
+    public double getCurrentAngle(int module) {
+        return currentAngles[module];
+    }
+
+    /**
+     * Get the drivetrain's kinematics.
+     *
+     * @return the drivetrain's kinematics.
+     */
+    public SwerveKinematics getKinematics() {
+        return kinematics;
+    }
+
+    /**
+     * Set the steering controller's gains.
+     *
+     * @param kP the proportional gain, in power per degree of error.
+     * @param kD the derivative gain, in power per degree per second.
+     */
+    public void setSteeringGains(double kP,
+                                 double kD) {
+        this.kP = kP;
+        this.kD = kD;
+    }
+
+    /**
+     * Get the steering controller's proportional gain.
+     *
+     * @return the proportional gain.
+     */
+    public double getKp() {
+        return kP;
+    }
+
+    /**
+     * Get the steering controller's derivative gain.
+     *
+     * @return the derivative gain.
+     */
+    public double getKd() {
+        return kD;
+    }
+
+    /**
+     * Is the drivetrain being driven field-centric?
+     *
+     * @return whether or not the drivetrain is field-centric.
+     */
+    public boolean isFieldCentric() {
+        return isFieldCentric;
+    }
+
+    /**
+     * Enable or disable field-centric driving.
+     *
+     * @param isFieldCentric whether or not the drivetrain should be driven
+     *                       field-centric.
+     * @throws IllegalStateException if you try to enable field-centric
+     *                               driving without a gyroscope.
+     */
+    public void setFieldCentric(boolean isFieldCentric) {
+        if (isFieldCentric && gyroscope == null) {
+            throw new IllegalStateException(
+                    "Can't drive field-centric without a gyroscope! Use " +
+                            "the constructor that accepts a gyroscope."
+            );
+        }
+
+        this.isFieldCentric = isFieldCentric;
+    }
 }
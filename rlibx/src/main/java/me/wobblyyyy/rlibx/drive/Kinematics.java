@@ -26,32 +26,187 @@
 
 package me.wobblyyyy.rlibx.drive;
 
+import me.wobblyyyy.rlibx.math.Trig;
+
 /**
  * Various forwards kinematics for use in determining wheel speeds on several
  * types of chassis, including tank, swerve, and meccanum.
  *
+ * <p>
+ * Every non-tank translation uses the same coordinate system: positive X is
+ * to the right, positive Y is forwards, and positive turn is clockwise
+ * (turning to the right). Headings are in degrees, and are positive
+ * counter-clockwise, just like the {@code Gyroscope} class reports them.
+ * </p>
+ *
+ * <p>
+ * Methods that accept a {@link WheelPowers} buffer write their output into
+ * that buffer instead of creating a new object. Those are the methods you
+ * should use inside of a robot's main loop.
+ * </p>
+ *
  * @author Colin Robertson
+ * @version 1.1.0
  * @since 0.2.0
  */
 public class Kinematics {
     /**
      * Calculate the power for a meccanum chassis based on a translation.
      *
+     * <p>
+     * Translations don't have a turn component, so the robot won't turn at
+     * all. This creates a new {@code PowerMeccanum} every time it's called -
+     * if you're calling it in a loop, use
+     * {@link #calculateMeccanum(double, double, double, WheelPowers)}.
+     * </p>
+     *
      * @param translation the translation to calculate based on.
      * @return {@code PowerMeccanum} for the drivetrain.
      */
     public static PowerMeccanum calculateMeccanum(Translation translation) {
-        return null;
+        WheelPowers powers = new WheelPowers(4);
+
+        calculateMeccanum(
+                translation.getX(),
+                translation.getY(),
+                0,
+                powers
+        );
+
+        return powers.toPowerMeccanum();
+    }
+
+    /**
+     * Calculate the power for a meccanum chassis, relative to the robot.
+     *
+     * <p>
+     * Each of the wheels on a meccanum chassis has rollers mounted at 45
+     * degrees, so each wheel pushes the robot both forwards and sideways.
+     * Adding and subtracting the X, Y, and turn components gives us each
+     * wheel's power. If any of the wheels end up with a power larger than
+     * 1, every wheel is scaled down by the same amount, so the robot still
+     * moves in the right direction - just a bit slower.
+     * </p>
+     *
+     * @param x    the strafe power. Positive is to the right.
+     * @param y    the forwards power. Positive is forwards.
+     * @param turn the turn power. Positive is clockwise.
+     * @param into the buffer to write wheel powers into. This buffer must
+     *             hold at least four wheels, indexed the same way as
+     *             {@link Wheels}.
+     */
+    public static void calculateMeccanum(double x,
+                                         double y,
+                                         double turn,
+                                         WheelPowers into) {
+        into.set(Wheels.FR, y - x - turn);
+        into.set(Wheels.FL, y + x + turn);
+        into.set(Wheels.BR, y + x - turn);
+        into.set(Wheels.BL, y - x + turn);
+
+        into.desaturate(1);
+    }
+
+    /**
+     * Calculate the power for a meccanum chassis, relative to the field.
+     *
+     * <p>
+     * Field-centric driving means that pushing the joystick forwards always
+     * moves the robot away from the driver, no matter which way the robot
+     * is facing. The X and Y components are rotated backwards by the robot's
+     * heading, which turns them into robot-centric components, and then
+     * everything else works exactly like robot-centric driving.
+     * </p>
+     *
+     * @param x       the strafe power, relative to the field.
+     * @param y       the forwards power, relative to the field.
+     * @param turn    the turn power. Positive is clockwise.
+     * @param heading the robot's heading, in degrees.
+     * @param trig    the trigonometry implementation used to rotate the
+     *                translation.
+     * @param into    the buffer to write wheel powers into.
+     */
+    public static void calculateMeccanum(double x,
+                                         double y,
+                                         double turn,
+                                         double heading,
+                                         Trig trig,
+                                         WheelPowers into) {
+        double angle = Math.toRadians(heading);
+        double sin = trig.sin(angle);
+        double cos = trig.cos(angle);
+
+        calculateMeccanum(
+                toRobotX(x, y, sin, cos),
+                toRobotY(x, y, sin, cos),
+                turn,
+                into
+        );
+    }
+
+    /**
+     * Rotate a field-relative translation backwards by the robot's heading,
+     * and get the robot-relative X component. Every field-centric
+     * calculation uses this (and {@link #toRobotY(double, double, double,
+     * double)}), so they all agree on which way is which.
+     *
+     * @param x   the X component, relative to the field.
+     * @param y   the Y component, relative to the field.
+     * @param sin the sine of the robot's heading.
+     * @param cos the cosine of the robot's heading.
+     * @return the X component, relative to the robot.
+     */
+    static double toRobotX(double x,
+                           double y,
+                           double sin,
+                           double cos) {
+        return (x * cos) + (y * sin);
+    }
+
+    /**
+     * Rotate a field-relative translation backwards by the robot's heading,
+     * and get the robot-relative Y component.
+     *
+     * @param x   the X component, relative to the field.
+     * @param y   the Y component, relative to the field.
+     * @param sin the sine of the robot's heading.
+     * @param cos the cosine of the robot's heading.
+     * @return the Y component, relative to the robot.
+     * @see #toRobotX(double, double, double, double)
+     */
+    static double toRobotY(double x,
+                           double y,
+                           double sin,
+                           double cos) {
+        return (y * cos) - (x * sin);
     }
 
     /**
      * Calculate the power for a swerve chassis based on a translation.
      *
+     * <p>
+     * This can't be done. A {@code SwerveModuleState} holds turn
+     * <em>power</em>, not a turn angle, and turn power can't be calculated
+     * without knowing which way each module is currently pointing. Any
+     * powers this returned would look reasonable and drive the robot the
+     * wrong way, so it throws instead. Use {@link SwerveKinematics} to get
+     * each module's angle and speed, and {@link DrivetrainSwerve} to steer
+     * each module to its angle with closed-loop control.
+     * </p>
+     *
      * @param translation the translation to calculate based on.
-     * @return {@code PowerSwerve} for the drivetrain.
+     * @return nothing - this always throws.
+     * @throws UnsupportedOperationException always.
+     * @deprecated use {@link SwerveKinematics#calculate(double, double,
+     * double)} and {@link DrivetrainSwerve} instead.
      */
+    @Deprecated
     public static PowerSwerve calculateSwerve(Translation translation) {
-        return null;
+        throw new UnsupportedOperationException(
+                "Swerve powers can't be calculated without knowing which " +
+                        "way each module is pointing. Use SwerveKinematics " +
+                        "and DrivetrainSwerve instead."
+        );
     }
 
     /**
@@ -0,0 +1,513 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.math.Trig;
+import me.wobblyyyy.rlibx.math.linalg.LeastSquares;
+import me.wobblyyyy.rlibx.math.linalg.Matrix;
+import me.wobblyyyy.rlibx.math.linalg.Vector;
+
+/**
+ * Kinematics for (just about) any drivetrain, based on where each wheel is
+ * and which way it rolls.
+ *
+ * <p>
+ * Every wheel is described by four numbers: its X and Y position, relative
+ * to the robot's center of rotation, the direction it rolls in, and the
+ * angle of its rollers. A wheel's speed is the velocity of the point where
+ * it touches the ground, measured along its rolling direction, plus the
+ * tangent of its roller angle times the velocity to the right of its
+ * rolling direction. Normal wheels and omni wheels have a roller angle of
+ * zero - anything sideways is ignored. Meccanum wheels have a roller angle
+ * of 45 or -45 degrees.
+ * </p>
+ *
+ * <p>
+ * That relationship is linear, so it can be written as an (n x 3) matrix
+ * that turns a chassis velocity (x, y, turn) into n wheel speeds. The
+ * matrix, and its pseudo-inverse (which turns wheel speeds back into a
+ * chassis velocity, for odometry), are both calculated once, when the
+ * kinematics are created. After that, every update is a single small
+ * matrix-vector multiplication into a re-used buffer - no garbage.
+ * </p>
+ *
+ * <p>
+ * If a drivetrain can't move in a certain direction at all - a tank
+ * drivetrain can't strafe, for example - that direction is simply left out
+ * of the pseudo-inverse, and forwards kinematics will always report zero
+ * for it. Six-wheel tank, X-drive, H-drive, meccanum, and more can all be
+ * described this way - see the static factory methods.
+ * </p>
+ *
+ * <p>
+ * Coordinates work the same way they do in {@link Kinematics}. Directions
+ * are in degrees, where zero is forwards and angles increase
+ * counter-clockwise. The turn column is scaled so that a turn value of 1
+ * spins the fastest wheel at full speed.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see DrivetrainMatrix
+ * @since 0.2.0
+ */
+public class MatrixKinematics {
+    /**
+     * Columns (or rows, in the pseudo-inverse) with no coefficient larger
+     * than this are considered to be unused.
+     */
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * The (n x 3) inverse kinematics matrix, turning a chassis velocity into
+     * wheel speeds.
+     */
+    private final Matrix inverse;
+
+    /**
+     * The (3 x n) forwards kinematics matrix, turning wheel speeds into a
+     * chassis velocity.
+     */
+    private final Matrix forward;
+
+    /**
+     * Chassis velocity buffer.
+     */
+    private final Vector chassis = new Vector(3);
+
+    /**
+     * Wheel speed buffer.
+     */
+    private final Vector wheels;
+
+    /**
+     * Turn values are angular velocities (clockwise) multiplied by this.
+     */
+    private final double turnScale;
+
+    /**
+     * The trigonometry used for field-centric rotation.
+     */
+    private Trig trig = Trig.POLYNOMIAL;
+
+    /**
+     * Create new matrix kinematics.
+     *
+     * @param xs           each wheel's X position. Positive is to the
+     *                     right.
+     * @param ys           each wheel's Y position. Positive is forwards.
+     * @param directions   the direction each wheel rolls in when it's
+     *                     given positive power, in degrees.
+     * @param rollerAngles each wheel's roller angle, in degrees.
+     */
+    public MatrixKinematics(double[] xs,
+                            double[] ys,
+                            double[] directions,
+                            double[] rollerAngles) {
+        int count = xs.length;
+
+        if (count < 1 ||
+                ys.length != count ||
+                directions.length != count ||
+                rollerAngles.length != count) {
+            throw new IllegalArgumentException(
+                    "Matrix kinematics need at least one wheel, and the " +
+                            "same number of X positions, Y positions, " +
+                            "directions, and roller angles."
+            );
+        }
+
+        inverse = new Matrix(count, 3);
+        forward = new Matrix(3, count);
+        wheels = new Vector(count);
+
+        /*
+         * Build the inverse kinematics matrix.
+         *
+         * A clockwise turn moves a wheel at (px, py) in the direction
+         * (py, -px), so the contact point's velocity is
+         * (x + turn * py, y - turn * px). Project that onto the rolling
+         * direction d = (-sin, cos) and the direction to its right,
+         * s = (cos, sin).
+         */
+        double maxTurn = 0;
+
+        for (int i = 0; i < count; i++) {
+            double angle = Math.toRadians(directions[i]);
+            double dx = -Math.sin(angle);
+            double dy = Math.cos(angle);
+            double tan = Math.tan(Math.toRadians(rollerAngles[i]));
+            double cx = dx + (tan * dy);
+            double cy = dy - (tan * dx);
+            double cTurn = (cx * ys[i]) - (cy * xs[i]);
+
+            inverse.set(i, 0, cx);
+            inverse.set(i, 1, cy);
+            inverse.set(i, 2, cTurn);
+
+            maxTurn = Math.max(maxTurn, Math.abs(cTurn));
+        }
+
+        turnScale = maxTurn > TOLERANCE ? maxTurn : 1;
+
+        for (int i = 0; i < count; i++) {
+            inverse.set(i, 2, inverse.get(i, 2) / turnScale);
+        }
+
+        buildForward();
+    }
+
+    /**
+     * Calculate the pseudo-inverse of the inverse kinematics matrix.
+     *
+     * <p>
+     * Any column of the inverse kinematics matrix that's entirely zero is a
+     * direction the drivetrain can't move in. Those columns are removed
+     * before the pseudo-inverse is calculated (otherwise the matrix would
+     * never have full rank), and the matching rows of the forwards matrix
+     * are left as zero.
+     * </p>
+     */
+    private void buildForward() {
+        int count = inverse.getRows();
+        int[] used = new int[3];
+        int columns = 0;
+
+        for (int c = 0; c < 3; c++) {
+            double max = 0;
+
+            for (int r = 0; r < count; r++) {
+                max = Math.max(max, Math.abs(inverse.get(r, c)));
+            }
+
+            if (max > TOLERANCE) used[columns++] = c;
+        }
+
+        if (columns == 0 || columns > count) {
+            throw new IllegalArgumentException(
+                    "This wheel layout can't be used - it either can't " +
+                            "move at all, or it doesn't have enough wheels " +
+                            "for the directions it can move in."
+            );
+        }
+
+        Matrix reduced = new Matrix(count, columns);
+        Matrix pseudoInverse = new Matrix(columns, count);
+        LeastSquares solver = new LeastSquares(count, columns);
+
+        for (int r = 0; r < count; r++) {
+            for (int c = 0; c < columns; c++) {
+                reduced.set(r, c, inverse.get(r, used[c]));
+            }
+        }
+
+        if (!solver.factor(reduced)) {
+            throw new IllegalArgumentException(
+                    "This wheel layout can't be used - some of the " +
+                            "directions it can move in can't be told apart."
+            );
+        }
+
+        solver.pseudoInverse(pseudoInverse);
+
+        for (int c = 0; c < columns; c++) {
+            for (int r = 0; r < count; r++) {
+                forward.set(used[c], r, pseudoInverse.get(c, r));
+            }
+        }
+    }
+
+    /**
+     * Create kinematics for a tank drivetrain with any number of wheels per
+     * side, all evenly spaced.
+     *
+     * <p>
+     * Wheels are ordered front to back, right then left - so a four-wheel
+     * tank drivetrain is ordered the same as {@link Wheels}, and a six-wheel
+     * one goes front-right, front-left, middle-right, middle-left,
+     * back-right, back-left.
+     * </p>
+     *
+     * @param trackWidth    the distance between the left and right wheels.
+     * @param wheelbase     the distance between the front and back wheels.
+     * @param wheelsPerSide how many wheels are on each side.
+     * @return new matrix kinematics.
+     */
+    public static MatrixKinematics tank(double trackWidth,
+                                        double wheelbase,
+                                        int wheelsPerSide) {
+        int count = wheelsPerSide * 2;
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        double spacing = wheelsPerSide > 1
+                ? wheelbase / (wheelsPerSide - 1)
+                : 0;
+        double front = wheelsPerSide > 1 ? wheelbase / 2 : 0;
+
+        for (int i = 0; i < wheelsPerSide; i++) {
+            double y = front - (i * spacing);
+
+            xs[i * 2] = trackWidth / 2;
+            ys[i * 2] = y;
+            xs[(i * 2) + 1] = -trackWidth / 2;
+            ys[(i * 2) + 1] = y;
+        }
+
+        return new MatrixKinematics(
+                xs,
+                ys,
+                new double[count],
+                new double[count]
+        );
+    }
+
+    /**
+     * Create kinematics for a meccanum drivetrain. Wheels are ordered the
+     * same as {@link Wheels}.
+     *
+     * @param trackWidth the distance between the left and right wheels.
+     * @param wheelbase  the distance between the front and back wheels.
+     * @return new matrix kinematics.
+     */
+    public static MatrixKinematics meccanum(double trackWidth,
+                                            double wheelbase) {
+        double x = trackWidth / 2;
+        double y = wheelbase / 2;
+
+        return new MatrixKinematics(
+                new double[]{x, -x, x, -x},
+                new double[]{y, y, -y, -y},
+                new double[]{0, 0, 0, 0},
+                new double[]{-45, 45, 45, -45}
+        );
+    }
+
+    /**
+     * Create kinematics for an X-drive - four omni wheels, one on each
+     * corner, each mounted at 45 degrees. Wheels are ordered the same as
+     * {@link Wheels}.
+     *
+     * @param trackWidth the distance between the left and right wheels.
+     * @param wheelbase  the distance between the front and back wheels.
+     * @return new matrix kinematics.
+     */
+    public static MatrixKinematics xDrive(double trackWidth,
+                                          double wheelbase) {
+        double x = trackWidth / 2;
+        double y = wheelbase / 2;
+
+        return new MatrixKinematics(
+                new double[]{x, -x, x, -x},
+                new double[]{y, y, -y, -y},
+                new double[]{45, -45, -45, 45},
+                new double[]{0, 0, 0, 0}
+        );
+    }
+
+    /**
+     * Create kinematics for an H-drive - four omni wheels facing forwards,
+     * plus a fifth wheel in the middle of the robot facing sideways. The
+     * first four wheels are ordered the same as {@link Wheels}, and the
+     * strafe wheel comes last.
+     *
+     * @param trackWidth the distance between the left and right wheels.
+     * @param wheelbase  the distance between the front and back wheels.
+     * @return new matrix kinematics.
+     */
+    public static MatrixKinematics hDrive(double trackWidth,
+                                          double wheelbase) {
+        double x = trackWidth / 2;
+        double y = wheelbase / 2;
+
+        return new MatrixKinematics(
+                new double[]{x, -x, x, -x, 0},
+                new double[]{y, y, -y, -y, 0},
+                new double[]{0, 0, 0, 0, -90},
+                new double[]{0, 0, 0, 0, 0}
+        );
+    }
+
+    /**
+     * Calculate wheel powers, relative to the robot.
+     *
+     * <p>
+     * If any of the wheels end up with a power larger than 1, every wheel
+     * is scaled down by the same amount.
+     * </p>
+     *
+     * @param x    the strafe power. Positive is to the right.
+     * @param y    the forwards power. Positive is forwards.
+     * @param turn the turn power. Positive is clockwise.
+     * @param into the buffer to write wheel powers into. It must hold
+     *             exactly one power for each wheel.
+     */
+    public void calculate(double x,
+                          double y,
+                          double turn,
+                          WheelPowers into) {
+        checkCount(into);
+
+        chassis.set(0, x);
+        chassis.set(1, y);
+        chassis.set(2, turn);
+
+        inverse.multiply(chassis, wheels);
+
+        for (int i = 0; i < wheels.size(); i++) {
+            into.set(i, wheels.get(i));
+        }
+
+        into.desaturate(1);
+    }
+
+    /**
+     * Calculate wheel powers, relative to the field.
+     *
+     * @param x       the strafe power, relative to the field.
+     * @param y       the forwards power, relative to the field.
+     * @param turn    the turn power. Positive is clockwise.
+     * @param heading the robot's heading, in degrees.
+     * @param into    the buffer to write wheel powers into.
+     */
+    public void calculate(double x,
+                          double y,
+                          double turn,
+                          double heading,
+                          WheelPowers into) {
+        double angle = Math.toRadians(heading);
+        double sin = trig.sin(angle);
+        double cos = trig.cos(angle);
+
+        calculate(
+                Kinematics.toRobotX(x, y, sin, cos),
+                Kinematics.toRobotY(x, y, sin, cos),
+                turn,
+                into
+        );
+    }
+
+    /**
+     * Calculate the chassis velocity that best matches a set of wheel
+     * speeds. This is forwards kinematics, and it's mostly useful for
+     * odometry.
+     *
+     * <p>
+     * If the wheels disagree with each other (because one of them is
+     * slipping, for example) the result is the least squares best fit.
+     * </p>
+     *
+     * @param speeds the speed of each wheel.
+     * @param into   a vector of size 3 to write the chassis velocity into -
+     *               x, y, and turn, in that order. X and Y are in the same
+     *               unit as the wheel speeds. Divide turn by
+     *               {@link #getTurnScale()} to get an angular velocity.
+     * @return the destination vector.
+     */
+    public Vector calculateChassis(WheelPowers speeds,
+                                   Vector into) {
+        checkCount(speeds);
+
+        for (int i = 0; i < wheels.size(); i++) {
+            wheels.set(i, speeds.get(i));
+        }
+
+        return forward.multiply(wheels, into);
+    }
+
+    /**
+     * Make sure a wheel power buffer has the right number of wheels.
+     *
+     * @param powers the buffer to check.
+     */
+    private void checkCount(WheelPowers powers) {
+        if (powers.getCount() != wheels.size()) {
+            throw new IllegalArgumentException(
+                    "These kinematics have " + wheels.size() + " wheels, " +
+                            "but the buffer has " + powers.getCount() + "."
+            );
+        }
+    }
+
+    /**
+     * Get how many wheels the kinematics have.
+     *
+     * @return the wheel count.
+     */
+    public int getCount() {
+        return wheels.size();
+    }
+
+    /**
+     * Get the scale applied to the turn column. A turn value is a clockwise
+     * angular velocity multiplied by this scale. If wheel speeds are in
+     * meters per second, and wheel positions are in meters, the angular
+     * velocity is in radians per second.
+     *
+     * @return the turn scale.
+     */
+    public double getTurnScale() {
+        return turnScale;
+    }
+
+    /**
+     * Get the inverse kinematics matrix. This is the kinematics' own
+     * matrix - don't modify it.
+     *
+     * @return the (n x 3) inverse kinematics matrix.
+     */
+    public Matrix getInverse() {
+        return inverse;
+    }
+
+    /**
+     * Get the forwards kinematics matrix. This is the kinematics' own
+     * matrix - don't modify it.
+     *
+     * @return the (3 x n) forwards kinematics matrix.
+     */
+    public Matrix getForward() {
+        return forward;
+    }
+
+    /**
+     * Get the trigonometry used for field-centric rotation.
+     *
+     * @return the kinematics' trigonometry.
+     */
+    public Trig getTrig() {
+        return trig;
+    }
+
+    /**
+     * Set the trigonometry used for field-centric rotation.
+     *
+     * @param trig the kinematics' new trigonometry.
+     */
+    public void setTrig(Trig trig) {
+        this.trig = trig;
+    }
+}
@@ -0,0 +1,430 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.hardware.gyro.Gyroscope;
+import me.wobblyyyy.rlibx.math.Trig;
+
+/**
+ * Tracks the robot's position on the field by integrating how far its
+ * wheels have moved.
+ *
+ * <p>
+ * Each subclass knows how to turn a drivetrain's encoder readings into a
+ * robot-relative movement - how far the robot moved to the right, how far
+ * it moved forwards, and how far it turned. This class takes care of
+ * everything else. If a {@link Gyroscope} is supplied, the gyroscope's
+ * change in heading is used instead of the heading change calculated from
+ * the wheels, which is almost always more accurate.
+ * </p>
+ *
+ * <p>
+ * Movements are integrated with the pose exponential, which assumes the
+ * robot drove along a circular arc between updates, rather than in a
+ * straight line. A robot that's driving and turning at the same time ends
+ * up much closer to where it really is this way.
+ * </p>
+ *
+ * <p>
+ * {@link #update()} is meant to be called from a single thread - usually
+ * whichever thread samples the robot's sensors - as often as 1000 times per
+ * second. Every update publishes the new pose with a {@link PosePublisher},
+ * so path followers, telemetry, and anything else can read the pose from
+ * any thread with {@link #getPose(Pose)}, without locks and without
+ * creating any garbage.
+ * </p>
+ *
+ * <p>
+ * If the odometry is given a {@link PoseHistory}, every update is recorded
+ * in it, and measurements that arrive late can be fused with
+ * {@link #correct(long, Pose)}.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.1.0
+ * @see WheelOdometry
+ * @see SwerveOdometry
+ * @since 0.2.0
+ */
+public abstract class Odometry {
+    /**
+     * Index of the rightwards movement in the movement array.
+     */
+    protected static final int RIGHT = 0;
+
+    /**
+     * Index of the forwards movement in the movement array.
+     */
+    protected static final int FORWARD = 1;
+
+    /**
+     * Index of the clockwise rotation (in radians) in the movement array.
+     */
+    protected static final int TURN = 2;
+
+    /**
+     * The robot's gyroscope. This may be null.
+     */
+    private final Gyroscope gyroscope;
+
+    /**
+     * Publishes the pose to other threads.
+     */
+    private final PosePublisher publisher = new PosePublisher();
+
+    /**
+     * The robot-relative movement since the last update.
+     */
+    private final double[] movement = new double[3];
+
+    /**
+     * The trigonometry used for integration.
+     */
+    private Trig trig = Trig.POLYNOMIAL;
+
+    /**
+     * The robot's X position, Y position, and heading (in radians).
+     */
+    private final double[] pose = new double[3];
+
+    /**
+     * The robot's recent poses. This may be null.
+     */
+    private PoseHistory history;
+
+    /**
+     * How far the robot turned during the last update, in radians.
+     * Positive is counter-clockwise.
+     */
+    private double lastTurn;
+
+    /**
+     * The gyroscope's heading at the last update, in radians.
+     */
+    private double lastGyroHeading;
+
+    /**
+     * Has the gyroscope been read yet?
+     */
+    private boolean hasGyroHeading = false;
+
+    /**
+     * Create a new odometry tracker.
+     *
+     * @param gyroscope the robot's gyroscope. If this is null, headings
+     *                  are calculated from the wheels alone.
+     */
+    protected Odometry(Gyroscope gyroscope) {
+        this.gyroscope = gyroscope;
+    }
+
+    /**
+     * Measure how far the robot has moved since the last time this was
+     * called.
+     *
+     * @param movement the array to write the movement into. Rightwards
+     *                 movement goes at index {@link #RIGHT}, forwards
+     *                 movement at {@link #FORWARD}, and clockwise rotation
+     *                 (in radians) at {@link #TURN}.
+     * @return true if a movement was measured, or false if there wasn't
+     * anything to measure against yet (the very first call, for example).
+     */
+    protected abstract boolean measure(double[] movement);
+
+    /**
+     * Read the robot's sensors and update its pose, using the system clock
+     * as the pose's timestamp.
+     */
+    public void update() {
+        update(System.nanoTime());
+    }
+
+    /**
+     * Read the robot's sensors and update its pose.
+     *
+     * @param time when the sensors were read, in nanoseconds.
+     */
+    public void update(long time) {
+        boolean hasMovement = measure(movement);
+        double turn = -movement[TURN];
+
+        if (gyroscope != null) {
+            double gyroHeading = Math.toRadians(gyroscope.getHeading());
+
+            /*
+             * Most gyroscopes report a heading between -180 and 180, so
+             * turning across 180 looks like turning almost all the way
+             * around the other way. The robot can't really turn more than
+             * half a rotation in one update, so take the short way round.
+             */
+            if (hasGyroHeading) {
+                turn = PoseEstimator.wrap(gyroHeading - lastGyroHeading);
+            }
+
+            lastGyroHeading = gyroHeading;
+            hasGyroHeading = true;
+        }
+
+        if (!hasMovement) {
+            movement[RIGHT] = 0;
+            movement[FORWARD] = 0;
+            turn = 0;
+        }
+
+        lastTurn = turn;
+
+        integrate(pose, movement[RIGHT], movement[FORWARD], turn, trig);
+
+        double heading = Math.toDegrees(pose[2]);
+
+        if (history != null) {
+            history.add(
+                    time,
+                    pose[0],
+                    pose[1],
+                    heading,
+                    movement[RIGHT],
+                    movement[FORWARD],
+                    turn
+            );
+        }
+
+        publisher.publish(pose[0], pose[1], heading, time);
+    }
+
+    /**
+     * Integrate a single robot-relative movement.
+     *
+     * @param pose    the pose to move - X position, Y position, and heading
+     *                (in radians). This is modified in place.
+     * @param right   how far the robot moved to the right.
+     * @param forward how far the robot moved forwards.
+     * @param turn    how far the robot turned, in radians. Positive is
+     *                counter-clockwise.
+     * @param trig    the trigonometry to use.
+     */
+    static void integrate(double[] pose,
+                          double right,
+                          double forward,
+                          double turn,
+                          Trig trig) {
+        double left = -right;
+        double s;
+        double c;
+
+        /*
+         * sin(turn) / turn and (1 - cos(turn)) / turn both divide by zero
+         * when the robot drives straight, so use their Taylor series when
+         * the turn is tiny.
+         */
+        if (Math.abs(turn) < 1e-6) {
+            s = 1 - ((turn * turn) / 6);
+            c = turn / 2;
+        } else {
+            s = trig.sin(turn) / turn;
+            c = (1 - trig.cos(turn)) / turn;
+        }
+
+        double arcForward = (forward * s) - (left * c);
+        double arcLeft = (forward * c) + (left * s);
+
+        /*
+         * Rotate into field coordinates. At a heading of zero, forwards is
+         * +Y and left is -X.
+         */
+        double sin = trig.sin(pose[2]);
+        double cos = trig.cos(pose[2]);
+
+        pose[0] -= (arcForward * sin) + (arcLeft * cos);
+        pose[1] += (arcForward * cos) - (arcLeft * sin);
+        pose[2] += turn;
+    }
+
+    /**
+     * Reset the robot's pose.
+     *
+     * <p>
+     * This must be called from the same thread that calls
+     * {@link #update()}.
+     * </p>
+     *
+     * @param pose the robot's new pose.
+     */
+    public void reset(Pose pose) {
+        this.pose[0] = pose.getX();
+        this.pose[1] = pose.getY();
+        this.pose[2] = Math.toRadians(pose.getHeading());
+
+        if (history != null) history.clear();
+
+        publisher.publish(
+                pose.getX(),
+                pose.getY(),
+                pose.getHeading(),
+                System.nanoTime()
+        );
+    }
+
+    /**
+     * Correct the robot's pose at some point in the past, and replay every
+     * movement since then on top of the correction.
+     *
+     * <p>
+     * This is how delayed measurements are fused. If a camera says the
+     * robot was at a certain pose 80 milliseconds ago, correcting the pose
+     * 80 milliseconds ago - rather than right now - means the robot's
+     * movement in the meantime isn't thrown away. This needs a
+     * {@link PoseHistory}, and must be called from the same thread that
+     * calls {@link #update()}.
+     * </p>
+     *
+     * @param time when the robot was at the corrected pose, in nanoseconds.
+     * @param pose the corrected pose.
+     * @return true if the correction was applied, or false if the history
+     * doesn't go back that far.
+     * @throws IllegalStateException if the odometry doesn't have a history.
+     * @see PoseHistory#correct(long, Pose, Trig)
+     */
+    public boolean correct(long time,
+                           Pose pose) {
+        if (history == null) {
+            throw new IllegalStateException(
+                    "Can't correct a past pose without a pose history! " +
+                            "Use setHistory() first."
+            );
+        }
+
+        if (!history.correct(time, pose, trig)) return false;
+
+        int newest = history.size() - 1;
+
+        this.pose[0] = history.getX(newest);
+        this.pose[1] = history.getY(newest);
+        this.pose[2] = Math.toRadians(history.getHeading(newest));
+
+        publisher.publish(
+                this.pose[0],
+                this.pose[1],
+                history.getHeading(newest),
+                history.getTime(newest)
+        );
+
+        return true;
+    }
+
+    /**
+     * Get how far the robot moved to the right during the last update.
+     *
+     * <p>
+     * This, along with {@link #getLastForward()} and
+     * {@link #getLastHeadingChange()}, is exactly what a
+     * {@link PoseEstimator} needs to make a prediction.
+     * </p>
+     *
+     * @return the last update's rightwards movement.
+     */
+    public double getLastRight() {
+        return movement[RIGHT];
+    }
+
+    /**
+     * Get how far the robot moved forwards during the last update.
+     *
+     * @return the last update's forwards movement.
+     */
+    public double getLastForward() {
+        return movement[FORWARD];
+    }
+
+    /**
+     * Get how far the robot turned during the last update.
+     *
+     * @return the last update's heading change, in degrees. Positive is
+     * counter-clockwise.
+     */
+    public double getLastHeadingChange() {
+        return Math.toDegrees(lastTurn);
+    }
+
+    /**
+     * Get the odometry's pose history.
+     *
+     * @return the odometry's pose history, or null if it doesn't have one.
+     */
+    public PoseHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Set the pose history every update is recorded in. This must be
+     * called from the same thread that calls {@link #update()}.
+     *
+     * @param history the odometry's new pose history. Null disables
+     *                recording.
+     */
+    public void setHistory(PoseHistory history) {
+        this.history = history;
+    }
+
+    /**
+     * Get the robot's most recently published pose. This may be called from
+     * any thread.
+     *
+     * @param into the pose to copy the robot's pose into.
+     * @return when the pose was measured, in nanoseconds.
+     */
+    public long getPose(Pose into) {
+        return publisher.read(into);
+    }
+
+    /**
+     * Get the publisher the robot's pose is published with.
+     *
+     * @return the odometry's pose publisher.
+     */
+    public PosePublisher getPublisher() {
+        return publisher;
+    }
+
+    /**
+     * Get the trigonometry used for integration.
+     *
+     * @return the odometry's trigonometry.
+     */
+    public Trig getTrig() {
+        return trig;
+    }
+
+    /**
+     * Set the trigonometry used for integration.
+     *
+     * @param trig the odometry's new trigonometry.
+     */
+    public void setTrig(Trig trig) {
+        this.trig = trig;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+/**
+ * A mutable representation of the robot's position and heading on the
+ * field.
+ *
+ * <p>
+ * Poses are mutable so they can be re-used - odometry and pose estimators
+ * write into a pose you already own, rather than creating a new one every
+ * time the robot's position is read.
+ * </p>
+ *
+ * <p>
+ * Headings are in degrees, and are positive counter-clockwise, just like
+ * gyroscope headings. A heading of zero means the robot is facing along the
+ * positive Y axis.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class Pose {
+    /**
+     * The pose's X position.
+     */
+    private double x;
+
+    /**
+     * The pose's Y position.
+     */
+    private double y;
+
+    /**
+     * The pose's heading, in degrees.
+     */
+    private double heading;
+
+    /**
+     * Create a new pose at the origin, facing forwards.
+     */
+    public Pose() {
+
+    }
+
+    /**
+     * Create a new pose.
+     *
+     * @param x       the pose's X position.
+     * @param y       the pose's Y position.
+     * @param heading the pose's heading, in degrees.
+     */
+    public Pose(double x,
+                double y,
+                double heading) {
+        set(x, y, heading);
+    }
+
+    /**
+     * Set the pose's position and heading.
+     *
+     * @param x       the pose's X position.
+     * @param y       the pose's Y position.
+     * @param heading the pose's heading, in degrees.
+     * @return this pose.
+     */
+    public Pose set(double x,
+                    double y,
+                    double heading) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+
+        return this;
+    }
+
+    /**
+     * Copy another pose's position and heading.
+     *
+     * @param other the pose to copy.
+     * @return this pose.
+     */
+    public Pose set(Pose other) {
+        return set(other.x, other.y, other.heading);
+    }
+
+    /**
+     * Get the pose's X position.
+     *
+     * @return the pose's X position.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Get the pose's Y position.
+     *
+     * @return the pose's Y position.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Get the pose's heading.
+     *
+     * @return the pose's heading, in degrees.
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * Get the distance between this pose and another pose. Headings are
+     * ignored.
+     *
+     * @param other the other pose.
+     * @return the distance between the two poses.
+     */
+    public double distance(Pose other) {
+        return Math.hypot(other.x - x, other.y - y);
+    }
+
+    @Override
+    public String toString() {
+        return "Pose(" + x + ", " + y + ", " + heading + ")";
+    }
+}
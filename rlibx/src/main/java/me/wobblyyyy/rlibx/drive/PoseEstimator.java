@@ -0,0 +1,816 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.math.Trig;
+import me.wobblyyyy.rlibx.math.linalg.CholeskyDecomposition;
+import me.wobblyyyy.rlibx.math.linalg.Matrix;
+import me.wobblyyyy.rlibx.math.linalg.Vector;
+
+/**
+ * An extended Kalman filter that estimates the robot's pose by fusing wheel
+ * odometry, a gyroscope, and absolute position fixes.
+ *
+ * <p>
+ * The filter's state is the robot's X position, Y position, and heading,
+ * along with a 3x3 covariance matrix that says how sure the filter is about
+ * each of them. Odometry moves the state forwards (the "predict" step) and
+ * makes the filter less sure of itself. Gyroscope headings and absolute
+ * fixes - from a camera, for example - pull the state towards what they
+ * measured (the "update" step), and make the filter more sure of itself.
+ * How hard each measurement pulls depends on how noisy the filter thinks
+ * the measurement is, compared to how unsure the filter currently is.
+ * </p>
+ *
+ * <p>
+ * Predictions should be made at the same rate as the sensors are sampled,
+ * from a single thread. Gyroscope updates can be made on that same thread.
+ * Absolute fixes usually come from somewhere else - a vision thread, a
+ * network listener - so they can be submitted from one other thread with
+ * {@link #submitFix(double, double, double, double, double)}. Submitted
+ * fixes are queued, and applied, in order, at the start of the next
+ * prediction. Nothing in the estimate depends on a random number generator
+ * or the system clock (which is only used to timestamp published poses),
+ * so the same inputs always produce exactly the same estimate.
+ * </p>
+ *
+ * <p>
+ * Noise is described with variances. Odometry noise grows with how far the
+ * robot moves: a translation variance of 0.0004 means that, after driving
+ * one unit, the position's standard deviation is about 0.02 units. Angles
+ * are in degrees, so heading variances are in degrees squared. None of the
+ * filter's methods allocate anything.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see Odometry
+ * @since 0.2.0
+ */
+public class PoseEstimator {
+    /**
+     * How many fixes can be waiting to be applied at once.
+     */
+    public static final int QUEUE_CAPACITY = 16;
+
+    /**
+     * Default translation variance, in units squared per unit traveled.
+     */
+    public static final double DEFAULT_TRANSLATION_VARIANCE = 0.0004;
+
+    /**
+     * Default wheel turn variance, in degrees squared per degree turned.
+     */
+    public static final double DEFAULT_TURN_VARIANCE = 0.05;
+
+    /**
+     * Default wheel slip variance, in degrees squared per second.
+     */
+    public static final double DEFAULT_SLIP_VARIANCE = 1;
+
+    /**
+     * Default gyroscope rate variance, in degrees squared per second.
+     */
+    public static final double DEFAULT_GYRO_RATE_VARIANCE = 0.01;
+
+    /**
+     * Default gyroscope heading variance, in degrees squared.
+     */
+    public static final double DEFAULT_GYRO_HEADING_VARIANCE = 1;
+
+    /**
+     * How many values each queued fix takes up.
+     */
+    private static final int FIX_SIZE = 5;
+
+    /**
+     * Degrees squared to radians squared.
+     */
+    private static final double DEGREES_SQUARED =
+            (Math.PI / 180) * (Math.PI / 180);
+
+    /**
+     * The state - X position, Y position, and heading (in radians).
+     */
+    private final double[] state = new double[3];
+
+    /**
+     * The state's covariance.
+     */
+    private final Matrix covariance = new Matrix(3, 3);
+
+    /**
+     * The state transition's Jacobian.
+     */
+    private final Matrix jacobian = Matrix.identity(3);
+
+    /**
+     * The process noise.
+     */
+    private final Matrix noise = new Matrix(3, 3);
+
+    /**
+     * Scratch matrix.
+     */
+    private final Matrix scratch = new Matrix(3, 3);
+
+    /**
+     * Innovation covariance for full pose fixes.
+     */
+    private final Matrix innovationCovariance = new Matrix(3, 3);
+
+    /**
+     * Kalman gain, transposed.
+     */
+    private final Matrix gainTransposed = new Matrix(3, 3);
+
+    /**
+     * Decomposition used to solve for the Kalman gain.
+     */
+    private final CholeskyDecomposition cholesky =
+            new CholeskyDecomposition(3);
+
+    /**
+     * The innovation - the difference between a fix and the state.
+     */
+    private final Vector innovation = new Vector(3);
+
+    /**
+     * The state correction.
+     */
+    private final Vector correction = new Vector(3);
+
+    /**
+     * Submitted fixes that haven't been applied yet.
+     */
+    private final double[] queue = new double[QUEUE_CAPACITY * FIX_SIZE];
+
+    /**
+     * Publishes the estimate to other threads.
+     */
+    private final PosePublisher publisher = new PosePublisher();
+
+    /**
+     * The index of the next fix to be applied.
+     */
+    private volatile long queueHead = 0;
+
+    /**
+     * The index the next fix will be submitted at.
+     */
+    private volatile long queueTail = 0;
+
+    /**
+     * How many fixes have been dropped because the queue was full.
+     */
+    private volatile long dropped = 0;
+
+    /**
+     * Translation variance, in units squared per unit traveled.
+     */
+    private double translationVariance = DEFAULT_TRANSLATION_VARIANCE;
+
+    /**
+     * Wheel turn variance, in radians squared per radian turned.
+     */
+    private double turnVariance = DEFAULT_TURN_VARIANCE * (Math.PI / 180);
+
+    /**
+     * Wheel slip variance, in radians squared per second.
+     */
+    private double slipVariance = DEFAULT_SLIP_VARIANCE * DEGREES_SQUARED;
+
+    /**
+     * Gyroscope rate variance, in radians squared per second.
+     */
+    private double gyroRateVariance =
+            DEFAULT_GYRO_RATE_VARIANCE * DEGREES_SQUARED;
+
+    /**
+     * Gyroscope heading variance, in radians squared.
+     */
+    private double gyroHeadingVariance =
+            DEFAULT_GYRO_HEADING_VARIANCE * DEGREES_SQUARED;
+
+    /**
+     * The trigonometry used for prediction.
+     */
+    private Trig trig = Trig.POLYNOMIAL;
+
+    /**
+     * Create a new pose estimator.
+     *
+     * @param initial          the robot's starting pose.
+     * @param positionVariance how unsure the estimator is about the starting
+     *                         position, in units squared.
+     * @param headingVariance  how unsure the estimator is about the starting
+     *                         heading, in degrees squared.
+     */
+    public PoseEstimator(Pose initial,
+                         double positionVariance,
+                         double headingVariance) {
+        reset(initial, positionVariance, headingVariance);
+    }
+
+    /**
+     * Reset the estimator. This must be called from the prediction thread.
+     *
+     * @param pose             the robot's pose.
+     * @param positionVariance how unsure the estimator is about the
+     *                         position, in units squared.
+     * @param headingVariance  how unsure the estimator is about the
+     *                         heading, in degrees squared.
+     */
+    public void reset(Pose pose,
+                      double positionVariance,
+                      double headingVariance) {
+        state[0] = pose.getX();
+        state[1] = pose.getY();
+        state[2] = Math.toRadians(pose.getHeading());
+
+        covariance.setZero();
+        covariance.set(0, 0, positionVariance);
+        covariance.set(1, 1, positionVariance);
+        covariance.set(2, 2, headingVariance * DEGREES_SQUARED);
+
+        publish();
+    }
+
+    /**
+     * Set how noisy odometry is.
+     *
+     * @param translationVariance how much the position variance grows for
+     *                            each unit the robot travels, in units
+     *                            squared per unit.
+     * @param turnVariance        how much the heading variance grows for
+     *                            each degree the wheels say the robot
+     *                            turned, in degrees squared per degree.
+     */
+    public void setOdometryVariance(double translationVariance,
+                                    double turnVariance) {
+        this.translationVariance = translationVariance;
+        this.turnVariance = turnVariance * (Math.PI / 180);
+    }
+
+    /**
+     * Set how much the wheels can turn without noticing.
+     *
+     * <p>
+     * Wheels can slip, and the robot can get knocked around, without the
+     * wheels saying the robot turned at all. Without slip, wheels that
+     * report no turn would be completely certain the robot didn't turn,
+     * and the gyroscope would be ignored exactly when it's needed most.
+     * Slip variance grows with time, just like the gyroscope's rate
+     * variance, and it should be quite a bit larger than it, so the
+     * gyroscope wins whenever the wheels aren't turning much.
+     * </p>
+     *
+     * @param slipVariance how much the variance of the wheels' turn grows
+     *                     each second, in degrees squared per second.
+     */
+    public void setSlipVariance(double slipVariance) {
+        this.slipVariance = slipVariance * DEGREES_SQUARED;
+    }
+
+    /**
+     * Set how noisy the gyroscope is.
+     *
+     * @param rateVariance    how much the heading variance grows for each
+     *                        second the gyroscope's rate is integrated, in
+     *                        degrees squared per second.
+     * @param headingVariance the variance of the gyroscope's heading, in
+     *                        degrees squared.
+     */
+    public void setGyroVariance(double rateVariance,
+                                double headingVariance) {
+        this.gyroRateVariance = rateVariance * DEGREES_SQUARED;
+        this.gyroHeadingVariance = headingVariance * DEGREES_SQUARED;
+    }
+
+    /**
+     * Predict the robot's new pose from odometry alone.
+     *
+     * @param right         how far the robot moved to the right.
+     * @param forward       how far the robot moved forwards.
+     * @param headingChange how far the robot turned, in degrees. Positive is
+     *                      counter-clockwise.
+     */
+    public void predict(double right,
+                        double forward,
+                        double headingChange) {
+        double turn = Math.toRadians(headingChange);
+
+        predictRadians(right, forward, turn, turnVariance * Math.abs(turn));
+    }
+
+    /**
+     * Predict the robot's new pose from odometry and the gyroscope's rate.
+     *
+     * <p>
+     * The wheels and the gyroscope each have their own idea of how far the
+     * robot turned. The two are blended based on how noisy each one is -
+     * wheels get worse the more the robot turns, and the longer they have
+     * to slip (see {@link #setSlipVariance(double)}), and a gyroscope gets
+     * worse the longer its rate is integrated (it drifts).
+     * </p>
+     *
+     * @param right         how far the robot moved to the right.
+     * @param forward       how far the robot moved forwards.
+     * @param headingChange how far the wheels say the robot turned, in
+     *                      degrees. Positive is counter-clockwise.
+     * @param rate          the gyroscope's rate, in degrees per second.
+     *                      Positive is counter-clockwise.
+     * @param elapsed       how much time has passed since the last
+     *                      prediction, in seconds.
+     */
+    public void predict(double right,
+                        double forward,
+                        double headingChange,
+                        double rate,
+                        double elapsed) {
+        double wheelTurn = Math.toRadians(headingChange);
+        double gyroTurn = Math.toRadians(rate) * elapsed;
+        double wheelVariance = (turnVariance * Math.abs(wheelTurn)) +
+                (slipVariance * elapsed);
+        double gyroVariance = gyroRateVariance * elapsed;
+        double total = wheelVariance + gyroVariance;
+
+        if (total <= 0) {
+            predictRadians(right, forward, (wheelTurn + gyroTurn) / 2, 0);
+            return;
+        }
+
+        predictRadians(
+                right,
+                forward,
+                ((wheelTurn * gyroVariance) + (gyroTurn * wheelVariance)) /
+                        total,
+                (wheelVariance * gyroVariance) / total
+        );
+    }
+
+    /**
+     * Apply any queued fixes, then move the state forwards and grow its
+     * covariance.
+     *
+     * @param right        how far the robot moved to the right.
+     * @param forward      how far the robot moved forwards.
+     * @param turn         how far the robot turned, in radians.
+     * @param turnVariance the variance of the turn, in radians squared.
+     */
+    private void predictRadians(double right,
+                                double forward,
+                                double turn,
+                                double turnVariance) {
+        applyFixes();
+
+        double heading = state[2];
+        double oldX = state[0];
+        double oldY = state[1];
+
+        Odometry.integrate(state, right, forward, turn, trig);
+
+        double dx = state[0] - oldX;
+        double dy = state[1] - oldY;
+
+        /*
+         * Only the heading affects where a movement ends up, so the only
+         * interesting part of the Jacobian is the last column. Turning the
+         * robot's starting heading a little bit rotates the movement,
+         * which moves its end point by (-dy, dx).
+         */
+        jacobian.set(0, 2, -dy);
+        jacobian.set(1, 2, dx);
+
+        /*
+         * Movement noise is independent along the robot's rightwards and
+         * forwards axes. Rotate it into field coordinates.
+         */
+        double sin = trig.sin(heading);
+        double cos = trig.cos(heading);
+        double rightVariance = translationVariance * Math.abs(right);
+        double forwardVariance = translationVariance * Math.abs(forward);
+
+        noise.set(0, 0, (rightVariance * cos * cos) +
+                (forwardVariance * sin * sin));
+        noise.set(1, 1, (rightVariance * sin * sin) +
+                (forwardVariance * cos * cos));
+        noise.set(0, 1, (rightVariance - forwardVariance) * sin * cos);
+        noise.set(1, 0, noise.get(0, 1));
+        noise.set(2, 2, turnVariance);
+
+        /*
+         * P = F * P * F^T + Q
+         */
+        jacobian.multiply(covariance, scratch);
+        scratch.multiplyTransposed(jacobian, covariance);
+        covariance.add(noise, covariance);
+
+        publish();
+    }
+
+    /**
+     * Pull the heading towards a gyroscope reading, using the gyroscope's
+     * configured heading variance.
+     *
+     * @param heading the gyroscope's heading, in degrees.
+     */
+    public void updateHeading(double heading) {
+        updateHeadingRadians(Math.toRadians(heading), gyroHeadingVariance);
+    }
+
+    /**
+     * Pull the heading towards a measured heading.
+     *
+     * @param heading  the measured heading, in degrees.
+     * @param variance the measurement's variance, in degrees squared.
+     */
+    public void updateHeading(double heading,
+                              double variance) {
+        updateHeadingRadians(
+                Math.toRadians(heading),
+                variance * DEGREES_SQUARED
+        );
+    }
+
+    /**
+     * Scalar Kalman update of the heading.
+     *
+     * @param heading  the measured heading, in radians.
+     * @param variance the measurement's variance, in radians squared.
+     */
+    private void updateHeadingRadians(double heading,
+                                      double variance) {
+        double s = covariance.get(2, 2) + variance;
+
+        if (s <= 0) return;
+
+        double error = wrap(heading - state[2]);
+        double k0 = covariance.get(0, 2) / s;
+        double k1 = covariance.get(1, 2) / s;
+        double k2 = covariance.get(2, 2) / s;
+
+        state[0] += k0 * error;
+        state[1] += k1 * error;
+        state[2] += k2 * error;
+
+        /*
+         * P = P - K * H * P, where H * P is just the last row of P.
+         */
+        for (int j = 0; j < 3; j++) {
+            double row = covariance.get(2, j);
+
+            scratch.set(0, j, k0 * row);
+            scratch.set(1, j, k1 * row);
+            scratch.set(2, j, k2 * row);
+        }
+
+        covariance.subtract(scratch, covariance);
+        symmetrize();
+        publish();
+    }
+
+    /**
+     * Pull the position towards an absolute position fix. The heading is
+     * only changed by how it's correlated with the position.
+     *
+     * @param x        the measured X position.
+     * @param y        the measured Y position.
+     * @param variance the measurement's variance, in units squared.
+     */
+    public void updatePosition(double x,
+                               double y,
+                               double variance) {
+        double s00 = covariance.get(0, 0) + variance;
+        double s01 = covariance.get(0, 1);
+        double s11 = covariance.get(1, 1) + variance;
+        double determinant = (s00 * s11) - (s01 * s01);
+
+        if (determinant <= 0) return;
+
+        /*
+         * K = P * H^T * S^-1, where P * H^T is the first two columns of P,
+         * and S is only 2x2, so it's inverted directly.
+         */
+        double i00 = s11 / determinant;
+        double i01 = -s01 / determinant;
+        double i11 = s00 / determinant;
+        double errorX = x - state[0];
+        double errorY = y - state[1];
+
+        for (int i = 0; i < 3; i++) {
+            double p0 = covariance.get(i, 0);
+            double p1 = covariance.get(i, 1);
+
+            gainTransposed.set(0, i, (p0 * i00) + (p1 * i01));
+            gainTransposed.set(1, i, (p0 * i01) + (p1 * i11));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            double k0 = gainTransposed.get(0, i);
+            double k1 = gainTransposed.get(1, i);
+
+            state[i] += (k0 * errorX) + (k1 * errorY);
+
+            for (int j = 0; j < 3; j++) {
+                scratch.set(i, j, (k0 * covariance.get(0, j)) +
+                        (k1 * covariance.get(1, j)));
+            }
+        }
+
+        covariance.subtract(scratch, covariance);
+        symmetrize();
+        publish();
+    }
+
+    /**
+     * Pull the entire pose towards an absolute pose fix.
+     *
+     * @param x                the measured X position.
+     * @param y                the measured Y position.
+     * @param heading          the measured heading, in degrees.
+     * @param positionVariance the position's variance, in units squared.
+     * @param headingVariance  the heading's variance, in degrees squared.
+     */
+    public void updatePose(double x,
+                           double y,
+                           double heading,
+                           double positionVariance,
+                           double headingVariance) {
+        /*
+         * S = P + R
+         */
+        innovationCovariance.set(covariance);
+        innovationCovariance.set(
+                0, 0, innovationCovariance.get(0, 0) + positionVariance
+        );
+        innovationCovariance.set(
+                1, 1, innovationCovariance.get(1, 1) + positionVariance
+        );
+        innovationCovariance.set(
+                2, 2, innovationCovariance.get(2, 2) +
+                        (headingVariance * DEGREES_SQUARED)
+        );
+
+        if (!cholesky.decompose(innovationCovariance)) return;
+
+        /*
+         * K = P * S^-1. Both P and S are symmetric, so K^T = S^-1 * P,
+         * which is exactly what solving S * X = P gives us.
+         */
+        cholesky.solve(covariance, gainTransposed);
+
+        innovation.set(0, x - state[0]);
+        innovation.set(1, y - state[1]);
+        innovation.set(2, wrap(Math.toRadians(heading) - state[2]));
+
+        for (int i = 0; i < 3; i++) {
+            double sum = 0;
+
+            for (int j = 0; j < 3; j++) {
+                sum += gainTransposed.get(j, i) * innovation.get(j);
+            }
+
+            correction.set(i, sum);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            state[i] += correction.get(i);
+        }
+
+        /*
+         * P = P - K * P = P - (K^T)^T * P
+         */
+        gainTransposed.transpose(innovationCovariance);
+        innovationCovariance.multiply(covariance, scratch);
+        covariance.subtract(scratch, covariance);
+        symmetrize();
+        publish();
+    }
+
+    /**
+     * Submit an absolute pose fix, to be applied at the start of the next
+     * prediction.
+     *
+     * <p>
+     * This may be called from one thread other than the prediction thread
+     * - if fixes come from several threads, synchronize them yourself. If
+     * {@link #QUEUE_CAPACITY} fixes are already waiting, the new fix is
+     * dropped.
+     * </p>
+     *
+     * @param x                the measured X position.
+     * @param y                the measured Y position.
+     * @param heading          the measured heading, in degrees. NaN means
+     *                         only the position was measured.
+     * @param positionVariance the position's variance, in units squared.
+     * @param headingVariance  the heading's variance, in degrees squared.
+     * @return true if the fix was queued, or false if it was dropped.
+     */
+    public boolean submitFix(double x,
+                             double y,
+                             double heading,
+                             double positionVariance,
+                             double headingVariance) {
+        long tail = queueTail;
+
+        if (tail - queueHead >= QUEUE_CAPACITY) {
+            dropped++;
+            return false;
+        }
+
+        int index = (int) (tail % QUEUE_CAPACITY) * FIX_SIZE;
+
+        queue[index] = x;
+        queue[index + 1] = y;
+        queue[index + 2] = heading;
+        queue[index + 3] = positionVariance;
+        queue[index + 4] = headingVariance;
+
+        queueTail = tail + 1;
+
+        return true;
+    }
+
+    /**
+     * Apply every fix that's been submitted, in the order they were
+     * submitted. This is called automatically by every prediction, so you
+     * only need it if you want fixes applied without predicting.
+     *
+     * @return how many fixes were applied.
+     */
+    public int applyFixes() {
+        long head = queueHead;
+        long tail = queueTail;
+        int applied = 0;
+
+        while (head < tail) {
+            int index = (int) (head % QUEUE_CAPACITY) * FIX_SIZE;
+            double heading = queue[index + 2];
+
+            if (Double.isNaN(heading)) {
+                updatePosition(queue[index], queue[index + 1],
+                        queue[index + 3]);
+            } else {
+                updatePose(queue[index], queue[index + 1], heading,
+                        queue[index + 3], queue[index + 4]);
+            }
+
+            head++;
+            applied++;
+        }
+
+        queueHead = head;
+
+        return applied;
+    }
+
+    /**
+     * Wrap an angle so it's between -pi and pi radians.
+     *
+     * @param angle the angle to wrap, in radians.
+     * @return the wrapped angle, in radians.
+     */
+    static double wrap(double angle) {
+        return angle - (2 * Math.PI * Math.floor((angle + Math.PI) /
+                (2 * Math.PI)));
+    }
+
+    /**
+     * Force the covariance to be exactly symmetric, so rounding errors
+     * can't build up over thousands of updates.
+     */
+    private void symmetrize() {
+        for (int i = 0; i < 3; i++) {
+            for (int j = i + 1; j < 3; j++) {
+                double average = (covariance.get(i, j) +
+                        covariance.get(j, i)) / 2;
+
+                covariance.set(i, j, average);
+                covariance.set(j, i, average);
+            }
+        }
+    }
+
+    /**
+     * Publish the current estimate.
+     */
+    private void publish() {
+        publisher.publish(
+                state[0],
+                state[1],
+                Math.toDegrees(state[2]),
+                System.nanoTime()
+        );
+    }
+
+    /**
+     * Get the current estimate. This must be called from the prediction
+     * thread - use {@link #getPublisher()} from any other thread.
+     *
+     * @param into the pose to write the estimate into.
+     * @return the pose that was written into.
+     */
+    public Pose getPose(Pose into) {
+        return into.set(state[0], state[1], Math.toDegrees(state[2]));
+    }
+
+    /**
+     * Get the publisher the estimate is published with, so it can be read
+     * from any thread.
+     *
+     * @return the estimator's pose publisher.
+     */
+    public PosePublisher getPublisher() {
+        return publisher;
+    }
+
+    /**
+     * Get the variance of the X position.
+     *
+     * @return the X position's variance, in units squared.
+     */
+    public double getXVariance() {
+        return covariance.get(0, 0);
+    }
+
+    /**
+     * Get the variance of the Y position.
+     *
+     * @return the Y position's variance, in units squared.
+     */
+    public double getYVariance() {
+        return covariance.get(1, 1);
+    }
+
+    /**
+     * Get the variance of the heading.
+     *
+     * @return the heading's variance, in degrees squared.
+     */
+    public double getHeadingVariance() {
+        return covariance.get(2, 2) / DEGREES_SQUARED;
+    }
+
+    /**
+     * Get the state's covariance. This is the estimator's own matrix -
+     * don't modify it.
+     *
+     * @return the 3x3 covariance, with the heading in radians.
+     */
+    public Matrix getCovariance() {
+        return covariance;
+    }
+
+    /**
+     * Get how many submitted fixes were dropped because the queue was
+     * full.
+     *
+     * @return how many fixes have been dropped.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Get the trigonometry used for prediction.
+     *
+     * @return the estimator's trigonometry.
+     */
+    public Trig getTrig() {
+        return trig;
+    }
+
+    /**
+     * Set the trigonometry used for prediction.
+     *
+     * @param trig the estimator's new trigonometry.
+     */
+    public void setTrig(Trig trig) {
+        this.trig = trig;
+    }
+}
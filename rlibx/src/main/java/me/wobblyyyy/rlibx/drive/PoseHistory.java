@@ -0,0 +1,493 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.math.Trig;
+
+/**
+ * The robot's last N poses, along with the movement that produced each of
+ * them.
+ *
+ * <p>
+ * Some measurements show up late. A camera might report where the robot
+ * was 80 milliseconds ago, and by the time that measurement arrives, the
+ * robot has moved. To use the measurement, you need two things: the
+ * robot's pose at the moment the measurement was taken (so you can compare
+ * them), and a way to apply a correction to that old pose and carry it
+ * forwards to now. A pose history does both.
+ * </p>
+ *
+ * <p>
+ * Like {@link me.wobblyyyy.rlibx.math.TimeSeries}, samples are stored in a
+ * fixed-size ring of primitive arrays, and timestamps have to be added in
+ * order. Looking up a timestamp is a binary search, and nothing is
+ * allocated after the history has been created. A capacity of 4096 holds
+ * just over four seconds of history at 1 kHz.
+ * </p>
+ *
+ * <p>
+ * Pose histories aren't thread-safe. They're meant to be owned by
+ * {@link Odometry}, and used from the odometry's update thread.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see Odometry#setHistory(PoseHistory)
+ * @since 0.2.0
+ */
+public class PoseHistory {
+    /**
+     * Each sample's timestamp, in nanoseconds.
+     */
+    private final long[] times;
+
+    /**
+     * Each sample's X position.
+     */
+    private final double[] xs;
+
+    /**
+     * Each sample's Y position.
+     */
+    private final double[] ys;
+
+    /**
+     * Each sample's heading, in degrees.
+     */
+    private final double[] headings;
+
+    /**
+     * How far the robot moved to the right to reach each sample.
+     */
+    private final double[] rights;
+
+    /**
+     * How far the robot moved forwards to reach each sample.
+     */
+    private final double[] forwards;
+
+    /**
+     * How far the robot turned (counter-clockwise, in radians) to reach
+     * each sample.
+     */
+    private final double[] turns;
+
+    /**
+     * Integration buffer, used while replaying movements.
+     */
+    private final double[] pose = new double[3];
+
+    /**
+     * How many samples the history can hold.
+     */
+    private final int capacity;
+
+    /**
+     * The physical index of the oldest sample.
+     */
+    private int head = 0;
+
+    /**
+     * How many samples are in the history.
+     */
+    private int size = 0;
+
+    /**
+     * Create a new, empty, pose history.
+     *
+     * @param capacity how many samples the history can hold.
+     */
+    public PoseHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "Capacity must be at least 1!"
+            );
+        }
+
+        this.capacity = capacity;
+        this.times = new long[capacity];
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.headings = new double[capacity];
+        this.rights = new double[capacity];
+        this.forwards = new double[capacity];
+        this.turns = new double[capacity];
+    }
+
+    /**
+     * Convert a logical index (0 is the oldest sample) into a physical
+     * index into the storage arrays.
+     *
+     * @param index the logical index.
+     * @return the physical index.
+     */
+    private int physical(int index) {
+        int position = head + index;
+
+        return position >= capacity ? position - capacity : position;
+    }
+
+    /**
+     * Add a pose to the history, overwriting the oldest sample if the
+     * history is full.
+     *
+     * @param time    the pose's timestamp, in nanoseconds. This can't be
+     *                earlier than the newest sample's timestamp.
+     * @param x       the pose's X position.
+     * @param y       the pose's Y position.
+     * @param heading the pose's heading, in degrees.
+     * @param right   how far the robot moved to the right since the
+     *                previous sample.
+     * @param forward how far the robot moved forwards since the previous
+     *                sample.
+     * @param turn    how far the robot turned since the previous sample,
+     *                in radians. Positive is counter-clockwise.
+     */
+    public void add(long time,
+                    double x,
+                    double y,
+                    double heading,
+                    double right,
+                    double forward,
+                    double turn) {
+        if (size > 0 && time < times[physical(size - 1)]) {
+            throw new IllegalArgumentException(
+                    "Poses have to be added in order! " + time +
+                            " is earlier than " +
+                            times[physical(size - 1)] + "."
+            );
+        }
+
+        int index;
+
+        if (size < capacity) {
+            index = physical(size);
+            size++;
+        } else {
+            index = head;
+            head = head + 1 == capacity ? 0 : head + 1;
+        }
+
+        times[index] = time;
+        xs[index] = x;
+        ys[index] = y;
+        headings[index] = heading;
+        rights[index] = right;
+        forwards[index] = forward;
+        turns[index] = turn;
+    }
+
+    /**
+     * Add a pose to the history, without any movement. Poses added this
+     * way can't be replayed on top of a correction.
+     *
+     * @param time the pose's timestamp, in nanoseconds.
+     * @param pose the pose.
+     */
+    public void add(long time,
+                    Pose pose) {
+        add(time, pose.getX(), pose.getY(), pose.getHeading(), 0, 0, 0);
+    }
+
+    /**
+     * Find the newest sample at or before a timestamp.
+     *
+     * @param time the timestamp to look for, in nanoseconds.
+     * @return the index of the sample, or -1 if every sample is after the
+     * timestamp.
+     */
+    public int floorIndex(long time) {
+        int low = 0;
+        int high = size - 1;
+        int found = -1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+
+            if (times[physical(middle)] <= time) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Get the robot's pose at a timestamp, interpolating linearly between
+     * the samples on either side of it.
+     *
+     * <p>
+     * Timestamps before the oldest sample get the oldest pose, and
+     * timestamps after the newest sample get the newest pose.
+     * </p>
+     *
+     * @param time the timestamp, in nanoseconds.
+     * @param into the pose to write the interpolated pose into.
+     * @return true if the timestamp was inside the history, or false if it
+     * had to be clamped (or the history is empty, in which case the pose
+     * isn't changed).
+     */
+    public boolean get(long time,
+                       Pose into) {
+        if (size == 0) return false;
+
+        int before = floorIndex(time);
+
+        if (before < 0) {
+            get(0, into);
+            return false;
+        }
+
+        if (before == size - 1) {
+            get(before, into);
+            return time == times[physical(before)];
+        }
+
+        int a = physical(before);
+        int b = physical(before + 1);
+
+        /*
+         * The floor is the newest sample at or before the timestamp, so the
+         * next sample has to be strictly after it, and this can never
+         * divide by zero.
+         */
+        double fraction = (double) (time - times[a]) / (times[b] - times[a]);
+
+        into.set(
+                xs[a] + (xs[b] - xs[a]) * fraction,
+                ys[a] + (ys[b] - ys[a]) * fraction,
+                headings[a] + (headings[b] - headings[a]) * fraction
+        );
+
+        return true;
+    }
+
+    /**
+     * Get a sample's pose.
+     *
+     * @param index the sample's index. Zero is the oldest sample.
+     * @param into  the pose to write the sample's pose into.
+     */
+    public void get(int index,
+                    Pose into) {
+        checkIndex(index);
+
+        int i = physical(index);
+
+        into.set(xs[i], ys[i], headings[i]);
+    }
+
+    /**
+     * Correct a past pose, and replay every movement since then on top of
+     * the correction.
+     *
+     * <p>
+     * The timestamp usually falls between two samples. The robot is assumed
+     * to have moved at a constant rate between them, so the part of the
+     * next sample's movement that happened after the timestamp is replayed
+     * from the corrected pose, and the sample before the timestamp is
+     * shifted by the same amount the interpolated pose was. Then, each
+     * newer sample's movement is integrated again, so every sample after
+     * the correction - including the newest one, which is where the robot
+     * is now - moves along with it. Replaying costs one integration per
+     * sample, so correcting a pose 80 milliseconds ago at 1 kHz replays
+     * about 80 movements.
+     * </p>
+     *
+     * @param time when the robot was at the corrected pose, in nanoseconds.
+     * @param pose the corrected pose.
+     * @param trig the trigonometry used to replay movements.
+     * @return true if the correction was applied, or false if the history
+     * doesn't go back far enough.
+     */
+    public boolean correct(long time,
+                           Pose pose,
+                           Trig trig) {
+        int start = floorIndex(time);
+
+        if (start < 0) return false;
+
+        int index = physical(start);
+
+        this.pose[0] = pose.getX();
+        this.pose[1] = pose.getY();
+        this.pose[2] = Math.toRadians(pose.getHeading());
+
+        if (start == size - 1 || times[index] == time) {
+            xs[index] = pose.getX();
+            ys[index] = pose.getY();
+            headings[index] = pose.getHeading();
+        } else {
+            int next = physical(start + 1);
+            double fraction = (double) (time - times[index]) /
+                    (times[next] - times[index]);
+            double remaining = 1 - fraction;
+
+            /*
+             * Shift the sample before the correction by however far the
+             * pose in between it and the next sample was corrected.
+             */
+            xs[index] += pose.getX() -
+                    (xs[index] + (xs[next] - xs[index]) * fraction);
+            ys[index] += pose.getY() -
+                    (ys[index] + (ys[next] - ys[index]) * fraction);
+            headings[index] += pose.getHeading() -
+                    (headings[index] +
+                            (headings[next] - headings[index]) * fraction);
+
+            Odometry.integrate(
+                    this.pose,
+                    rights[next] * remaining,
+                    forwards[next] * remaining,
+                    turns[next] * remaining,
+                    trig
+            );
+
+            xs[next] = this.pose[0];
+            ys[next] = this.pose[1];
+            headings[next] = Math.toDegrees(this.pose[2]);
+            start++;
+        }
+
+        for (int i = start + 1; i < size; i++) {
+            index = physical(i);
+
+            Odometry.integrate(
+                    this.pose,
+                    rights[index],
+                    forwards[index],
+                    turns[index],
+                    trig
+            );
+
+            xs[index] = this.pose[0];
+            ys[index] = this.pose[1];
+            headings[index] = Math.toDegrees(this.pose[2]);
+        }
+
+        return true;
+    }
+
+    /**
+     * Make sure an index refers to a sample in the history.
+     *
+     * @param index the index to check.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of bounds for size " + size
+            );
+        }
+    }
+
+    /**
+     * Get a sample's timestamp.
+     *
+     * @param index the sample's index. Zero is the oldest sample.
+     * @return the sample's timestamp, in nanoseconds.
+     */
+    public long getTime(int index) {
+        checkIndex(index);
+
+        return times[physical(index)];
+    }
+
+    /**
+     * Get a sample's X position.
+     *
+     * @param index the sample's index. Zero is the oldest sample.
+     * @return the sample's X position.
+     */
+    public double getX(int index) {
+        checkIndex(index);
+
+        return xs[physical(index)];
+    }
+
+    /**
+     * Get a sample's Y position.
+     *
+     * @param index the sample's index. Zero is the oldest sample.
+     * @return the sample's Y position.
+     */
+    public double getY(int index) {
+        checkIndex(index);
+
+        return ys[physical(index)];
+    }
+
+    /**
+     * Get a sample's heading.
+     *
+     * @param index the sample's index. Zero is the oldest sample.
+     * @return the sample's heading, in degrees.
+     */
+    public double getHeading(int index) {
+        checkIndex(index);
+
+        return headings[physical(index)];
+    }
+
+    /**
+     * Get how many samples are in the history.
+     *
+     * @return the history's size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get how many samples the history can hold.
+     *
+     * @return the history's capacity.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Is the history empty?
+     *
+     * @return whether or not the history is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove every sample from the history.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+}
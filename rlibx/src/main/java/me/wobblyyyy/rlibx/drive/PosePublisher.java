@@ -0,0 +1,177 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * Shares a pose between one writing thread and any number of reading
+ * threads, without any locks and without creating any garbage.
+ *
+ * <p>
+ * This is a sequence lock. Every time a pose is published, the sequence
+ * number is incremented once before the pose is written, and once after.
+ * A reader copies the pose, then checks the sequence number again - if it
+ * was odd (meaning a write was in progress) or it changed while the reader
+ * was copying, the copy might be torn, so the reader simply tries again.
+ * Writes are tiny, so that almost never happens, and the writer never has
+ * to wait for a reader at all - a slow telemetry thread can't ever stall
+ * the odometry thread.
+ * </p>
+ *
+ * <p>
+ * Only one thread may publish poses. Any thread may read them.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class PosePublisher {
+    /**
+     * The sequence number. If it's odd, a write is in progress.
+     */
+    private volatile long sequence = 0;
+
+    /**
+     * The published X position.
+     */
+    private double x;
+
+    /**
+     * The published Y position.
+     */
+    private double y;
+
+    /**
+     * The published heading, in degrees.
+     */
+    private double heading;
+
+    /**
+     * When the published pose was measured, in nanoseconds.
+     */
+    private long time;
+
+    /**
+     * Create a new pose publisher. Until a pose is published, readers see
+     * the origin, at time zero.
+     */
+    public PosePublisher() {
+
+    }
+
+    /**
+     * Publish a new pose. This must only be called from a single thread.
+     *
+     * @param x       the pose's X position.
+     * @param y       the pose's Y position.
+     * @param heading the pose's heading, in degrees.
+     * @param time    when the pose was measured, in nanoseconds (as
+     *                reported by {@link System#nanoTime()}).
+     */
+    public void publish(double x,
+                        double y,
+                        double heading,
+                        long time) {
+        long s = sequence;
+
+        sequence = s + 1;
+
+        /*
+         * Make sure none of the writes below can be moved in front of the
+         * (now odd) sequence number.
+         */
+        VarHandle.storeStoreFence();
+
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.time = time;
+
+        sequence = s + 2;
+    }
+
+    /**
+     * Publish a new pose. This must only be called from a single thread.
+     *
+     * @param pose the pose to publish.
+     * @param time when the pose was measured, in nanoseconds.
+     */
+    public void publish(Pose pose,
+                        long time) {
+        publish(pose.getX(), pose.getY(), pose.getHeading(), time);
+    }
+
+    /**
+     * Read the most recently published pose. This may be called from any
+     * thread.
+     *
+     * @param into the pose to copy the published pose into.
+     * @return when the published pose was measured, in nanoseconds.
+     */
+    public long read(Pose into) {
+        while (true) {
+            long before = sequence;
+
+            if ((before & 1) == 0) {
+                double x = this.x;
+                double y = this.y;
+                double heading = this.heading;
+                long time = this.time;
+
+                /*
+                 * Make sure the reads above can't be moved after the
+                 * second read of the sequence number.
+                 */
+                VarHandle.acquireFence();
+
+                if (sequence == before) {
+                    into.set(x, y, heading);
+
+                    return time;
+                }
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Get how many poses have been published.
+     *
+     * <p>
+     * Readers can compare this against the last value they saw to tell
+     * whether or not there's a new pose, without copying it.
+     * </p>
+     *
+     * @return how many poses have been published.
+     */
+    public long getVersion() {
+        return sequence >>> 1;
+    }
+}
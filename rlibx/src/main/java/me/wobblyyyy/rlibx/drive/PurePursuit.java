@@ -0,0 +1,411 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.drive.trajectory.Trajectory;
+import me.wobblyyyy.rlibx.math.Trig;
+
+/**
+ * A pure pursuit path follower.
+ *
+ * <p>
+ * Pure pursuit is about as simple as a path follower gets. Every loop, it
+ * finds a point on the path that's a fixed distance (the lookahead
+ * distance) ahead of the robot, and drives along an arc that passes
+ * through that point. A longer lookahead distance gives a smoother, lazier
+ * path; a shorter one follows the path more closely, but tends to
+ * oscillate.
+ * </p>
+ *
+ * <p>
+ * The robot's speed comes from the trajectory - it's the trajectory's
+ * velocity at the point on the path that's closest to the robot. The
+ * trajectory starts at rest, which would mean the robot never starts
+ * moving, so there's a minimum velocity as well.
+ * </p>
+ *
+ * <p>
+ * Neither the closest point nor the lookahead point ever move backwards
+ * along the path. Both searches start from wherever they ended last loop,
+ * and walk forwards a sample or two at a time, so updating the follower is
+ * O(1) amortized, no matter how long the path is. The downside is that if
+ * a path crosses over itself, the follower won't get confused and skip
+ * ahead - which is really more of an upside.
+ * </p>
+ *
+ * <p>
+ * The output is a curvature drive command: forwards velocity and turn
+ * rate, with no strafing. That works for every kind of drivetrain.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see Ramsete
+ * @see ChassisSpeeds
+ * @since 0.2.0
+ */
+public class PurePursuit {
+    /**
+     * The trajectory that's being followed.
+     */
+    private final Trajectory trajectory;
+
+    /**
+     * The lookahead distance.
+     */
+    private final double lookahead;
+
+    /**
+     * The minimum velocity, in units per second.
+     */
+    private final double minVelocity;
+
+    /**
+     * How close the robot has to get to the end of the path before the
+     * path is finished.
+     */
+    private final double tolerance;
+
+    /**
+     * The follower's output.
+     */
+    private final ChassisSpeeds speeds = new ChassisSpeeds();
+
+    /**
+     * The trig implementation used to rotate the lookahead point into the
+     * robot's frame of reference.
+     */
+    private Trig trig = Trig.POLYNOMIAL;
+
+    /**
+     * The index of the sample that's closest to the robot.
+     */
+    private int closest = 0;
+
+    /**
+     * The index of the first sample at least one lookahead distance away
+     * from the robot.
+     */
+    private int target = 0;
+
+    /**
+     * The X position of the most recent lookahead point.
+     */
+    private double targetX;
+
+    /**
+     * The Y position of the most recent lookahead point.
+     */
+    private double targetY;
+
+    /**
+     * Has the path been finished?
+     */
+    private boolean isFinished = false;
+
+    /**
+     * Create a new pure pursuit follower.
+     *
+     * @param trajectory  the trajectory to follow.
+     * @param lookahead   the lookahead distance.
+     * @param minVelocity the minimum velocity, in units per second. This
+     *                    should be small, but not zero - otherwise, the
+     *                    robot would never start moving.
+     * @param tolerance   how close the robot has to get to the end of the
+     *                    path before the path is finished.
+     */
+    public PurePursuit(Trajectory trajectory,
+                       double lookahead,
+                       double minVelocity,
+                       double tolerance) {
+        if (!(lookahead > 0)) {
+            throw new IllegalArgumentException(
+                    "Lookahead distance must be positive, but you tried " +
+                            "to use a lookahead distance of " + lookahead +
+                            "."
+            );
+        }
+
+        this.trajectory = trajectory;
+        this.lookahead = lookahead;
+        this.minVelocity = minVelocity;
+        this.tolerance = tolerance;
+
+        reset();
+    }
+
+    /**
+     * Start following the path from the beginning again.
+     */
+    public void reset() {
+        closest = 0;
+        target = 0;
+        targetX = trajectory.getX(0);
+        targetY = trajectory.getY(0);
+        isFinished = false;
+        speeds.setZero();
+    }
+
+    /**
+     * Get the squared distance between the robot and a sample.
+     *
+     * @param x     the robot's X position.
+     * @param y     the robot's Y position.
+     * @param index the sample's index.
+     * @return the squared distance between the robot and the sample.
+     */
+    private double distanceSquared(double x,
+                                   double y,
+                                   int index) {
+        double dx = trajectory.getX(index) - x;
+        double dy = trajectory.getY(index) - y;
+
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Update the follower.
+     *
+     * @param pose the robot's current pose.
+     * @return the chassis speeds the robot should drive at. The same
+     * chassis speeds are returned every single time.
+     */
+    public ChassisSpeeds update(Pose pose) {
+        double x = pose.getX();
+        double y = pose.getY();
+        int last = trajectory.size() - 1;
+
+        /*
+         * Walk the closest point forwards for as long as the next sample is
+         * at least as close as the current one.
+         */
+        while (closest < last &&
+                distanceSquared(x, y, closest + 1) <=
+                        distanceSquared(x, y, closest)) {
+            closest++;
+        }
+
+        double dx = trajectory.getX(last) - x;
+        double dy = trajectory.getY(last) - y;
+
+        if (isFinished ||
+                closest == last ||
+                dx * dx + dy * dy <= tolerance * tolerance) {
+            isFinished = true;
+            speeds.setZero();
+            return speeds;
+        }
+
+        /*
+         * Walk the lookahead point forwards until it's at least one
+         * lookahead distance away from the robot (or it hits the end of the
+         * path).
+         */
+        double lookaheadSquared = lookahead * lookahead;
+
+        if (target < closest) target = closest;
+
+        while (target < last &&
+                distanceSquared(x, y, target) < lookaheadSquared) {
+            target++;
+        }
+
+        findTarget(x, y, lookaheadSquared);
+
+        /*
+         * Rotate the lookahead point into the robot's frame of reference.
+         */
+        double heading = Math.toRadians(pose.getHeading());
+        double sin = trig.sin(heading);
+        double cos = trig.cos(heading);
+        double tx = targetX - x;
+        double ty = targetY - y;
+        double right = tx * cos + ty * sin;
+        double forward = ty * cos - tx * sin;
+        double distanceSquared = right * right + forward * forward;
+
+        /*
+         * The arc that passes through both the robot and the lookahead
+         * point, tangent to the robot's heading, has a curvature of
+         * 2x / d^2, where x is how far the point is to the side.
+         *
+         * Curvature to the right is a clockwise turn, which is positive.
+         */
+        double curvature = distanceSquared > 1e-12
+                ? 2 * right / distanceSquared
+                : 0;
+        double velocity = Math.max(
+                trajectory.getVelocity(closest),
+                minVelocity
+        );
+
+        speeds.set(0, velocity, velocity * curvature);
+
+        return speeds;
+    }
+
+    /**
+     * Find the exact lookahead point, between the lookahead sample and the
+     * sample before it.
+     *
+     * @param x                the robot's X position.
+     * @param y                the robot's Y position.
+     * @param lookaheadSquared the lookahead distance, squared.
+     */
+    private void findTarget(double x,
+                            double y,
+                            double lookaheadSquared) {
+        double bx = trajectory.getX(target);
+        double by = trajectory.getY(target);
+
+        if (target == 0 ||
+                target == closest ||
+                distanceSquared(x, y, target) < lookaheadSquared) {
+            /*
+             * Either the robot is more than a lookahead distance away from
+             * the path, or we've reached the end of the path. Either way,
+             * there's no intersection, so just head for the sample.
+             */
+            targetX = bx;
+            targetY = by;
+            return;
+        }
+
+        /*
+         * Intersect the segment between the two samples with a circle
+         * around the robot. The sample before the lookahead sample is
+         * inside the circle and the lookahead sample isn't, so there's
+         * always exactly one intersection.
+         */
+        double ax = trajectory.getX(target - 1);
+        double ay = trajectory.getY(target - 1);
+        double sx = bx - ax;
+        double sy = by - ay;
+        double fx = ax - x;
+        double fy = ay - y;
+        double a = sx * sx + sy * sy;
+        double b = 2 * (fx * sx + fy * sy);
+        double c = fx * fx + fy * fy - lookaheadSquared;
+        double discriminant = Math.max(0, b * b - 4 * a * c);
+        double t = a > 0 ? (-b + Math.sqrt(discriminant)) / (2 * a) : 1;
+
+        t = Math.max(0, Math.min(1, t));
+
+        targetX = ax + sx * t;
+        targetY = ay + sy * t;
+    }
+
+    /**
+     * Get the follower's output.
+     *
+     * @return the chassis speeds from the most recent update.
+     */
+    public ChassisSpeeds getSpeeds() {
+        return speeds;
+    }
+
+    /**
+     * Has the robot reached the end of the path?
+     *
+     * @return whether or not the path is finished.
+     */
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    /**
+     * Get the index of the sample that's closest to the robot.
+     *
+     * @return the closest sample's index.
+     */
+    public int getClosestIndex() {
+        return closest;
+    }
+
+    /**
+     * Get the index of the lookahead sample.
+     *
+     * @return the lookahead sample's index.
+     */
+    public int getTargetIndex() {
+        return target;
+    }
+
+    /**
+     * Get the X position of the most recent lookahead point.
+     *
+     * @return the lookahead point's X position.
+     */
+    public double getTargetX() {
+        return targetX;
+    }
+
+    /**
+     * Get the Y position of the most recent lookahead point.
+     *
+     * @return the lookahead point's Y position.
+     */
+    public double getTargetY() {
+        return targetY;
+    }
+
+    /**
+     * Get the trajectory that's being followed.
+     *
+     * @return the follower's trajectory.
+     */
+    public Trajectory getTrajectory() {
+        return trajectory;
+    }
+
+    /**
+     * Get the lookahead distance.
+     *
+     * @return the lookahead distance.
+     */
+    public double getLookahead() {
+        return lookahead;
+    }
+
+    /**
+     * Get the trig implementation used by the follower.
+     *
+     * @return the follower's trig implementation.
+     */
+    public Trig getTrig() {
+        return trig;
+    }
+
+    /**
+     * Set the trig implementation used by the follower.
+     *
+     * @param trig the trig implementation to use.
+     */
+    public void setTrig(Trig trig) {
+        this.trig = trig;
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.drive.trajectory.Trajectory;
+import me.wobblyyyy.rlibx.drive.trajectory.TrajectoryState;
+import me.wobblyyyy.rlibx.math.Trig;
+
+/**
+ * A RAMSETE path follower.
+ *
+ * <p>
+ * RAMSETE is a time-based follower. Every loop, it samples the trajectory
+ * at the current time to figure out where the robot should be, and how fast
+ * it should be going. It then adds a correction based on how far the robot
+ * is from where it should be - ahead or behind, to either side, and how far
+ * off its heading is. Unlike pure pursuit, RAMSETE is guaranteed to
+ * converge back onto the path, as long as it isn't too far away.
+ * </p>
+ *
+ * <p>
+ * There are two tuning values. B works like a proportional gain: larger
+ * values correct errors more aggressively. Zeta works like damping: larger
+ * values reduce overshoot. They're usually set to 2 and 0.7 - but those
+ * values assume distances are measured in meters, so if you're using inches
+ * (for example), B needs to be scaled down by 39.37 squared.
+ * </p>
+ *
+ * <p>
+ * Sampling the trajectory starts from the sample that was used last loop,
+ * rather than searching the entire trajectory, so updating the follower is
+ * O(1) amortized, no matter how long the trajectory is. RAMSETE assumes the
+ * robot is always facing its direction of travel, so it's ideal for tank
+ * drives, but works for any other drivetrain too.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see PurePursuit
+ * @see ChassisSpeeds
+ * @since 0.2.0
+ */
+public class Ramsete {
+    /**
+     * The default B gain, for distances in meters.
+     */
+    public static final double DEFAULT_B = 2.0;
+
+    /**
+     * The default zeta gain.
+     */
+    public static final double DEFAULT_ZETA = 0.7;
+
+    /**
+     * The trajectory that's being followed.
+     */
+    private final Trajectory trajectory;
+
+    /**
+     * The B gain.
+     */
+    private final double b;
+
+    /**
+     * The zeta gain.
+     */
+    private final double zeta;
+
+    /**
+     * The reference state, where the robot should be right now.
+     */
+    private final TrajectoryState reference = new TrajectoryState();
+
+    /**
+     * The follower's output.
+     */
+    private final ChassisSpeeds speeds = new ChassisSpeeds();
+
+    /**
+     * The trig implementation used to rotate errors into the robot's frame
+     * of reference.
+     */
+    private Trig trig = Trig.POLYNOMIAL;
+
+    /**
+     * The index of the sample that was used last loop.
+     */
+    private int index = 0;
+
+    /**
+     * When the follower was started, in nanoseconds.
+     */
+    private long startTime;
+
+    /**
+     * Has the follower been started? It starts on the first clock-based
+     * update after creation or a reset.
+     */
+    private boolean isStarted = false;
+
+    /**
+     * Create a new RAMSETE follower with the default gains.
+     *
+     * @param trajectory the trajectory to follow.
+     */
+    public Ramsete(Trajectory trajectory) {
+        this(trajectory, DEFAULT_B, DEFAULT_ZETA);
+    }
+
+    /**
+     * Create a new RAMSETE follower.
+     *
+     * @param trajectory the trajectory to follow.
+     * @param b          the B gain. This must be positive.
+     * @param zeta       the zeta gain. This must be between 0 and 1.
+     */
+    public Ramsete(Trajectory trajectory,
+                   double b,
+                   double zeta) {
+        if (!(b > 0) || !(zeta >= 0 && zeta <= 1)) {
+            throw new IllegalArgumentException(
+                    "B must be positive and zeta must be between 0 and 1, " +
+                            "but you tried to use a B of " + b + " and a " +
+                            "zeta of " + zeta + "."
+            );
+        }
+
+        this.trajectory = trajectory;
+        this.b = b;
+        this.zeta = zeta;
+    }
+
+    /**
+     * Start following the trajectory from the beginning again. The next
+     * call to {@link #update(Pose)} is treated as time zero.
+     */
+    public void reset() {
+        index = 0;
+        isStarted = false;
+        speeds.setZero();
+    }
+
+    /**
+     * Wrap an angle so it's between -pi and pi radians.
+     *
+     * @param angle the angle to wrap, in radians.
+     * @return the wrapped angle, in radians.
+     */
+    private static double wrap(double angle) {
+        return angle - (2 * Math.PI * Math.floor((angle + Math.PI) /
+                (2 * Math.PI)));
+    }
+
+    /**
+     * Update the follower, using the system clock to determine how long
+     * the trajectory has been followed for.
+     *
+     * @param pose the robot's current pose.
+     * @return the chassis speeds the robot should drive at. The same
+     * chassis speeds are returned every single time.
+     */
+    public ChassisSpeeds update(Pose pose) {
+        long now = System.nanoTime();
+
+        if (!isStarted) {
+            startTime = now;
+            isStarted = true;
+        }
+
+        return update(pose, (now - startTime) * 1e-9);
+    }
+
+    /**
+     * Update the follower.
+     *
+     * @param pose the robot's current pose.
+     * @param time how long the trajectory has been followed for, in
+     *             seconds.
+     * @return the chassis speeds the robot should drive at. The same
+     * chassis speeds are returned every single time.
+     */
+    public ChassisSpeeds update(Pose pose,
+                                double time) {
+        index = trajectory.sample(time, index, reference);
+
+        double heading = Math.toRadians(pose.getHeading());
+        double sin = trig.sin(heading);
+        double cos = trig.cos(heading);
+
+        /*
+         * Rotate the position error into the robot's frame of reference.
+         * RAMSETE is usually written with X forwards and Y to the left, so
+         * that's what we'll use here.
+         */
+        double dx = reference.getX() - pose.getX();
+        double dy = reference.getY() - pose.getY();
+        double errorForward = dy * cos - dx * sin;
+        double errorLeft = -(dx * cos + dy * sin);
+        double errorHeading = wrap(
+                Math.toRadians(reference.getHeading()) - heading
+        );
+
+        double v = reference.getVelocity();
+        double omega = v * reference.getCurvature();
+        double k = 2 * zeta * Math.sqrt(omega * omega + b * v * v);
+
+        /*
+         * sin(x) / x, which is 1 when x is 0.
+         */
+        double sinc = Math.abs(errorHeading) < 1e-6
+                ? 1 - errorHeading * errorHeading / 6
+                : trig.sin(errorHeading) / errorHeading;
+
+        double velocity = v * trig.cos(errorHeading) + k * errorForward;
+        double turn = omega +
+                k * errorHeading +
+                b * v * sinc * errorLeft;
+
+        /*
+         * RAMSETE's turn rate is counter-clockwise, and ours is clockwise.
+         */
+        speeds.set(0, velocity, -turn);
+
+        return speeds;
+    }
+
+    /**
+     * Get the follower's output.
+     *
+     * @return the chassis speeds from the most recent update.
+     */
+    public ChassisSpeeds getSpeeds() {
+        return speeds;
+    }
+
+    /**
+     * Get where the robot should be right now.
+     *
+     * @return the reference state from the most recent update.
+     */
+    public TrajectoryState getReference() {
+        return reference;
+    }
+
+    /**
+     * Is the trajectory finished? This is purely time-based - the
+     * trajectory is finished once its duration has elapsed, no matter
+     * where the robot actually is.
+     *
+     * @param time how long the trajectory has been followed for, in
+     *             seconds.
+     * @return whether or not the trajectory is finished.
+     */
+    public boolean isFinished(double time) {
+        return time >= trajectory.getDuration();
+    }
+
+    /**
+     * Get the index of the sample that was used in the most recent update.
+     *
+     * @return the most recent sample's index.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the trajectory that's being followed.
+     *
+     * @return the follower's trajectory.
+     */
+    public Trajectory getTrajectory() {
+        return trajectory;
+    }
+
+    /**
+     * Get the B gain.
+     *
+     * @return the B gain.
+     */
+    public double getB() {
+        return b;
+    }
+
+    /**
+     * Get the zeta gain.
+     *
+     * @return the zeta gain.
+     */
+    public double getZeta() {
+        return zeta;
+    }
+
+    /**
+     * Get the trig implementation used by the follower.
+     *
+     * @return the follower's trig implementation.
+     */
+    public Trig getTrig() {
+        return trig;
+    }
+
+    /**
+     * Set the trig implementation used by the follower.
+     *
+     * @param trig the trig implementation to use.
+     */
+    public void setTrig(Trig trig) {
+        this.trig = trig;
+    }
+}
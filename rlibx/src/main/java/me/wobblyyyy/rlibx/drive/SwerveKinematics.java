@@ -0,0 +1,381 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.math.Trig;
+
+/**
+ * Inverse kinematics for a swerve drivetrain with any number of modules,
+ * mounted anywhere on the robot.
+ *
+ * <p>
+ * Every module's state is calculated into a pair of arrays that are created
+ * once, when the kinematics are created, so calculating module states
+ * doesn't create any garbage. The arrays are overwritten every time the
+ * states are calculated - copy them if you need to hang on to them.
+ * </p>
+ *
+ * <p>
+ * Coordinates work the same way they do in {@link Kinematics}: positive X
+ * is to the right, positive Y is forwards, and positive turn is clockwise.
+ * Module angles are in degrees. An angle of zero means the module is
+ * pointing forwards, and angles increase counter-clockwise, just like
+ * gyroscope headings.
+ * </p>
+ *
+ * <p>
+ * Module positions are scaled so that the module furthest from the center
+ * of rotation is exactly one unit away. That means a turn value of 1 spins
+ * the outermost module at full speed, regardless of what units the
+ * positions were measured in.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.1.0
+ * @see DrivetrainSwerve
+ * @since 0.2.0
+ */
+public class SwerveKinematics {
+    /**
+     * Each module's X position, scaled.
+     */
+    private final double[] xs;
+
+    /**
+     * Each module's Y position, scaled.
+     */
+    private final double[] ys;
+
+    /**
+     * Each module's speed, between -1 and 1.
+     */
+    private final double[] speeds;
+
+    /**
+     * Each module's angle, in degrees.
+     */
+    private final double[] angles;
+
+    /**
+     * The distance between the center of rotation and the module furthest
+     * from it, in the units the positions were given in.
+     */
+    private final double radius;
+
+    /**
+     * The trigonometry used for angles and field-centric rotation.
+     */
+    private Trig trig = Trig.POLYNOMIAL;
+
+    /**
+     * Create new swerve kinematics.
+     *
+     * @param xs the X position of each module, relative to the robot's
+     *           center of rotation. Positive is to the right.
+     * @param ys the Y position of each module, relative to the robot's
+     *           center of rotation. Positive is forwards.
+     */
+    public SwerveKinematics(double[] xs,
+                            double[] ys) {
+        if (xs.length != ys.length || xs.length < 1) {
+            throw new IllegalArgumentException(
+                    "Swerve kinematics need the same number of X and Y " +
+                            "positions, and at least one module, but you " +
+                            "gave " + xs.length + " X positions and " +
+                            ys.length + " Y positions."
+            );
+        }
+
+        int count = xs.length;
+        double largest = 0;
+
+        for (int i = 0; i < count; i++) {
+            largest = Math.max(largest, Math.hypot(xs[i], ys[i]));
+        }
+
+        /*
+         * If every module is right on top of the center of rotation, the
+         * robot can't turn at all - just leave the positions alone, and
+         * the turn component will always be zero.
+         */
+        this.radius = largest == 0 ? 1 : largest;
+
+        this.xs = new double[count];
+        this.ys = new double[count];
+        this.speeds = new double[count];
+        this.angles = new double[count];
+
+        for (int i = 0; i < count; i++) {
+            this.xs[i] = xs[i] / radius;
+            this.ys[i] = ys[i] / radius;
+        }
+    }
+
+    /**
+     * Create swerve kinematics for a standard rectangular four-module
+     * drivetrain. Modules are indexed in the same order as {@link Wheels} -
+     * front-right, front-left, back-right, back-left.
+     *
+     * @param trackWidth the distance between the left and right modules.
+     * @param wheelbase  the distance between the front and back modules.
+     * @return new swerve kinematics.
+     */
+    public static SwerveKinematics rectangle(double trackWidth,
+                                             double wheelbase) {
+        double x = trackWidth / 2;
+        double y = wheelbase / 2;
+
+        return new SwerveKinematics(
+                new double[]{x, -x, x, -x},
+                new double[]{y, y, -y, -y}
+        );
+    }
+
+    /**
+     * Wrap an angle so it's between -180 (inclusive) and 180 (exclusive)
+     * degrees.
+     *
+     * @param angle the angle to wrap, in degrees.
+     * @return the wrapped angle, in degrees.
+     */
+    public static double wrap(double angle) {
+        return angle - (360 * Math.floor((angle + 180) / 360));
+    }
+
+    /**
+     * Calculate each module's state, relative to the robot.
+     *
+     * <p>
+     * Each module's velocity is the robot's translation plus the velocity
+     * caused by the robot's rotation, which is perpendicular to the line
+     * between the module and the center of rotation. If any of the module
+     * speeds end up larger than 1, every module is scaled down by the same
+     * amount.
+     * </p>
+     *
+     * <p>
+     * If a module's speed is zero, its angle isn't changed. Otherwise,
+     * letting go of the joystick would snap every module back to facing
+     * forwards.
+     * </p>
+     *
+     * @param x    the strafe power. Positive is to the right.
+     * @param y    the forwards power. Positive is forwards.
+     * @param turn the turn power. Positive is clockwise.
+     */
+    public void calculate(double x,
+                          double y,
+                          double turn) {
+        double max = 0;
+
+        for (int i = 0; i < speeds.length; i++) {
+            /*
+             * Clockwise rotation moves a module at (px, py) in the
+             * direction (py, -px).
+             */
+            double vx = x + (turn * ys[i]);
+            double vy = y - (turn * xs[i]);
+            double speed = Math.sqrt((vx * vx) + (vy * vy));
+
+            speeds[i] = speed;
+
+            if (speed > 1e-9) {
+                angles[i] = Math.toDegrees(trig.atan2(-vx, vy));
+            }
+
+            max = Math.max(max, speed);
+        }
+
+        if (max > 1) {
+            for (int i = 0; i < speeds.length; i++) {
+                speeds[i] /= max;
+            }
+        }
+    }
+
+    /**
+     * Calculate each module's state, relative to the field.
+     *
+     * @param x       the strafe power, relative to the field.
+     * @param y       the forwards power, relative to the field.
+     * @param turn    the turn power. Positive is clockwise.
+     * @param heading the robot's heading, in degrees.
+     * @see Kinematics#calculateMeccanum(double, double, double, double, Trig,
+     * WheelPowers)
+     */
+    public void calculate(double x,
+                          double y,
+                          double turn,
+                          double heading) {
+        double angle = Math.toRadians(heading);
+        double sin = trig.sin(angle);
+        double cos = trig.cos(angle);
+
+        calculate(
+                Kinematics.toRobotX(x, y, sin, cos),
+                Kinematics.toRobotY(x, y, sin, cos),
+                turn
+        );
+    }
+
+    /**
+     * Optimize each module's state based on the angle it's currently
+     * pointing at.
+     *
+     * <p>
+     * A swerve module pointing backwards and driving forwards is exactly
+     * the same as a module pointing forwards and driving backwards. So, if
+     * a module would have to turn more than 90 degrees to reach its target,
+     * it's much faster to turn the other way and flip the direction of the
+     * drive motor. After optimizing, no module ever has to turn more than 90
+     * degrees, and each module's angle is moved to be as close to its
+     * current angle as possible - it might be larger than 180 or smaller
+     * than -180, if the current angle is.
+     * </p>
+     *
+     * @param currentAngles the angle each module is currently pointing at,
+     *                      in degrees.
+     */
+    public void optimize(double[] currentAngles) {
+        for (int i = 0; i < speeds.length; i++) {
+            double current = currentAngles[i];
+            double delta = wrap(angles[i] - current);
+
+            if (delta > 90) {
+                delta -= 180;
+                speeds[i] = -speeds[i];
+            } else if (delta < -90) {
+                delta += 180;
+                speeds[i] = -speeds[i];
+            }
+
+            angles[i] = current + delta;
+        }
+    }
+
+    /**
+     * Get how many modules there are.
+     *
+     * @return the module count.
+     */
+    public int getCount() {
+        return speeds.length;
+    }
+
+    /**
+     * Get a module's X position, scaled so the furthest module is one unit
+     * from the center of rotation.
+     *
+     * @param module the module's index.
+     * @return the module's scaled X position.
+     */
+    public double getX(int module) {
+        return xs[module];
+    }
+
+    /**
+     * Get a module's Y position, scaled so the furthest module is one unit
+     * from the center of rotation.
+     *
+     * @param module the module's index.
+     * @return the module's scaled Y position.
+     */
+    public double getY(int module) {
+        return ys[module];
+    }
+
+    /**
+     * Get the distance between the center of rotation and the module
+     * furthest from it. A turn value divided by this is an angular
+     * velocity, in radians per unit of module speed.
+     *
+     * @return the distance to the furthest module.
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    /**
+     * Get a module's speed, as calculated by the most recent call to
+     * {@code calculate}.
+     *
+     * @param module the module's index.
+     * @return the module's speed, between -1 and 1.
+     */
+    public double getSpeed(int module) {
+        return speeds[module];
+    }
+
+    /**
+     * Get a module's angle, as calculated by the most recent call to
+     * {@code calculate}.
+     *
+     * @param module the module's index.
+     * @return the module's angle, in degrees.
+     */
+    public double getAngle(int module) {
+        return angles[module];
+    }
+
+    /**
+     * Get the array of module speeds. This is the kinematics' own array,
+     * and it's overwritten every time states are calculated.
+     *
+     * @return every module's speed.
+     */
+    public double[] getSpeeds() {
+        return speeds;
+    }
+
+    /**
+     * Get the array of module angles. This is the kinematics' own array,
+     * and it's overwritten every time states are calculated.
+     *
+     * @return every module's angle, in degrees.
+     */
+    public double[] getAngles() {
+        return angles;
+    }
+
+    /**
+     * Get the trigonometry used for angles and field-centric rotation.
+     *
+     * @return the kinematics' trigonometry.
+     */
+    public Trig getTrig() {
+        return trig;
+    }
+
+    /**
+     * Set the trigonometry used for angles and field-centric rotation.
+     *
+     * @param trig the kinematics' new trigonometry.
+     */
+    public void setTrig(Trig trig) {
+        this.trig = trig;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.hardware.encoder.Encoder;
+import me.wobblyyyy.rlibx.hardware.gyro.Gyroscope;
+import me.wobblyyyy.rlibx.math.Trig;
+import me.wobblyyyy.rlibx.math.linalg.LeastSquares;
+import me.wobblyyyy.rlibx.math.linalg.Matrix;
+import me.wobblyyyy.rlibx.math.linalg.Vector;
+
+/**
+ * Odometry for a swerve drivetrain.
+ *
+ * <p>
+ * Each module's drive encoder says how far the module moved, and its turn
+ * encoder says which direction it moved in. Every module gives us two
+ * equations (rightwards and forwards movement) and there are only three
+ * unknowns (the robot's rightwards movement, forwards movement, and
+ * rotation), so the robot's movement is the least squares solution. The
+ * module positions never change, so the pseudo-inverse that solves those
+ * equations is calculated once, when the odometry is created.
+ * </p>
+ *
+ * <p>
+ * Turn encoders work the same way they do in {@link DrivetrainSwerve}.
+ * Drive encoders should count upwards when their module is given positive
+ * power.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class SwerveOdometry extends Odometry {
+    /**
+     * The drivetrain's kinematics.
+     */
+    private final SwerveKinematics kinematics;
+
+    /**
+     * Each module's drive encoder.
+     */
+    private final Encoder[] driveEncoders;
+
+    /**
+     * Each module's turn encoder.
+     */
+    private final Encoder[] turnEncoders;
+
+    /**
+     * How far a module drives per drive encoder count.
+     */
+    private final double distancePerCount;
+
+    /**
+     * How many degrees each module turns per turn encoder count.
+     */
+    private final double[] degreesPerCount;
+
+    /**
+     * Each drive encoder's count at the last update.
+     */
+    private final int[] lastCounts;
+
+    /**
+     * The (3 x 2n) pseudo-inverse, turning module movements into a robot
+     * movement.
+     */
+    private final Matrix forward;
+
+    /**
+     * Module movement buffer - rightwards and forwards movement for each
+     * module, one after the other.
+     */
+    private final Vector modules;
+
+    /**
+     * Robot movement buffer.
+     */
+    private final Vector chassis = new Vector(3);
+
+    /**
+     * Have the encoders been read yet?
+     */
+    private boolean hasCounts = false;
+
+    /**
+     * Create a new swerve odometry tracker.
+     *
+     * @param kinematics       the drivetrain's kinematics. Module positions
+     *                         should be in the same unit as
+     *                         {@code distancePerCount}.
+     * @param driveEncoders    each module's drive encoder.
+     * @param turnEncoders     each module's turn encoder. Each encoder is
+     *                         assumed to make one rotation per rotation of
+     *                         its module - see
+     *                         {@link #setTurnRatio(int, double)}.
+     * @param distancePerCount how far a module drives per drive encoder
+     *                         count.
+     * @param gyroscope        the robot's gyroscope. This may be null.
+     */
+    public SwerveOdometry(SwerveKinematics kinematics,
+                          Encoder[] driveEncoders,
+                          Encoder[] turnEncoders,
+                          double distancePerCount,
+                          Gyroscope gyroscope) {
+        super(gyroscope);
+
+        int count = kinematics.getCount();
+
+        if (count < 2 ||
+                driveEncoders.length != count ||
+                turnEncoders.length != count) {
+            throw new IllegalArgumentException(
+                    "Swerve odometry needs at least two modules, and " +
+                            "exactly one drive encoder and turn encoder " +
+                            "for each module."
+            );
+        }
+
+        this.kinematics = kinematics;
+        this.driveEncoders = driveEncoders.clone();
+        this.turnEncoders = turnEncoders.clone();
+        this.distancePerCount = distancePerCount;
+        this.degreesPerCount = new double[count];
+        this.lastCounts = new int[count];
+        this.forward = new Matrix(3, count * 2);
+        this.modules = new Vector(count * 2);
+
+        for (int i = 0; i < count; i++) {
+            setTurnRatio(i, 1);
+        }
+
+        /*
+         * Each module moves (right + turn * y, forward - turn * x), where
+         * turn is clockwise and scaled by the kinematics' radius.
+         */
+        Matrix equations = new Matrix(count * 2, 3);
+        LeastSquares solver = new LeastSquares(count * 2, 3);
+
+        for (int i = 0; i < count; i++) {
+            equations.set(i * 2, 0, 1);
+            equations.set(i * 2, 2, kinematics.getY(i));
+            equations.set((i * 2) + 1, 1, 1);
+            equations.set((i * 2) + 1, 2, -kinematics.getX(i));
+        }
+
+        if (!solver.factor(equations)) {
+            throw new IllegalArgumentException(
+                    "Can't track a swerve drivetrain whose modules are " +
+                            "all in the same place!"
+            );
+        }
+
+        solver.pseudoInverse(forward);
+    }
+
+    /**
+     * Set how many times a module's turn encoder rotates for every rotation
+     * of the module itself.
+     *
+     * @param module the module's index.
+     * @param ratio  encoder rotations per module rotation.
+     */
+    public void setTurnRatio(int module,
+                             double ratio) {
+        degreesPerCount[module] =
+                360 / (turnEncoders[module].getCpr() * ratio);
+    }
+
+    @Override
+    protected boolean measure(double[] movement) {
+        Trig trig = getTrig();
+
+        for (int i = 0; i < lastCounts.length; i++) {
+            int count = driveEncoders[i].getCount();
+            double distance = (count - lastCounts[i]) * distancePerCount;
+            double angle = Math.toRadians(
+                    turnEncoders[i].getCount() * degreesPerCount[i]
+            );
+
+            lastCounts[i] = count;
+
+            modules.set(i * 2, -distance * trig.sin(angle));
+            modules.set((i * 2) + 1, distance * trig.cos(angle));
+        }
+
+        if (!hasCounts) {
+            hasCounts = true;
+            return false;
+        }
+
+        forward.multiply(modules, chassis);
+
+        movement[RIGHT] = chassis.get(0);
+        movement[FORWARD] = chassis.get(1);
+        movement[TURN] = chassis.get(2) / kinematics.getRadius();
+
+        return true;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.hardware.encoder.Encoder;
+import me.wobblyyyy.rlibx.hardware.gyro.Gyroscope;
+import me.wobblyyyy.rlibx.math.linalg.Vector;
+
+/**
+ * Odometry for any drivetrain {@link MatrixKinematics} can describe - tank,
+ * meccanum, X-drive, H-drive, and so on.
+ *
+ * <p>
+ * Each wheel's encoder is read, the change in count is turned into a
+ * distance, and the kinematics' pseudo-inverse turns those distances into
+ * a robot-relative movement. Encoders should count upwards when their wheel
+ * is given positive power.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class WheelOdometry extends Odometry {
+    /**
+     * The drivetrain's kinematics.
+     */
+    private final MatrixKinematics kinematics;
+
+    /**
+     * Each wheel's encoder, in the same order as the kinematics' wheels.
+     */
+    private final Encoder[] encoders;
+
+    /**
+     * How far a wheel moves per encoder count.
+     */
+    private final double distancePerCount;
+
+    /**
+     * Each encoder's count at the last update.
+     */
+    private final int[] lastCounts;
+
+    /**
+     * How far each wheel moved since the last update.
+     */
+    private final WheelPowers distances;
+
+    /**
+     * The chassis movement buffer.
+     */
+    private final Vector chassis = new Vector(3);
+
+    /**
+     * Have the encoders been read yet?
+     */
+    private boolean hasCounts = false;
+
+    /**
+     * Create a new wheel odometry tracker.
+     *
+     * @param kinematics       the drivetrain's kinematics. Wheel positions
+     *                         should be in the same unit as
+     *                         {@code distancePerCount}.
+     * @param encoders         each wheel's encoder, in the same order as
+     *                         the kinematics' wheels.
+     * @param distancePerCount how far a wheel moves per encoder count.
+     * @param gyroscope        the robot's gyroscope. This may be null.
+     */
+    public WheelOdometry(MatrixKinematics kinematics,
+                         Encoder[] encoders,
+                         double distancePerCount,
+                         Gyroscope gyroscope) {
+        super(gyroscope);
+
+        if (encoders.length != kinematics.getCount()) {
+            throw new IllegalArgumentException(
+                    "The kinematics have " + kinematics.getCount() +
+                            " wheels, but you gave " + encoders.length +
+                            " encoders."
+            );
+        }
+
+        this.kinematics = kinematics;
+        this.encoders = encoders.clone();
+        this.distancePerCount = distancePerCount;
+        this.lastCounts = new int[encoders.length];
+        this.distances = new WheelPowers(encoders.length);
+    }
+
+    @Override
+    protected boolean measure(double[] movement) {
+        for (int i = 0; i < encoders.length; i++) {
+            int count = encoders[i].getCount();
+
+            distances.set(i, (count - lastCounts[i]) * distancePerCount);
+            lastCounts[i] = count;
+        }
+
+        if (!hasCounts) {
+            hasCounts = true;
+            return false;
+        }
+
+        kinematics.calculateChassis(distances, chassis);
+
+        movement[RIGHT] = chassis.get(0);
+        movement[FORWARD] = chassis.get(1);
+        movement[TURN] = chassis.get(2) / kinematics.getTurnScale();
+
+        return true;
+    }
+}
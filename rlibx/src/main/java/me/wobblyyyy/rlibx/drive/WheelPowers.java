@@ -0,0 +1,201 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import java.util.Arrays;
+
+/**
+ * A mutable, re-usable buffer of wheel powers.
+ *
+ * <p>
+ * The {@code Power} classes ({@link PowerMeccanum}, {@link PowerTank}, and
+ * so on) are immutable, which is nice and safe, but it means a new object has
+ * to be created every single time the drivetrain is updated. At 50 or 100
+ * updates a second that adds up to a lot of garbage. A wheel power buffer is
+ * created once, by whoever owns the drivetrain, and kinematics calculations
+ * simply write into it.
+ * </p>
+ *
+ * <p>
+ * Powers are stored by index. For four-wheeled drivetrains, the indexes are
+ * the same as the ordinals of {@link Wheels} - front-right, front-left,
+ * back-right, and back-left, in that order - so you can use either.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class WheelPowers {
+    /**
+     * The power of each of the wheels.
+     */
+    private final double[] powers;
+
+    /**
+     * Create a new wheel power buffer.
+     *
+     * @param count how many wheels the buffer should hold powers for.
+     */
+    public WheelPowers(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException(
+                    "A wheel power buffer needs at least one wheel, but " +
+                            "you asked for " + count + "."
+            );
+        }
+
+        powers = new double[count];
+    }
+
+    /**
+     * Get how many wheels the buffer holds powers for.
+     *
+     * @return the buffer's wheel count.
+     */
+    public int getCount() {
+        return powers.length;
+    }
+
+    /**
+     * Get the power of a wheel.
+     *
+     * @param index the wheel's index.
+     * @return the wheel's power.
+     */
+    public double get(int index) {
+        return powers[index];
+    }
+
+    /**
+     * Get the power of a wheel.
+     *
+     * @param wheel the wheel to get the power of. This should only be one of
+     *              the four drive wheels - {@code FR}, {@code FL},
+     *              {@code BR}, or {@code BL}.
+     * @return the wheel's power.
+     */
+    public double get(Wheels wheel) {
+        return powers[wheel.ordinal()];
+    }
+
+    /**
+     * Set the power of a wheel.
+     *
+     * @param index the wheel's index.
+     * @param power the wheel's new power.
+     */
+    public void set(int index,
+                    double power) {
+        powers[index] = power;
+    }
+
+    /**
+     * Set the power of a wheel.
+     *
+     * @param wheel the wheel to set the power of.
+     * @param power the wheel's new power.
+     */
+    public void set(Wheels wheel,
+                    double power) {
+        powers[wheel.ordinal()] = power;
+    }
+
+    /**
+     * Set the power of every wheel to zero.
+     */
+    public void setZero() {
+        for (int i = 0; i < powers.length; i++) {
+            powers[i] = 0;
+        }
+    }
+
+    /**
+     * Get the largest absolute power of any of the wheels.
+     *
+     * @return the largest absolute wheel power.
+     */
+    public double getMaxAbs() {
+        double max = 0;
+
+        for (double power : powers) {
+            max = Math.max(max, Math.abs(power));
+        }
+
+        return max;
+    }
+
+    /**
+     * Scale every wheel's power down so that none of them have an absolute
+     * value larger than a given maximum.
+     *
+     * <p>
+     * Every wheel is scaled by the same factor, so the ratios between the
+     * wheels - and thus the direction the robot moves in - stay the same.
+     * Simply clipping each wheel to the maximum would change those ratios,
+     * and the robot would drive off in the wrong direction. If no wheel is
+     * above the maximum, nothing is changed.
+     * </p>
+     *
+     * @param max the largest absolute power any wheel is allowed to have.
+     *            This should almost always be 1.
+     * @return the factor every power was multiplied by. If nothing was
+     * changed, this is 1.
+     */
+    public double desaturate(double max) {
+        double largest = getMaxAbs();
+
+        if (largest <= max) return 1;
+
+        double scale = max / largest;
+
+        for (int i = 0; i < powers.length; i++) {
+            powers[i] *= scale;
+        }
+
+        return scale;
+    }
+
+    /**
+     * Create an immutable copy of a four-wheel buffer.
+     *
+     * @return a {@code PowerMeccanum} with the same powers as this buffer.
+     */
+    public PowerMeccanum toPowerMeccanum() {
+        return new PowerMeccanum(
+                get(Wheels.FR),
+                get(Wheels.FL),
+                get(Wheels.BR),
+                get(Wheels.BL)
+        );
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(powers);
+    }
+}
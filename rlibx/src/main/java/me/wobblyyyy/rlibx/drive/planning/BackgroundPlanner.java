@@ -0,0 +1,381 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.planning;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs an {@link IncrementalPlanner} on its own thread.
+ *
+ * <p>
+ * Even a repair can take a few milliseconds when a big obstacle shows up,
+ * which is a lot to ask of a robot's main loop. A background planner moves
+ * all of that onto a separate (daemon) thread. The main loop tells the
+ * planner where the robot is with {@link #setStart(double, double)}, and
+ * picks up the newest path with {@link #getPath()} - neither of which ever
+ * waits on the planner.
+ * </p>
+ *
+ * <p>
+ * Paths are published atomically. Every time the planner finishes a plan,
+ * it copies the path into a brand new {@link GridPath} and swaps it in, so
+ * a path that's been returned by {@link #getPath()} is never modified
+ * afterwards. Whatever's following the path can keep using it for as long
+ * as it wants to. Please don't modify published paths yourself.
+ * </p>
+ *
+ * <p>
+ * The planner's grid belongs to the planner's thread once it's been
+ * started. Any changes to the grid should be made with
+ * {@link #edit(Consumer)}, which queues the change up to be made on the
+ * planner's thread, right before it plans again. The planner only plans
+ * when something has actually changed - the goal, the grid, or the cell
+ * the robot is in - so an idle planner doesn't use any CPU.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see IncrementalPlanner
+ * @since 0.2.0
+ */
+public class BackgroundPlanner {
+    /**
+     * The name of the planner's thread.
+     */
+    public static final String THREAD_NAME = "rlibx-planner";
+
+    /**
+     * The planner that does all of the actual planning.
+     */
+    private final IncrementalPlanner planner;
+
+    /**
+     * The most recently published path.
+     */
+    private final AtomicReference<GridPath> path =
+            new AtomicReference<>(new GridPath(0));
+
+    /**
+     * Changes to the grid, waiting to be made on the planner's thread.
+     */
+    private final Queue<Consumer<OccupancyGrid>> edits =
+            new ConcurrentLinkedQueue<>();
+
+    /**
+     * The path the planner plans into, before it's copied and published.
+     */
+    private final GridPath planned = new GridPath();
+
+    /**
+     * Guards everything below it, and is used to wake the planner's thread
+     * up whenever something changes.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The X position of the robot.
+     */
+    private double startX;
+
+    /**
+     * The Y position of the robot.
+     */
+    private double startY;
+
+    /**
+     * Has the robot's position been set?
+     */
+    private boolean hasStart = false;
+
+    /**
+     * The X position of the goal.
+     */
+    private double goalX;
+
+    /**
+     * The Y position of the goal.
+     */
+    private double goalY;
+
+    /**
+     * Has the goal changed since the planner last planned?
+     */
+    private boolean isGoalChanged = false;
+
+    /**
+     * Does the planner need to plan again?
+     */
+    private boolean isDirty = false;
+
+    /**
+     * The planner's thread, or null if it isn't running.
+     */
+    private Thread thread;
+
+    /**
+     * The number of paths that have been published.
+     */
+    private volatile int published = 0;
+
+    /**
+     * How long the most recent plan took, in nanoseconds.
+     */
+    private volatile long duration = 0;
+
+    /**
+     * Create a new background planner. The planner doesn't do anything
+     * until it's been started.
+     *
+     * @param planner the planner to run in the background.
+     */
+    public BackgroundPlanner(IncrementalPlanner planner) {
+        this.planner = planner;
+    }
+
+    /**
+     * Start the planner's thread. If it's already running, this doesn't do
+     * anything.
+     */
+    public synchronized void start() {
+        if (thread != null) return;
+
+        thread = new Thread(this::run, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop the planner's thread, and wait for it to finish whatever it's
+     * in the middle of.
+     */
+    public synchronized void stop() {
+        if (thread == null) return;
+
+        thread.interrupt();
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        thread = null;
+    }
+
+    /**
+     * Is the planner's thread running?
+     *
+     * @return whether or not the planner is running.
+     */
+    public synchronized boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * Wake the planner's thread up, so it plans again.
+     */
+    private void wake() {
+        isDirty = true;
+        lock.notifyAll();
+    }
+
+    /**
+     * Set the robot's position. The planner only plans again if the robot
+     * has moved into a different cell, so it's fine to call this every
+     * time the robot's main loop runs.
+     *
+     * @param x the X position of the robot.
+     * @param y the Y position of the robot.
+     */
+    public void setStart(double x,
+                         double y) {
+        OccupancyGrid grid = planner.getGrid();
+
+        synchronized (lock) {
+            boolean isMoved = !hasStart ||
+                    grid.toColumn(x) != grid.toColumn(startX) ||
+                    grid.toRow(y) != grid.toRow(startY);
+
+            startX = x;
+            startY = y;
+            hasStart = true;
+
+            if (isMoved) wake();
+        }
+    }
+
+    /**
+     * Set the goal. The next plan has to start from scratch.
+     *
+     * @param x the X position of the goal.
+     * @param y the Y position of the goal.
+     */
+    public void setGoal(double x,
+                        double y) {
+        synchronized (lock) {
+            goalX = x;
+            goalY = y;
+            isGoalChanged = true;
+
+            wake();
+        }
+    }
+
+    /**
+     * Queue up a change to the grid. The change is made on the planner's
+     * thread, right before it plans again.
+     *
+     * @param edit the change to make to the grid.
+     */
+    public void edit(Consumer<OccupancyGrid> edit) {
+        edits.add(edit);
+
+        synchronized (lock) {
+            wake();
+        }
+    }
+
+    /**
+     * The planner thread's loop. Wait for something to change, make any
+     * changes to the grid, plan, and publish the path.
+     */
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                double x;
+                double y;
+                double targetX = 0;
+                double targetY = 0;
+                boolean isPlanning;
+                boolean isResetting;
+
+                synchronized (lock) {
+                    while (!isDirty) lock.wait();
+
+                    isDirty = false;
+                    x = startX;
+                    y = startY;
+                    isPlanning = hasStart;
+                    isResetting = isGoalChanged;
+                    isGoalChanged = false;
+
+                    if (isResetting) {
+                        targetX = goalX;
+                        targetY = goalY;
+                    }
+                }
+
+                Consumer<OccupancyGrid> edit;
+
+                while ((edit = edits.poll()) != null) {
+                    try {
+                        edit.accept(planner.getGrid());
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                    }
+                }
+
+                long start = System.nanoTime();
+                GridPath copy;
+
+                try {
+                    if (isResetting) planner.setGoal(targetX, targetY);
+
+                    if (!isPlanning || !planner.hasGoal()) continue;
+
+                    boolean isFound = planner.plan(x, y, planned);
+
+                    copy = new GridPath(planned.size());
+
+                    if (isFound) copy.set(planned);
+                } catch (RuntimeException e) {
+                    /*
+                     * If the planner throws, the thread has to survive it -
+                     * otherwise isRunning() would keep saying everything's
+                     * fine while the path never changes again. Nothing
+                     * useful got planned, so publish an empty path, and try
+                     * again the next time something changes.
+                     */
+                    e.printStackTrace();
+                    copy = new GridPath(0);
+                }
+
+                duration = System.nanoTime() - start;
+                path.set(copy);
+                published++;
+            }
+        } catch (InterruptedException ignored) {
+            /*
+             * We've been stopped.
+             */
+        }
+    }
+
+    /**
+     * Get the most recently published path. This is empty if no path has
+     * been planned yet, or if the most recent plan couldn't find a path.
+     *
+     * @return the most recently published path. This is never modified
+     * after it's been published.
+     */
+    public GridPath getPath() {
+        return path.get();
+    }
+
+    /**
+     * Get the number of paths that have been published. This goes up by
+     * one every time the planner plans, so it's an easy way to tell
+     * whether or not there's a new path.
+     *
+     * @return how many paths have been published.
+     */
+    public int getPublished() {
+        return published;
+    }
+
+    /**
+     * Get how long the most recent plan took.
+     *
+     * @return how long the most recent plan took, in nanoseconds.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Get the planner that's run in the background. This shouldn't be used
+     * while the background planner is running.
+     *
+     * @return the background planner's planner.
+     */
+    public IncrementalPlanner getPlanner() {
+        return planner;
+    }
+}
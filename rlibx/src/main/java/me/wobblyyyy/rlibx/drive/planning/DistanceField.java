@@ -0,0 +1,578 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.planning;
+
+/**
+ * The distance from every cell of an occupancy grid to the nearest
+ * obstacle.
+ *
+ * <p>
+ * Robots aren't points. Rather than checking every cell the robot might
+ * overlap every time a planner looks at a cell, we work out how far each
+ * cell is from the nearest obstacle ahead of time. The robot's center can
+ * safely be in any cell that's at least one robot radius away from the
+ * nearest obstacle - checking that is a single comparison, no matter how
+ * big the robot is.
+ * </p>
+ *
+ * <p>
+ * Distances are exact Euclidean distances between cell centers, and are
+ * computed in linear time: a pair of sweeps finds the distance to the
+ * nearest obstacle in each column, and Felzenszwalb and Huttenlocher's
+ * distance transform combines those along every row. The edge of the
+ * grid counts as an obstacle, so the robot always keeps its distance from
+ * the field's walls.
+ * </p>
+ *
+ * <p>
+ * A distance field can optionally have a maximum distance. Obstacles only
+ * affect the cells within that distance of them, so when a few cells of
+ * the grid change, only a small window of the distance field has to be
+ * recomputed.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.1.0
+ * @see OccupancyGrid
+ * @see GridPlanner
+ * @since 0.2.0
+ */
+public class DistanceField {
+    /**
+     * The grid distances are measured on.
+     */
+    private final OccupancyGrid grid;
+
+    /**
+     * The furthest distance that's measured, in cells. Cells that are
+     * further than this from the nearest obstacle are reported as being
+     * exactly this far away.
+     */
+    private final int limit;
+
+    /**
+     * Each cell's squared distance to the nearest obstacle, in cells.
+     */
+    private final float[] distances;
+
+    /**
+     * Each cell's distance to the nearest obstacle in its own column, in
+     * cells.
+     */
+    private final int[] columns;
+
+    /**
+     * Input to the one dimensional distance transform.
+     */
+    private final long[] f;
+
+    /**
+     * Output of the one dimensional distance transform.
+     */
+    private final long[] d;
+
+    /**
+     * Locations of parabolas in the lower envelope.
+     */
+    private final int[] v;
+
+    /**
+     * The grid version the distances were computed from.
+     */
+    private int version;
+
+    /**
+     * The grid version the distances were computed from, before they were
+     * most recently computed.
+     */
+    private int previousVersion;
+
+    /**
+     * The first column that was most recently computed.
+     */
+    private int changedMinColumn;
+
+    /**
+     * The first row that was most recently computed.
+     */
+    private int changedMinRow;
+
+    /**
+     * The last column that was most recently computed.
+     */
+    private int changedMaxColumn;
+
+    /**
+     * The last row that was most recently computed.
+     */
+    private int changedMaxRow;
+
+    /**
+     * Create a new distance field, and compute it. Every distance is
+     * measured, no matter how far away the nearest obstacle is, which means
+     * any change to the grid means recomputing the entire field.
+     *
+     * @param grid the grid to measure distances on.
+     */
+    public DistanceField(OccupancyGrid grid) {
+        this(grid, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Create a new distance field, and compute it.
+     *
+     * <p>
+     * Limiting how far distances are measured means a change to the grid
+     * can only affect the cells within that distance of the change, so
+     * updating the field after a few cells change only has to recompute a
+     * small window around them. The limit should be at least as large as
+     * the largest robot radius the field is used for.
+     * </p>
+     *
+     * @param grid        the grid to measure distances on.
+     * @param maxDistance the furthest distance that should be measured, in
+     *                    field units. Anything further away from the
+     *                    nearest obstacle is reported as being (at least)
+     *                    this far away.
+     */
+    public DistanceField(OccupancyGrid grid,
+                         double maxDistance) {
+        if (!(maxDistance > 0)) {
+            throw new IllegalArgumentException(
+                    "A distance field's maximum distance has to be " +
+                            "positive, but you tried to use " +
+                            maxDistance + "."
+            );
+        }
+
+        int length = Math.max(grid.getWidth(), grid.getHeight());
+        double cells = Math.ceil(maxDistance / grid.getResolution());
+
+        this.grid = grid;
+        this.limit = (int) Math.min(cells, grid.getWidth() + grid.getHeight());
+        this.distances = new float[grid.size()];
+        this.columns = new int[grid.size()];
+        this.f = new long[length];
+        this.d = new long[length];
+        this.v = new int[length];
+
+        compute();
+    }
+
+    /**
+     * Update the distance field, but only if the grid has changed since
+     * the last time it was computed.
+     *
+     * <p>
+     * If the grid still remembers which cells changed, only the window
+     * around those cells that could've been affected is recomputed.
+     * Otherwise, the whole field is recomputed.
+     * </p>
+     *
+     * @return whether or not the distance field was updated.
+     */
+    public boolean update() {
+        int current = grid.getVersion();
+
+        if (version == current) return false;
+
+        if (!grid.hasHistory(version)) {
+            compute();
+
+            return true;
+        }
+
+        int width = grid.getWidth();
+        int minColumn = Integer.MAX_VALUE;
+        int minRow = Integer.MAX_VALUE;
+        int maxColumn = Integer.MIN_VALUE;
+        int maxRow = Integer.MIN_VALUE;
+
+        for (int changed = version + 1; changed <= current; changed++) {
+            int index = grid.getChange(changed);
+            int column = index % width;
+            int row = index / width;
+
+            minColumn = Math.min(minColumn, column);
+            minRow = Math.min(minRow, row);
+            maxColumn = Math.max(maxColumn, column);
+            maxRow = Math.max(maxRow, row);
+        }
+
+        compute(
+                minColumn - limit,
+                minRow - limit,
+                maxColumn + limit,
+                maxRow + limit
+        );
+
+        return true;
+    }
+
+    /**
+     * Recompute the entire distance field.
+     */
+    public void compute() {
+        compute(0, 0, grid.getWidth() - 1, grid.getHeight() - 1);
+    }
+
+    /**
+     * Recompute a window of the distance field.
+     *
+     * <p>
+     * Only obstacles within the distance limit of a cell can change its
+     * distance, so the transform is run over the window expanded by the
+     * limit in every direction, and only the cells inside the window are
+     * written back.
+     * </p>
+     *
+     * @param minColumn the window's first column.
+     * @param minRow    the window's first row.
+     * @param maxColumn the window's last column.
+     * @param maxRow    the window's last row.
+     */
+    private void compute(int minColumn,
+                         int minRow,
+                         int maxColumn,
+                         int maxRow) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+
+        minColumn = Math.max(minColumn, 0);
+        minRow = Math.max(minRow, 0);
+        maxColumn = Math.min(maxColumn, width - 1);
+        maxRow = Math.min(maxRow, height - 1);
+
+        int fromColumn = Math.max(minColumn - limit, 0);
+        int fromRow = Math.max(minRow - limit, 0);
+        int toColumn = Math.min(maxColumn + limit, width - 1);
+        int toRow = Math.min(maxRow + limit, height - 1);
+
+        previousVersion = version;
+        version = grid.getVersion();
+        changedMinColumn = minColumn;
+        changedMinRow = minRow;
+        changedMaxColumn = maxColumn;
+        changedMaxRow = maxRow;
+
+        /*
+         * Down every column first. Along a single column, the nearest
+         * obstacle is either the closest one above a cell or the closest
+         * one below it, so a sweep in each direction is enough. Both sweeps
+         * go row by row, which keeps them walking through memory in order.
+         * Anything past the ends of the window is treated as being as far
+         * away as possible.
+         */
+        for (int row = fromRow; row <= toRow; row++) {
+            int offset = row * width;
+
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int index = offset + column;
+                int above = row == fromRow ? limit : columns[index - width];
+
+                columns[index] = grid.isOccupied(index)
+                        ? 0
+                        : Math.min(above + 1, limit);
+            }
+        }
+
+        for (int row = toRow; row >= fromRow; row--) {
+            int offset = row * width;
+
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int index = offset + column;
+                int below = row == toRow ? limit : columns[index + width];
+
+                columns[index] = Math.min(columns[index], below + 1);
+            }
+        }
+
+        /*
+         * Then along every row, using the squared column distances as
+         * input. Since the squared distance is the sum of the squared
+         * distances along each axis, this gives the exact two dimensional
+         * distance. The edges of the grid count as obstacles, and nothing
+         * is ever further away than the limit.
+         */
+        int length = toColumn - fromColumn + 1;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            int offset = row * width;
+            int rowEdge = Math.min(Math.min(row + 1, height - row), limit);
+
+            for (int i = 0; i < length; i++) {
+                long distance = columns[offset + fromColumn + i];
+
+                f[i] = distance * distance;
+            }
+
+            transform(length);
+
+            for (int column = minColumn; column <= maxColumn; column++) {
+                long edge = Math.min(
+                        rowEdge,
+                        Math.min(column + 1, width - column)
+                );
+
+                distances[offset + column] = Math.min(
+                        d[column - fromColumn],
+                        edge * edge
+                );
+            }
+        }
+    }
+
+    /**
+     * Run the one dimensional distance transform on the first few elements
+     * of {@link #f}, writing the result into {@link #d}.
+     *
+     * <p>
+     * Each element of the input defines a parabola, and the output is the
+     * lower envelope of all of those parabolas. The envelope is built from
+     * left to right, and then read back out. Every input is a whole number,
+     * so rather than dividing to find exactly where two parabolas cross, we
+     * compare crossings by cross-multiplying, which keeps everything in
+     * (fast, exact) integer math.
+     * </p>
+     *
+     * @param length the number of elements to transform.
+     */
+    private void transform(int length) {
+        int k = 0;
+
+        v[0] = 0;
+
+        for (int q = 1; q < length; q++) {
+            /*
+             * If the new parabola hides the last one in the envelope,
+             * remove it. The very first parabola can't be hidden, because
+             * nothing's to the left of it.
+             */
+            while (k > 0 && isHidden(v[k - 1], v[k], q)) k--;
+
+            v[++k] = q;
+        }
+
+        int last = k;
+
+        k = 0;
+
+        for (int q = 0; q < length; q++) {
+            while (k < last && crossesBefore(v[k], v[k + 1], q)) k++;
+
+            long dq = q - v[k];
+
+            d[q] = dq * dq + f[v[k]];
+        }
+    }
+
+    /**
+     * Get the height of a parabola, plus its squared location.
+     *
+     * @param p the location of the parabola.
+     * @return the parabola's height, plus its squared location.
+     */
+    private long height(int p) {
+        return f[p] + (long) p * p;
+    }
+
+    /**
+     * Check whether or not the middle of three parabolas is hidden by the
+     * other two - in other words, whether the right parabola crosses the
+     * middle one at or before the middle one crosses the left one.
+     *
+     * @param left   the location of the left parabola.
+     * @param middle the location of the middle parabola.
+     * @param right  the location of the right parabola.
+     * @return whether or not the middle parabola is hidden.
+     */
+    private boolean isHidden(int left,
+                             int middle,
+                             int right) {
+        return (height(right) - height(middle)) * (middle - left) <=
+                (height(middle) - height(left)) * (right - middle);
+    }
+
+    /**
+     * Check whether or not two parabolas cross before a location.
+     *
+     * @param left     the location of the left parabola.
+     * @param right    the location of the right parabola.
+     * @param location the location to check.
+     * @return whether or not the parabolas cross before the location.
+     */
+    private boolean crossesBefore(int left,
+                                  int right,
+                                  int location) {
+        return height(right) - height(left) <
+                2L * location * (right - left);
+    }
+
+    /**
+     * Get a cell's squared distance to the nearest obstacle, measured in
+     * cells.
+     *
+     * @param index the cell's index.
+     * @return the cell's squared distance, in cells squared.
+     */
+    public float getCellDistanceSquared(int index) {
+        return distances[index];
+    }
+
+    /**
+     * Get a cell's distance to the nearest obstacle.
+     *
+     * @param column the cell's column.
+     * @param row    the cell's row.
+     * @return the cell's distance, in field units. Cells outside the grid
+     * have a distance of zero.
+     */
+    public double getDistance(int column,
+                              int row) {
+        if (!grid.contains(column, row)) return 0;
+
+        return Math.sqrt(distances[grid.index(column, row)]) *
+                grid.getResolution();
+    }
+
+    /**
+     * Get the distance from a field position to the nearest obstacle.
+     *
+     * @param x the X position.
+     * @param y the Y position.
+     * @return the distance from the cell containing the position, in field
+     * units.
+     */
+    public double getDistance(double x,
+                              double y) {
+        return getDistance(grid.toColumn(x), grid.toRow(y));
+    }
+
+    /**
+     * Get the smallest squared distance, in cells, a cell needs to be from
+     * the nearest obstacle for a robot of a given radius to fit in it.
+     *
+     * @param radius the robot's radius, in field units.
+     * @return the squared clearance, in cells squared. This is always
+     * positive, so obstacles themselves are never clear.
+     */
+    public float getClearance(double radius) {
+        double cells = radius / grid.getResolution();
+
+        return (float) Math.max(cells * cells, 1e-3);
+    }
+
+    /**
+     * Can a robot of a given radius fit in a cell?
+     *
+     * @param column the cell's column.
+     * @param row    the cell's row.
+     * @param radius the robot's radius, in field units.
+     * @return whether or not the robot fits in the cell.
+     */
+    public boolean isClear(int column,
+                           int row,
+                           double radius) {
+        return grid.contains(column, row) &&
+                distances[grid.index(column, row)] >= getClearance(radius);
+    }
+
+    /**
+     * Get the grid distances are measured on.
+     *
+     * @return the distance field's grid.
+     */
+    public OccupancyGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Get the grid version the distances were computed from.
+     *
+     * @return the distance field's version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the furthest distance that's measured.
+     *
+     * @return the distance field's maximum distance, in field units.
+     */
+    public double getMaxDistance() {
+        return limit * grid.getResolution();
+    }
+
+    /**
+     * Get the grid version the distances were computed from, before the
+     * most recent computation. If this is the version something derived
+     * from the distance field was built from, only the cells in the most
+     * recently computed window could have changed since then.
+     *
+     * @return the distance field's previous version.
+     */
+    public int getPreviousVersion() {
+        return previousVersion;
+    }
+
+    /**
+     * Get the first column that was most recently computed.
+     *
+     * @return the first column of the most recently computed window.
+     */
+    public int getChangedMinColumn() {
+        return changedMinColumn;
+    }
+
+    /**
+     * Get the first row that was most recently computed.
+     *
+     * @return the first row of the most recently computed window.
+     */
+    public int getChangedMinRow() {
+        return changedMinRow;
+    }
+
+    /**
+     * Get the last column that was most recently computed.
+     *
+     * @return the last column of the most recently computed window.
+     */
+    public int getChangedMaxColumn() {
+        return changedMaxColumn;
+    }
+
+    /**
+     * Get the last row that was most recently computed.
+     *
+     * @return the last row of the most recently computed window.
+     */
+    public int getChangedMaxRow() {
+        return changedMaxRow;
+    }
+}
@@ -0,0 +1,570 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.planning;
+
+import java.util.Arrays;
+
+/**
+ * The cells of a grid a robot of a given size can be in, packed into a
+ * pair of bitsets.
+ *
+ * <p>
+ * Both planners spend almost all of their time asking whether or not cells
+ * are free, so free cells are stored twice - once row by row, and once
+ * column by column - which lets a straight line of cells in either
+ * direction be checked 64 cells at a time.
+ * </p>
+ *
+ * <p>
+ * Free cells are updated from a {@link DistanceField}. If the distance
+ * field was only partially recomputed since the last update, only the
+ * recomputed window is checked, and every cell that changed is recorded,
+ * so an incremental planner knows exactly which cells it has to repair.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see GridPlanner
+ * @see IncrementalPlanner
+ * @since 0.2.0
+ */
+class FreeCells {
+    /**
+     * Returned by {@link #update(DistanceField, float)} when every cell was
+     * rebuilt, rather than only the cells that changed.
+     */
+    static final int REBUILT = -1;
+
+    /**
+     * The grid the cells are on.
+     */
+    private final OccupancyGrid grid;
+
+    /**
+     * Free cells, packed into a bitset row by row.
+     */
+    private final long[] rows;
+
+    /**
+     * Free cells, packed into a bitset column by column.
+     */
+    private final long[] columns;
+
+    /**
+     * The number of longs used by each row of {@link #rows}.
+     */
+    private final int rowWords;
+
+    /**
+     * The number of longs used by each column of {@link #columns}.
+     */
+    private final int columnWords;
+
+    /**
+     * The cells that changed during the most recent update.
+     */
+    private int[] changed = new int[64];
+
+    /**
+     * The number of cells in {@link #changed}.
+     */
+    private int changedCount;
+
+    /**
+     * The squared clearance, in cells, the cells were built for, or NaN if
+     * they haven't been built yet.
+     */
+    private float clearance = Float.NaN;
+
+    /**
+     * The distance field version the cells were built from.
+     */
+    private int version;
+
+    /**
+     * Create a new, empty, set of free cells.
+     *
+     * @param grid the grid the cells are on.
+     */
+    FreeCells(OccupancyGrid grid) {
+        this.grid = grid;
+        this.rowWords = (grid.getWidth() + 63) >>> 6;
+        this.columnWords = (grid.getHeight() + 63) >>> 6;
+        this.rows = new long[rowWords * grid.getHeight()];
+        this.columns = new long[columnWords * grid.getWidth()];
+    }
+
+    /**
+     * Bring the free cells up to date with a distance field.
+     *
+     * <p>
+     * If the cells were last built from the distance field's previous
+     * version, with the same clearance, only the window the distance field
+     * most recently recomputed is checked, and every cell that changed is
+     * recorded. Otherwise, or if the distance field recomputed everything,
+     * every cell is rebuilt.
+     * </p>
+     *
+     * @param field     the distance field to update from.
+     * @param clearance the squared clearance, in cells, a cell needs to be
+     *                  free.
+     * @return the number of cells that changed, or {@link #REBUILT} if
+     * every cell was rebuilt.
+     */
+    int update(DistanceField field,
+               float clearance) {
+        changedCount = 0;
+
+        if (clearance == this.clearance && field.getVersion() == version) {
+            return 0;
+        }
+
+        boolean isRebuilding = clearance != this.clearance ||
+                field.getPreviousVersion() != version ||
+                isEverywhere(field);
+
+        if (isRebuilding) {
+            Arrays.fill(rows, 0);
+            Arrays.fill(columns, 0);
+
+            for (int row = 0; row < grid.getHeight(); row++) {
+                for (int column = 0; column < grid.getWidth(); column++) {
+                    int index = grid.index(column, row);
+
+                    if (field.getCellDistanceSquared(index) >= clearance) {
+                        flip(column, row);
+                    }
+                }
+            }
+        } else {
+            for (int row = field.getChangedMinRow();
+                 row <= field.getChangedMaxRow(); row++) {
+                for (int column = field.getChangedMinColumn();
+                     column <= field.getChangedMaxColumn(); column++) {
+                    int index = grid.index(column, row);
+                    boolean isFree =
+                            field.getCellDistanceSquared(index) >= clearance;
+
+                    if (isFree != isFree(column, row)) {
+                        flip(column, row);
+
+                        if (changedCount == changed.length) {
+                            changed = Arrays.copyOf(changed, changedCount * 2);
+                        }
+
+                        changed[changedCount++] = index;
+                    }
+                }
+            }
+        }
+
+        this.clearance = clearance;
+        this.version = field.getVersion();
+
+        return isRebuilding ? REBUILT : changedCount;
+    }
+
+    /**
+     * Did the distance field most recently recompute every cell? If it did,
+     * there's no point in keeping track of which cells changed.
+     *
+     * @param field the distance field to check.
+     * @return whether or not the whole field was recomputed.
+     */
+    private boolean isEverywhere(DistanceField field) {
+        return field.getChangedMinColumn() == 0 &&
+                field.getChangedMinRow() == 0 &&
+                field.getChangedMaxColumn() == grid.getWidth() - 1 &&
+                field.getChangedMaxRow() == grid.getHeight() - 1;
+    }
+
+    /**
+     * Flip a cell between free and not free.
+     *
+     * @param column the cell's column.
+     * @param row    the cell's row.
+     */
+    private void flip(int column,
+                      int row) {
+        rows[row * rowWords + (column >>> 6)] ^= 1L << column;
+        columns[column * columnWords + (row >>> 6)] ^= 1L << row;
+    }
+
+    /**
+     * Get a cell that changed during the most recent update.
+     *
+     * @param i which changed cell to get.
+     * @return the changed cell's index.
+     */
+    int getChanged(int i) {
+        return changed[i];
+    }
+
+    /**
+     * Can the robot be in a cell?
+     *
+     * @param column the cell's column.
+     * @param row    the cell's row.
+     * @return whether or not the cell is free. Cells outside the grid are
+     * never free.
+     */
+    boolean isFree(int column,
+                   int row) {
+        return grid.contains(column, row) &&
+                (rows[row * rowWords + (column >>> 6)] &
+                        (1L << column)) != 0;
+    }
+
+    /**
+     * Can the robot be in a cell?
+     *
+     * @param index the cell's index.
+     * @return whether or not the cell is free.
+     */
+    boolean isFree(int index) {
+        int width = grid.getWidth();
+
+        return isFree(index % width, index / width);
+    }
+
+    /**
+     * Find the nearest free cell, searching outwards in square rings.
+     *
+     * @param column the column to start searching from.
+     * @param row    the row to start searching from.
+     * @return the index of the nearest free cell, or -1 if there isn't one
+     * nearby.
+     */
+    int nearestFree(int column,
+                    int row) {
+        if (isFree(column, row)) return grid.index(column, row);
+
+        int limit = (int) Math.ceil(Math.sqrt(clearance)) + 2;
+        int best = -1;
+        long bestDistance = Long.MAX_VALUE;
+
+        for (int ring = 1; ring <= limit; ring++) {
+            for (int dy = -ring; dy <= ring; dy++) {
+                for (int dx = -ring; dx <= ring; dx++) {
+                    if (Math.abs(dx) != ring && Math.abs(dy) != ring) {
+                        continue;
+                    }
+
+                    long distance = (long) dx * dx + (long) dy * dy;
+
+                    if (distance < bestDistance &&
+                            isFree(column + dx, row + dy)) {
+                        best = grid.index(column + dx, row + dy);
+                        bestDistance = distance;
+                    }
+                }
+            }
+
+            /*
+             * Any cell in a later ring is at least this ring's distance
+             * away, so if we've found something closer than that, we're
+             * done.
+             */
+            if (bestDistance <= (long) ring * ring) break;
+        }
+
+        return best;
+    }
+
+    /**
+     * Jump along a row, until something interesting happens.
+     *
+     * @param column     the column to start jumping from.
+     * @param row        the row to jump along.
+     * @param dx         the direction to jump in, either 1 or -1.
+     * @param goalColumn the goal's column, or -1 if the goal isn't on this
+     *                   row.
+     * @return the column the jump stopped at, or -1 if it hit a cell that
+     * isn't free.
+     */
+    int scanRow(int column,
+                int row,
+                int dx,
+                int goalColumn) {
+        return scan(
+                rows,
+                rowWords,
+                grid.getHeight(),
+                row,
+                column,
+                dx,
+                goalColumn
+        );
+    }
+
+    /**
+     * Jump along a column, until something interesting happens.
+     *
+     * @param column  the column to jump along.
+     * @param row     the row to start jumping from.
+     * @param dy      the direction to jump in, either 1 or -1.
+     * @param goalRow the goal's row, or -1 if the goal isn't on this
+     *                column.
+     * @return the row the jump stopped at, or -1 if it hit a cell that
+     * isn't free.
+     */
+    int scanColumn(int column,
+                   int row,
+                   int dy,
+                   int goalRow) {
+        return scan(
+                columns,
+                columnWords,
+                grid.getWidth(),
+                column,
+                row,
+                dy,
+                goalRow
+        );
+    }
+
+    /**
+     * Get 64 cells from a line of a packed bitset, starting at any
+     * position. Cells outside the grid are never free.
+     *
+     * @param bits     the bitset.
+     * @param words    the number of longs in each line.
+     * @param lines    the number of lines.
+     * @param line     the line to read from.
+     * @param position the position of the first cell.
+     * @return 64 cells, with the first cell in the lowest bit.
+     */
+    private static long read(long[] bits,
+                             int words,
+                             int lines,
+                             int line,
+                             int position) {
+        if (line < 0 || line >= lines || position <= -64) return 0;
+
+        int base = line * words;
+
+        if (position < 0) return bits[base] << -position;
+
+        int word = position >>> 6;
+        int shift = position & 63;
+        long low = word < words ? bits[base + word] : 0;
+
+        if (shift == 0) return low;
+
+        long high = word + 1 < words ? bits[base + word + 1] : 0;
+
+        return (low >>> shift) | (high << (64 - shift));
+    }
+
+    /**
+     * Jump along a line of a packed bitset, 64 cells at a time.
+     *
+     * <p>
+     * This is the same as checking one cell at a time, but it checks a
+     * whole word of cells at once. A cell stops the jump if it isn't free,
+     * if it's the goal, or if it has a forced neighbor: a free cell on
+     * either side of it, where the cell on that same side behind it isn't
+     * free. Whichever of those comes first decides how the jump ends.
+     * </p>
+     *
+     * @param bits     the bitset.
+     * @param words    the number of longs in each line.
+     * @param lines    the number of lines.
+     * @param line     the line to jump along.
+     * @param position the position to start jumping from.
+     * @param step     the direction to jump in, either 1 or -1.
+     * @param goal     the goal's position along the line, or -1 if the
+     *                 goal isn't on this line.
+     * @return the position the jump stopped at, or -1 if it hit a cell
+     * that isn't free.
+     */
+    private static int scan(long[] bits,
+                            int words,
+                            int lines,
+                            int line,
+                            int position,
+                            int step,
+                            int goal) {
+        while (true) {
+            /*
+             * Forwards, the window starts at the current position. In
+             * reverse, it ends there, and "behind" is one cell higher.
+             */
+            int start = step > 0 ? position : position - 63;
+            int behind = start - step;
+
+            long free = read(bits, words, lines, line, start);
+            long above = read(bits, words, lines, line + 1, start);
+            long aboveBehind = read(bits, words, lines, line + 1, behind);
+            long below = read(bits, words, lines, line - 1, start);
+            long belowBehind = read(bits, words, lines, line - 1, behind);
+            long stops = ~free |
+                    (above & ~aboveBehind) |
+                    (below & ~belowBehind);
+
+            if (goal >= start && goal < start + 64) {
+                stops |= 1L << (goal - start);
+            }
+
+            if (stops != 0) {
+                int bit = step > 0
+                        ? Long.numberOfTrailingZeros(stops)
+                        : 63 - Long.numberOfLeadingZeros(stops);
+
+                return ((free >>> bit) & 1) == 0 ? -1 : start + bit;
+            }
+
+            position += 64 * step;
+        }
+    }
+
+    /**
+     * Remove every cell from a route that can be skipped without losing
+     * line of sight.
+     *
+     * @param route the route to smooth, which is modified in place.
+     * @param size  the number of cells in the route.
+     * @return the number of cells left in the route.
+     */
+    int smooth(int[] route,
+               int size) {
+        if (size < 3) return size;
+
+        int kept = 1;
+        int anchor = route[0];
+
+        for (int i = 2; i < size; i++) {
+            if (!hasLineOfSight(anchor, route[i])) {
+                anchor = route[i - 1];
+                route[kept++] = anchor;
+            }
+        }
+
+        route[kept++] = route[size - 1];
+
+        return kept;
+    }
+
+    /**
+     * Check whether or not every cell a line passes through is free.
+     *
+     * <p>
+     * This visits every cell the line touches, including both cells on
+     * either side when the line passes exactly through a corner, so a
+     * line of sight never squeezes diagonally between two obstacles.
+     * </p>
+     *
+     * @param from the cell the line starts at.
+     * @param to   the cell the line ends at.
+     * @return whether or not every cell along the line is free.
+     */
+    boolean hasLineOfSight(int from,
+                           int to) {
+        int width = grid.getWidth();
+        int x = from % width;
+        int y = from / width;
+        int dx = (to % width) - x;
+        int dy = (to / width) - y;
+        int stepX = Integer.signum(dx);
+        int stepY = Integer.signum(dy);
+
+        dx = Math.abs(dx);
+        dy = Math.abs(dy);
+
+        int ddx = 2 * dx;
+        int ddy = 2 * dy;
+
+        if (ddx >= ddy) {
+            int error = dx;
+            int previous = dx;
+
+            for (int i = 0; i < dx; i++) {
+                x += stepX;
+                error += ddy;
+
+                if (error > ddx) {
+                    y += stepY;
+                    error -= ddx;
+
+                    int sum = error + previous;
+
+                    if (sum < ddx) {
+                        if (!isFree(x, y - stepY)) return false;
+                    } else if (sum > ddx) {
+                        if (!isFree(x - stepX, y)) return false;
+                    } else if (!isFree(x, y - stepY) ||
+                            !isFree(x - stepX, y)) {
+                        return false;
+                    }
+                }
+
+                if (!isFree(x, y)) return false;
+
+                previous = error;
+            }
+        } else {
+            int error = dy;
+            int previous = dy;
+
+            for (int i = 0; i < dy; i++) {
+                y += stepY;
+                error += ddx;
+
+                if (error > ddy) {
+                    x += stepX;
+                    error -= ddy;
+
+                    int sum = error + previous;
+
+                    if (sum < ddy) {
+                        if (!isFree(x - stepX, y)) return false;
+                    } else if (sum > ddy) {
+                        if (!isFree(x, y - stepY)) return false;
+                    } else if (!isFree(x - stepX, y) ||
+                            !isFree(x, y - stepY)) {
+                        return false;
+                    }
+                }
+
+                if (!isFree(x, y)) return false;
+
+                previous = error;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the squared clearance, in cells, the cells were built for.
+     *
+     * @return the free cells' clearance.
+     */
+    float getClearance() {
+        return clearance;
+    }
+}
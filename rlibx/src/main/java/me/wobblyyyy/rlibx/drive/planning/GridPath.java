@@ -0,0 +1,300 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.planning;
+
+import me.wobblyyyy.rlibx.drive.Pose;
+
+import java.util.Arrays;
+
+/**
+ * A path through the field, made up of straight lines between points.
+ *
+ * <p>
+ * Paths are re-used. A planner clears a path and writes new points into it,
+ * and the path's arrays only ever grow - once a path has held a long path,
+ * planning another one into it won't allocate anything.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see GridPlanner
+ * @since 0.2.0
+ */
+public class GridPath {
+    /**
+     * Point X positions.
+     */
+    private double[] xs;
+
+    /**
+     * Point Y positions.
+     */
+    private double[] ys;
+
+    /**
+     * The number of points in the path.
+     */
+    private int size = 0;
+
+    /**
+     * Create a new, empty, path.
+     */
+    public GridPath() {
+        this(32);
+    }
+
+    /**
+     * Create a new, empty, path.
+     *
+     * @param capacity how many points the path can hold before it has to
+     *                 grow.
+     */
+    public GridPath(int capacity) {
+        xs = new double[Math.max(2, capacity)];
+        ys = new double[Math.max(2, capacity)];
+    }
+
+    /**
+     * Remove every point from the path.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Add a point to the end of the path.
+     *
+     * @param x the point's X position.
+     * @param y the point's Y position.
+     */
+    public void add(double x,
+                    double y) {
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, size * 2);
+            ys = Arrays.copyOf(ys, size * 2);
+        }
+
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    /**
+     * Change a point that's already in the path.
+     *
+     * @param index the point's index.
+     * @param x     the point's new X position.
+     * @param y     the point's new Y position.
+     */
+    public void set(int index,
+                    double x,
+                    double y) {
+        checkIndex(index);
+
+        xs[index] = x;
+        ys[index] = y;
+    }
+
+    /**
+     * Remove every point after a given number of points.
+     *
+     * @param size the number of points to keep.
+     */
+    void truncate(int size) {
+        this.size = Math.min(this.size, size);
+    }
+
+    /**
+     * Reverse the order of the path's points.
+     */
+    public void reverse() {
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            double x = xs[i];
+            double y = ys[i];
+
+            xs[i] = xs[j];
+            ys[i] = ys[j];
+            xs[j] = x;
+            ys[j] = y;
+        }
+    }
+
+    /**
+     * Copy another path into this one.
+     *
+     * @param other the path to copy.
+     */
+    public void set(GridPath other) {
+        clear();
+
+        for (int i = 0; i < other.size; i++) add(other.xs[i], other.ys[i]);
+    }
+
+    /**
+     * Make sure an index is valid.
+     *
+     * @param index the index to check.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " is out of bounds for a path " +
+                            "with " + size + " points."
+            );
+        }
+    }
+
+    /**
+     * Get a point's X position.
+     *
+     * @param index the point's index.
+     * @return the point's X position.
+     */
+    public double getX(int index) {
+        checkIndex(index);
+
+        return xs[index];
+    }
+
+    /**
+     * Get a point's Y position.
+     *
+     * @param index the point's index.
+     * @return the point's Y position.
+     */
+    public double getY(int index) {
+        checkIndex(index);
+
+        return ys[index];
+    }
+
+    /**
+     * Get the number of points in the path.
+     *
+     * @return how many points there are.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Is the path empty?
+     *
+     * @return whether or not the path has any points.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the total length of the path.
+     *
+     * @return the sum of the lengths of every line in the path.
+     */
+    public double getLength() {
+        double length = 0;
+
+        for (int i = 1; i < size; i++) {
+            length += Math.hypot(xs[i] - xs[i - 1], ys[i] - ys[i - 1]);
+        }
+
+        return length;
+    }
+
+    /**
+     * Turn the path into waypoints for a
+     * {@link me.wobblyyyy.rlibx.drive.trajectory.TrajectoryGenerator}.
+     *
+     * <p>
+     * Each waypoint's heading is the direction of travel. At the ends of
+     * the path, that's the direction of the first or last line; everywhere
+     * else, it's halfway between the lines on either side of the point.
+     * </p>
+     *
+     * @return a new array of waypoints.
+     */
+    public Pose[] toWaypoints() {
+        Pose[] waypoints = new Pose[size];
+
+        for (int i = 0; i < size; i++) {
+            int from = Math.max(0, i - 1);
+            int to = Math.min(size - 1, i + 1);
+            double heading = 0;
+
+            if (from != to) {
+                /*
+                 * Add the directions of both lines together, rather than
+                 * averaging their angles, so we don't have to worry about
+                 * angles wrapping around.
+                 */
+                double dx = 0;
+                double dy = 0;
+
+                if (from < i) {
+                    double ax = xs[i] - xs[from];
+                    double ay = ys[i] - ys[from];
+                    double length = Math.hypot(ax, ay);
+
+                    dx += ax / length;
+                    dy += ay / length;
+                }
+
+                if (to > i) {
+                    double bx = xs[to] - xs[i];
+                    double by = ys[to] - ys[i];
+                    double length = Math.hypot(bx, by);
+
+                    dx += bx / length;
+                    dy += by / length;
+                }
+
+                heading = Math.toDegrees(Math.atan2(-dx, dy));
+            }
+
+            waypoints[i] = new Pose(xs[i], ys[i], heading);
+        }
+
+        return waypoints;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("GridPath(");
+
+        for (int i = 0; i < size; i++) {
+            if (i > 0) builder.append(", ");
+
+            builder.append('(')
+                    .append(xs[i])
+                    .append(", ")
+                    .append(ys[i])
+                    .append(')');
+        }
+
+        return builder.append(')').toString();
+    }
+}
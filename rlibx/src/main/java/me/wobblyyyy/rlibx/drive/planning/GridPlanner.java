@@ -0,0 +1,632 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.planning;
+
+import java.util.Arrays;
+
+/**
+ * Plans paths across an occupancy grid, using A* with jump point search.
+ *
+ * <p>
+ * Plain A* on a grid spends most of its time adding cells to its open list
+ * that it'll never actually use - in open space, there are a huge number of
+ * equally good paths, and A* looks at all of them. Jump point search
+ * skips over all of that. From each cell, it "jumps" in a straight line
+ * until it finds a cell where something interesting happens (an obstacle
+ * forces the path to turn, or it's found the goal), and only those cells
+ * are added to the open list. The path it finds is exactly as short as the
+ * one A* would find, but in open space, it's found an order of magnitude
+ * faster.
+ * </p>
+ *
+ * <p>
+ * Paths can move in all eight directions, but can't cut corners - moving
+ * diagonally requires both of the cells beside the diagonal to be free.
+ * Once a path has been found, it's smoothed by removing every point that
+ * the path can skip over while still keeping a clear line of sight, which
+ * gets rid of the zig-zags that come from only being able to move in eight
+ * directions.
+ * </p>
+ *
+ * <p>
+ * The robot's size is handled with a {@link DistanceField}. A cell is only
+ * free if it's at least one robot radius away from the nearest obstacle
+ * (and the edge of the field), so the planner can treat the robot as a
+ * single point. If the robot starts in a cell that isn't free (it's parked
+ * against a wall, for example), the path starts by moving to the nearest
+ * free cell.
+ * </p>
+ *
+ * <p>
+ * Jumping is where almost all of the time goes, so free cells are packed
+ * into a pair of bitsets - one row by row, and one column by column - and
+ * jumps check 64 cells at a time, rather than one. The bitsets are only
+ * rebuilt when the distance field or the robot's radius changes.
+ * </p>
+ *
+ * <p>
+ * Every buffer the planner needs is allocated when it's created. Planning
+ * doesn't allocate anything, so planning over and over again won't create
+ * any garbage.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.1.0
+ * @see OccupancyGrid
+ * @see DistanceField
+ * @see GridPath
+ * @since 0.2.0
+ */
+public class GridPlanner {
+    /**
+     * The square root of two, the cost of a diagonal step.
+     */
+    private static final double SQRT_2 = Math.sqrt(2);
+
+    /**
+     * The grid paths are planned on.
+     */
+    private final OccupancyGrid grid;
+
+    /**
+     * The distance field used to inflate obstacles by the robot's radius.
+     */
+    private final DistanceField field;
+
+    /**
+     * The open list.
+     */
+    private final IndexedHeap open;
+
+    /**
+     * The cost of the best path from the start to each cell, in cells.
+     */
+    private final double[] costs;
+
+    /**
+     * The cell before each cell on the best path to it.
+     */
+    private final int[] parents;
+
+    /**
+     * The search each cell was last seen by. Any cell with a different
+     * search number hasn't been seen by the current search, and its cost
+     * and parent are garbage. This means we never have to clear anything.
+     */
+    private final int[] seen;
+
+    /**
+     * The search each cell was last closed by.
+     */
+    private final int[] closed;
+
+    /**
+     * Neighbor directions, re-used for every cell that's expanded.
+     */
+    private final int[] directionsX = new int[8];
+
+    /**
+     * Neighbor directions, re-used for every cell that's expanded.
+     */
+    private final int[] directionsY = new int[8];
+
+    /**
+     * The cells the robot can be in.
+     */
+    private final FreeCells cells;
+
+    /**
+     * The cells along the most recent path, from the goal to the start.
+     */
+    private int[] route = new int[64];
+
+    /**
+     * The number of cells in {@link #route}.
+     */
+    private int routeSize;
+
+    /**
+     * The current search's number.
+     */
+    private int search = 0;
+
+    /**
+     * The squared clearance, in cells, for the current search.
+     */
+    private float clearance;
+
+    /**
+     * The current search's goal cell.
+     */
+    private int goal;
+
+    /**
+     * The number of cells expanded by the most recent search.
+     */
+    private int expanded;
+
+    /**
+     * Should paths be smoothed?
+     */
+    private boolean isSmoothing = true;
+
+    /**
+     * Create a new grid planner.
+     *
+     * @param field the distance field to plan with. Paths are planned on
+     *              the field's grid.
+     */
+    public GridPlanner(DistanceField field) {
+        int size = field.getGrid().size();
+
+        this.grid = field.getGrid();
+        this.field = field;
+        this.open = new IndexedHeap(size);
+        this.costs = new double[size];
+        this.parents = new int[size];
+        this.seen = new int[size];
+        this.closed = new int[size];
+        this.cells = new FreeCells(grid);
+    }
+
+    /**
+     * The octile distance between two cells - the length of the shortest
+     * path between them, if there weren't any obstacles.
+     *
+     * @param a the first cell.
+     * @param b the second cell.
+     * @return the octile distance, in cells.
+     */
+    private double octile(int a,
+                          int b) {
+        int width = grid.getWidth();
+        int dx = Math.abs((a % width) - (b % width));
+        int dy = Math.abs((a / width) - (b / width));
+
+        return Math.max(dx, dy) + (SQRT_2 - 1) * Math.min(dx, dy);
+    }
+
+    /**
+     * Plan a path.
+     *
+     * <p>
+     * If the grid has changed since the distance field was last computed,
+     * the distance field is recomputed first.
+     * </p>
+     *
+     * @param startX the X position of the start.
+     * @param startY the Y position of the start.
+     * @param goalX  the X position of the goal.
+     * @param goalY  the Y position of the goal.
+     * @param radius the robot's radius.
+     * @param into   the path to write the planned path into. If no path
+     *               could be found, this is left empty.
+     * @return whether or not a path was found.
+     */
+    public boolean plan(double startX,
+                        double startY,
+                        double goalX,
+                        double goalY,
+                        double radius,
+                        GridPath into) {
+        if (radius > field.getMaxDistance()) {
+            throw new IllegalArgumentException(
+                    "The robot's radius (" + radius + ") can't be larger " +
+                            "than the distance field's maximum distance (" +
+                            field.getMaxDistance() + ")."
+            );
+        }
+
+        field.update();
+
+        into.clear();
+        open.clear();
+        search++;
+        expanded = 0;
+        clearance = field.getClearance(radius);
+
+        cells.update(field, clearance);
+
+        int goalColumn = grid.toColumn(goalX);
+        int goalRow = grid.toRow(goalY);
+
+        if (!cells.isFree(goalColumn, goalRow)) return false;
+
+        int start = cells.nearestFree(
+                grid.toColumn(startX),
+                grid.toRow(startY)
+        );
+
+        if (start < 0) return false;
+
+        goal = grid.index(goalColumn, goalRow);
+
+        seen[start] = search;
+        costs[start] = 0;
+        parents[start] = -1;
+        open.push(start, octile(start, goal), octile(start, goal));
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+
+            closed[current] = search;
+            expanded++;
+
+            if (current == goal) {
+                buildRoute();
+
+                if (isSmoothing) routeSize = cells.smooth(route, routeSize);
+
+                writePath(startX, startY, goalX, goalY, into);
+
+                return true;
+            }
+
+            expand(current);
+        }
+
+        return false;
+    }
+
+    /**
+     * Expand a cell, adding each of its jump points to the open list.
+     *
+     * @param current the cell to expand.
+     */
+    private void expand(int current) {
+        int width = grid.getWidth();
+        int column = current % width;
+        int row = current / width;
+        int count = findNeighbors(current, column, row);
+
+        for (int i = 0; i < count; i++) {
+            int dx = directionsX[i];
+            int dy = directionsY[i];
+            int jumpPoint = jump(column + dx, row + dy, dx, dy);
+
+            if (jumpPoint < 0 || closed[jumpPoint] == search) continue;
+
+            double cost = costs[current] + octile(current, jumpPoint);
+
+            if (seen[jumpPoint] != search || cost < costs[jumpPoint]) {
+                double heuristic = octile(jumpPoint, goal);
+
+                seen[jumpPoint] = search;
+                costs[jumpPoint] = cost;
+                parents[jumpPoint] = current;
+                open.push(jumpPoint, cost + heuristic, heuristic);
+            }
+        }
+    }
+
+    /**
+     * Add a direction to the list of neighbor directions.
+     *
+     * @param count how many directions are already in the list.
+     * @param dx    the direction's X component.
+     * @param dy    the direction's Y component.
+     * @return the new number of directions.
+     */
+    private int addDirection(int count,
+                             int dx,
+                             int dy) {
+        directionsX[count] = dx;
+        directionsY[count] = dy;
+
+        return count + 1;
+    }
+
+    /**
+     * Find the directions worth searching in from a cell. Directions that
+     * could be reached just as cheaply without going through this cell
+     * are pruned.
+     *
+     * @param current the cell.
+     * @param column  the cell's column.
+     * @param row     the cell's row.
+     * @return how many directions were found.
+     */
+    private int findNeighbors(int current,
+                              int column,
+                              int row) {
+        int count = 0;
+        int parent = parents[current];
+
+        if (parent < 0) {
+            /*
+             * The start cell doesn't have a parent, so every direction is
+             * worth searching.
+             */
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (dx == 0 && dy == 0) continue;
+
+                    if (!cells.isFree(column + dx, row + dy)) continue;
+
+                    if (dx != 0 && dy != 0 &&
+                            !(cells.isFree(column + dx, row) &&
+                                    cells.isFree(column, row + dy))) {
+                        continue;
+                    }
+
+                    count = addDirection(count, dx, dy);
+                }
+            }
+
+            return count;
+        }
+
+        int width = grid.getWidth();
+        int dx = Integer.signum(column - (parent % width));
+        int dy = Integer.signum(row - (parent / width));
+
+        if (dx != 0 && dy != 0) {
+            boolean isVerticalFree = cells.isFree(column, row + dy);
+            boolean isHorizontalFree = cells.isFree(column + dx, row);
+
+            if (isVerticalFree) count = addDirection(count, 0, dy);
+            if (isHorizontalFree) count = addDirection(count, dx, 0);
+
+            if (isVerticalFree && isHorizontalFree &&
+                    cells.isFree(column + dx, row + dy)) {
+                count = addDirection(count, dx, dy);
+            }
+        } else if (dx != 0) {
+            boolean isNextFree = cells.isFree(column + dx, row);
+            boolean isUpFree = cells.isFree(column, row + 1);
+            boolean isDownFree = cells.isFree(column, row - 1);
+
+            if (isNextFree) {
+                count = addDirection(count, dx, 0);
+
+                if (isUpFree && cells.isFree(column + dx, row + 1)) {
+                    count = addDirection(count, dx, 1);
+                }
+
+                if (isDownFree && cells.isFree(column + dx, row - 1)) {
+                    count = addDirection(count, dx, -1);
+                }
+            }
+
+            if (isUpFree) count = addDirection(count, 0, 1);
+            if (isDownFree) count = addDirection(count, 0, -1);
+        } else {
+            boolean isNextFree = cells.isFree(column, row + dy);
+            boolean isRightFree = cells.isFree(column + 1, row);
+            boolean isLeftFree = cells.isFree(column - 1, row);
+
+            if (isNextFree) {
+                count = addDirection(count, 0, dy);
+
+                if (isRightFree && cells.isFree(column + 1, row + dy)) {
+                    count = addDirection(count, 1, dy);
+                }
+
+                if (isLeftFree && cells.isFree(column - 1, row + dy)) {
+                    count = addDirection(count, -1, dy);
+                }
+            }
+
+            if (isRightFree) count = addDirection(count, 1, 0);
+            if (isLeftFree) count = addDirection(count, -1, 0);
+        }
+
+        return count;
+    }
+
+    /**
+     * Jump from a cell in a direction until something interesting happens.
+     *
+     * <p>
+     * Moving straight, something interesting is a forced neighbor: an
+     * obstacle beside the previous cell that's now behind us, meaning the
+     * path might need to turn here to get around it. Moving diagonally,
+     * it's any cell where a straight jump in either of the diagonal's
+     * directions finds something interesting.
+     * </p>
+     *
+     * @param column the column to start jumping from.
+     * @param row    the row to start jumping from.
+     * @param dx     the jump's X direction.
+     * @param dy     the jump's Y direction.
+     * @return the index of the cell the jump stopped at, or -1 if the jump
+     * hit an obstacle before anything interesting happened.
+     */
+    private int jump(int column,
+                     int row,
+                     int dx,
+                     int dy) {
+        if (dy == 0) return jumpHorizontal(column, row, dx);
+        if (dx == 0) return jumpVertical(column, row, dy);
+
+        while (true) {
+            if (!cells.isFree(column, row)) return -1;
+
+            int index = grid.index(column, row);
+
+            if (index == goal) return index;
+
+            if (jumpHorizontal(column + dx, row, dx) >= 0 ||
+                    jumpVertical(column, row + dy, dy) >= 0) {
+                return index;
+            }
+
+            if (!cells.isFree(column + dx, row) ||
+                    !cells.isFree(column, row + dy)) {
+                return -1;
+            }
+
+            column += dx;
+            row += dy;
+        }
+    }
+
+    /**
+     * Jump along a row.
+     *
+     * @param column the column to start jumping from.
+     * @param row    the row to jump along.
+     * @param dx     the direction to jump in.
+     * @return the index of the cell the jump stopped at, or -1.
+     */
+    private int jumpHorizontal(int column,
+                               int row,
+                               int dx) {
+        int width = grid.getWidth();
+        int goalColumn = goal / width == row ? goal % width : -1;
+        int stop = cells.scanRow(column, row, dx, goalColumn);
+
+        return stop < 0 ? -1 : grid.index(stop, row);
+    }
+
+    /**
+     * Jump along a column.
+     *
+     * @param column the column to jump along.
+     * @param row    the row to start jumping from.
+     * @param dy     the direction to jump in.
+     * @return the index of the cell the jump stopped at, or -1.
+     */
+    private int jumpVertical(int column,
+                             int row,
+                             int dy) {
+        int width = grid.getWidth();
+        int goalRow = goal % width == column ? goal / width : -1;
+        int stop = cells.scanColumn(column, row, dy, goalRow);
+
+        return stop < 0 ? -1 : grid.index(column, stop);
+    }
+
+    /**
+     * Follow the parents of the goal back to the start, filling in
+     * {@link #route}.
+     */
+    private void buildRoute() {
+        routeSize = 0;
+
+        for (int cell = goal; cell >= 0; cell = parents[cell]) {
+            if (routeSize == route.length) {
+                route = Arrays.copyOf(route, routeSize * 2);
+            }
+
+            route[routeSize++] = cell;
+        }
+    }
+
+    /**
+     * Write the route into a path, from the start to the goal. The first
+     * and last points are the exact start and goal positions, rather than
+     * the centers of their cells.
+     *
+     * @param startX the X position of the start.
+     * @param startY the Y position of the start.
+     * @param goalX  the X position of the goal.
+     * @param goalY  the Y position of the goal.
+     * @param into   the path to write into.
+     */
+    private void writePath(double startX,
+                           double startY,
+                           double goalX,
+                           double goalY,
+                           GridPath into) {
+        int column = grid.toColumn(startX);
+        int row = grid.toRow(startY);
+        int start = grid.contains(column, row) ? grid.index(column, row) : -1;
+        int last = routeSize - 1;
+
+        into.add(startX, startY);
+
+        /*
+         * If the robot didn't start in a free cell, the path has to go
+         * through the center of the free cell it was moved to first.
+         */
+        if (route[last] != start) addCenter(route[last], into);
+
+        for (int i = last - 1; i >= 1; i--) addCenter(route[i], into);
+
+        into.add(goalX, goalY);
+    }
+
+    /**
+     * Add the center of a cell to a path.
+     *
+     * @param cell the cell's index.
+     * @param into the path to add the cell to.
+     */
+    private void addCenter(int cell,
+                           GridPath into) {
+        int width = grid.getWidth();
+
+        into.add(grid.toX(cell % width), grid.toY(cell / width));
+    }
+
+    /**
+     * Get the number of cells the most recent search expanded.
+     *
+     * @return how many cells were expanded.
+     */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Are paths smoothed?
+     *
+     * @return whether or not paths are smoothed.
+     */
+    public boolean isSmoothing() {
+        return isSmoothing;
+    }
+
+    /**
+     * Set whether or not paths should be smoothed. Unsmoothed paths only
+     * ever move in eight directions, and have a point at every jump point.
+     *
+     * @param isSmoothing whether or not paths should be smoothed.
+     */
+    public void setSmoothing(boolean isSmoothing) {
+        this.isSmoothing = isSmoothing;
+    }
+
+    /**
+     * Get the grid paths are planned on.
+     *
+     * @return the planner's grid.
+     */
+    public OccupancyGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Get the distance field paths are planned with.
+     *
+     * @return the planner's distance field.
+     */
+    public DistanceField getDistanceField() {
+        return field;
+    }
+}
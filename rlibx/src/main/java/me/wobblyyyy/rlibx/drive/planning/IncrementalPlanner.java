@@ -0,0 +1,725 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.planning;
+
+import java.util.Arrays;
+
+/**
+ * Plans paths across an occupancy grid, and repairs them as the grid
+ * changes, using D* Lite.
+ *
+ * <p>
+ * A {@link GridPlanner} starts from scratch every time it plans. That's
+ * fine before a match starts, but if an obstacle shows up in the middle of
+ * a match (another robot parks in the way, for example), starting over
+ * means throwing away everything the last plan figured out. D* Lite keeps
+ * its work around. It searches backwards, from the goal towards the robot,
+ * and remembers the cost of getting to the goal from every cell it's
+ * looked at. When some cells change, only the cells whose costs actually
+ * depend on them are fixed up, so repairing a path takes time proportional
+ * to how much the change matters, rather than how big the field is. And
+ * because the search is rooted at the goal, the robot moving along the path
+ * doesn't invalidate anything.
+ * </p>
+ *
+ * <p>
+ * How much a change matters depends on where it is. An obstacle near the
+ * robot only changes the costs of the few cells between it and the robot,
+ * so it's repaired very quickly. An obstacle near the goal changes the
+ * cost of nearly every cell the robot could get to, and repairing it can
+ * take about as long as the first search. Plain D* Lite also looks at far
+ * more cells than a {@link GridPlanner}'s jump point search does, so if
+ * you only need to plan once, a grid planner is quicker.
+ * </p>
+ *
+ * <p>
+ * Each cell has two costs: its cost, which is the cost of getting to the
+ * goal the last time the cell was expanded, and its lookahead, which is
+ * the cost of getting to the goal through the cell's best neighbor right
+ * now. A cell whose two costs disagree is inconsistent, and waits in the
+ * open list to be fixed. Changing a cell only makes it (and its neighbors)
+ * inconsistent, and the search only has to keep going until the robot's
+ * cell is consistent again.
+ * </p>
+ *
+ * <p>
+ * Moves, the robot's size, the handling of a start inside an obstacle, and
+ * path smoothing all work the same way they do in a {@link GridPlanner}.
+ * Changes to the grid are picked up through the {@link DistanceField}; give
+ * it a maximum distance (at least the robot's radius), so that it can
+ * update small windows instead of recomputing everything. Planning doesn't
+ * allocate anything, other than growing the planner's route if a path is
+ * longer than any path before it.
+ * </p>
+ *
+ * <p>
+ * Incremental planners aren't thread safe. To plan on a separate thread,
+ * use a {@link BackgroundPlanner}.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see GridPlanner
+ * @see BackgroundPlanner
+ * @since 0.2.0
+ */
+public class IncrementalPlanner {
+    /**
+     * The square root of two, the cost of a diagonal step.
+     */
+    private static final double SQRT_2 = Math.sqrt(2);
+
+    /**
+     * How close two keys have to be to count as a tie. A key is a cost
+     * plus a heuristic, and the two are added up in different orders, so
+     * keys that should be exactly equal can be off by a rounding error.
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * The X direction of each of a cell's eight neighbors.
+     */
+    private static final int[] DX = {1, 1, 0, -1, -1, -1, 0, 1};
+
+    /**
+     * The Y direction of each of a cell's eight neighbors.
+     */
+    private static final int[] DY = {0, 1, 1, 1, 0, -1, -1, -1};
+
+    /**
+     * The grid paths are planned on.
+     */
+    private final OccupancyGrid grid;
+
+    /**
+     * The distance field used to inflate obstacles by the robot's radius.
+     */
+    private final DistanceField field;
+
+    /**
+     * The robot's radius.
+     */
+    private final double radius;
+
+    /**
+     * The squared clearance, in cells, the robot needs.
+     */
+    private final float clearance;
+
+    /**
+     * The cells the robot can be in.
+     */
+    private final FreeCells cells;
+
+    /**
+     * Inconsistent cells, waiting to be fixed.
+     */
+    private final IndexedHeap open;
+
+    /**
+     * Each cell's cost of getting to the goal, as of the last time it was
+     * expanded.
+     */
+    private final double[] costs;
+
+    /**
+     * Each cell's cost of getting to the goal, through its best neighbor.
+     */
+    private final double[] lookaheads;
+
+    /**
+     * The cells along the most recent path, from the start to the goal.
+     */
+    private int[] route = new int[64];
+
+    /**
+     * The number of cells in {@link #route}.
+     */
+    private int routeSize;
+
+    /**
+     * Has a goal been set?
+     */
+    private boolean hasGoal = false;
+
+    /**
+     * The X position of the goal.
+     */
+    private double goalX;
+
+    /**
+     * The Y position of the goal.
+     */
+    private double goalY;
+
+    /**
+     * The goal's cell, or -1 if the goal is outside the grid.
+     */
+    private int goal = -1;
+
+    /**
+     * The start cell of the most recent plan, or -1 if there hasn't been
+     * one since the search was reset.
+     */
+    private int last = -1;
+
+    /**
+     * How much every key in the open list is out of date by, because the
+     * robot has moved since the key was calculated.
+     */
+    private double keyModifier;
+
+    /**
+     * The number of cells expanded by the most recent plan.
+     */
+    private int expanded;
+
+    /**
+     * The number of cells that changed before the most recent plan.
+     */
+    private int changed;
+
+    /**
+     * Should paths be smoothed?
+     */
+    private boolean isSmoothing = true;
+
+    /**
+     * Create a new incremental planner.
+     *
+     * @param field  the distance field to plan with. Paths are planned on
+     *               the field's grid.
+     * @param radius the robot's radius. This can't be larger than the
+     *               distance field's maximum distance.
+     */
+    public IncrementalPlanner(DistanceField field,
+                              double radius) {
+        if (radius > field.getMaxDistance()) {
+            throw new IllegalArgumentException(
+                    "The robot's radius (" + radius + ") can't be larger " +
+                            "than the distance field's maximum distance (" +
+                            field.getMaxDistance() + ")."
+            );
+        }
+
+        int size = field.getGrid().size();
+
+        this.grid = field.getGrid();
+        this.field = field;
+        this.radius = radius;
+        this.clearance = field.getClearance(radius);
+        this.cells = new FreeCells(grid);
+        this.open = new IndexedHeap(size);
+        this.costs = new double[size];
+        this.lookaheads = new double[size];
+    }
+
+    /**
+     * Set the goal, and throw away the current search.
+     *
+     * <p>
+     * The first plan after the goal has been set has to search from
+     * scratch, which is about as slow as a plain A* search. Every plan
+     * after that only repairs what's changed.
+     * </p>
+     *
+     * @param x the X position of the goal.
+     * @param y the Y position of the goal.
+     */
+    public void setGoal(double x,
+                        double y) {
+        goalX = x;
+        goalY = y;
+        hasGoal = true;
+
+        field.update();
+        cells.update(field, clearance);
+
+        reset();
+    }
+
+    /**
+     * Throw away the current search, and start a new one at the goal.
+     */
+    private void reset() {
+        int column = grid.toColumn(goalX);
+        int row = grid.toRow(goalY);
+
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        Arrays.fill(lookaheads, Double.POSITIVE_INFINITY);
+        open.clear();
+        keyModifier = 0;
+        last = -1;
+        goal = grid.contains(column, row) ? grid.index(column, row) : -1;
+
+        if (goal >= 0) {
+            lookaheads[goal] = 0;
+            open.push(goal, 0, 0);
+        }
+    }
+
+    /**
+     * Plan a path from the robot's current position to the goal.
+     *
+     * <p>
+     * Any changes to the grid since the last plan are picked up first,
+     * and only the cells around them are repaired. If the grid changed too
+     * much to tell which cells changed (it was cleared, for example), the
+     * search starts over.
+     * </p>
+     *
+     * @param startX the X position of the robot.
+     * @param startY the Y position of the robot.
+     * @param into   the path to write the planned path into. If no path
+     *               could be found, this is left empty.
+     * @return whether or not a path was found.
+     */
+    public boolean plan(double startX,
+                        double startY,
+                        GridPath into) {
+        if (!hasGoal) {
+            throw new IllegalStateException(
+                    "Can't plan a path without a goal! Use setGoal() to " +
+                            "set one first."
+            );
+        }
+
+        into.clear();
+        expanded = 0;
+
+        field.update();
+        changed = cells.update(field, clearance);
+
+        if (changed == FreeCells.REBUILT) reset();
+
+        int start = cells.nearestFree(
+                grid.toColumn(startX),
+                grid.toRow(startY)
+        );
+
+        if (goal < 0 || start < 0) return false;
+
+        /*
+         * Keys are measured from the robot. Rather than fixing every key in
+         * the open list when the robot moves, every new key is made bigger
+         * by however far the robot has moved, so the old keys are still
+         * lower bounds of what they'd be now.
+         */
+        if (last >= 0 && start != last) keyModifier += octile(last, start);
+
+        last = start;
+
+        for (int i = 0; i < changed; i++) {
+            int cell = cells.getChanged(i);
+
+            updateCell(cell);
+            updateNeighbors(cell);
+        }
+
+        search(start);
+
+        if (costs[start] == Double.POSITIVE_INFINITY) return false;
+        if (!buildRoute(start)) return false;
+
+        if (isSmoothing) routeSize = cells.smooth(route, routeSize);
+
+        writePath(startX, startY, into);
+
+        return true;
+    }
+
+    /**
+     * Expand inconsistent cells until the start is consistent, and nothing
+     * left in the open list could possibly affect it.
+     *
+     * @param start the start cell.
+     */
+    private void search(int start) {
+        while (!open.isEmpty()) {
+            double startSecondary = Math.min(costs[start], lookaheads[start]);
+            double startPrimary = startSecondary + keyModifier;
+            double topPrimary = open.peekPrimary();
+            double topSecondary = open.peekSecondary();
+
+            /*
+             * Anything tied with the start has to be expanded too. A tie
+             * with a smaller second key could still lower the start's
+             * cost, and rounding makes it too hard to tell exactly.
+             */
+            boolean isBefore = topPrimary <= startPrimary + EPSILON;
+
+            if (!isBefore && costs[start] == lookaheads[start]) return;
+
+            int cell = open.peek();
+            double secondary = Math.min(costs[cell], lookaheads[cell]);
+            double primary = secondary + octile(start, cell) + keyModifier;
+
+            /*
+             * The cell's key is out of date, because the robot's moved
+             * since it was calculated. Put it back with its real key.
+             */
+            if (topPrimary < primary ||
+                    (topPrimary == primary && topSecondary < secondary)) {
+                open.push(cell, primary, secondary);
+                continue;
+            }
+
+            open.pop();
+            expanded++;
+
+            int width = grid.getWidth();
+            int column = cell % width;
+            int row = cell / width;
+
+            if (costs[cell] > lookaheads[cell]) {
+                /*
+                 * The cell got cheaper. Its neighbors can only get cheaper
+                 * by going through it, so there's no need to look at any of
+                 * their other neighbors.
+                 */
+                costs[cell] = lookaheads[cell];
+
+                for (int i = 0; i < 8; i++) {
+                    double cost = getCost(column, row, DX[i], DY[i]);
+                    int neighbor = cell + DX[i] + DY[i] * width;
+
+                    if (cost == Double.POSITIVE_INFINITY ||
+                            neighbor == goal) {
+                        continue;
+                    }
+
+                    if (cost + costs[cell] < lookaheads[neighbor]) {
+                        lookaheads[neighbor] = cost + costs[cell];
+                        queue(neighbor);
+                    }
+                }
+            } else {
+                /*
+                 * The cell got more expensive. Only the neighbors whose
+                 * best neighbor was this cell need to look for a new one.
+                 */
+                double previous = costs[cell];
+
+                costs[cell] = Double.POSITIVE_INFINITY;
+                updateCell(cell);
+
+                for (int i = 0; i < 8; i++) {
+                    double cost = getCost(column, row, DX[i], DY[i]);
+                    int neighbor = cell + DX[i] + DY[i] * width;
+
+                    if (cost != Double.POSITIVE_INFINITY &&
+                            lookaheads[neighbor] == cost + previous) {
+                        updateCell(neighbor);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Recalculate a cell's lookahead, and add it to (or remove it from) the
+     * open list, depending on whether or not it's consistent.
+     *
+     * @param cell the cell to update.
+     */
+    private void updateCell(int cell) {
+        if (cell != goal) {
+            int width = grid.getWidth();
+            int column = cell % width;
+            int row = cell / width;
+            double best = Double.POSITIVE_INFINITY;
+
+            for (int i = 0; i < 8; i++) {
+                double cost = getCost(column, row, DX[i], DY[i]);
+
+                if (cost != Double.POSITIVE_INFINITY) {
+                    int neighbor = grid.index(column + DX[i], row + DY[i]);
+
+                    best = Math.min(best, cost + costs[neighbor]);
+                }
+            }
+
+            lookaheads[cell] = best;
+        }
+
+        queue(cell);
+    }
+
+    /**
+     * Add a cell to the open list if it's inconsistent, or remove it from
+     * the open list if it's consistent.
+     *
+     * @param cell the cell to queue.
+     */
+    private void queue(int cell) {
+        if (costs[cell] != lookaheads[cell]) {
+            double secondary = Math.min(costs[cell], lookaheads[cell]);
+            double primary = secondary + octile(last, cell) + keyModifier;
+
+            open.push(cell, primary, secondary);
+        } else if (open.contains(cell)) {
+            open.remove(cell);
+        }
+    }
+
+    /**
+     * Update each of a cell's neighbors.
+     *
+     * @param cell the cell whose neighbors should be updated.
+     */
+    private void updateNeighbors(int cell) {
+        int width = grid.getWidth();
+        int column = cell % width;
+        int row = cell / width;
+
+        for (int i = 0; i < 8; i++) {
+            int x = column + DX[i];
+            int y = row + DY[i];
+
+            if (grid.contains(x, y)) updateCell(grid.index(x, y));
+        }
+    }
+
+    /**
+     * Get the cost of moving from a cell to one of its neighbors. Moving
+     * diagonally requires both of the cells beside the diagonal to be
+     * free, same as a {@link GridPlanner}.
+     *
+     * @param column the cell's column.
+     * @param row    the cell's row.
+     * @param dx     the X direction of the move.
+     * @param dy     the Y direction of the move.
+     * @return the cost of the move, or positive infinity if the move isn't
+     * possible.
+     */
+    private double getCost(int column,
+                           int row,
+                           int dx,
+                           int dy) {
+        if (!cells.isFree(column, row) ||
+                !cells.isFree(column + dx, row + dy)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        if (dx == 0 || dy == 0) return 1;
+
+        return cells.isFree(column + dx, row) && cells.isFree(column, row + dy)
+                ? SQRT_2
+                : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * The octile distance between two cells - the length of the shortest
+     * path between them, if there weren't any obstacles.
+     *
+     * @param a the first cell.
+     * @param b the second cell.
+     * @return the octile distance, in cells.
+     */
+    private double octile(int a,
+                          int b) {
+        int width = grid.getWidth();
+        int dx = Math.abs((a % width) - (b % width));
+        int dy = Math.abs((a / width) - (b / width));
+
+        return Math.max(dx, dy) + (SQRT_2 - 1) * Math.min(dx, dy);
+    }
+
+    /**
+     * Follow the cheapest neighbors from the start to the goal, filling in
+     * {@link #route}.
+     *
+     * @param start the start cell.
+     * @return whether or not the goal was reached.
+     */
+    private boolean buildRoute(int start) {
+        int width = grid.getWidth();
+        int cell = start;
+
+        routeSize = 0;
+
+        while (true) {
+            if (routeSize == route.length) {
+                route = Arrays.copyOf(route, routeSize * 2);
+            }
+
+            route[routeSize++] = cell;
+
+            if (cell == goal) return true;
+
+            /*
+             * Costs only ever go down along the route, so this should never
+             * happen, but a route can't be longer than the grid.
+             */
+            if (routeSize > grid.size()) return false;
+
+            int column = cell % width;
+            int row = cell / width;
+            int best = -1;
+            double bestCost = Double.POSITIVE_INFINITY;
+
+            for (int i = 0; i < 8; i++) {
+                double cost = getCost(column, row, DX[i], DY[i]);
+
+                if (cost == Double.POSITIVE_INFINITY) continue;
+
+                int neighbor = grid.index(column + DX[i], row + DY[i]);
+
+                if (cost + costs[neighbor] < bestCost) {
+                    best = neighbor;
+                    bestCost = cost + costs[neighbor];
+                }
+            }
+
+            if (best < 0) return false;
+
+            cell = best;
+        }
+    }
+
+    /**
+     * Write the route into a path. The first and last points are the exact
+     * start and goal positions, rather than the centers of their cells.
+     *
+     * @param startX the X position of the start.
+     * @param startY the Y position of the start.
+     * @param into   the path to write into.
+     */
+    private void writePath(double startX,
+                           double startY,
+                           GridPath into) {
+        int width = grid.getWidth();
+        int column = grid.toColumn(startX);
+        int row = grid.toRow(startY);
+        int start = grid.contains(column, row) ? grid.index(column, row) : -1;
+
+        into.add(startX, startY);
+
+        /*
+         * If the robot didn't start in a free cell, the path has to go
+         * through the center of the free cell it was moved to first.
+         */
+        for (int i = route[0] == start ? 1 : 0; i < routeSize - 1; i++) {
+            into.add(grid.toX(route[i] % width), grid.toY(route[i] / width));
+        }
+
+        into.add(goalX, goalY);
+    }
+
+    /**
+     * Has a goal been set?
+     *
+     * @return whether or not a goal has been set.
+     */
+    public boolean hasGoal() {
+        return hasGoal;
+    }
+
+    /**
+     * Get the X position of the goal.
+     *
+     * @return the goal's X position.
+     */
+    public double getGoalX() {
+        return goalX;
+    }
+
+    /**
+     * Get the Y position of the goal.
+     *
+     * @return the goal's Y position.
+     */
+    public double getGoalY() {
+        return goalY;
+    }
+
+    /**
+     * Get the number of cells the most recent plan expanded.
+     *
+     * @return how many cells were expanded.
+     */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Get the number of cells that became free, or stopped being free,
+     * and had to be repaired by the most recent plan.
+     *
+     * @return how many cells changed, or -1 if the search had to start
+     * over.
+     */
+    public int getChanged() {
+        return changed;
+    }
+
+    /**
+     * Are paths smoothed?
+     *
+     * @return whether or not paths are smoothed.
+     */
+    public boolean isSmoothing() {
+        return isSmoothing;
+    }
+
+    /**
+     * Set whether or not paths should be smoothed. Unsmoothed paths only
+     * ever move in eight directions, and have a point at every cell.
+     *
+     * @param isSmoothing whether or not paths should be smoothed.
+     */
+    public void setSmoothing(boolean isSmoothing) {
+        this.isSmoothing = isSmoothing;
+    }
+
+    /**
+     * Get the robot's radius.
+     *
+     * @return the robot's radius.
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    /**
+     * Get the grid paths are planned on.
+     *
+     * @return the planner's grid.
+     */
+    public OccupancyGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Get the distance field paths are planned with.
+     *
+     * @return the planner's distance field.
+     */
+    public DistanceField getDistanceField() {
+        return field;
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.planning;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of integer items, each with a two-part priority.
+ *
+ * <p>
+ * Items are integers from zero up to the heap's capacity - for planners,
+ * that's the index of a grid cell. Because every item has a fixed slot,
+ * the heap always knows where each item is, so an item's priority can be
+ * changed (or the item removed) in O(log n) time, without searching the
+ * heap for it.
+ * </p>
+ *
+ * <p>
+ * Priorities are compared lexicographically: the first key is compared
+ * first, and the second key only breaks ties. A* uses the second key to
+ * prefer cells closer to the goal; D* Lite needs both keys for its
+ * priority.
+ * </p>
+ *
+ * <p>
+ * Nothing is allocated after the heap is created, and clearing the heap
+ * only touches the items that are actually in it.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.1.0
+ * @since 0.2.0
+ */
+public class IndexedHeap {
+    /**
+     * The items in the heap, in heap order.
+     */
+    private final int[] heap;
+
+    /**
+     * Each item's position in the heap, or -1 if it isn't in the heap.
+     */
+    private final int[] positions;
+
+    /**
+     * The first key of each item in the heap, in heap order. Keys are kept
+     * in heap order (rather than by item) so sifting an item up or down
+     * the heap only touches memory near the top of the heap, instead of
+     * jumping all over a huge array.
+     */
+    private final double[] primary;
+
+    /**
+     * The second key of each item in the heap, in heap order.
+     */
+    private final double[] secondary;
+
+    /**
+     * The number of items in the heap.
+     */
+    private int size = 0;
+
+    /**
+     * Create a new, empty, indexed heap.
+     *
+     * @param capacity the number of possible items. Items can be anything
+     *                 from zero up to, but not including, the capacity.
+     */
+    public IndexedHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        primary = new double[capacity];
+        secondary = new double[capacity];
+
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Add an item to the heap, or update its priority if it's already in
+     * the heap.
+     *
+     * @param item      the item.
+     * @param primary   the item's first key.
+     * @param secondary the item's second key.
+     */
+    public void push(int item,
+                     double primary,
+                     double secondary) {
+        int position = positions[item];
+
+        if (position < 0) {
+            position = size++;
+            heap[position] = item;
+            positions[item] = position;
+        }
+
+        this.primary[position] = primary;
+        this.secondary[position] = secondary;
+
+        siftDown(siftUp(position));
+    }
+
+    /**
+     * Remove the item with the lowest priority from the heap.
+     *
+     * @return the item with the lowest priority.
+     * @throws IllegalStateException if the heap is empty.
+     */
+    public int pop() {
+        if (size == 0) {
+            throw new IllegalStateException(
+                    "Can't pop an item from an empty heap!"
+            );
+        }
+
+        int top = heap[0];
+
+        removeAt(0);
+
+        return top;
+    }
+
+    /**
+     * Remove an item from the heap. If the item isn't in the heap, nothing
+     * happens.
+     *
+     * @param item the item to remove.
+     */
+    public void remove(int item) {
+        int position = positions[item];
+
+        if (position >= 0) removeAt(position);
+    }
+
+    /**
+     * Remove the item at a given position.
+     *
+     * @param position the item's position in the heap.
+     */
+    private void removeAt(int position) {
+        positions[heap[position]] = -1;
+        size--;
+
+        if (position < size) {
+            move(size, position);
+            siftDown(siftUp(position));
+        }
+    }
+
+    /**
+     * Move the item at one position to another position.
+     *
+     * @param from the item's current position.
+     * @param to   the position to move the item to.
+     */
+    private void move(int from,
+                      int to) {
+        heap[to] = heap[from];
+        primary[to] = primary[from];
+        secondary[to] = secondary[from];
+        positions[heap[to]] = to;
+    }
+
+    /**
+     * Compare two priorities.
+     *
+     * @param primaryA   the first priority's first key.
+     * @param secondaryA the first priority's second key.
+     * @param primaryB   the second priority's first key.
+     * @param secondaryB the second priority's second key.
+     * @return whether or not the first priority is lower than the second.
+     */
+    private static boolean less(double primaryA,
+                                double secondaryA,
+                                double primaryB,
+                                double secondaryB) {
+        return primaryA < primaryB ||
+                (primaryA == primaryB && secondaryA < secondaryB);
+    }
+
+    /**
+     * Move an item up the heap until its parent's priority is lower than
+     * its own.
+     *
+     * @param position the item's position.
+     * @return the item's new position.
+     */
+    private int siftUp(int position) {
+        int item = heap[position];
+        double itemPrimary = primary[position];
+        double itemSecondary = secondary[position];
+
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+
+            if (!less(itemPrimary, itemSecondary,
+                    primary[parent], secondary[parent])) {
+                break;
+            }
+
+            move(parent, position);
+            position = parent;
+        }
+
+        place(item, itemPrimary, itemSecondary, position);
+
+        return position;
+    }
+
+    /**
+     * Move an item down the heap until both of its children have a higher
+     * priority than its own.
+     *
+     * @param position the item's position.
+     */
+    private void siftDown(int position) {
+        int item = heap[position];
+        double itemPrimary = primary[position];
+        double itemSecondary = secondary[position];
+
+        while (true) {
+            int child = (position << 1) + 1;
+
+            if (child >= size) break;
+
+            if (child + 1 < size && less(primary[child + 1],
+                    secondary[child + 1], primary[child], secondary[child])) {
+                child++;
+            }
+
+            if (!less(primary[child], secondary[child],
+                    itemPrimary, itemSecondary)) {
+                break;
+            }
+
+            move(child, position);
+            position = child;
+        }
+
+        place(item, itemPrimary, itemSecondary, position);
+    }
+
+    /**
+     * Put an item at a position.
+     *
+     * @param item      the item.
+     * @param primary   the item's first key.
+     * @param secondary the item's second key.
+     * @param position  the position to put the item at.
+     */
+    private void place(int item,
+                       double primary,
+                       double secondary,
+                       int position) {
+        heap[position] = item;
+        this.primary[position] = primary;
+        this.secondary[position] = secondary;
+        positions[item] = position;
+    }
+
+    /**
+     * Remove every item from the heap.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) positions[heap[i]] = -1;
+
+        size = 0;
+    }
+
+    /**
+     * Is an item in the heap?
+     *
+     * @param item the item.
+     * @return whether or not the item is in the heap.
+     */
+    public boolean contains(int item) {
+        return positions[item] >= 0;
+    }
+
+    /**
+     * Get the item with the lowest priority, without removing it.
+     *
+     * @return the item with the lowest priority.
+     * @throws IllegalStateException if the heap is empty.
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException(
+                    "Can't peek at an empty heap!"
+            );
+        }
+
+        return heap[0];
+    }
+
+    /**
+     * Get the first key of the item with the lowest priority.
+     *
+     * @return the lowest priority's first key, or positive infinity if the
+     * heap is empty.
+     */
+    public double peekPrimary() {
+        return size == 0 ? Double.POSITIVE_INFINITY : primary[0];
+    }
+
+    /**
+     * Get the second key of the item with the lowest priority.
+     *
+     * @return the lowest priority's second key, or positive infinity if the
+     * heap is empty.
+     */
+    public double peekSecondary() {
+        return size == 0 ? Double.POSITIVE_INFINITY : secondary[0];
+    }
+
+    /**
+     * Is the heap empty?
+     *
+     * @return whether or not the heap is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the number of items in the heap.
+     *
+     * @return how many items are in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of possible items.
+     *
+     * @return the heap's capacity.
+     */
+    public int capacity() {
+        return heap.length;
+    }
+}
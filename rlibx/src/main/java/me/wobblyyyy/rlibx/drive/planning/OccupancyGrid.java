@@ -0,0 +1,474 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.planning;
+
+import java.util.Arrays;
+
+/**
+ * A grid of cells covering the field, each of which is either free or
+ * occupied by an obstacle.
+ *
+ * <p>
+ * Cells are packed into a bitset - one bit per cell, 64 cells to a long -
+ * so even a full field at a 2 centimeter resolution only takes up about 40
+ * kilobytes. Cells are stored row by row, and the index of a cell is
+ * {@code row * width + column}.
+ * </p>
+ *
+ * <p>
+ * Field positions are converted to cells using the grid's origin (the field
+ * position of the corner of cell 0, 0) and resolution (the width of a
+ * single cell, in the same units as the field). Columns run along the X
+ * axis and rows run along the Y axis.
+ * </p>
+ *
+ * <p>
+ * Every change to the grid increments its version. Anything that's derived
+ * from the grid, like a {@link DistanceField}, can check the version to
+ * figure out whether or not it's out of date.
+ * </p>
+ *
+ * <p>
+ * The grid also remembers which cell changed at each of its most recent
+ * {@link #HISTORY} versions. Anything that's only a few versions behind
+ * can use that history to bring itself up to date by only looking at the
+ * cells that changed, rather than starting over from scratch.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.1.0
+ * @see DistanceField
+ * @see GridPlanner
+ * @since 0.2.0
+ */
+public class OccupancyGrid {
+    /**
+     * How many changes the grid remembers. This has to be a power of two.
+     */
+    public static final int HISTORY = 1 << 14;
+
+    /**
+     * The number of columns in the grid.
+     */
+    private final int width;
+
+    /**
+     * The number of rows in the grid.
+     */
+    private final int height;
+
+    /**
+     * The width of a single cell.
+     */
+    private final double resolution;
+
+    /**
+     * The X position of the grid's corner.
+     */
+    private final double originX;
+
+    /**
+     * The Y position of the grid's corner.
+     */
+    private final double originY;
+
+    /**
+     * Every cell, packed into a bitset.
+     */
+    private final long[] bits;
+
+    /**
+     * The grid's version, which is incremented every time it's changed.
+     */
+    private int version = 0;
+
+    /**
+     * The index of the cell that changed at each recent version, indexed
+     * by the version modulo {@link #HISTORY}.
+     */
+    private final int[] history = new int[HISTORY];
+
+    /**
+     * The oldest version that every later change has been recorded since.
+     * Clearing the grid changes too many cells to record, so clearing it
+     * resets this to the grid's new version.
+     */
+    private int historyStart = 0;
+
+    /**
+     * Create a new, empty, occupancy grid, with its corner at the origin.
+     *
+     * @param width      the number of columns in the grid.
+     * @param height     the number of rows in the grid.
+     * @param resolution the width of a single cell.
+     */
+    public OccupancyGrid(int width,
+                         int height,
+                         double resolution) {
+        this(width, height, resolution, 0, 0);
+    }
+
+    /**
+     * Create a new, empty, occupancy grid.
+     *
+     * @param width      the number of columns in the grid.
+     * @param height     the number of rows in the grid.
+     * @param resolution the width of a single cell.
+     * @param originX    the X position of the grid's corner.
+     * @param originY    the Y position of the grid's corner.
+     */
+    public OccupancyGrid(int width,
+                         int height,
+                         double resolution,
+                         double originX,
+                         double originY) {
+        if (width < 1 || height < 1 || !(resolution > 0)) {
+            throw new IllegalArgumentException(
+                    "An occupancy grid needs a positive size and " +
+                            "resolution, but you tried to create a " +
+                            width + " by " + height + " grid with a " +
+                            "resolution of " + resolution + "."
+            );
+        }
+
+        this.width = width;
+        this.height = height;
+        this.resolution = resolution;
+        this.originX = originX;
+        this.originY = originY;
+        this.bits = new long[(int) (((long) width * height + 63) >>> 6)];
+    }
+
+    /**
+     * Create an occupancy grid that covers a rectangular area.
+     *
+     * @param fieldWidth  the width of the area (along the X axis).
+     * @param fieldHeight the height of the area (along the Y axis).
+     * @param resolution  the width of a single cell.
+     * @return a new, empty, occupancy grid, with its corner at the origin.
+     */
+    public static OccupancyGrid ofSize(double fieldWidth,
+                                       double fieldHeight,
+                                       double resolution) {
+        return new OccupancyGrid(
+                (int) Math.ceil(fieldWidth / resolution),
+                (int) Math.ceil(fieldHeight / resolution),
+                resolution
+        );
+    }
+
+    /**
+     * Check whether or not a cell is inside the grid.
+     *
+     * @param column the cell's column.
+     * @param row    the cell's row.
+     * @return whether or not the cell is inside the grid.
+     */
+    public boolean contains(int column,
+                            int row) {
+        return column >= 0 && column < width && row >= 0 && row < height;
+    }
+
+    /**
+     * Get the index of a cell.
+     *
+     * @param column the cell's column.
+     * @param row    the cell's row.
+     * @return the cell's index.
+     */
+    public int index(int column,
+                     int row) {
+        return row * width + column;
+    }
+
+    /**
+     * Is a cell occupied? Cells outside the grid are always occupied.
+     *
+     * @param column the cell's column.
+     * @param row    the cell's row.
+     * @return whether or not the cell is occupied.
+     */
+    public boolean isOccupied(int column,
+                              int row) {
+        return !contains(column, row) || isOccupied(index(column, row));
+    }
+
+    /**
+     * Is a cell occupied?
+     *
+     * @param index the cell's index.
+     * @return whether or not the cell is occupied.
+     */
+    public boolean isOccupied(int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Is the cell at a field position occupied?
+     *
+     * @param x the X position.
+     * @param y the Y position.
+     * @return whether or not the cell at that position is occupied.
+     */
+    public boolean isOccupied(double x,
+                              double y) {
+        return isOccupied(toColumn(x), toRow(y));
+    }
+
+    /**
+     * Mark a cell as occupied or free. Cells outside the grid are ignored.
+     *
+     * @param column     the cell's column.
+     * @param row        the cell's row.
+     * @param isOccupied whether or not the cell should be occupied.
+     * @return whether or not the cell actually changed.
+     */
+    public boolean set(int column,
+                       int row,
+                       boolean isOccupied) {
+        if (!contains(column, row)) return false;
+
+        int index = index(column, row);
+        long mask = 1L << index;
+        long word = bits[index >>> 6];
+        long updated = isOccupied ? word | mask : word & ~mask;
+
+        if (updated == word) return false;
+
+        bits[index >>> 6] = updated;
+        version++;
+        history[version & (HISTORY - 1)] = index;
+
+        return true;
+    }
+
+    /**
+     * Mark every cell inside a rectangle as occupied or free.
+     *
+     * @param minX       the rectangle's minimum X position.
+     * @param minY       the rectangle's minimum Y position.
+     * @param maxX       the rectangle's maximum X position.
+     * @param maxY       the rectangle's maximum Y position.
+     * @param isOccupied whether or not the cells should be occupied.
+     */
+    public void setRectangle(double minX,
+                             double minY,
+                             double maxX,
+                             double maxY,
+                             boolean isOccupied) {
+        int minColumn = Math.max(0, toColumn(minX));
+        int maxColumn = Math.min(width - 1, toColumn(maxX));
+        int minRow = Math.max(0, toRow(minY));
+        int maxRow = Math.min(height - 1, toRow(maxY));
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                set(column, row, isOccupied);
+            }
+        }
+    }
+
+    /**
+     * Mark every cell inside a circle as occupied or free. A cell is inside
+     * the circle if its center is.
+     *
+     * @param x          the X position of the circle's center.
+     * @param y          the Y position of the circle's center.
+     * @param radius     the circle's radius.
+     * @param isOccupied whether or not the cells should be occupied.
+     */
+    public void setCircle(double x,
+                          double y,
+                          double radius,
+                          boolean isOccupied) {
+        int minColumn = Math.max(0, toColumn(x - radius));
+        int maxColumn = Math.min(width - 1, toColumn(x + radius));
+        int minRow = Math.max(0, toRow(y - radius));
+        int maxRow = Math.min(height - 1, toRow(y + radius));
+        double radiusSquared = radius * radius;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            double dy = toY(row) - y;
+
+            for (int column = minColumn; column <= maxColumn; column++) {
+                double dx = toX(column) - x;
+
+                if (dx * dx + dy * dy <= radiusSquared) {
+                    set(column, row, isOccupied);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark every cell as free.
+     */
+    public void clear() {
+        Arrays.fill(bits, 0);
+        version++;
+        historyStart = version;
+    }
+
+    /**
+     * Get the column that contains an X position.
+     *
+     * @param x the X position.
+     * @return the column containing the position. This might be outside of
+     * the grid.
+     */
+    public int toColumn(double x) {
+        return (int) Math.floor((x - originX) / resolution);
+    }
+
+    /**
+     * Get the row that contains a Y position.
+     *
+     * @param y the Y position.
+     * @return the row containing the position. This might be outside of the
+     * grid.
+     */
+    public int toRow(double y) {
+        return (int) Math.floor((y - originY) / resolution);
+    }
+
+    /**
+     * Get the X position of the center of a column.
+     *
+     * @param column the column.
+     * @return the X position of the column's center.
+     */
+    public double toX(int column) {
+        return originX + (column + 0.5) * resolution;
+    }
+
+    /**
+     * Get the Y position of the center of a row.
+     *
+     * @param row the row.
+     * @return the Y position of the row's center.
+     */
+    public double toY(int row) {
+        return originY + (row + 0.5) * resolution;
+    }
+
+    /**
+     * Get the number of columns in the grid.
+     *
+     * @return the grid's width, in cells.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the number of rows in the grid.
+     *
+     * @return the grid's height, in cells.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the total number of cells in the grid.
+     *
+     * @return how many cells there are.
+     */
+    public int size() {
+        return width * height;
+    }
+
+    /**
+     * Get the width of a single cell.
+     *
+     * @return the grid's resolution.
+     */
+    public double getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Get the X position of the grid's corner.
+     *
+     * @return the grid's X origin.
+     */
+    public double getOriginX() {
+        return originX;
+    }
+
+    /**
+     * Get the Y position of the grid's corner.
+     *
+     * @return the grid's Y origin.
+     */
+    public double getOriginY() {
+        return originY;
+    }
+
+    /**
+     * Get the grid's version. This is incremented every time a cell is
+     * changed.
+     *
+     * @return the grid's version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Check whether or not the grid remembers every change made since a
+     * version.
+     *
+     * @param since the version to check.
+     * @return whether or not {@link #getChange(int)} can be used for every
+     * version after {@code since}, up to and including the current version.
+     */
+    public boolean hasHistory(int since) {
+        return since >= historyStart &&
+                since <= version &&
+                version - since <= HISTORY;
+    }
+
+    /**
+     * Get the cell that changed at a version.
+     *
+     * @param version the version to check. Use {@link #hasHistory(int)}
+     *                to make sure the grid still remembers this version.
+     * @return the index of the cell that changed at the version.
+     */
+    public int getChange(int version) {
+        if (version > this.version || !hasHistory(version - 1)) {
+            throw new IllegalArgumentException(
+                    "The grid doesn't remember what changed at version " +
+                            version + " - it's currently at version " +
+                            this.version + "."
+            );
+        }
+
+        return history[version & (HISTORY - 1)];
+    }
+}
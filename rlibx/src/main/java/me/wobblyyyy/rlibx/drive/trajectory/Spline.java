@@ -0,0 +1,114 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.trajectory;
+
+/**
+ * The different kinds of splines a trajectory can follow between two
+ * waypoints.
+ *
+ * <p>
+ * Both are Hermite splines: each piece of the spline is defined by the
+ * position and direction of travel at either end. The difference is how
+ * smooth the joins between pieces are.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see TrajectoryGenerator
+ * @since 0.2.0
+ */
+public enum Spline {
+    /**
+     * Cubic Hermite splines. The direction of travel is continuous, but
+     * curvature can jump at each waypoint - the robot might have to change
+     * how hard it's turning all at once.
+     */
+    CUBIC,
+
+    /**
+     * Quintic Hermite splines. The second derivative at every waypoint is
+     * zero, so curvature is continuous everywhere, and the robot never has
+     * to suddenly change how hard it's turning.
+     */
+    QUINTIC;
+
+    /**
+     * Evaluate a single spline piece.
+     *
+     * @param t    how far along the piece to evaluate, from 0 to 1.
+     * @param p0   the value at the start of the piece.
+     * @param p1   the value at the end of the piece.
+     * @param m0   the derivative at the start of the piece.
+     * @param m1   the derivative at the end of the piece.
+     * @param into an array of size 3 to write the value, first derivative,
+     *             and second derivative into.
+     */
+    void evaluate(double t,
+                  double p0,
+                  double p1,
+                  double m0,
+                  double m1,
+                  double[] into) {
+        double t2 = t * t;
+        double t3 = t2 * t;
+
+        if (this == CUBIC) {
+            into[0] = (2 * t3 - 3 * t2 + 1) * p0 +
+                    (t3 - 2 * t2 + t) * m0 +
+                    (-2 * t3 + 3 * t2) * p1 +
+                    (t3 - t2) * m1;
+            into[1] = (6 * t2 - 6 * t) * p0 +
+                    (3 * t2 - 4 * t + 1) * m0 +
+                    (-6 * t2 + 6 * t) * p1 +
+                    (3 * t2 - 2 * t) * m1;
+            into[2] = (12 * t - 6) * p0 +
+                    (6 * t - 4) * m0 +
+                    (-12 * t + 6) * p1 +
+                    (6 * t - 2) * m1;
+        } else {
+            /*
+             * Quintic Hermite basis functions, with both second derivative
+             * terms set to zero.
+             */
+            double t4 = t3 * t;
+            double t5 = t4 * t;
+
+            into[0] = (1 - 10 * t3 + 15 * t4 - 6 * t5) * p0 +
+                    (t - 6 * t3 + 8 * t4 - 3 * t5) * m0 +
+                    (-4 * t3 + 7 * t4 - 3 * t5) * m1 +
+                    (10 * t3 - 15 * t4 + 6 * t5) * p1;
+            into[1] = (-30 * t2 + 60 * t3 - 30 * t4) * p0 +
+                    (1 - 18 * t2 + 32 * t3 - 15 * t4) * m0 +
+                    (-12 * t2 + 28 * t3 - 15 * t4) * m1 +
+                    (30 * t2 - 60 * t3 + 30 * t4) * p1;
+            into[2] = (-60 * t + 180 * t2 - 120 * t3) * p0 +
+                    (-36 * t + 96 * t2 - 60 * t3) * m0 +
+                    (-24 * t + 84 * t2 - 60 * t3) * m1 +
+                    (60 * t - 180 * t2 + 120 * t3) * p1;
+        }
+    }
+}
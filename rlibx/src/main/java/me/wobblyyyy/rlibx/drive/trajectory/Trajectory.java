@@ -0,0 +1,515 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.trajectory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A time-parameterized path, stored as a set of primitive sample arrays.
+ *
+ * <p>
+ * Trajectories are generated once, ahead of time, by a
+ * {@link TrajectoryGenerator}. Every sample is evenly spaced along the
+ * path, and every sample has a time, distance, position, direction of
+ * travel, curvature, velocity, and acceleration. Each of those is stored in
+ * its own array, rather than as an array of objects - sampling a trajectory
+ * is just a binary search and some interpolation, and doesn't create any
+ * garbage.
+ * </p>
+ *
+ * <p>
+ * Trajectories are immutable once they've been generated, so the same
+ * trajectory can be shared between as many threads and followers as you'd
+ * like.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.1.0
+ * @see TrajectoryGenerator
+ * @see TrajectoryCache
+ * @since 0.2.0
+ */
+public class Trajectory {
+    /**
+     * How many bytes each sample takes up when it's written - eight
+     * doubles.
+     */
+    public static final int SAMPLE_BYTES = 8 * 8;
+
+    /**
+     * The most samples {@link #read(DataInput)} will accept. At 5cm between
+     * samples, this is a trajectory more than 50 kilometers long.
+     */
+    public static final int MAX_SAMPLES = 1 << 20;
+
+    /**
+     * Sample times, in seconds.
+     */
+    private final double[] times;
+
+    /**
+     * Sample distances along the path.
+     */
+    private final double[] distances;
+
+    /**
+     * Sample X positions.
+     */
+    private final double[] xs;
+
+    /**
+     * Sample Y positions.
+     */
+    private final double[] ys;
+
+    /**
+     * Sample directions of travel, in degrees.
+     */
+    private final double[] headings;
+
+    /**
+     * Sample curvatures, in radians per unit.
+     */
+    private final double[] curvatures;
+
+    /**
+     * Sample velocities, in units per second.
+     */
+    private final double[] velocities;
+
+    /**
+     * Sample accelerations, in units per second squared. Each acceleration
+     * applies from its sample to the next one.
+     */
+    private final double[] accelerations;
+
+    /**
+     * Create a new trajectory. The arrays are used directly, rather than
+     * copied, so they shouldn't be modified afterwards.
+     *
+     * @param times         sample times, in seconds.
+     * @param distances     sample distances along the path.
+     * @param xs            sample X positions.
+     * @param ys            sample Y positions.
+     * @param headings      sample directions of travel, in degrees.
+     * @param curvatures    sample curvatures, in radians per unit.
+     * @param velocities    sample velocities, in units per second.
+     * @param accelerations sample accelerations, in units per second
+     *                      squared.
+     */
+    Trajectory(double[] times,
+               double[] distances,
+               double[] xs,
+               double[] ys,
+               double[] headings,
+               double[] curvatures,
+               double[] velocities,
+               double[] accelerations) {
+        this.times = times;
+        this.distances = distances;
+        this.xs = xs;
+        this.ys = ys;
+        this.headings = headings;
+        this.curvatures = curvatures;
+        this.velocities = velocities;
+        this.accelerations = accelerations;
+    }
+
+    /**
+     * Read a trajectory that was written with {@link #write(DataOutput)}.
+     *
+     * <p>
+     * The sample count is read from the input, so it can't be trusted - if
+     * the input's been corrupted, it could be anything. If you know how
+     * many bytes the input has left, use {@link #read(DataInput, long)},
+     * which checks the count against that. Otherwise, the count is only
+     * checked against {@link #MAX_SAMPLES}.
+     * </p>
+     *
+     * @param in the input to read from.
+     * @return the trajectory that was read.
+     * @throws IOException if the trajectory couldn't be read.
+     */
+    public static Trajectory read(DataInput in) throws IOException {
+        return read(in, Long.MAX_VALUE);
+    }
+
+    /**
+     * Read a trajectory that was written with {@link #write(DataOutput)}.
+     *
+     * @param in     the input to read from.
+     * @param length how many bytes the input has left. Each sample takes
+     *               {@link #SAMPLE_BYTES} bytes, so a sample count that
+     *               couldn't possibly fit is rejected before anything is
+     *               allocated.
+     * @return the trajectory that was read.
+     * @throws IOException if the trajectory couldn't be read, or the input
+     *                     claims to have an impossible number of samples.
+     */
+    public static Trajectory read(DataInput in,
+                                  long length) throws IOException {
+        int size = in.readInt();
+        long limit = Math.min(MAX_SAMPLES, (length - 4) / SAMPLE_BYTES);
+
+        if (size < 2 || size > limit) {
+            throw new IOException(
+                    "A trajectory needs between 2 and " + limit + " " +
+                            "samples, but the input claims to have " +
+                            size + "."
+            );
+        }
+
+        double[][] arrays = new double[8][size];
+
+        for (double[] array : arrays) {
+            for (int i = 0; i < size; i++) array[i] = in.readDouble();
+        }
+
+        return new Trajectory(
+                arrays[0],
+                arrays[1],
+                arrays[2],
+                arrays[3],
+                arrays[4],
+                arrays[5],
+                arrays[6],
+                arrays[7]
+        );
+    }
+
+    /**
+     * Write the trajectory, so it can be read back with
+     * {@link #read(DataInput)} later.
+     *
+     * @param out the output to write to.
+     * @throws IOException if the trajectory couldn't be written.
+     */
+    public void write(DataOutput out) throws IOException {
+        double[][] arrays = {
+                times,
+                distances,
+                xs,
+                ys,
+                headings,
+                curvatures,
+                velocities,
+                accelerations
+        };
+
+        out.writeInt(size());
+
+        for (double[] array : arrays) {
+            for (double value : array) out.writeDouble(value);
+        }
+    }
+
+    /**
+     * Find the last sample at or before a given time.
+     *
+     * @param time the time to search for, in seconds.
+     * @return the index of the last sample at or before the time, clamped
+     * so that there's always at least one sample after it.
+     */
+    public int floorIndex(double time) {
+        int low = 0;
+        int high = times.length - 2;
+
+        if (time <= times[0]) return 0;
+
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+
+            if (times[mid] <= time) low = mid;
+            else high = mid - 1;
+        }
+
+        return low;
+    }
+
+    /**
+     * Find the last sample at or before a given time, starting the search
+     * from a sample that's already known to be at or before it.
+     *
+     * <p>
+     * Anything that samples a trajectory every loop - a path follower, for
+     * example - moves forwards through the trajectory a sample or two at a
+     * time. Walking forwards from last loop's index is O(1) amortized,
+     * where a binary search would be O(log n) every single time. If the
+     * hint turns out to be after the time (if time went backwards), this
+     * falls back to a binary search.
+     * </p>
+     *
+     * @param time the time to search for, in seconds.
+     * @param hint the index to start searching from, usually whatever this
+     *             method returned last time.
+     * @return the index of the last sample at or before the time, clamped
+     * so that there's always at least one sample after it.
+     */
+    public int floorIndex(double time,
+                          int hint) {
+        int last = times.length - 2;
+
+        if (hint < 0 || hint > last || times[hint] > time) {
+            return floorIndex(time);
+        }
+
+        while (hint < last && times[hint + 1] <= time) hint++;
+
+        return hint;
+    }
+
+    /**
+     * Sample the trajectory at a given time.
+     *
+     * <p>
+     * Distance and velocity are found by assuming constant acceleration
+     * between samples, and everything else is linearly interpolated by
+     * distance. Times before the start or after the end of the trajectory
+     * are clamped.
+     * </p>
+     *
+     * @param time the time to sample at, in seconds.
+     * @param into the state to write the sample into.
+     * @return the state that was passed in.
+     */
+    public TrajectoryState sample(double time,
+                                  TrajectoryState into) {
+        sample(time, -1, into);
+
+        return into;
+    }
+
+    /**
+     * Sample the trajectory at a given time, starting the search from a
+     * hint.
+     *
+     * @param time the time to sample at, in seconds.
+     * @param hint the index to start searching from. See
+     *             {@link #floorIndex(double, int)}.
+     * @param into the state to write the sample into.
+     * @return the index of the last sample at or before the time, which
+     * should be used as the next call's hint.
+     */
+    public int sample(double time,
+                      int hint,
+                      TrajectoryState into) {
+        int last = times.length - 1;
+
+        if (time <= times[0]) {
+            get(0, into);
+            return 0;
+        } else if (time >= times[last]) {
+            get(last, into);
+            return last - 1;
+        }
+
+        int i = floorIndex(time, hint);
+        double dt = time - times[i];
+        double a = accelerations[i];
+        double v = velocities[i] + a * dt;
+        double s = distances[i] + velocities[i] * dt + 0.5 * a * dt * dt;
+        double span = distances[i + 1] - distances[i];
+        double f = span > 0 ? (s - distances[i]) / span : 0;
+
+        f = Math.max(0, Math.min(1, f));
+
+        double dh = headings[i + 1] - headings[i];
+
+        if (dh > 180) dh -= 360;
+        else if (dh < -180) dh += 360;
+
+        into.set(
+                time,
+                s,
+                xs[i] + (xs[i + 1] - xs[i]) * f,
+                ys[i] + (ys[i + 1] - ys[i]) * f,
+                headings[i] + dh * f,
+                curvatures[i] + (curvatures[i + 1] - curvatures[i]) * f,
+                v,
+                a
+        );
+
+        return i;
+    }
+
+    /**
+     * Copy a single sample into a state.
+     *
+     * @param index the sample's index.
+     * @param into  the state to write the sample into.
+     * @return the state that was passed in.
+     */
+    public TrajectoryState get(int index,
+                               TrajectoryState into) {
+        checkIndex(index);
+
+        into.set(
+                times[index],
+                distances[index],
+                xs[index],
+                ys[index],
+                headings[index],
+                curvatures[index],
+                velocities[index],
+                accelerations[index]
+        );
+
+        return into;
+    }
+
+    /**
+     * Make sure an index is valid.
+     *
+     * @param index the index to check.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= times.length) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " is out of bounds for a " +
+                            "trajectory with " + times.length + " samples."
+            );
+        }
+    }
+
+    /**
+     * Get the number of samples in the trajectory.
+     *
+     * @return how many samples there are.
+     */
+    public int size() {
+        return times.length;
+    }
+
+    /**
+     * Get how long it takes to follow the entire trajectory.
+     *
+     * @return the trajectory's duration, in seconds.
+     */
+    public double getDuration() {
+        return times[times.length - 1];
+    }
+
+    /**
+     * Get the total length of the trajectory's path.
+     *
+     * @return the path's length.
+     */
+    public double getLength() {
+        return distances[distances.length - 1];
+    }
+
+    /**
+     * Get a sample's time.
+     *
+     * @param index the sample's index.
+     * @return the sample's time, in seconds.
+     */
+    public double getTime(int index) {
+        return times[index];
+    }
+
+    /**
+     * Get a sample's distance along the path.
+     *
+     * @param index the sample's index.
+     * @return the sample's distance.
+     */
+    public double getDistance(int index) {
+        return distances[index];
+    }
+
+    /**
+     * Get a sample's X position.
+     *
+     * @param index the sample's index.
+     * @return the sample's X position.
+     */
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Get a sample's Y position.
+     *
+     * @param index the sample's index.
+     * @return the sample's Y position.
+     */
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Get a sample's direction of travel.
+     *
+     * @param index the sample's index.
+     * @return the sample's direction of travel, in degrees.
+     */
+    public double getHeading(int index) {
+        return headings[index];
+    }
+
+    /**
+     * Get a sample's curvature.
+     *
+     * @param index the sample's index.
+     * @return the sample's curvature, in radians per unit.
+     */
+    public double getCurvature(int index) {
+        return curvatures[index];
+    }
+
+    /**
+     * Get a sample's velocity.
+     *
+     * @param index the sample's index.
+     * @return the sample's velocity, in units per second.
+     */
+    public double getVelocity(int index) {
+        return velocities[index];
+    }
+
+    /**
+     * Get a sample's acceleration.
+     *
+     * @param index the sample's index.
+     * @return the sample's acceleration, in units per second squared.
+     */
+    public double getAcceleration(int index) {
+        return accelerations[index];
+    }
+
+    @Override
+    public String toString() {
+        return "Trajectory(" +
+                "samples=" + size() +
+                ", length=" + getLength() +
+                ", duration=" + getDuration() +
+                ")";
+    }
+}
@@ -0,0 +1,674 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.trajectory;
+
+import me.wobblyyyy.rlibx.drive.Pose;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of generated trajectories, both in memory and on disk.
+ *
+ * <p>
+ * Every trajectory is identified by a 64-bit key, which is a hash of
+ * everything that went into generating it: the type of spline, the
+ * constraints, the sample spacing, and every waypoint. When a trajectory is
+ * requested, the cache checks memory first, then disk, and only generates
+ * the trajectory if it couldn't be found in either place. Newly generated
+ * trajectories are saved to both.
+ * </p>
+ *
+ * <p>
+ * The idea here is that your autonomous routines should never generate a
+ * trajectory during a match. Request every trajectory you'll need while the
+ * robot is initializing, and they'll all be waiting in memory by the time
+ * they're actually needed. And because they're saved to disk, the next
+ * time the robot boots up, they won't even need to be generated - they
+ * just need to be read.
+ * </p>
+ *
+ * <p>
+ * Keys are only used to find a trajectory. Every cache file, and every
+ * trajectory in memory, also holds a copy of everything that went into
+ * generating it, and it's only used if those inputs match the request
+ * exactly, so two requests that happen to hash to the same key can never
+ * be handed each other's trajectories.
+ * </p>
+ *
+ * <p>
+ * The cache is thread-safe. Trajectories are generated (and read from and
+ * written to disk) outside of any lock, so a slow trajectory never holds up
+ * requests for any other trajectory. The catch is that if several threads
+ * request the same trajectory at the same time, before it's in memory, it
+ * might be generated more than once - but only the first copy is ever
+ * kept, and every thread gets that same copy back. If the disk can't be
+ * read from or written to, the cache prints the error and carries on with
+ * just the memory cache - a broken disk cache shouldn't stop the robot
+ * from running.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see Trajectory
+ * @see TrajectoryGenerator
+ * @since 0.2.0
+ */
+public class TrajectoryCache {
+    /**
+     * The magic number every cache file starts with ("RTRJ").
+     */
+    public static final int MAGIC = 0x5254524A;
+
+    /**
+     * The version of the cache file format. If the format (or the way
+     * trajectories are generated) ever changes, this should be incremented,
+     * so old files are ignored rather than misread.
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    /**
+     * FNV-1a 64-bit offset basis.
+     */
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+
+    /**
+     * FNV-1a 64-bit prime.
+     */
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    /**
+     * Trajectories that are already in memory, by key.
+     */
+    private final Map<Long, Entry> memory = new ConcurrentHashMap<>();
+
+    /**
+     * The directory trajectories are saved in, or null if the cache is only
+     * kept in memory.
+     */
+    private final Path directory;
+
+    /**
+     * How many trajectories have been read from disk.
+     */
+    private final AtomicLong loaded = new AtomicLong();
+
+    /**
+     * How many trajectories have been generated.
+     */
+    private final AtomicLong generated = new AtomicLong();
+
+    /**
+     * Create a new cache that's only kept in memory.
+     */
+    public TrajectoryCache() {
+        this(null);
+    }
+
+    /**
+     * Create a new cache.
+     *
+     * @param directory the directory trajectories should be saved in. If
+     *                  the directory doesn't exist, it'll be created the
+     *                  first time a trajectory is saved. Null means the
+     *                  cache is only kept in memory.
+     */
+    public TrajectoryCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Calculate the key of a trajectory.
+     *
+     * @param spline      the type of spline.
+     * @param constraints the trajectory's constraints.
+     * @param spacing     the maximum distance between two samples.
+     * @param waypoints   the trajectory's waypoints.
+     * @return the trajectory's key.
+     */
+    public static long key(Spline spline,
+                           TrajectoryConstraints constraints,
+                           double spacing,
+                           Pose... waypoints) {
+        long hash = FNV_OFFSET;
+
+        hash = hash(hash, FORMAT_VERSION);
+        hash = hash(hash, spline.ordinal());
+        hash = hash(hash, constraints.getMaxVelocity());
+        hash = hash(hash, constraints.getMaxAcceleration());
+        hash = hash(hash, constraints.getMaxCentripetalAcceleration());
+        hash = hash(hash, spacing);
+        hash = hash(hash, waypoints.length);
+
+        for (Pose waypoint : waypoints) {
+            hash = hash(hash, waypoint.getX());
+            hash = hash(hash, waypoint.getY());
+            hash = hash(hash, waypoint.getHeading());
+        }
+
+        return hash;
+    }
+
+    /**
+     * Add a double to a hash.
+     *
+     * <p>
+     * Adding zero to a double turns negative zero into positive zero, so
+     * 0 and -0 (which generate exactly the same trajectory) hash the same.
+     * </p>
+     *
+     * @param hash  the hash so far.
+     * @param value the value to add.
+     * @return the new hash.
+     */
+    private static long hash(long hash,
+                             double value) {
+        return hash(hash, Double.doubleToLongBits(value + 0.0));
+    }
+
+    /**
+     * Add a long to a hash, one byte at a time.
+     *
+     * @param hash  the hash so far.
+     * @param value the value to add.
+     * @return the new hash.
+     */
+    private static long hash(long hash,
+                             long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xFF;
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Get a trajectory, generating it only if it isn't already in memory or
+     * on disk.
+     *
+     * @param spline      the type of spline.
+     * @param constraints the trajectory's constraints.
+     * @param spacing     the maximum distance between two samples.
+     * @param waypoints   the trajectory's waypoints.
+     * @return the trajectory.
+     * @see TrajectoryGenerator#generate(Spline, TrajectoryConstraints,
+     * double, Pose...)
+     */
+    public Trajectory get(Spline spline,
+                          TrajectoryConstraints constraints,
+                          double spacing,
+                          Pose... waypoints) {
+        long key = key(spline, constraints, spacing, waypoints);
+        Entry entry = memory.get(key);
+
+        if (entry != null && entry.matches(
+                spline, constraints, spacing, waypoints)) {
+            return entry.trajectory;
+        }
+
+        Trajectory trajectory =
+                load(key, spline, constraints, spacing, waypoints);
+
+        if (trajectory != null) {
+            loaded.incrementAndGet();
+        } else {
+            trajectory = TrajectoryGenerator.generate(
+                    spline,
+                    constraints,
+                    spacing,
+                    waypoints
+            );
+            generated.incrementAndGet();
+            save(key, spline, constraints, spacing, waypoints, trajectory);
+        }
+
+        /*
+         * Another thread might've beaten us to it. If it did, use its copy,
+         * so everyone's sharing the same trajectory. If the key's already
+         * taken by a different request (a hash collision), whichever
+         * request got there first keeps the slot, and this one just isn't
+         * kept in memory.
+         */
+        Entry existing = memory.putIfAbsent(
+                key,
+                new Entry(spline, constraints, spacing, waypoints, trajectory)
+        );
+
+        if (existing != null && existing.matches(
+                spline, constraints, spacing, waypoints)) {
+            return existing.trajectory;
+        }
+
+        return trajectory;
+    }
+
+    /**
+     * Get a trajectory that's already in memory.
+     *
+     * @param key the trajectory's key.
+     * @return the trajectory, or null if it isn't in memory.
+     */
+    public Trajectory get(long key) {
+        Entry entry = memory.get(key);
+
+        return entry != null ? entry.trajectory : null;
+    }
+
+    /**
+     * Check whether or not a trajectory is in memory.
+     *
+     * @param key the trajectory's key.
+     * @return whether or not the trajectory is in memory.
+     */
+    public boolean contains(long key) {
+        return memory.containsKey(key);
+    }
+
+    /**
+     * Get the file a trajectory would be saved in.
+     *
+     * @param key the trajectory's key.
+     * @return the trajectory's file, or null if the cache is only kept in
+     * memory.
+     */
+    public Path getFile(long key) {
+        if (directory == null) return null;
+
+        return directory.resolve(String.format("trajectory-%016x.bin", key));
+    }
+
+    /**
+     * Write everything that goes into generating a trajectory.
+     *
+     * @param out         the output to write to.
+     * @param spline      the type of spline.
+     * @param constraints the trajectory's constraints.
+     * @param spacing     the maximum distance between two samples.
+     * @param waypoints   the trajectory's waypoints.
+     * @throws IOException if the inputs couldn't be written.
+     */
+    private static void writeInputs(DataOutput out,
+                                    Spline spline,
+                                    TrajectoryConstraints constraints,
+                                    double spacing,
+                                    Pose[] waypoints) throws IOException {
+        out.writeInt(spline.ordinal());
+        out.writeDouble(constraints.getMaxVelocity());
+        out.writeDouble(constraints.getMaxAcceleration());
+        out.writeDouble(constraints.getMaxCentripetalAcceleration());
+        out.writeDouble(spacing);
+        out.writeInt(waypoints.length);
+
+        for (Pose waypoint : waypoints) {
+            out.writeDouble(waypoint.getX());
+            out.writeDouble(waypoint.getY());
+            out.writeDouble(waypoint.getHeading());
+        }
+    }
+
+    /**
+     * Read a trajectory's inputs, and check whether or not they're the same
+     * as a request's.
+     *
+     * @param in          the input to read from.
+     * @param spline      the requested type of spline.
+     * @param constraints the requested constraints.
+     * @param spacing     the requested maximum distance between samples.
+     * @param waypoints   the requested waypoints.
+     * @return whether or not every input matches.
+     * @throws IOException if the inputs couldn't be read.
+     */
+    private static boolean readInputs(DataInput in,
+                                      Spline spline,
+                                      TrajectoryConstraints constraints,
+                                      double spacing,
+                                      Pose[] waypoints) throws IOException {
+        if (in.readInt() != spline.ordinal() ||
+                !same(in, constraints.getMaxVelocity()) ||
+                !same(in, constraints.getMaxAcceleration()) ||
+                !same(in, constraints.getMaxCentripetalAcceleration()) ||
+                !same(in, spacing) ||
+                in.readInt() != waypoints.length) {
+            return false;
+        }
+
+        for (Pose waypoint : waypoints) {
+            if (!same(in, waypoint.getX()) ||
+                    !same(in, waypoint.getY()) ||
+                    !same(in, waypoint.getHeading())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Read a double, and check whether or not it's exactly the same as
+     * another double. Like {@link #hash(long, double)}, 0 and -0 count as
+     * the same.
+     *
+     * @param in    the input to read from.
+     * @param value the value to compare with.
+     * @return whether or not the two are the same.
+     * @throws IOException if the double couldn't be read.
+     */
+    private static boolean same(DataInput in,
+                                double value) throws IOException {
+        return same(in.readDouble(), value);
+    }
+
+    /**
+     * Check whether or not two doubles are exactly the same. Like
+     * {@link #hash(long, double)}, 0 and -0 count as the same.
+     *
+     * @param a the first value.
+     * @param b the second value.
+     * @return whether or not the two are the same.
+     */
+    private static boolean same(double a,
+                                double b) {
+        return Double.doubleToLongBits(a + 0.0) ==
+                Double.doubleToLongBits(b + 0.0);
+    }
+
+    /**
+     * Read a trajectory from disk.
+     *
+     * @param key         the trajectory's key.
+     * @param spline      the type of spline.
+     * @param constraints the trajectory's constraints.
+     * @param spacing     the maximum distance between two samples.
+     * @param waypoints   the trajectory's waypoints.
+     * @return the trajectory, or null if it couldn't be read, or the file
+     * was generated from different inputs.
+     */
+    private Trajectory load(long key,
+                            Spline spline,
+                            TrajectoryConstraints constraints,
+                            double spacing,
+                            Pose[] waypoints) {
+        Path file = getFile(key);
+
+        if (file == null || !Files.isRegularFile(file)) return null;
+
+        /*
+         * Cache files are small, so the whole thing is read at once. That
+         * way we know exactly how many bytes are left for the trajectory,
+         * and a corrupted sample count can't make us allocate more than
+         * the file could possibly hold.
+         */
+        try {
+            ByteArrayInputStream bytes =
+                    new ByteArrayInputStream(Files.readAllBytes(file));
+            DataInputStream in = new DataInputStream(bytes);
+
+            if (in.readInt() != MAGIC ||
+                    in.readInt() != FORMAT_VERSION ||
+                    in.readLong() != key ||
+                    !readInputs(in, spline, constraints, spacing, waypoints)) {
+                return null;
+            }
+
+            return Trajectory.read(in, bytes.available());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Save a trajectory to disk.
+     *
+     * <p>
+     * The trajectory is written to a temporary file, which is then moved
+     * into place. If the robot loses power halfway through saving a
+     * trajectory, we're left with a stray temporary file, rather than a
+     * broken cache file.
+     * </p>
+     *
+     * @param key         the trajectory's key.
+     * @param spline      the type of spline.
+     * @param constraints the trajectory's constraints.
+     * @param spacing     the maximum distance between two samples.
+     * @param waypoints   the trajectory's waypoints.
+     * @param trajectory  the trajectory to save.
+     */
+    private void save(long key,
+                      Spline spline,
+                      TrajectoryConstraints constraints,
+                      double spacing,
+                      Pose[] waypoints,
+                      Trajectory trajectory) {
+        Path file = getFile(key);
+
+        if (file == null) return;
+
+        try {
+            Files.createDirectories(directory);
+
+            Path temp = Files.createTempFile(directory, "trajectory-", ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(key);
+                writeInputs(out, spline, constraints, spacing, waypoints);
+                trajectory.write(out);
+            }
+
+            try {
+                Files.move(
+                        temp,
+                        file,
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE
+                );
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Remove every trajectory from memory. Trajectories saved on disk are
+     * left alone.
+     */
+    public void clear() {
+        memory.clear();
+    }
+
+    /**
+     * Get the number of trajectories in memory.
+     *
+     * @return how many trajectories are in memory.
+     */
+    public int size() {
+        return memory.size();
+    }
+
+    /**
+     * Get the directory trajectories are saved in.
+     *
+     * @return the cache's directory, or null if the cache is only kept in
+     * memory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Get the number of trajectories that have been read from disk.
+     *
+     * @return how many trajectories have been read from disk.
+     */
+    public long getLoaded() {
+        return loaded.get();
+    }
+
+    /**
+     * Get the number of trajectories that have been generated.
+     *
+     * @return how many trajectories have been generated.
+     */
+    public long getGenerated() {
+        return generated.get();
+    }
+
+    /**
+     * A trajectory in memory, along with everything that went into
+     * generating it.
+     *
+     * <p>
+     * The inputs are copied out of the request, so changing a waypoint
+     * after it's been used to request a trajectory doesn't change what the
+     * trajectory's entry matches. Checking an entry against a request
+     * doesn't create any garbage.
+     * </p>
+     */
+    private static final class Entry {
+        /**
+         * The type of spline.
+         */
+        private final Spline spline;
+
+        /**
+         * The maximum velocity.
+         */
+        private final double maxVelocity;
+
+        /**
+         * The maximum acceleration.
+         */
+        private final double maxAcceleration;
+
+        /**
+         * The maximum centripetal acceleration.
+         */
+        private final double maxCentripetalAcceleration;
+
+        /**
+         * The maximum distance between two samples.
+         */
+        private final double spacing;
+
+        /**
+         * Every waypoint's X position, Y position, and heading, one after
+         * the other.
+         */
+        private final double[] waypoints;
+
+        /**
+         * The generated trajectory.
+         */
+        private final Trajectory trajectory;
+
+        /**
+         * Create a new entry.
+         *
+         * @param spline      the type of spline.
+         * @param constraints the trajectory's constraints.
+         * @param spacing     the maximum distance between two samples.
+         * @param waypoints   the trajectory's waypoints.
+         * @param trajectory  the generated trajectory.
+         */
+        private Entry(Spline spline,
+                      TrajectoryConstraints constraints,
+                      double spacing,
+                      Pose[] waypoints,
+                      Trajectory trajectory) {
+            this.spline = spline;
+            this.maxVelocity = constraints.getMaxVelocity();
+            this.maxAcceleration = constraints.getMaxAcceleration();
+            this.maxCentripetalAcceleration =
+                    constraints.getMaxCentripetalAcceleration();
+            this.spacing = spacing;
+            this.waypoints = new double[waypoints.length * 3];
+            this.trajectory = trajectory;
+
+            for (int i = 0; i < waypoints.length; i++) {
+                this.waypoints[i * 3] = waypoints[i].getX();
+                this.waypoints[(i * 3) + 1] = waypoints[i].getY();
+                this.waypoints[(i * 3) + 2] = waypoints[i].getHeading();
+            }
+        }
+
+        /**
+         * Check whether or not this entry was generated from exactly the
+         * same inputs as a request.
+         *
+         * @param spline      the requested type of spline.
+         * @param constraints the requested constraints.
+         * @param spacing     the requested maximum distance between samples.
+         * @param waypoints   the requested waypoints.
+         * @return whether or not every input matches.
+         */
+        private boolean matches(Spline spline,
+                                TrajectoryConstraints constraints,
+                                double spacing,
+                                Pose[] waypoints) {
+            if (this.spline != spline ||
+                    !same(maxVelocity, constraints.getMaxVelocity()) ||
+                    !same(maxAcceleration,
+                            constraints.getMaxAcceleration()) ||
+                    !same(maxCentripetalAcceleration,
+                            constraints.getMaxCentripetalAcceleration()) ||
+                    !same(this.spacing, spacing) ||
+                    this.waypoints.length != waypoints.length * 3) {
+                return false;
+            }
+
+            for (int i = 0; i < waypoints.length; i++) {
+                if (!same(this.waypoints[i * 3], waypoints[i].getX()) ||
+                        !same(this.waypoints[(i * 3) + 1],
+                                waypoints[i].getY()) ||
+                        !same(this.waypoints[(i * 3) + 2],
+                                waypoints[i].getHeading())) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.trajectory;
+
+/**
+ * Limits on how quickly a robot is allowed to follow a trajectory.
+ *
+ * <p>
+ * There are three limits. Maximum velocity is exactly what it sounds like.
+ * Maximum acceleration limits how quickly the robot can speed up and slow
+ * down along the path. Maximum centripetal acceleration limits how fast the
+ * robot can go around a corner - the tighter the corner, the slower the
+ * robot has to go. All three use the same distance units as the waypoints
+ * the trajectory is generated from, and time is always in seconds.
+ * </p>
+ *
+ * <p>
+ * Constraints are immutable, so they can be safely shared between threads
+ * and used as part of a {@link TrajectoryCache} key.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see TrajectoryGenerator
+ * @since 0.2.0
+ */
+public class TrajectoryConstraints {
+    /**
+     * Maximum velocity, in units per second.
+     */
+    private final double maxVelocity;
+
+    /**
+     * Maximum acceleration, in units per second squared.
+     */
+    private final double maxAcceleration;
+
+    /**
+     * Maximum centripetal acceleration, in units per second squared.
+     */
+    private final double maxCentripetalAcceleration;
+
+    /**
+     * Create a new set of trajectory constraints, without any limit on
+     * centripetal acceleration.
+     *
+     * @param maxVelocity     maximum velocity, in units per second.
+     * @param maxAcceleration maximum acceleration, in units per second
+     *                        squared.
+     */
+    public TrajectoryConstraints(double maxVelocity,
+                                 double maxAcceleration) {
+        this(maxVelocity, maxAcceleration, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Create a new set of trajectory constraints.
+     *
+     * @param maxVelocity                maximum velocity, in units per
+     *                                   second.
+     * @param maxAcceleration            maximum acceleration, in units per
+     *                                   second squared.
+     * @param maxCentripetalAcceleration maximum centripetal acceleration, in
+     *                                   units per second squared. Positive
+     *                                   infinity disables the limit.
+     */
+    public TrajectoryConstraints(double maxVelocity,
+                                 double maxAcceleration,
+                                 double maxCentripetalAcceleration) {
+        if (!(maxVelocity > 0) ||
+                !(maxAcceleration > 0) ||
+                !(maxCentripetalAcceleration > 0)) {
+            throw new IllegalArgumentException(
+                    "Trajectory constraints must all be positive, but " +
+                            "you tried to use a maximum velocity of " +
+                            maxVelocity + ", a maximum acceleration of " +
+                            maxAcceleration + ", and a maximum centripetal " +
+                            "acceleration of " + maxCentripetalAcceleration +
+                            "."
+            );
+        }
+
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+        this.maxCentripetalAcceleration = maxCentripetalAcceleration;
+    }
+
+    /**
+     * Get the maximum velocity.
+     *
+     * @return maximum velocity, in units per second.
+     */
+    public double getMaxVelocity() {
+        return maxVelocity;
+    }
+
+    /**
+     * Get the maximum acceleration.
+     *
+     * @return maximum acceleration, in units per second squared.
+     */
+    public double getMaxAcceleration() {
+        return maxAcceleration;
+    }
+
+    /**
+     * Get the maximum centripetal acceleration.
+     *
+     * @return maximum centripetal acceleration, in units per second squared.
+     */
+    public double getMaxCentripetalAcceleration() {
+        return maxCentripetalAcceleration;
+    }
+
+    /**
+     * Get the highest velocity the robot can travel at, given how sharply
+     * the path is curving.
+     *
+     * @param curvature the path's curvature, in radians per unit.
+     * @return the maximum velocity at that curvature.
+     */
+    public double getMaxVelocity(double curvature) {
+        double k = Math.abs(curvature);
+
+        if (k < 1e-12) return maxVelocity;
+
+        /*
+         * Centripetal acceleration is v^2 * k, so v = sqrt(a / k).
+         */
+        return Math.min(maxVelocity, Math.sqrt(maxCentripetalAcceleration / k));
+    }
+
+    @Override
+    public String toString() {
+        return "TrajectoryConstraints(" +
+                "maxVelocity=" + maxVelocity +
+                ", maxAcceleration=" + maxAcceleration +
+                ", maxCentripetalAcceleration=" + maxCentripetalAcceleration +
+                ")";
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.trajectory;
+
+import me.wobblyyyy.rlibx.drive.Pose;
+
+/**
+ * Generates trajectories from a list of waypoints.
+ *
+ * <p>
+ * Generating a trajectory happens in three steps.
+ * <ul>
+ *     <li>
+ *         A spline is fit through the waypoints. Each waypoint's heading is
+ *         the direction the robot should be travelling when it passes
+ *         through that waypoint.
+ *     </li>
+ *     <li>
+ *         The spline is re-parameterized by arc length. Splines aren't
+ *         evenly spaced - moving halfway through a spline's parameter
+ *         doesn't mean you've moved halfway along the path - so the spline
+ *         is integrated very finely and then re-sampled at evenly spaced
+ *         distances.
+ *     </li>
+ *     <li>
+ *         The path is time-parameterized. Each sample's velocity is limited
+ *         by the maximum velocity and the maximum centripetal acceleration.
+ *         A forward pass then limits how quickly the robot can speed up,
+ *         and a backward pass limits how quickly it can slow down. The
+ *         trajectory starts and ends at rest.
+ *     </li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * None of this is cheap. Generating a long trajectory can take a good few
+ * milliseconds, and creates plenty of garbage while it's at it. That's why
+ * you should generate trajectories ahead of time - ideally through a
+ * {@link TrajectoryCache}, so they're only ever generated once.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see Trajectory
+ * @see TrajectoryCache
+ * @since 0.2.0
+ */
+public class TrajectoryGenerator {
+    /**
+     * How many steps each spline piece is split into when it's integrated
+     * to find its length.
+     */
+    public static final int INTEGRATION_STEPS = 1024;
+
+    /**
+     * Generate a trajectory.
+     *
+     * @param spline      the type of spline to fit through the waypoints.
+     * @param constraints the trajectory's constraints.
+     * @param spacing     the maximum distance between two samples. The
+     *                    actual spacing is slightly smaller, so that the
+     *                    samples divide the path evenly.
+     * @param waypoints   the trajectory's waypoints. There must be at least
+     *                    two waypoints, and no two consecutive waypoints can
+     *                    be in the same place.
+     * @return a newly generated trajectory.
+     */
+    public static Trajectory generate(Spline spline,
+                                      TrajectoryConstraints constraints,
+                                      double spacing,
+                                      Pose... waypoints) {
+        if (waypoints.length < 2) {
+            throw new IllegalArgumentException(
+                    "A trajectory needs at least 2 waypoints, but you " +
+                            "only provided " + waypoints.length + "."
+            );
+        }
+
+        if (!(spacing > 0)) {
+            throw new IllegalArgumentException(
+                    "Sample spacing must be positive, but you tried to " +
+                            "use a spacing of " + spacing + "."
+            );
+        }
+
+        int pieces = waypoints.length - 1;
+        double[] coefficients = new double[pieces * 8];
+
+        /*
+         * Each piece is stored as 8 numbers: the start and end X positions,
+         * the start and end Y positions, and the start and end X and Y
+         * derivatives.
+         *
+         * The derivatives point in the waypoint's direction of travel, and
+         * are scaled by the distance between the two waypoints. That keeps
+         * the curve from bulging out too much on short pieces, or going
+         * too straight on long ones.
+         */
+        for (int i = 0; i < pieces; i++) {
+            Pose a = waypoints[i];
+            Pose b = waypoints[i + 1];
+            double chord = a.distance(b);
+
+            if (chord < 1e-9) {
+                throw new IllegalArgumentException(
+                        "Waypoints " + i + " and " + (i + 1) + " are in " +
+                                "the same place - there's no path " +
+                                "between them."
+                );
+            }
+
+            double ha = Math.toRadians(a.getHeading());
+            double hb = Math.toRadians(b.getHeading());
+            int o = i * 8;
+
+            coefficients[o] = a.getX();
+            coefficients[o + 1] = b.getX();
+            coefficients[o + 2] = a.getY();
+            coefficients[o + 3] = b.getY();
+            coefficients[o + 4] = -Math.sin(ha) * chord;
+            coefficients[o + 5] = -Math.sin(hb) * chord;
+            coefficients[o + 6] = Math.cos(ha) * chord;
+            coefficients[o + 7] = Math.cos(hb) * chord;
+        }
+
+        /*
+         * Integrate the length of the spline.
+         *
+         * lengths[k] is the distance from the very start of the spline to
+         * step k, where there are INTEGRATION_STEPS steps per piece. Each
+         * step is integrated with Simpson's rule on the speed of the
+         * spline, which is far more accurate than adding up chords.
+         */
+        int steps = pieces * INTEGRATION_STEPS;
+        double[] lengths = new double[steps + 1];
+        double[] xd = new double[3];
+        double[] yd = new double[3];
+        double h = 1.0 / INTEGRATION_STEPS;
+        double lastSpeed = 0;
+
+        for (int i = 0; i < pieces; i++) {
+            for (int j = 0; j < INTEGRATION_STEPS; j++) {
+                int k = i * INTEGRATION_STEPS + j;
+                double t = j * h;
+
+                if (j == 0) {
+                    evaluate(spline, coefficients, i, t, xd, yd);
+                    lastSpeed = Math.hypot(xd[1], yd[1]);
+                }
+
+                evaluate(spline, coefficients, i, t + h / 2, xd, yd);
+                double midSpeed = Math.hypot(xd[1], yd[1]);
+
+                evaluate(spline, coefficients, i, t + h, xd, yd);
+                double endSpeed = Math.hypot(xd[1], yd[1]);
+
+                lengths[k + 1] = lengths[k] +
+                        h / 6 * (lastSpeed + 4 * midSpeed + endSpeed);
+                lastSpeed = endSpeed;
+            }
+        }
+
+        /*
+         * Re-sample the spline at evenly spaced distances.
+         *
+         * Because the target distances are increasing, we can walk through
+         * the integration table with a single pointer, rather than
+         * searching it for every sample.
+         */
+        double length = lengths[steps];
+
+        /*
+         * The first and last samples are always at rest, so a path needs
+         * at least one sample in the middle to be able to move at all.
+         */
+        int count = Math.max(3, (int) Math.ceil(length / spacing) + 1);
+        double ds = length / (count - 1);
+
+        double[] distances = new double[count];
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        double[] headings = new double[count];
+        double[] curvatures = new double[count];
+
+        int k = 0;
+
+        for (int n = 0; n < count; n++) {
+            double s = n == count - 1 ? length : n * ds;
+
+            while (k < steps - 1 && lengths[k + 1] < s) k++;
+
+            double span = lengths[k + 1] - lengths[k];
+            double f = span > 0 ? (s - lengths[k]) / span : 0;
+            f = Math.max(0, Math.min(1, f));
+
+            int piece = k / INTEGRATION_STEPS;
+            double t = ((k % INTEGRATION_STEPS) + f) * h;
+
+            evaluate(spline, coefficients, piece, t, xd, yd);
+
+            double speedSquared = xd[1] * xd[1] + yd[1] * yd[1];
+
+            distances[n] = s;
+            xs[n] = xd[0];
+            ys[n] = yd[0];
+            headings[n] = Math.toDegrees(Math.atan2(-xd[1], yd[1]));
+            curvatures[n] = (xd[1] * yd[2] - yd[1] * xd[2]) /
+                    (speedSquared * Math.sqrt(speedSquared));
+        }
+
+        return parameterize(
+                constraints,
+                distances,
+                xs,
+                ys,
+                headings,
+                curvatures
+        );
+    }
+
+    /**
+     * Evaluate a single piece of a spline in both dimensions.
+     *
+     * @param spline       the type of spline.
+     * @param coefficients every piece's coefficients.
+     * @param piece        the piece to evaluate.
+     * @param t            how far along the piece to evaluate, from 0 to 1.
+     * @param xd           the array to write X and its derivatives into.
+     * @param yd           the array to write Y and its derivatives into.
+     */
+    private static void evaluate(Spline spline,
+                                 double[] coefficients,
+                                 int piece,
+                                 double t,
+                                 double[] xd,
+                                 double[] yd) {
+        int o = piece * 8;
+
+        spline.evaluate(
+                t,
+                coefficients[o],
+                coefficients[o + 1],
+                coefficients[o + 4],
+                coefficients[o + 5],
+                xd
+        );
+        spline.evaluate(
+                t,
+                coefficients[o + 2],
+                coefficients[o + 3],
+                coefficients[o + 6],
+                coefficients[o + 7],
+                yd
+        );
+    }
+
+    /**
+     * Time-parameterize an evenly spaced path.
+     *
+     * @param constraints the trajectory's constraints.
+     * @param distances   sample distances along the path.
+     * @param xs          sample X positions.
+     * @param ys          sample Y positions.
+     * @param headings    sample directions of travel, in degrees.
+     * @param curvatures  sample curvatures, in radians per unit.
+     * @return a trajectory made from the path.
+     */
+    private static Trajectory parameterize(TrajectoryConstraints constraints,
+                                           double[] distances,
+                                           double[] xs,
+                                           double[] ys,
+                                           double[] headings,
+                                           double[] curvatures) {
+        int count = distances.length;
+        double maxAcceleration = constraints.getMaxAcceleration();
+        double[] velocities = new double[count];
+        double[] accelerations = new double[count];
+        double[] times = new double[count];
+
+        for (int i = 0; i < count; i++) {
+            velocities[i] = constraints.getMaxVelocity(curvatures[i]);
+        }
+
+        /*
+         * The trajectory starts and ends at rest.
+         */
+        velocities[0] = 0;
+        velocities[count - 1] = 0;
+
+        /*
+         * Forward pass - how fast can we possibly be going at each sample,
+         * given how fast we were going at the last one?
+         *
+         * v^2 = u^2 + 2as
+         */
+        for (int i = 1; i < count; i++) {
+            double ds = distances[i] - distances[i - 1];
+            double reachable = Math.sqrt(
+                    velocities[i - 1] * velocities[i - 1] +
+                            2 * maxAcceleration * ds
+            );
+
+            velocities[i] = Math.min(velocities[i], reachable);
+        }
+
+        /*
+         * Backward pass - same thing, but in reverse, so we always have
+         * enough room to slow down before a corner or the end of the path.
+         */
+        for (int i = count - 2; i >= 0; i--) {
+            double ds = distances[i + 1] - distances[i];
+            double reachable = Math.sqrt(
+                    velocities[i + 1] * velocities[i + 1] +
+                            2 * maxAcceleration * ds
+            );
+
+            velocities[i] = Math.min(velocities[i], reachable);
+        }
+
+        /*
+         * With constant acceleration between samples, the time it takes to
+         * get from one sample to the next is the distance divided by the
+         * average velocity.
+         */
+        for (int i = 0; i < count - 1; i++) {
+            double ds = distances[i + 1] - distances[i];
+            double v0 = velocities[i];
+            double v1 = velocities[i + 1];
+
+            times[i + 1] = times[i] + 2 * ds / (v0 + v1);
+            accelerations[i] = (v1 * v1 - v0 * v0) / (2 * ds);
+        }
+
+        return new Trajectory(
+                times,
+                distances,
+                xs,
+                ys,
+                headings,
+                curvatures,
+                velocities,
+                accelerations
+        );
+    }
+}
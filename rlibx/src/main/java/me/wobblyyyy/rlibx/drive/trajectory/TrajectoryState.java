@@ -0,0 +1,208 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.trajectory;
+
+/**
+ * A single sample of a trajectory - where the robot should be, and how it
+ * should be moving, at a given point in time.
+ *
+ * <p>
+ * States are mutable, so the same state can be re-used every time a
+ * trajectory is sampled, without creating any garbage.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see Trajectory#sample(double, TrajectoryState)
+ * @since 0.2.0
+ */
+public class TrajectoryState {
+    /**
+     * Time since the start of the trajectory, in seconds.
+     */
+    private double time;
+
+    /**
+     * Distance along the path, in units.
+     */
+    private double distance;
+
+    /**
+     * X position.
+     */
+    private double x;
+
+    /**
+     * Y position.
+     */
+    private double y;
+
+    /**
+     * Direction of travel, in degrees.
+     */
+    private double heading;
+
+    /**
+     * Curvature, in radians per unit. Positive is counter-clockwise.
+     */
+    private double curvature;
+
+    /**
+     * Velocity, in units per second.
+     */
+    private double velocity;
+
+    /**
+     * Acceleration, in units per second squared.
+     */
+    private double acceleration;
+
+    /**
+     * Create a new, zeroed, trajectory state.
+     */
+    public TrajectoryState() {
+
+    }
+
+    /**
+     * Set every value of the state.
+     *
+     * @param time         time since the start of the trajectory, in
+     *                     seconds.
+     * @param distance     distance along the path.
+     * @param x            X position.
+     * @param y            Y position.
+     * @param heading      direction of travel, in degrees.
+     * @param curvature    curvature, in radians per unit.
+     * @param velocity     velocity, in units per second.
+     * @param acceleration acceleration, in units per second squared.
+     */
+    public void set(double time,
+                    double distance,
+                    double x,
+                    double y,
+                    double heading,
+                    double curvature,
+                    double velocity,
+                    double acceleration) {
+        this.time = time;
+        this.distance = distance;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.curvature = curvature;
+        this.velocity = velocity;
+        this.acceleration = acceleration;
+    }
+
+    /**
+     * Get the state's time.
+     *
+     * @return time since the start of the trajectory, in seconds.
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Get the state's distance along the path.
+     *
+     * @return distance along the path.
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * Get the state's X position.
+     *
+     * @return X position.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Get the state's Y position.
+     *
+     * @return Y position.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Get the state's direction of travel. Like every other heading, zero
+     * is forwards (+Y) and positive is counter-clockwise.
+     *
+     * @return direction of travel, in degrees.
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * Get the state's curvature.
+     *
+     * @return curvature, in radians per unit. Positive is counter-clockwise.
+     */
+    public double getCurvature() {
+        return curvature;
+    }
+
+    /**
+     * Get the state's velocity.
+     *
+     * @return velocity, in units per second.
+     */
+    public double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * Get the state's acceleration.
+     *
+     * @return acceleration, in units per second squared.
+     */
+    public double getAcceleration() {
+        return acceleration;
+    }
+
+    @Override
+    public String toString() {
+        return "TrajectoryState(" +
+                "time=" + time +
+                ", distance=" + distance +
+                ", x=" + x +
+                ", y=" + y +
+                ", heading=" + heading +
+                ", curvature=" + curvature +
+                ", velocity=" + velocity +
+                ", acceleration=" + acceleration +
+                ")";
+    }
+}
@@ -29,6 +29,8 @@ package me.wobblyyyy.rlibx.hardware.encoder;
 import me.wobblyyyy.rlibx.interfaces.Component;
 import me.wobblyyyy.rlibx.interfaces.EncoderCore;
 
+import java.util.function.DoubleConsumer;
+
 /**
  * You know 'em - you love 'em - encoders!
  *
@@ -38,8 +40,15 @@ import me.wobblyyyy.rlibx.interfaces.EncoderCore;
  * complicated.
  * </p>
  *
+ * <p>
+ * Counts can be fed straight into any {@link DoubleConsumer}, such as
+ * {@link me.wobblyyyy.rlibx.math.WindowedStatistics} or
+ * {@link me.wobblyyyy.rlibx.math.RateOfChange}, with the
+ * {@link #record(DoubleConsumer)} method.
+ * </p>
+ *
  * @author Colin Robertson
- * @version 1.0.0
+ * @version 1.2.0
  * @since 0.1.0
  */
 public class Encoder implements Component {
@@ -123,6 +132,29 @@ public class Encoder implements Component {
         return _get();
     }
 
+    /**
+     * Read the encoder's count and pass it to a consumer.
+     *
+     * @param consumer the consumer to record the count with.
+     * @return the count that was recorded.
+     */
+    public int record(DoubleConsumer consumer) {
+        int count = _get();
+
+        consumer.accept(count);
+
+        return count;
+    }
+
+    /**
+     * Get the encoder's counts per rotation.
+     *
+     * @return the encoder's counts per rotation.
+     */
+    public double getCpr() {
+        return cpr;
+    }
+
     /**
      * Get the encoder's offset.
      *
@@ -26,12 +26,194 @@
 
 package me.wobblyyyy.rlibx.hardware.gyro;
 
+import me.wobblyyyy.rlibx.interfaces.Component;
+import me.wobblyyyy.rlibx.interfaces.GyroscopeCore;
+
+import java.util.function.DoubleConsumer;
+
 /**
  * Gyroscope controller class.
  *
+ * <p>
+ * Gyroscopes wrap a {@link GyroscopeCore}, adding a heading offset (so the
+ * robot's heading can be re-zeroed whenever you'd like) and the ability to
+ * invert the heading, for gyroscopes that are mounted upside down.
+ * </p>
+ *
+ * <p>
+ * Readings can be fed straight into any {@link DoubleConsumer} - an
+ * {@link me.wobblyyyy.rlibx.math.AnalyzableSet}, a
+ * {@link me.wobblyyyy.rlibx.math.WindowedStatistics}, or anything else -
+ * with {@link #recordHeading(DoubleConsumer)} and
+ * {@link #recordVelocity(DoubleConsumer)}.
+ * </p>
+ *
  * @author Colin Robertson
- * @version 1.0.0
+ * @version 1.1.0
  * @since 0.1.0
  */
-public class Gyroscope {
+public class Gyroscope implements Component {
+    /**
+     * The internally-used gyroscope core.
+     */
+    private final GyroscopeCore gyroscope;
+
+    /**
+     * Is the gyroscope inverted?
+     */
+    private boolean isInverted;
+
+    /**
+     * The gyroscope's heading offset, in degrees.
+     */
+    private double offset;
+
+    /**
+     * Create a new gyroscope.
+     *
+     * @param gyroscope the gyroscope core.
+     */
+    public Gyroscope(GyroscopeCore gyroscope) {
+        this(gyroscope, false);
+    }
+
+    /**
+     * Create a new gyroscope.
+     *
+     * @param gyroscope  the gyroscope core.
+     * @param isInverted whether or not the gyroscope is inverted.
+     */
+    public Gyroscope(GyroscopeCore gyroscope,
+                     boolean isInverted) {
+        this.gyroscope = gyroscope;
+        this.isInverted = isInverted;
+    }
+
+    /**
+     * Initialize the component.
+     */
+    @Override
+    public void init() {
+        gyroscope.init();
+    }
+
+    /**
+     * Get the gyroscope's heading, adjusted for the gyroscope's offset and
+     * inversion.
+     *
+     * @return the gyroscope's heading, in degrees.
+     */
+    public double getHeading() {
+        double heading = gyroscope.getHeading();
+
+        return (isInverted ? -heading : heading) + offset;
+    }
+
+    /**
+     * Get the robot's velocity, as reported by the gyroscope.
+     *
+     * @return the robot's velocity.
+     */
+    public double getVelocity() {
+        return gyroscope.getVelocity();
+    }
+
+    /**
+     * Get the gyroscope's X value.
+     *
+     * @return the gyroscope's X value.
+     */
+    public double getX() {
+        return gyroscope.getX();
+    }
+
+    /**
+     * Get the gyroscope's Y value.
+     *
+     * @return the gyroscope's Y value.
+     */
+    public double getY() {
+        return gyroscope.getY();
+    }
+
+    /**
+     * Set the gyroscope's current heading to zero.
+     */
+    public void zero() {
+        setHeading(0);
+    }
+
+    /**
+     * Adjust the gyroscope's offset so its current heading is a given
+     * value.
+     *
+     * @param heading the gyroscope's new heading, in degrees.
+     */
+    public void setHeading(double heading) {
+        offset += heading - getHeading();
+    }
+
+    /**
+     * Get the gyroscope's heading offset.
+     *
+     * @return the gyroscope's offset, in degrees.
+     */
+    public double getOffset() {
+        return offset;
+    }
+
+    /**
+     * Set the gyroscope's heading offset.
+     *
+     * @param offset the gyroscope's offset, in degrees.
+     */
+    public void setOffset(double offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * Is the gyroscope inverted?
+     *
+     * @return whether or not the gyroscope is inverted.
+     */
+    public boolean isInverted() {
+        return isInverted;
+    }
+
+    /**
+     * Set the gyroscope to be inverted.
+     *
+     * @param isInverted whether or not the gyroscope should be inverted.
+     */
+    public void setInverted(boolean isInverted) {
+        this.isInverted = isInverted;
+    }
+
+    /**
+     * Read the gyroscope's heading and pass it to a consumer.
+     *
+     * @param consumer the consumer to record the heading with.
+     * @return the heading that was recorded, in degrees.
+     */
+    public double recordHeading(DoubleConsumer consumer) {
+        double heading = getHeading();
+
+        consumer.accept(heading);
+
+        return heading;
+    }
+
+    /**
+     * Read the gyroscope's velocity and pass it to a consumer.
+     *
+     * @param consumer the consumer to record the velocity with.
+     * @return the velocity that was recorded.
+     */
+    public double recordVelocity(DoubleConsumer consumer) {
+        double velocity = getVelocity();
+
+        consumer.accept(velocity);
+
+        return velocity;
+    }
 }
@@ -55,7 +55,7 @@ import me.wobblyyyy.rlibx.interfaces.MotorCore;
  * </p>
  *
  * @author Colin Robertson
- * @version 1.0.0
+ * @version 1.1.0
  * @see MotorConfig
  * @since 0.1.0
  */
@@ -117,12 +117,13 @@ public class Motor implements Component {
     private Comparator lazyTimeComparator;
 
     /**
-     * Create a new Motor class.
+     * Create a new Motor class, using the default motor configuration.
      *
      * @param motor the core motor responsible for doing motor stuff.
+     * @see MotorConfig#MotorConfig(Direction)
      */
     public Motor(MotorCore motor) {
-        this.motor = motor;
+        this(motor, new MotorConfig(MotorConfig.DIRECTION));
     }
 
     /**
@@ -139,6 +140,7 @@ public class Motor implements Component {
          * constructor.
          */
         this.motor = motor;
+        this.config = config;
 
         /*
          * Apply constructor variables.
@@ -150,6 +152,7 @@ public class Motor implements Component {
         this.multiplier = config.getMultiplier();
         this.deadzone = config.getDeadzone();
         this.direction = config.getDirection();
+        this.isLazy = config.isLazy();
 
         lazyPowerComparator = new Comparator(0.03);
         lazyTimeComparator = new Comparator(10);
@@ -0,0 +1,303 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.controllers;
+
+/**
+ * A static response curve for a single controller axis, compiled into an
+ * interpolated lookup table.
+ *
+ * <p>
+ * Almost every driver wants the same few things out of a joystick: a
+ * deadband, so a stick that doesn't center perfectly doesn't creep the
+ * robot, and an exponential curve, so small stick movements give finer
+ * control. Computing those with {@code Math.pow} every single loop is a
+ * waste - the curve never changes once it's been configured. Instead, we
+ * evaluate the curve once, when it's created, and store the results in a
+ * table. Shaping an input is then a single table lookup and a linear
+ * interpolation between two neighbouring entries.
+ * </p>
+ *
+ * <p>
+ * The curve is applied in the following order:
+ * <ul>
+ *     <li>
+ *         Deadband. Any input with a magnitude less than or equal to the
+ *         deadband is reported as exactly zero. Inputs outside of the
+ *         deadband are re-scaled so the output still starts at zero and
+ *         still reaches one - there's no "jump" at the edge of the deadband.
+ *     </li>
+ *     <li>
+ *         Exponential curve. The re-scaled input {@code u} is transformed
+ *         with {@code (1 - expo) * u + expo * u^exponent}. An expo of 0 is
+ *         entirely linear, an expo of 1 is entirely exponential.
+ *     </li>
+ *     <li>
+ *         Scale. The shaped value is multiplied by a scale factor. An
+ *         inverted axis simply has a negative scale.
+ *     </li>
+ * </ul>
+ * The curve is symmetric - negative inputs are shaped exactly the same as
+ * positive inputs, just with their sign flipped. Because of that, the table
+ * only needs to cover the range of 0 to 1.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see AxisShaper
+ * @see ControllerShaping
+ * @since 0.2.0
+ */
+public class AxisCurve {
+    /**
+     * The default number of segments in the lookup table.
+     *
+     * <p>
+     * With 256 segments, the interpolation error for any curve with an
+     * exponent of 3 or less is well under 0.0001 - far, far smaller than the
+     * noise on any joystick I've ever seen.
+     * </p>
+     */
+    public static final int DEFAULT_RESOLUTION = 256;
+
+    /**
+     * The default exponent used for the exponential part of the curve.
+     */
+    public static final double DEFAULT_EXPONENT = 3.0;
+
+    /**
+     * A linear curve - no deadband, no expo, no scaling.
+     */
+    public static final AxisCurve LINEAR = new AxisCurve(0, 0);
+
+    /**
+     * The curve's deadband.
+     */
+    private final double deadband;
+
+    /**
+     * The curve's expo - how exponential the curve should be.
+     */
+    private final double expo;
+
+    /**
+     * The exponent used for the exponential part of the curve.
+     */
+    private final double exponent;
+
+    /**
+     * The curve's scale factor.
+     */
+    private final double scale;
+
+    /**
+     * The reciprocal of the width of the live (non-deadband) zone.
+     */
+    private final double inverseWidth;
+
+    /**
+     * The number of segments in the lookup table.
+     */
+    private final int resolution;
+
+    /**
+     * The lookup table itself. Entry {@code i} is the shaped output for
+     * a re-scaled input of {@code i / resolution}.
+     */
+    private final double[] table;
+
+    /**
+     * Create a new axis curve with a deadband and an expo.
+     *
+     * @param deadband the curve's deadband, from 0 (inclusive) to 1
+     *                 (exclusive).
+     * @param expo     how exponential the curve should be, from 0 to 1.
+     */
+    public AxisCurve(double deadband,
+                     double expo) {
+        this(
+                deadband,
+                expo,
+                DEFAULT_EXPONENT,
+                1.0,
+                DEFAULT_RESOLUTION
+        );
+    }
+
+    /**
+     * Create a new axis curve.
+     *
+     * @param deadband   the curve's deadband, from 0 (inclusive) to 1
+     *                   (exclusive).
+     * @param expo       how exponential the curve should be, from 0 to 1.
+     * @param exponent   the exponent used in the exponential part of the
+     *                   curve. This must be at least 1.
+     * @param scale      the curve's scale factor. Negative scale factors
+     *                   invert the axis.
+     * @param resolution how many segments the lookup table should have.
+     */
+    public AxisCurve(double deadband,
+                     double expo,
+                     double exponent,
+                     double scale,
+                     int resolution) {
+        if (deadband < 0 || deadband >= 1) {
+            throw new IllegalArgumentException(
+                    "An axis curve's deadband must be at least 0 and less " +
+                            "than 1, got " + deadband + "."
+            );
+        }
+
+        if (expo < 0 || expo > 1) {
+            throw new IllegalArgumentException(
+                    "An axis curve's expo must be between 0 and 1, got " +
+                            expo + "."
+            );
+        }
+
+        if (exponent < 1) {
+            throw new IllegalArgumentException(
+                    "An axis curve's exponent must be at least 1, got " +
+                            exponent + "."
+            );
+        }
+
+        if (resolution < 1) {
+            throw new IllegalArgumentException(
+                    "An axis curve needs at least one segment."
+            );
+        }
+
+        this.deadband = deadband;
+        this.expo = expo;
+        this.exponent = exponent;
+        this.scale = scale;
+        this.resolution = resolution;
+        this.inverseWidth = 1.0 / (1.0 - deadband);
+        this.table = new double[resolution + 1];
+
+        /*
+         * Compile the curve.
+         *
+         * This is the only place Math.pow is ever called - every lookup
+         * after this point is just arithmetic on the table.
+         */
+        for (int i = 0; i <= resolution; i++) {
+            table[i] = evaluate((double) i / resolution) * scale;
+        }
+    }
+
+    /**
+     * Evaluate the exponential part of the curve directly, without using the
+     * lookup table.
+     *
+     * @param u the re-scaled input, from 0 to 1.
+     * @return the un-scaled curve value at that input.
+     */
+    private double evaluate(double u) {
+        return ((1.0 - expo) * u) + (expo * Math.pow(u, exponent));
+    }
+
+    /**
+     * Shape an input value with the curve.
+     *
+     * <p>
+     * Inputs outside of the range of -1 to 1 are treated as if they were
+     * exactly -1 or 1.
+     * </p>
+     *
+     * @param value the raw input value.
+     * @return the shaped output value.
+     */
+    public double apply(double value) {
+        double magnitude = Math.abs(value);
+
+        if (magnitude <= deadband) return 0.0;
+
+        /*
+         * Re-scale the input so the edge of the deadband maps to 0 and
+         * full deflection maps to the end of the table.
+         */
+        double position = (magnitude - deadband) * inverseWidth * resolution;
+        int index = (int) position;
+
+        double shaped;
+
+        if (index >= resolution) {
+            shaped = table[resolution];
+        } else {
+            double low = table[index];
+            shaped = low + ((table[index + 1] - low) * (position - index));
+        }
+
+        return value < 0 ? -shaped : shaped;
+    }
+
+    /**
+     * Get the curve's deadband.
+     *
+     * @return the curve's deadband.
+     */
+    public double getDeadband() {
+        return deadband;
+    }
+
+    /**
+     * Get the curve's expo.
+     *
+     * @return the curve's expo.
+     */
+    public double getExpo() {
+        return expo;
+    }
+
+    /**
+     * Get the curve's exponent.
+     *
+     * @return the curve's exponent.
+     */
+    public double getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Get the curve's scale factor.
+     *
+     * @return the curve's scale factor.
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Get the number of segments in the curve's lookup table.
+     *
+     * @return the curve's resolution.
+     */
+    public int getResolution() {
+        return resolution;
+    }
+}
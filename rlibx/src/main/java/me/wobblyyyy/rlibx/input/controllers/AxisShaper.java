@@ -0,0 +1,160 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.controllers;
+
+/**
+ * A shaping stage for a single controller axis.
+ *
+ * <p>
+ * Each shaper is made up of two parts. The first is an {@link AxisCurve},
+ * which handles everything that doesn't change from one loop to the next -
+ * deadbands, exponential curves, and scaling. The second is a slew rate
+ * limiter, which is the only stateful part of the pipeline. Slew limiting
+ * restricts how quickly the output can change, which is great for keeping
+ * a driver from tipping the robot over by slamming the stick forwards.
+ * </p>
+ *
+ * <p>
+ * Because the slew limiter remembers the last output value, each shaper
+ * should only ever be used for a single axis.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see AxisCurve
+ * @see ControllerShaping
+ * @since 0.2.0
+ */
+public class AxisShaper {
+    /**
+     * The static part of the shaping pipeline.
+     */
+    private final AxisCurve curve;
+
+    /**
+     * The maximum rate of change of the output, in units per second. Any
+     * value less than or equal to zero disables slew limiting.
+     */
+    private final double slewRate;
+
+    /**
+     * The last value that was output by the shaper.
+     */
+    private double lastOutput;
+
+    /**
+     * Create a new axis shaper without any slew limiting.
+     *
+     * @param curve the shaper's response curve.
+     */
+    public AxisShaper(AxisCurve curve) {
+        this(curve, 0);
+    }
+
+    /**
+     * Create a new axis shaper.
+     *
+     * @param curve    the shaper's response curve.
+     * @param slewRate the maximum rate of change of the output, in units per
+     *                 second. A slew rate of 2, for example, means it takes
+     *                 half a second to go from 0 to full power. Zero (or any
+     *                 negative value) disables slew limiting.
+     */
+    public AxisShaper(AxisCurve curve,
+                      double slewRate) {
+        this.curve = curve;
+        this.slewRate = slewRate;
+    }
+
+    /**
+     * Shape a raw axis value.
+     *
+     * @param value   the raw axis value.
+     * @param elapsed how much time, in seconds, has elapsed since the last
+     *                time this shaper was used.
+     * @return the shaped axis value.
+     */
+    public double shape(double value,
+                        double elapsed) {
+        double target = curve.apply(value);
+
+        if (slewRate > 0) {
+            /*
+             * Limit how far the output can move in a single step.
+             *
+             * Same as clipping motor power - Math.max() gives us the lower
+             * limit and Math.min() gives us the upper limit.
+             */
+            double maxDelta = slewRate * elapsed;
+            double delta = target - lastOutput;
+
+            delta = Math.max(delta, -maxDelta);
+            delta = Math.min(delta, maxDelta);
+
+            target = lastOutput + delta;
+        }
+
+        lastOutput = target;
+
+        return target;
+    }
+
+    /**
+     * Reset the shaper's slew limiter, so the next output is limited
+     * relative to zero.
+     */
+    public void reset() {
+        lastOutput = 0;
+    }
+
+    /**
+     * Get the shaper's response curve.
+     *
+     * @return the shaper's response curve.
+     */
+    public AxisCurve getCurve() {
+        return curve;
+    }
+
+    /**
+     * Get the shaper's slew rate.
+     *
+     * @return the shaper's slew rate, in units per second.
+     */
+    public double getSlewRate() {
+        return slewRate;
+    }
+
+    /**
+     * Get the last value that was output by the shaper.
+     *
+     * @return the last output value.
+     */
+    public double getLastOutput() {
+        return lastOutput;
+    }
+}
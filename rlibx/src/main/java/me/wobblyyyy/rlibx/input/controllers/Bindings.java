@@ -48,8 +48,9 @@ package me.wobblyyyy.rlibx.input.controllers;
  * </p>
  *
  * @author Colin Robertson
- * @version 1.0.0
+ * @version 1.2.0
  * @see Controller
+ * @see ControllerMap
  * @see ControllerEncoder
  * @see ControllerState
  * @since 0.1.0
@@ -167,6 +168,16 @@ public class Bindings {
      */
     public static final int CHANNEL_R = 15;
 
+    /**
+     * How many channels a controller has in total.
+     *
+     * <p>
+     * Channels are numbered from 0 to (CHANNEL_COUNT - 1), meaning an array
+     * with a length of CHANNEL_COUNT can hold an entire controller's state.
+     * </p>
+     */
+    public static final int CHANNEL_COUNT = CHANNEL_R + 1;
+
     /**
      * Get the integer channel of a given input type.
      *
@@ -212,29 +223,29 @@ public class Bindings {
     }
 
     /**
-     * Get the integer channel of a given input type.
+     * Get the channel of a given input type, as a string.
      *
      * @param query the input type to get the channel for.
      * @return the channel, based on the query input type.
      * @see Xbox
      */
-    public static int getString(Xbox query) {
-        return getChannel(query.getId());
+    public static String getString(Xbox query) {
+        return String.valueOf(getChannel(query.getId()));
     }
 
     /**
-     * Get the integer channel of a given input type.
+     * Get the channel of a given input type, as a string.
      *
      * @param query the input type to get the channel for.
      * @return the channel, based on the query input type.
      * @see Playstation
      */
-    public static int getString(Playstation query) {
-        return getChannel(query.getId());
+    public static String getString(Playstation query) {
+        return String.valueOf(getChannel(query.getId()));
     }
 
     /**
-     * Get the integer channel of a given input type.
+     * Get the channel of a given input type, as a string.
      *
      * @param query the input type to get the channel for.
      * @return the channel, based on the query input type.
@@ -245,7 +256,7 @@ public class Bindings {
     }
 
     /**
-     * Get the integer channel of a given input type.
+     * Get the channel of a given input type, as a string.
      *
      * @param query the input type to get the channel for.
      * @return the channel, based on the query input type.
@@ -566,9 +577,9 @@ public class Bindings {
         F(Core.A),
 
         /**
-         * C button.
+         * B button.
          */
-        C(Core.A),
+        C(Core.B),
 
         /**
          * H button.
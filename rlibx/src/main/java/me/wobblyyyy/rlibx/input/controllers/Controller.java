@@ -37,8 +37,20 @@ import me.wobblyyyy.rlibx.interfaces.ControllerCore;
  * state, you should use the {@link Controller#getState()} method.
  * </p>
  *
+ * <p>
+ * Controllers can optionally have shaping applied to their axes - deadbands,
+ * exponential curves, slew limiting, that sort of thing. If you'd like to
+ * shape a controller's inputs, take a look at {@link ControllerShaping}.
+ * </p>
+ *
+ * <p>
+ * Controllers can also have a {@link ControllerMap}, which remaps the core's
+ * channels before they're shaped - swapping sticks, inverting axes, or
+ * switching between entirely different layouts on the fly.
+ * </p>
+ *
  * @author Colin Robertson
- * @version 1.0.0
+ * @version 1.2.0
  * @since 0.1.0
  */
 public class Controller {
@@ -53,20 +65,76 @@ public class Controller {
      */
     private ControllerState state;
 
+    /**
+     * The state that mapped and shaped values are written into.
+     *
+     * <p>
+     * Shaping modifies a state in place. We don't want to modify whatever
+     * state the controller's core gave us - the core might very well hand us
+     * the same state object on the next update, and shaping the same values
+     * twice would be pretty bad - so we copy the core's state into this one
+     * before shaping it.
+     * </p>
+     */
+    private final ControllerState shapedState = new ControllerState();
+
+    /**
+     * The controller's axis shaping, or null if the controller's axes
+     * shouldn't be shaped.
+     */
+    private ControllerShaping shaping;
+
+    /**
+     * The controller's channel map, or null if the controller's channels
+     * shouldn't be remapped.
+     */
+    private ControllerMap map;
+
     /**
      * Create a new controller, using a controller core.
      *
      * @param controller the controller's core.
      */
     public Controller(ControllerCore controller) {
+        this(controller, null);
+    }
+
+    /**
+     * Create a new controller, using a controller core and a set of axis
+     * shaping stages.
+     *
+     * @param controller the controller's core.
+     * @param shaping    the controller's axis shaping. Null means the axes
+     *                   shouldn't be shaped at all.
+     */
+    public Controller(ControllerCore controller,
+                      ControllerShaping shaping) {
         this.controller = controller;
+        this.shaping = shaping;
     }
 
     /**
      * Refresh the cached controller state.
      */
     private void update() {
-        state = controller.getState();
+        ControllerState next = controller.getState();
+
+        /*
+         * Remapping writes into our own state, so if the state has been
+         * remapped, shaping can safely modify it in place. If it hasn't,
+         * we have to copy it first.
+         */
+        if (map != null) {
+            map.apply(next, shapedState);
+            next = shapedState;
+        } else if (shaping != null) {
+            shapedState.set(next);
+            next = shapedState;
+        }
+
+        if (shaping != null) shaping.apply(next);
+
+        state = next;
     }
 
     /**
@@ -78,4 +146,42 @@ public class Controller {
         update();
         return state;
     }
+
+    /**
+     * Get the controller's axis shaping.
+     *
+     * @return the controller's axis shaping, or null if there isn't any.
+     */
+    public ControllerShaping getShaping() {
+        return shaping;
+    }
+
+    /**
+     * Set the controller's axis shaping.
+     *
+     * @param shaping the controller's new axis shaping. Null disables
+     *                shaping entirely.
+     */
+    public void setShaping(ControllerShaping shaping) {
+        this.shaping = shaping;
+    }
+
+    /**
+     * Get the controller's channel map.
+     *
+     * @return the controller's channel map, or null if there isn't one.
+     */
+    public ControllerMap getMap() {
+        return map;
+    }
+
+    /**
+     * Set the controller's channel map.
+     *
+     * @param map the controller's new channel map. Null disables remapping
+     *            entirely.
+     */
+    public void setMap(ControllerMap map) {
+        this.map = map;
+    }
 }
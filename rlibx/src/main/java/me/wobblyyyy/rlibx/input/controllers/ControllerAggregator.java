@@ -0,0 +1,298 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.controllers;
+
+import me.wobblyyyy.rlibx.interfaces.ControllerCore;
+
+/**
+ * A controller core that merges several controllers into one.
+ *
+ * <p>
+ * Say you've got a driver and an operator, each with a gamepad, and a
+ * keyboard as a fallback for when you're testing in simulation. Rather than
+ * polling and interpreting each of those controllers on its own, an
+ * aggregator combines them into a single logical controller, so your control
+ * code only ever has to read one state.
+ * </p>
+ *
+ * <p>
+ * Controllers are listed in priority order - the first controller has the
+ * highest priority. Each channel is merged according to its own
+ * {@link MergePolicy}. By default, sticks and triggers use
+ * {@link MergePolicy#PRIORITY} and everything else uses
+ * {@link MergePolicy#OR}, meaning the operator can take over the sticks
+ * whenever the driver lets go of them, and anybody can press any button.
+ * </p>
+ *
+ * <p>
+ * Merging is done over packed (encoded) states, using arrays that are
+ * allocated once, when the aggregator is created. Getting the merged state
+ * doesn't create any garbage, and the same state object is returned every
+ * time.
+ * </p>
+ *
+ * <p>
+ * Because an aggregator is just another controller core, it can be wrapped
+ * in a {@link Controller} - which means the merged state can be remapped
+ * and shaped just like any other controller's.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see MergePolicy
+ * @since 0.2.0
+ */
+public class ControllerAggregator implements ControllerCore {
+    /**
+     * The default activity threshold.
+     */
+    public static final double DEFAULT_THRESHOLD = 0.05;
+
+    /**
+     * Every aggregated controller, in priority order.
+     */
+    private final Controller[] controllers;
+
+    /**
+     * Each controller's encoded state, re-used every tick.
+     */
+    private final double[][] packed;
+
+    /**
+     * Each channel's merge policy.
+     */
+    private final MergePolicy[] policies =
+            new MergePolicy[Bindings.CHANNEL_COUNT];
+
+    /**
+     * The merged, encoded state.
+     */
+    private final double[] merged = new double[Bindings.CHANNEL_COUNT];
+
+    /**
+     * The index of the controller each merged channel came from, or -1 if
+     * the channel didn't come from any controller.
+     */
+    private final int[] sources = new int[Bindings.CHANNEL_COUNT];
+
+    /**
+     * The state returned by {@link #getState()}.
+     */
+    private final ControllerState state = new ControllerState();
+
+    /**
+     * How far a channel has to be from zero to be considered in use.
+     */
+    private double threshold = DEFAULT_THRESHOLD;
+
+    /**
+     * Create a new controller aggregator.
+     *
+     * @param controllers the controllers to aggregate, in priority order.
+     *                    The first controller has the highest priority.
+     */
+    public ControllerAggregator(Controller... controllers) {
+        if (controllers.length == 0) {
+            throw new IllegalArgumentException(
+                    "You need at least one controller to aggregate!"
+            );
+        }
+
+        this.controllers = controllers.clone();
+        this.packed = new double[controllers.length][Bindings.CHANNEL_COUNT];
+
+        for (int i = 0; i < Bindings.CHANNEL_COUNT; i++) {
+            policies[i] = i < ControllerShaping.AXIS_COUNT ?
+                    MergePolicy.PRIORITY :
+                    MergePolicy.OR;
+        }
+    }
+
+    /**
+     * Initialize the component.
+     *
+     * <p>
+     * Aggregated controllers should already have their cores initialized,
+     * so this doesn't do anything.
+     * </p>
+     */
+    @Override
+    public void init() {
+
+    }
+
+    /**
+     * Set a channel's merge policy.
+     *
+     * @param channel the channel.
+     * @param policy  the channel's new merge policy.
+     */
+    public void setPolicy(Bindings.Core channel,
+                          MergePolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policies can't be null!");
+        }
+
+        policies[Bindings.getChannel(channel)] = policy;
+    }
+
+    /**
+     * Get a channel's merge policy.
+     *
+     * @param channel the channel.
+     * @return the channel's merge policy.
+     */
+    public MergePolicy getPolicy(Bindings.Core channel) {
+        return policies[Bindings.getChannel(channel)];
+    }
+
+    /**
+     * Set the activity threshold used by {@link MergePolicy#PRIORITY}.
+     *
+     * @param threshold how far a channel has to be from zero to be
+     *                  considered in use.
+     */
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Get the activity threshold used by {@link MergePolicy#PRIORITY}.
+     *
+     * @return the activity threshold.
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Merge a single channel.
+     *
+     * @param channel the channel to merge.
+     */
+    private void merge(int channel) {
+        double value = 0;
+        int source = -1;
+
+        switch (policies[channel]) {
+            case PRIORITY:
+                for (int i = 0; i < packed.length; i++) {
+                    if (Math.abs(packed[i][channel]) > threshold) {
+                        value = packed[i][channel];
+                        source = i;
+                        break;
+                    }
+                }
+                break;
+            case MAX_MAGNITUDE:
+                for (int i = 0; i < packed.length; i++) {
+                    if (Math.abs(packed[i][channel]) > Math.abs(value)) {
+                        value = packed[i][channel];
+                        source = i;
+                    }
+                }
+                break;
+            case OR:
+                for (int i = 0; i < packed.length; i++) {
+                    if (packed[i][channel] >= 0.5) {
+                        value = 1;
+                        source = i;
+                        break;
+                    }
+                }
+                break;
+        }
+
+        merged[channel] = value;
+        sources[channel] = source;
+    }
+
+    /**
+     * Get the merged state of every controller.
+     *
+     * @return the merged controller state.
+     */
+    @Override
+    public ControllerState getState() {
+        boolean leftStick = false;
+        boolean rightStick = false;
+
+        for (int i = 0; i < controllers.length; i++) {
+            ControllerState current = controllers[i].getState();
+
+            ControllerEncoder.encode(current, packed[i]);
+
+            /*
+             * Stick buttons aren't channels, so they're always merged
+             * with OR.
+             */
+            leftStick |= current.isLeftStick();
+            rightStick |= current.isRightStick();
+        }
+
+        for (int i = 0; i < Bindings.CHANNEL_COUNT; i++) {
+            merge(i);
+        }
+
+        ControllerEncoder.decode(merged, state);
+        state.setLeftStick(leftStick);
+        state.setRightStick(rightStick);
+
+        return state;
+    }
+
+    /**
+     * Get the index of the controller a channel came from during the last
+     * merge.
+     *
+     * @param channel the channel.
+     * @return the index of the controller, or -1 if no controller was
+     * using the channel.
+     */
+    public int getSource(Bindings.Core channel) {
+        return sources[Bindings.getChannel(channel)];
+    }
+
+    /**
+     * Get one of the aggregated controllers.
+     *
+     * @param index the controller's index.
+     * @return the controller.
+     */
+    public Controller getController(int index) {
+        return controllers[index];
+    }
+
+    /**
+     * Get how many controllers are being aggregated.
+     *
+     * @return how many controllers are being aggregated.
+     */
+    public int getControllerCount() {
+        return controllers.length;
+    }
+}
@@ -26,8 +26,6 @@
 
 package me.wobblyyyy.rlibx.input.controllers;
 
-import java.util.ArrayList;
-
 /**
  * Utilities used to encode a controller's state into a much more useful
  * state: an input channel array.
@@ -39,32 +37,22 @@ import java.util.ArrayList;
  * to use takes up a lot of words.
  * </p>
  *
+ * <p>
+ * Encoded states are arrays of {@link Bindings#CHANNEL_COUNT} doubles, where
+ * each index is the channel defined in {@link Bindings}. Sticks and triggers
+ * are stored as-is, and buttons are stored as 1.0 (pressed) or 0.0 (not
+ * pressed). If you're encoding or decoding every single loop, you should use
+ * the methods that accept an existing array or state - they don't create any
+ * new objects, meaning they're a lot nicer on the garbage collector.
+ * </p>
+ *
  * @author Colin Robertson
- * @version 1.0.0
+ * @version 1.1.0
  * @see ControllerState
  * @see me.wobblyyyy.rlibx.input.InputDevice
  * @since 0.1.0
  */
 public class ControllerEncoder {
-    /**
-     * Unbox an array of complex Double elements to an array of primitives.
-     *
-     * @param doubles the complex elements to unbox.
-     * @return an array of primitive doubles.
-     */
-    private static double[] unboxArray(Double[] doubles) {
-        double[] simplified = new double[doubles.length];
-
-        int counter = 0;
-
-        for (Double d : doubles) {
-            simplified[counter] = d;
-            counter++;
-        }
-
-        return simplified;
-    }
-
     /**
      * Transform a boolean into a double.
      *
@@ -83,24 +71,6 @@ public class ControllerEncoder {
         return input ? 1.0 : 0.0;
     }
 
-    /**
-     * Get the pair's value, then transform it into a boolean.
-     *
-     * <p>
-     * The following ruleset applies here:
-     * <ul>
-     *     <li>1.0 = true</li>
-     *     <li>0.0 = false</li>
-     * </ul>
-     * </p>
-     *
-     * @param pair the pair to transform.
-     * @return the transformed boolean.
-     */
-    private static boolean pairToBoolean(Pair pair) {
-        return doubleToBoolean(pair.getValue());
-    }
-
     /**
      * Transform a double into a boolean.
      *
@@ -120,153 +90,47 @@ public class ControllerEncoder {
     }
 
     /**
-     * Get the maximum ID out of a set of pair elements.
-     *
-     * @param pairs the pairs to search.
-     * @return the maximum ID out of those pairs.
-     */
-    private static int getMaxId(Pair... pairs) {
-        int max = 0;
-
-        for (Pair p : pairs) {
-            max = Math.max(p.getIndex(), max);
-        }
-
-        return max;
-    }
-
-    /**
-     * Encode a variable amount of pairs into a double array.
-     *
-     * @param pairs the pairs to encode.
-     * @return the encoded pairs.
-     */
-    private static double[] encodePairs(Pair... pairs) {
-        /*
-         * Create a list.
-         *
-         * We need this list to store information and positions about the
-         * doubles we extract from the pairs.
-         */
-        ArrayList<Double> list = new ArrayList<>();
-
-        /*
-         * For each pair in the inputted pair array, we add that pair to the
-         * list. We use the pair's index as the list element's position, and
-         * we use the pair's value as the list element's value.
-         */
-        for (Pair p : pairs) {
-            list.add(
-                    p.getIndex(),
-                    p.getValue()
-            );
-        }
-
-        /*
-         * Create an array - this is used for casting.
-         */
-        Double[] array = new Double[getMaxId(pairs)];
-
-        /*
-         * Return our encoded double values.
-         */
-        return unboxArray(list.toArray(array));
-    }
-
-    /**
-     * Decode an array of doubles into an array of pairs.
+     * Encode a ControllerState into an InputDevice-friendly array of double
+     * values.
      *
-     * @param z the array to decode.
-     * @return the decoded pairs.
+     * @param z the controller state to encode.
+     * @return an encoded double array, representing the input controller state.
+     * @see ControllerEncoder#encode(ControllerState, double[])
      */
-    private static Pair[] decodePairs(double[] z) {
-        /*
-         * A list of pairs to be returned.
-         */
-        ArrayList<Pair> pairs = new ArrayList<>();
-
-        /*
-         * Counter, used in for loop.
-         */
-        int i = 0;
-
-        /*
-         * For each double, create a new pair.
-         *
-         * This pair's index is determined by the counter defined just a few
-         * lines above.
-         *
-         * This pair's value is (obviously) determined by the value of the
-         * double that's being iterated over.
-         */
-        for (double x : z) {
-            pairs.add(new Pair(i, x));
-            i++;
-        }
+    public static double[] encode(ControllerState z) {
+        double[] encoded = new double[Bindings.CHANNEL_COUNT];
 
-        /*
-         * Create an array of pair elements.
-         *
-         * The length of this array is i + 1.
-         *
-         * By the time we reach this code right here, i will represent the
-         * maximum possible count. Thus, we can add 1 to that value to get the
-         * length of the array we'd need to return.
-         */
-        Pair[] array = new Pair[i + 1];
+        encode(z, encoded);
 
-        /*
-         * Return the array.
-         *
-         * We need to use the toArray method, as array lists and arrays aren't
-         * entirely identical.
-         */
-        return pairs.toArray(array);
+        return encoded;
     }
 
     /**
-     * Encode a ControllerState into an InputDevice-friendly array of double
-     * values.
+     * Encode a ControllerState into an existing array of double values.
      *
-     * @param z the controller state to encode.
-     * @return an encoded double array, representing the input controller state.
+     * @param z        the controller state to encode.
+     * @param channels the array to encode the state into. This array must
+     *                 have a length of at least {@link Bindings#CHANNEL_COUNT}.
      */
-    public static double[] encode(ControllerState z) {
+    public static void encode(ControllerState z,
+                              double[] channels) {
         /*
          * Left and right sticks.
          *
          * These are all doubles.
          */
-        Pair lsx = new Pair(
-                Bindings.getChannel(Bindings.Core.LSX),
-                z.getLsx()
-        );
-        Pair lsy = new Pair(
-                Bindings.getChannel(Bindings.Core.LSY),
-                z.getLsy()
-        );
-        Pair rsx = new Pair(
-                Bindings.getChannel(Bindings.Core.RSX),
-                z.getRsx()
-        );
-        Pair rsy = new Pair(
-                Bindings.getChannel(Bindings.Core.RSY),
-                z.getRsy()
-        );
+        channels[Bindings.CHANNEL_LSX] = z.getLsx();
+        channels[Bindings.CHANNEL_LSY] = z.getLsy();
+        channels[Bindings.CHANNEL_RSX] = z.getRsx();
+        channels[Bindings.CHANNEL_RSY] = z.getRsy();
 
         /*
          * Triggers!
          *
          * Like the sticks, these are all doubles.
          */
-        Pair rt = new Pair(
-                Bindings.getChannel(Bindings.Core.RT),
-                z.getRt()
-        );
-        Pair lt = new Pair(
-                Bindings.getChannel(Bindings.Core.LT),
-                z.getLt()
-        );
+        channels[Bindings.CHANNEL_RT] = z.getRt();
+        channels[Bindings.CHANNEL_LT] = z.getLt();
 
         /*
          * Bumpers!
@@ -275,36 +139,18 @@ public class ControllerEncoder {
          *
          * These are booleans.
          */
-        Pair rb = new Pair(
-                Bindings.getChannel(Bindings.Core.RB),
-                booleanToDouble(z.isRightBumper())
-        );
-        Pair lb = new Pair(
-                Bindings.getChannel(Bindings.Core.LB),
-                booleanToDouble(z.isLeftBumper())
-        );
+        channels[Bindings.CHANNEL_RB] = booleanToDouble(z.isRightBumper());
+        channels[Bindings.CHANNEL_LB] = booleanToDouble(z.isLeftBumper());
 
         /*
          * A, B, X, and Y buttons.
          *
          * Like the bumpers, these are booleans.
          */
-        Pair a = new Pair(
-                Bindings.getChannel(Bindings.Core.A),
-                booleanToDouble(z.isA())
-        );
-        Pair b = new Pair(
-                Bindings.getChannel(Bindings.Core.B),
-                booleanToDouble(z.isB())
-        );
-        Pair x = new Pair(
-                Bindings.getChannel(Bindings.Core.X),
-                booleanToDouble(z.isX())
-        );
-        Pair y = new Pair(
-                Bindings.getChannel(Bindings.Core.Y),
-                booleanToDouble(z.isY())
-        );
+        channels[Bindings.CHANNEL_A] = booleanToDouble(z.isA());
+        channels[Bindings.CHANNEL_B] = booleanToDouble(z.isB());
+        channels[Bindings.CHANNEL_X] = booleanToDouble(z.isX());
+        channels[Bindings.CHANNEL_Y] = booleanToDouble(z.isY());
 
         /*
          * D-pad buttons.
@@ -317,62 +163,10 @@ public class ControllerEncoder {
          *
          * These are also all booleans.
          */
-        Pair u = new Pair(
-                Bindings.getChannel(Bindings.Core.U),
-                booleanToDouble(z.isDpadUp())
-        );
-        Pair d = new Pair(
-                Bindings.getChannel(Bindings.Core.D),
-                booleanToDouble(z.isDpadDown())
-        );
-        Pair l = new Pair(
-                Bindings.getChannel(Bindings.Core.L),
-                booleanToDouble(z.isDpadLeft())
-        );
-        Pair r = new Pair(
-                Bindings.getChannel(Bindings.Core.R),
-                booleanToDouble(z.isDpadRight())
-        );
-
-        /*
-         * Now that we've generated some pairs, we need to encode them.
-         *
-         * We create an array and set the value of that array to the result
-         * of the encodePairs() method.
-         *
-         * All of the actual encoding happens there - if something isn't
-         * working, go check out that bad boy.
-         */
-
-        /*
-         * Array definition.
-         *
-         * IDEA was giving me a hard time about some kind of warning - I don't
-         * really know, but the yellow was annoying me and I wanted to get it
-         * off my screen.
-         *
-         * In order to accomplish that goal, I had to split the declaration of
-         * the array and the definition of the array into two separate
-         * statements.
-         */
-        double[] encoded;
-
-        /*
-         * Encode the pairs and set the value of the array.
-         */
-        encoded = encodePairs(
-                lsx, lsy,
-                rsx, rsy,
-                rb, lb,
-                rt, lt,
-                a, b, x, y,
-                u, d, l, r
-        );
-
-        /*
-         * We're done! Return the encoded array.
-         */
-        return encoded;
+        channels[Bindings.CHANNEL_U] = booleanToDouble(z.isDpadUp());
+        channels[Bindings.CHANNEL_D] = booleanToDouble(z.isDpadDown());
+        channels[Bindings.CHANNEL_L] = booleanToDouble(z.isDpadLeft());
+        channels[Bindings.CHANNEL_R] = booleanToDouble(z.isDpadRight());
     }
 
     /**
@@ -381,112 +175,65 @@ public class ControllerEncoder {
      *
      * @param z the array of doubles to be decoded.
      * @return the ControllerState of the decoded double array.
-     * @see ControllerEncoder#decodePairs(double[])
+     * @see ControllerEncoder#decode(double[], ControllerState)
      * @see ControllerState
      */
     public static ControllerState decode(double[] z) {
-        /*
-         * First, we have to decode the double array into more normalized
-         * pairs.
-         */
-        Pair[] pairs = decodePairs(z);
+        ControllerState state = new ControllerState();
+
+        decode(z, state);
+
+        return state;
+    }
 
+    /**
+     * Decode an encoded array of double values into an existing
+     * ControllerState.
+     *
+     * <p>
+     * Stick buttons (pressing down on the left or right stick) don't have
+     * their own channels, so they're left untouched.
+     * </p>
+     *
+     * @param z     the array of doubles to be decoded.
+     * @param state the state to decode the array into.
+     */
+    public static void decode(double[] z,
+                              ControllerState state) {
         /*
          * Left and right sticks.
          */
-        double lsx = pairs[Bindings.getChannel(Bindings.Core.LSX)].getValue();
-        double lsy = pairs[Bindings.getChannel(Bindings.Core.LSY)].getValue();
-        double rsx = pairs[Bindings.getChannel(Bindings.Core.RSX)].getValue();
-        double rsy = pairs[Bindings.getChannel(Bindings.Core.RSY)].getValue();
+        state.setLsx(z[Bindings.CHANNEL_LSX]);
+        state.setLsy(z[Bindings.CHANNEL_LSY]);
+        state.setRsx(z[Bindings.CHANNEL_RSX]);
+        state.setRsy(z[Bindings.CHANNEL_RSY]);
 
         /*
          * Triggers.
          */
-        double rt = pairs[Bindings.getChannel(Bindings.Core.RT)].getValue();
-        double lt = pairs[Bindings.getChannel(Bindings.Core.LT)].getValue();
+        state.setRt(z[Bindings.CHANNEL_RT]);
+        state.setLt(z[Bindings.CHANNEL_LT]);
 
         /*
          * Bumpers.
          */
-        boolean rb = pairToBoolean(pairs[Bindings.getChannel(Bindings.Core.RB)]);
-        boolean lb = pairToBoolean(pairs[Bindings.getChannel(Bindings.Core.LB)]);
+        state.setRightBumper(doubleToBoolean(z[Bindings.CHANNEL_RB]));
+        state.setLeftBumper(doubleToBoolean(z[Bindings.CHANNEL_LB]));
 
         /*
          * A, B, X, Y - buttons.
          */
-        boolean a = pairToBoolean(pairs[Bindings.getChannel(Bindings.Core.A)]);
-        boolean b = pairToBoolean(pairs[Bindings.getChannel(Bindings.Core.B)]);
-        boolean x = pairToBoolean(pairs[Bindings.getChannel(Bindings.Core.X)]);
-        boolean y = pairToBoolean(pairs[Bindings.getChannel(Bindings.Core.Y)]);
+        state.setA(doubleToBoolean(z[Bindings.CHANNEL_A]));
+        state.setB(doubleToBoolean(z[Bindings.CHANNEL_B]));
+        state.setX(doubleToBoolean(z[Bindings.CHANNEL_X]));
+        state.setY(doubleToBoolean(z[Bindings.CHANNEL_Y]));
 
         /*
          * D-pad buttons.
          */
-        boolean u = pairToBoolean(pairs[Bindings.getChannel(Bindings.Core.U)]);
-        boolean d = pairToBoolean(pairs[Bindings.getChannel(Bindings.Core.D)]);
-        boolean l = pairToBoolean(pairs[Bindings.getChannel(Bindings.Core.L)]);
-        boolean r = pairToBoolean(pairs[Bindings.getChannel(Bindings.Core.R)]);
-
-        /*
-         * Create a new ControllerState with the values and return it.
-         *
-         * ControllerState should be a pretty static and unchanging class, so
-         * it's fairly unlikely that we'll have to worry about an OOS with
-         * this code right here.
-         */
-        return new ControllerState(
-                a, b, x, y,
-                u, r, d, l,
-                rb, lb,
-                false, false,
-                rsx, rsy,
-                lsx, lsy,
-                rt, lt
-        );
-    }
-
-    /**
-     * Private class used to simplify passing around so many damn parameters.
-     */
-    private static class Pair {
-        /**
-         * The pair's value.
-         */
-        private final double value;
-
-        /**
-         * The pair's index (position in array).
-         */
-        private final int index;
-
-        /**
-         * Create a new pair.
-         *
-         * @param index the pair's index.
-         * @param value the pair's value.
-         */
-        public Pair(int index,
-                    double value) {
-            this.index = index;
-            this.value = value;
-        }
-
-        /**
-         * Get the pair's index.
-         *
-         * @return the pair's index.
-         */
-        public int getIndex() {
-            return index;
-        }
-
-        /**
-         * Get the pair's value.
-         *
-         * @return the pair's value.
-         */
-        public double getValue() {
-            return value;
-        }
+        state.setDpadUp(doubleToBoolean(z[Bindings.CHANNEL_U]));
+        state.setDpadDown(doubleToBoolean(z[Bindings.CHANNEL_D]));
+        state.setDpadLeft(doubleToBoolean(z[Bindings.CHANNEL_L]));
+        state.setDpadRight(doubleToBoolean(z[Bindings.CHANNEL_R]));
     }
 }
@@ -0,0 +1,313 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.controllers;
+
+/**
+ * A compiled controller layout.
+ *
+ * <p>
+ * A layout describes where each of a controller's channels should come
+ * from. For every output channel, a layout stores three things: the input
+ * channel it's read from, whether or not it's inverted, and how much it's
+ * scaled by. Swapping the left and right sticks for a left-handed driver,
+ * flipping the Y axes so up is positive, that kind of thing.
+ * </p>
+ *
+ * <p>
+ * Layouts are compiled when they're created - the input channels are stored
+ * as a flat {@code int[]} permutation, and inversion and scaling are folded
+ * together into a single multiplier per channel. Remapping an entire
+ * controller state is just one loop over {@link Bindings#CHANNEL_COUNT}
+ * channels, without any enum lookups, branches, or garbage.
+ * </p>
+ *
+ * <p>
+ * Layouts are immutable, so a single layout can be shared between as many
+ * {@link ControllerMap}s (and threads) as you'd like.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see ControllerMap
+ * @since 0.2.0
+ */
+public class ControllerLayout {
+    /**
+     * A layout that doesn't change anything at all.
+     */
+    public static final ControllerLayout IDENTITY = identity("identity");
+
+    /**
+     * The layout of an Xbox controller.
+     */
+    public static final ControllerLayout XBOX =
+            compile("xbox", Bindings.Xbox.values());
+
+    /**
+     * The layout of a Playstation controller.
+     */
+    public static final ControllerLayout PLAYSTATION =
+            compile("playstation", Bindings.Playstation.values());
+
+    /**
+     * The layout's name.
+     */
+    private final String name;
+
+    /**
+     * The input channel each output channel is read from.
+     */
+    private final int[] sources = new int[Bindings.CHANNEL_COUNT];
+
+    /**
+     * Whether or not each output channel is inverted.
+     */
+    private final boolean[] inverted = new boolean[Bindings.CHANNEL_COUNT];
+
+    /**
+     * How much each output channel is scaled by.
+     */
+    private final double[] scales = new double[Bindings.CHANNEL_COUNT];
+
+    /**
+     * The compiled multiplier for each output channel - scale and inversion,
+     * combined into a single value.
+     */
+    private final double[] gains = new double[Bindings.CHANNEL_COUNT];
+
+    /**
+     * Create a new controller layout.
+     *
+     * <p>
+     * Each of the arrays is indexed by output channel, and must have a
+     * length of {@link Bindings#CHANNEL_COUNT}. The arrays are copied, so
+     * modifying them after the layout has been created won't modify the
+     * layout.
+     * </p>
+     *
+     * <p>
+     * Buttons, bumpers, and the d-pad can be read from any channel, but
+     * they can't be inverted or scaled - a button is either pressed or it
+     * isn't. If a button is read from an axis channel, it's only pressed
+     * when that axis is at exactly 1.
+     * </p>
+     *
+     * @param name     the layout's name.
+     * @param sources  the input channel each output channel is read from.
+     * @param inverted whether or not each output channel is inverted.
+     * @param scales   how much each output channel is scaled by.
+     */
+    public ControllerLayout(String name,
+                            int[] sources,
+                            boolean[] inverted,
+                            double[] scales) {
+        if (sources.length != Bindings.CHANNEL_COUNT ||
+                inverted.length != Bindings.CHANNEL_COUNT ||
+                scales.length != Bindings.CHANNEL_COUNT) {
+            throw new IllegalArgumentException(
+                    "Layouts need exactly " + Bindings.CHANNEL_COUNT +
+                            " channels!"
+            );
+        }
+
+        this.name = name;
+
+        for (int i = 0; i < Bindings.CHANNEL_COUNT; i++) {
+            if (sources[i] < 0 || sources[i] >= Bindings.CHANNEL_COUNT) {
+                throw new IllegalArgumentException(
+                        "Channel " + i + " can't be read from channel " +
+                                sources[i] + ", which doesn't exist."
+                );
+            }
+
+            if (i >= ControllerShaping.AXIS_COUNT &&
+                    (inverted[i] || scales[i] != 1)) {
+                throw new IllegalArgumentException(
+                        "Channel " + i + " is a button, and buttons can't " +
+                                "be inverted or scaled."
+                );
+            }
+
+            this.sources[i] = sources[i];
+            this.inverted[i] = inverted[i];
+            this.scales[i] = scales[i];
+            this.gains[i] = inverted[i] ? -scales[i] : scales[i];
+        }
+    }
+
+    /**
+     * Create a layout that doesn't change anything.
+     *
+     * @param name the layout's name.
+     * @return a new identity layout.
+     */
+    public static ControllerLayout identity(String name) {
+        int[] sources = new int[Bindings.CHANNEL_COUNT];
+        double[] scales = new double[Bindings.CHANNEL_COUNT];
+
+        for (int i = 0; i < Bindings.CHANNEL_COUNT; i++) {
+            sources[i] = i;
+            scales[i] = 1;
+        }
+
+        return new ControllerLayout(
+                name,
+                sources,
+                new boolean[Bindings.CHANNEL_COUNT],
+                scales
+        );
+    }
+
+    /**
+     * Compile a set of Xbox bindings into a layout.
+     *
+     * <p>
+     * A device reports its inputs in the order they're declared in the
+     * bindings enum - so the input channel of each binding is its ordinal,
+     * and the output channel is the binding's core channel.
+     * </p>
+     *
+     * @param name     the layout's name.
+     * @param bindings the bindings to compile.
+     * @return a compiled layout.
+     */
+    private static ControllerLayout compile(String name,
+                                            Bindings.Xbox[] bindings) {
+        Bindings.Core[] targets = new Bindings.Core[bindings.length];
+
+        for (int i = 0; i < bindings.length; i++) {
+            targets[i] = bindings[i].getId();
+        }
+
+        return compile(name, targets);
+    }
+
+    /**
+     * Compile a set of Playstation bindings into a layout.
+     *
+     * @param name     the layout's name.
+     * @param bindings the bindings to compile.
+     * @return a compiled layout.
+     * @see #compile(String, Bindings.Xbox[])
+     */
+    private static ControllerLayout compile(String name,
+                                            Bindings.Playstation[] bindings) {
+        Bindings.Core[] targets = new Bindings.Core[bindings.length];
+
+        for (int i = 0; i < bindings.length; i++) {
+            targets[i] = bindings[i].getId();
+        }
+
+        return compile(name, targets);
+    }
+
+    /**
+     * Compile a list of output channels into a layout.
+     *
+     * @param name    the layout's name.
+     * @param targets the output channel for each input channel.
+     * @return a compiled layout.
+     */
+    private static ControllerLayout compile(String name,
+                                            Bindings.Core[] targets) {
+        int[] sources = new int[Bindings.CHANNEL_COUNT];
+        double[] scales = new double[Bindings.CHANNEL_COUNT];
+
+        for (int i = 0; i < targets.length; i++) {
+            sources[Bindings.getChannel(targets[i])] = i;
+        }
+
+        for (int i = 0; i < Bindings.CHANNEL_COUNT; i++) {
+            scales[i] = 1;
+        }
+
+        return new ControllerLayout(
+                name,
+                sources,
+                new boolean[Bindings.CHANNEL_COUNT],
+                scales
+        );
+    }
+
+    /**
+     * Remap an encoded controller state.
+     *
+     * <p>
+     * This is the entire hot path of the controller map - one loop, one
+     * array read, one multiply per channel.
+     * </p>
+     *
+     * @param input  the encoded state to remap.
+     * @param output the array to write the remapped state into. This must
+     *               not be the same array as the input array.
+     */
+    public void remap(double[] input,
+                      double[] output) {
+        for (int i = 0; i < Bindings.CHANNEL_COUNT; i++) {
+            output[i] = input[sources[i]] * gains[i];
+        }
+    }
+
+    /**
+     * Get the layout's name.
+     *
+     * @return the layout's name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the input channel an output channel is read from.
+     *
+     * @param channel the output channel.
+     * @return the output channel's input channel.
+     */
+    public int getSource(int channel) {
+        return sources[channel];
+    }
+
+    /**
+     * Is an output channel inverted?
+     *
+     * @param channel the output channel.
+     * @return whether or not the output channel is inverted.
+     */
+    public boolean isInverted(int channel) {
+        return inverted[channel];
+    }
+
+    /**
+     * Get how much an output channel is scaled by.
+     *
+     * @param channel the output channel.
+     * @return the output channel's scale.
+     */
+    public double getScale(int channel) {
+        return scales[channel];
+    }
+}
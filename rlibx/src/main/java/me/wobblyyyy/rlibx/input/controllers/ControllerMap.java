@@ -27,11 +27,231 @@
 package me.wobblyyyy.rlibx.input.controllers;
 
 /**
- * Prototype controller mapping - finish later.
+ * A set of controller layouts, one of which is active at any given time.
+ *
+ * <p>
+ * Controller maps sit between a controller's core and the rest of your
+ * code, remapping the core's channels according to whichever
+ * {@link ControllerLayout} is currently active. Every layout is compiled
+ * ahead of time, so remapping a state is a single loop over a few arrays.
+ * </p>
+ *
+ * <p>
+ * Layouts can be switched at runtime - say, a driver hitting a button to
+ * swap to a left-handed layout - without creating any garbage. Switching
+ * layouts is just swapping a single reference, and it's safe to do from a
+ * different thread than the one that's reading the controller.
+ * </p>
+ *
+ * <p>
+ * Every map starts out with the built-in identity, Xbox, and Playstation
+ * layouts, with the Xbox layout active. Custom layouts can be added with
+ * {@link #add(ControllerLayout)}, or loaded from an XML robot configuration
+ * with the {@link me.wobblyyyy.rlibx.xml.factory.ControllerMapFactory}
+ * class.
+ * </p>
  *
  * @author Colin Robertson
- * @version 1.0.0
+ * @version 1.1.0
+ * @see ControllerLayout
+ * @see Controller
  * @since 0.1.0
  */
 public class ControllerMap {
+    /**
+     * Every layout that's been added to the map.
+     */
+    private ControllerLayout[] layouts = new ControllerLayout[8];
+
+    /**
+     * How many layouts have been added to the map.
+     */
+    private int count = 0;
+
+    /**
+     * The layout that's currently active.
+     */
+    private volatile ControllerLayout active;
+
+    /**
+     * Encoded input state, re-used between updates.
+     */
+    private final double[] input = new double[Bindings.CHANNEL_COUNT];
+
+    /**
+     * Encoded output state, re-used between updates.
+     */
+    private final double[] output = new double[Bindings.CHANNEL_COUNT];
+
+    /**
+     * Create a new controller map, with the built-in layouts.
+     */
+    public ControllerMap() {
+        add(ControllerLayout.IDENTITY);
+        add(ControllerLayout.XBOX);
+        add(ControllerLayout.PLAYSTATION);
+
+        active = ControllerLayout.XBOX;
+    }
+
+    /**
+     * Add a layout to the map.
+     *
+     * <p>
+     * If the map already has a layout with the same name, the old layout
+     * is replaced, keeping the same index.
+     * </p>
+     *
+     * @param layout the layout to add.
+     * @return the index of the layout, which can be used to switch to the
+     * layout with {@link #setLayout(int)}.
+     */
+    public int add(ControllerLayout layout) {
+        int index = indexOf(layout.getName());
+
+        if (index >= 0) {
+            if (active == layouts[index]) active = layout;
+            layouts[index] = layout;
+            return index;
+        }
+
+        if (count == layouts.length) {
+            ControllerLayout[] grown = new ControllerLayout[count * 2];
+            System.arraycopy(layouts, 0, grown, 0, count);
+            layouts = grown;
+        }
+
+        layouts[count] = layout;
+
+        return count++;
+    }
+
+    /**
+     * Find the index of a layout.
+     *
+     * @param name the name of the layout.
+     * @return the layout's index, or -1 if the map doesn't have a layout
+     * with that name.
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < count; i++) {
+            if (layouts[i].getName().equals(name)) return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Switch to a different layout.
+     *
+     * @param index the index of the layout to switch to.
+     */
+    public void setLayout(int index) {
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException(
+                    "There's no layout with index " + index + "!"
+            );
+        }
+
+        active = layouts[index];
+    }
+
+    /**
+     * Switch to a different layout.
+     *
+     * @param name the name of the layout to switch to.
+     */
+    public void setLayout(String name) {
+        int index = indexOf(name);
+
+        if (index < 0) {
+            throw new IllegalArgumentException(
+                    "There's no layout named " + name + "!"
+            );
+        }
+
+        active = layouts[index];
+    }
+
+    /**
+     * Switch to a different layout. If the layout hasn't been added to the
+     * map, it's used anyway, but it won't be accessible by name or index.
+     *
+     * @param layout the layout to switch to.
+     */
+    public void setLayout(ControllerLayout layout) {
+        active = layout;
+    }
+
+    /**
+     * Get the layout that's currently active.
+     *
+     * @return the active layout.
+     */
+    public ControllerLayout getLayout() {
+        return active;
+    }
+
+    /**
+     * Get a layout by its index.
+     *
+     * @param index the layout's index.
+     * @return the layout.
+     */
+    public ControllerLayout getLayout(int index) {
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException(
+                    "There's no layout with index " + index + "!"
+            );
+        }
+
+        return layouts[index];
+    }
+
+    /**
+     * Get how many layouts the map has.
+     *
+     * @return how many layouts have been added to the map.
+     */
+    public int getLayoutCount() {
+        return count;
+    }
+
+    /**
+     * Remap an encoded controller state using the active layout.
+     *
+     * @param input  the encoded state to remap.
+     * @param output the array to write the remapped state into. This must
+     *               not be the same array as the input array.
+     */
+    public void remap(double[] input,
+                      double[] output) {
+        active.remap(input, output);
+    }
+
+    /**
+     * Remap a controller state using the active layout.
+     *
+     * <p>
+     * This doesn't create any garbage - the state is encoded into, and
+     * decoded from, arrays owned by the map. Because of that, a single
+     * map shouldn't be used from more than one thread at a time.
+     * </p>
+     *
+     * @param state  the state to remap.
+     * @param mapped the state to write the remapped values into. This can
+     *               be the same state as the input state.
+     */
+    public void apply(ControllerState state,
+                      ControllerState mapped) {
+        /*
+         * Stick buttons aren't encoded as channels, so they'd never make
+         * it through the remap. Copy them over first.
+         */
+        if (mapped != state) mapped.set(state);
+
+        ControllerEncoder.encode(state, input);
+        active.remap(input, output);
+        ControllerEncoder.decode(output, mapped);
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.controllers;
+
+/**
+ * A set of per-axis shaping stages for an entire controller.
+ *
+ * <p>
+ * Shaping is only applied to the analog channels of a controller - the
+ * left and right sticks, as well as the triggers. Buttons, bumpers, and the
+ * d-pad are left alone. Any axis that doesn't have a shaper is passed
+ * through without any modifications.
+ * </p>
+ *
+ * <p>
+ * Shaping can be attached to any {@link Controller} by using the
+ * {@link Controller#setShaping(ControllerShaping)} method, or it can be
+ * loaded from an XML robot configuration with the
+ * {@link me.wobblyyyy.rlibx.xml.factory.ShapingFactory} class.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see AxisCurve
+ * @see AxisShaper
+ * @see Controller
+ * @since 0.2.0
+ */
+public class ControllerShaping {
+    /**
+     * How many axis channels a controller has. Axis channels always come
+     * first, so any channel lower than this is an axis.
+     */
+    public static final int AXIS_COUNT = Bindings.CHANNEL_LT + 1;
+
+    /**
+     * Shapers, indexed by their channel.
+     */
+    private final AxisShaper[] shapers = new AxisShaper[AXIS_COUNT];
+
+    /**
+     * The last time shaping was applied, in nanoseconds.
+     */
+    private long lastTime;
+
+    /**
+     * Has a time been recorded yet? {@link System#nanoTime()} may be
+     * negative, so {@link #lastTime} can't double as that flag.
+     */
+    private boolean hasTime = false;
+
+    /**
+     * Create a new, empty, set of controller shaping stages.
+     */
+    public ControllerShaping() {
+
+    }
+
+    /**
+     * Check whether or not a channel is an axis channel.
+     *
+     * @param channel the channel to check.
+     * @return whether or not the channel is an axis channel.
+     */
+    public static boolean isAxis(Bindings.Core channel) {
+        return Bindings.getChannel(channel) < AXIS_COUNT;
+    }
+
+    /**
+     * Set the shaper for a given axis.
+     *
+     * @param channel the axis to shape. This must be one of the stick or
+     *                trigger channels.
+     * @param shaper  the shaper to use. Null removes any existing shaper
+     *                from the axis.
+     */
+    public void setShaper(Bindings.Core channel,
+                          AxisShaper shaper) {
+        if (!isAxis(channel)) {
+            throw new IllegalArgumentException(
+                    "Only stick and trigger channels can be shaped, but " +
+                            "you tried to shape " + channel + "."
+            );
+        }
+
+        shapers[Bindings.getChannel(channel)] = shaper;
+    }
+
+    /**
+     * Get the shaper for a given axis.
+     *
+     * @param channel the axis to get the shaper for.
+     * @return the axis' shaper, or null if the axis isn't shaped.
+     */
+    public AxisShaper getShaper(Bindings.Core channel) {
+        return isAxis(channel) ? shapers[Bindings.getChannel(channel)] : null;
+    }
+
+    /**
+     * Shape a single channel's value.
+     *
+     * @param channel the channel's index.
+     * @param value   the raw value.
+     * @param elapsed the time since the last update, in seconds.
+     * @return the shaped value.
+     */
+    private double shape(int channel,
+                         double value,
+                         double elapsed) {
+        AxisShaper shaper = shapers[channel];
+
+        return shaper == null ? value : shaper.shape(value, elapsed);
+    }
+
+    /**
+     * Get the time, in seconds, since shaping was last applied, and update
+     * the last-applied timestamp.
+     *
+     * @return elapsed time, in seconds. The very first call returns zero.
+     */
+    private double tick() {
+        long now = System.nanoTime();
+        double elapsed = hasTime ? (now - lastTime) * 1e-9 : 0;
+
+        lastTime = now;
+        hasTime = true;
+
+        return elapsed;
+    }
+
+    /**
+     * Apply shaping to a controller state, using the system clock to
+     * determine how much time has elapsed since the last update.
+     *
+     * @param state the state to shape. This state is modified in place.
+     */
+    public void apply(ControllerState state) {
+        apply(state, tick());
+    }
+
+    /**
+     * Apply shaping to a controller state.
+     *
+     * @param state   the state to shape. This state is modified in place.
+     * @param elapsed the time since the last update, in seconds.
+     */
+    public void apply(ControllerState state,
+                      double elapsed) {
+        state.setLsx(shape(Bindings.CHANNEL_LSX, state.getLsx(), elapsed));
+        state.setLsy(shape(Bindings.CHANNEL_LSY, state.getLsy(), elapsed));
+        state.setRsx(shape(Bindings.CHANNEL_RSX, state.getRsx(), elapsed));
+        state.setRsy(shape(Bindings.CHANNEL_RSY, state.getRsy(), elapsed));
+        state.setRt(shape(Bindings.CHANNEL_RT, state.getRt(), elapsed));
+        state.setLt(shape(Bindings.CHANNEL_LT, state.getLt(), elapsed));
+    }
+
+    /**
+     * Reset the slew limiters of every shaper.
+     */
+    public void reset() {
+        hasTime = false;
+
+        for (AxisShaper shaper : shapers) {
+            if (shaper != null) shaper.reset();
+        }
+    }
+}
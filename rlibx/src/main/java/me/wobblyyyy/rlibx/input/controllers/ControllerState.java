@@ -30,7 +30,7 @@ package me.wobblyyyy.rlibx.input.controllers;
  * A class used for representing the state of a controller.
  *
  * @author Colin Robertson
- * @version 1.0.0
+ * @version 1.1.0
  * @since 0.1.0
  */
 public class ControllerState {
@@ -124,6 +124,22 @@ public class ControllerState {
      */
     private double lt;
 
+    /**
+     * Create a new controller state, with every button released and every
+     * axis centered.
+     */
+    public ControllerState() {
+        this(
+                false, false, false, false,
+                false, false, false, false,
+                false, false,
+                false, false,
+                0, 0,
+                0, 0,
+                0, 0
+        );
+    }
+
     /**
      * Create a new controller state.
      *
@@ -184,6 +200,38 @@ public class ControllerState {
         this.lt = lt;
     }
 
+    /**
+     * Copy every value from another controller state into this one.
+     *
+     * <p>
+     * This is mostly useful for re-using the same state object over and over
+     * again, rather than creating a new state every time a controller is
+     * updated.
+     * </p>
+     *
+     * @param state the state to copy values from.
+     */
+    public void set(ControllerState state) {
+        A = state.A;
+        B = state.B;
+        X = state.X;
+        Y = state.Y;
+        this.dpadUp = state.dpadUp;
+        this.dpadRight = state.dpadRight;
+        this.dpadDown = state.dpadDown;
+        this.dpadLeft = state.dpadLeft;
+        this.rightBumper = state.rightBumper;
+        this.leftBumper = state.leftBumper;
+        this.rightStick = state.rightStick;
+        this.leftStick = state.leftStick;
+        this.rsx = state.rsx;
+        this.rsy = state.rsy;
+        this.lsx = state.lsx;
+        this.lsy = state.lsy;
+        this.rt = state.rt;
+        this.lt = state.lt;
+    }
+
     /**
      * Is the a button pressed?
      *
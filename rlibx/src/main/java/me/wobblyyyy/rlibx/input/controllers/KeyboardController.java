@@ -26,6 +26,7 @@
 
 package me.wobblyyyy.rlibx.input.controllers;
 
+import me.wobblyyyy.rlibx.input.keyboard.KeyboardEventCore;
 import me.wobblyyyy.rlibx.interfaces.KeyboardControllerCore;
 
 /**
@@ -46,11 +47,31 @@ import me.wobblyyyy.rlibx.interfaces.KeyboardControllerCore;
  * where we can manually set values.
  * </p>
  *
+ * <p>
+ * If you don't have a keyboard core of your own, the no-argument
+ * constructor uses a {@link KeyboardEventCore}, which turns key events
+ * (from any thread) into controller states. Use {@link #getEventCore()}
+ * to feed it events.
+ * </p>
+ *
  * @author Colin Robertson
- * @version 1.0.0
+ * @version 1.1.0
  * @since 0.1.0
  */
 public class KeyboardController extends Controller {
+    /**
+     * The controller's keyboard core.
+     */
+    private final KeyboardControllerCore keyboard;
+
+    /**
+     * Create a new controller, using an event-driven keyboard core with
+     * the default bindings and ramping.
+     */
+    public KeyboardController() {
+        this(new KeyboardEventCore());
+    }
+
     /**
      * Create a new controller, using a controller core.
      *
@@ -58,5 +79,36 @@ public class KeyboardController extends Controller {
      */
     public KeyboardController(KeyboardControllerCore controller) {
         super(controller);
+
+        this.keyboard = controller;
+    }
+
+    /**
+     * Get the controller's keyboard core.
+     *
+     * @return the controller's keyboard core.
+     */
+    public KeyboardControllerCore getKeyboard() {
+        return keyboard;
+    }
+
+    /**
+     * Get the controller's event-driven keyboard core, so key presses and
+     * releases can be sent to it.
+     *
+     * <p>
+     * {@link #getKeyboard()} only returns the plain keyboard core interface,
+     * which doesn't have any way to send key events. If the controller was
+     * created with the no-argument constructor (or with a
+     * {@link KeyboardEventCore} of your own), this is that core.
+     * </p>
+     *
+     * @return the controller's keyboard core, or null if the controller's
+     * core isn't a {@link KeyboardEventCore}.
+     */
+    public KeyboardEventCore getEventCore() {
+        return keyboard instanceof KeyboardEventCore
+                ? (KeyboardEventCore) keyboard
+                : null;
     }
 }
@@ -0,0 +1,58 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.controllers;
+
+/**
+ * How a {@link ControllerAggregator} merges a single channel from several
+ * controllers into one value.
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see ControllerAggregator
+ * @since 0.2.0
+ */
+public enum MergePolicy {
+    /**
+     * The first controller (in priority order) that's actively using the
+     * channel wins. A channel is in use if its magnitude is above the
+     * aggregator's activity threshold. If nobody's using the channel, the
+     * merged value is zero.
+     */
+    PRIORITY,
+
+    /**
+     * Whichever controller has the largest magnitude on the channel wins.
+     * Ties go to the controller with the higher priority.
+     */
+    MAX_MAGNITUDE,
+
+    /**
+     * The channel is pressed (one) if any controller is pressing it, and
+     * released (zero) otherwise. Meant for buttons.
+     */
+    OR
+}
@@ -0,0 +1,216 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.keyboard;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free queue of key events.
+ *
+ * <p>
+ * Any number of threads can offer events to the queue at the same time -
+ * an AWT event thread, a JavaFX thread, a network listener, whatever - but
+ * only a single thread (the robot's loop) should ever poll events from it.
+ * Nothing ever blocks, and neither offering nor polling an event creates
+ * any garbage.
+ * </p>
+ *
+ * <p>
+ * Events are packed into a single int: the key code in the lower bits, and
+ * whether the key was pressed or released in the {@link #PRESSED} bit.
+ * </p>
+ *
+ * <p>
+ * Under the hood, this is Dmitry Vyukov's bounded queue. Every slot in the
+ * ring has a sequence number, which tells producers whether the slot is
+ * free and tells the consumer whether the slot has been filled. Producers
+ * only ever compete for the tail counter, and the consumer doesn't compete
+ * with anybody.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see KeyboardEventCore
+ * @since 0.2.0
+ */
+public class KeyEventQueue {
+    /**
+     * The bit that's set on an event if the key was pressed, rather than
+     * released.
+     */
+    public static final int PRESSED = 1 << 31;
+
+    /**
+     * The value returned by {@link #poll()} if the queue is empty.
+     */
+    public static final int EMPTY = -1;
+
+    /**
+     * The queue's events.
+     */
+    private final int[] events;
+
+    /**
+     * Each slot's sequence number.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Used to wrap a position around the ring. The queue's capacity is
+     * always a power of two, so this is just the capacity minus one.
+     */
+    private final int mask;
+
+    /**
+     * The position the next event will be offered at.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The position the next event will be polled from. Only the consumer
+     * ever touches this, so it doesn't need to be atomic.
+     */
+    private long head = 0;
+
+    /**
+     * Create a new key event queue.
+     *
+     * @param capacity the minimum number of events the queue can hold. This
+     *                 is rounded up to the next power of two.
+     */
+    public KeyEventQueue(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException(
+                    "Queue capacity must be between 1 and 2^30!"
+            );
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+
+        events = new int[size];
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Pack a key event into an int.
+     *
+     * @param keyCode the key's code. This must not be negative.
+     * @param pressed whether the key was pressed (true) or released (false).
+     * @return the packed event.
+     */
+    public static int pack(int keyCode,
+                           boolean pressed) {
+        return pressed ? keyCode | PRESSED : keyCode;
+    }
+
+    /**
+     * Get the key code of a packed event.
+     *
+     * @param event the packed event.
+     * @return the event's key code.
+     */
+    public static int getKeyCode(int event) {
+        return event & ~PRESSED;
+    }
+
+    /**
+     * Was a packed event a key press?
+     *
+     * @param event the packed event.
+     * @return true if the key was pressed, false if it was released.
+     */
+    public static boolean isPressed(int event) {
+        return (event & PRESSED) != 0;
+    }
+
+    /**
+     * Offer an event to the queue. This is safe to call from any thread.
+     *
+     * @param event the packed event.
+     * @return true if the event was added, false if the queue was full.
+     */
+    public boolean offer(int event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                /*
+                 * The slot is free - try to claim it. If another producer
+                 * beats us to it, just try again with the next slot.
+                 */
+                if (tail.compareAndSet(position, position + 1)) {
+                    events[index] = event;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                /*
+                 * The consumer hasn't caught up to this slot yet, meaning
+                 * the queue is full.
+                 */
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Poll an event from the queue. This should only ever be called from a
+     * single thread.
+     *
+     * @return the packed event, or {@link #EMPTY} if the queue is empty.
+     */
+    public int poll() {
+        int index = (int) (head & mask);
+
+        if (sequences.get(index) != head + 1) return EMPTY;
+
+        int event = events[index];
+
+        sequences.lazySet(index, head + events.length);
+        head++;
+
+        return event;
+    }
+
+    /**
+     * Get the queue's capacity.
+     *
+     * @return how many events the queue can hold.
+     */
+    public int getCapacity() {
+        return events.length;
+    }
+}
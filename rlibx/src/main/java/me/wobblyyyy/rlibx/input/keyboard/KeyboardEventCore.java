@@ -0,0 +1,528 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.keyboard;
+
+import me.wobblyyyy.rlibx.input.controllers.Bindings;
+import me.wobblyyyy.rlibx.input.controllers.ControllerEncoder;
+import me.wobblyyyy.rlibx.input.controllers.ControllerShaping;
+import me.wobblyyyy.rlibx.input.controllers.ControllerState;
+import me.wobblyyyy.rlibx.interfaces.KeyboardControllerCore;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A keyboard controller core that's driven by key events.
+ *
+ * <p>
+ * Rather than polling the keyboard, this core is told about key presses and
+ * releases as they happen, from whatever thread they happen on. Forwarding
+ * events from an AWT component, for example, looks something like this:
+ * <pre>
+ * public void keyPressed(KeyEvent e) {
+ *     core.press(e.getKeyCode());
+ * }
+ *
+ * public void keyReleased(KeyEvent e) {
+ *     core.release(e.getKeyCode());
+ * }
+ * </pre>
+ * Events go into a lock-free {@link KeyEventQueue}. Once per tick - in
+ * other words, whenever the core's state is requested - every queued event
+ * is drained and coalesced into a single controller state. A key that's
+ * pressed and released between two ticks still counts as pressed for one
+ * tick, so quick taps aren't lost.
+ * </p>
+ *
+ * <p>
+ * By default, keys are bound according to {@link Bindings.Keyboard}. Key
+ * pairs (WS, AD, IK, JL) drive a stick axis - the first key pushes the axis
+ * towards -1 and the second towards +1, so holding both centers it. Single
+ * keys drive a trigger or a button. Key codes are the same as AWT's virtual
+ * key codes, which, for letters, are just the uppercase character.
+ * </p>
+ *
+ * <p>
+ * Keyboards are either fully on or fully off, which is about as far from
+ * a joystick as you can get. To make a keyboard feel a bit more like a
+ * gamepad, sticks and triggers ramp towards their target values instead of
+ * jumping straight to them. Ramping away from zero and ramping back towards
+ * zero have separate rates, so a stick can, for example, slowly ramp up but
+ * snap back to center as soon as the key is released.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see KeyEventQueue
+ * @see Bindings.Keyboard
+ * @since 0.2.0
+ */
+public class KeyboardEventCore implements KeyboardControllerCore {
+    /**
+     * The default capacity of the event queue.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * The default ramping rate, in units per second. At this rate, an axis
+     * reaches full power in a quarter of a second.
+     */
+    public static final double DEFAULT_RAMP_RATE = 4.0;
+
+    /**
+     * The default return rate, in units per second. Zero means axes snap
+     * back to zero as soon as their keys are released.
+     */
+    public static final double DEFAULT_RETURN_RATE = 0.0;
+
+    /**
+     * How many key codes are tracked. Any key code at or above this is
+     * ignored.
+     */
+    public static final int KEY_COUNT = 256;
+
+    /**
+     * Events waiting to be coalesced.
+     */
+    private final KeyEventQueue queue;
+
+    /**
+     * Set whenever an event couldn't be queued.
+     */
+    private final AtomicBoolean overflowed = new AtomicBoolean(false);
+
+    /**
+     * Which keys are currently held down.
+     */
+    private final boolean[] held = new boolean[KEY_COUNT];
+
+    /**
+     * Which keys have been pressed since the last tick.
+     */
+    private final boolean[] tapped = new boolean[KEY_COUNT];
+
+    /**
+     * The key code of each binding.
+     */
+    private int[] bindingKeys = new int[0];
+
+    /**
+     * The channel of each binding.
+     */
+    private int[] bindingChannels = new int[0];
+
+    /**
+     * How much each binding adds to its channel while its key is down.
+     */
+    private double[] bindingValues = new double[0];
+
+    /**
+     * Target channel values, calculated from the held keys.
+     */
+    private final double[] targets = new double[Bindings.CHANNEL_COUNT];
+
+    /**
+     * Current channel values, after ramping.
+     */
+    private final double[] channels = new double[Bindings.CHANNEL_COUNT];
+
+    /**
+     * The state returned by {@link #getState()}.
+     */
+    private final ControllerState state = new ControllerState();
+
+    /**
+     * How quickly axes ramp away from zero, in units per second.
+     */
+    private double rampRate;
+
+    /**
+     * How quickly axes ramp back towards zero, in units per second.
+     */
+    private double returnRate;
+
+    /**
+     * The last time the core was updated, in nanoseconds.
+     */
+    private long lastTime;
+
+    /**
+     * Has the core been updated before? The first update has nothing to
+     * measure against, and any long - even a negative one - is a valid
+     * nanoTime reading, so this can't be folded into {@link #lastTime}.
+     */
+    private boolean hasTime = false;
+
+    /**
+     * Create a new keyboard event core with the default bindings and
+     * ramping.
+     */
+    public KeyboardEventCore() {
+        this(DEFAULT_RAMP_RATE, DEFAULT_RETURN_RATE);
+    }
+
+    /**
+     * Create a new keyboard event core with the default bindings.
+     *
+     * @param rampRate   how quickly axes ramp away from zero, in units per
+     *                   second. Zero (or any negative value) disables
+     *                   ramping.
+     * @param returnRate how quickly axes ramp back towards zero, in units
+     *                   per second. Zero (or any negative value) makes axes
+     *                   snap back to zero.
+     */
+    public KeyboardEventCore(double rampRate,
+                             double returnRate) {
+        this(rampRate, returnRate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new keyboard event core with the default bindings.
+     *
+     * @param rampRate   how quickly axes ramp away from zero, in units per
+     *                   second. Zero (or any negative value) disables
+     *                   ramping.
+     * @param returnRate how quickly axes ramp back towards zero, in units
+     *                   per second. Zero (or any negative value) makes axes
+     *                   snap back to zero.
+     * @param capacity   how many events can be queued between two ticks.
+     */
+    public KeyboardEventCore(double rampRate,
+                             double returnRate,
+                             int capacity) {
+        this.rampRate = rampRate;
+        this.returnRate = returnRate;
+        this.queue = new KeyEventQueue(capacity);
+
+        for (Bindings.Keyboard key : Bindings.Keyboard.values()) {
+            bind(key);
+        }
+    }
+
+    /**
+     * Initialize the component.
+     */
+    @Override
+    public void init() {
+
+    }
+
+    /**
+     * Bind the key (or keys) of a keyboard binding.
+     *
+     * @param key the binding to add.
+     */
+    private void bind(Bindings.Keyboard key) {
+        String name = key.name();
+        Bindings.Core channel = Bindings.Core.values()[
+                Bindings.getChannel(key)
+        ];
+
+        if (name.length() == 2) {
+            bind(name.charAt(0), channel, -1);
+            bind(name.charAt(1), channel, 1);
+        } else {
+            bind(name.charAt(0), channel, 1);
+        }
+    }
+
+    /**
+     * Bind a key to a channel.
+     *
+     * <p>
+     * While the key is held down, its value is added to the channel, and
+     * the channel is then clipped to the range of -1 to 1. Buttons are
+     * pressed whenever their channel is positive.
+     * </p>
+     *
+     * <p>
+     * Bindings are meant to be set up once, before the core is used - this
+     * method isn't thread-safe.
+     * </p>
+     *
+     * @param keyCode the key's code.
+     * @param channel the channel the key drives.
+     * @param value   how much the key adds to the channel while it's held
+     *                down. Usually -1 or 1.
+     */
+    public void bind(int keyCode,
+                     Bindings.Core channel,
+                     double value) {
+        if (keyCode < 0 || keyCode >= KEY_COUNT) {
+            throw new IllegalArgumentException(
+                    "Key codes must be between 0 and " + (KEY_COUNT - 1) +
+                            ", but " + keyCode + " isn't."
+            );
+        }
+
+        int count = bindingKeys.length;
+        int[] keys = new int[count + 1];
+        int[] bound = new int[count + 1];
+        double[] values = new double[count + 1];
+
+        System.arraycopy(bindingKeys, 0, keys, 0, count);
+        System.arraycopy(bindingChannels, 0, bound, 0, count);
+        System.arraycopy(bindingValues, 0, values, 0, count);
+
+        keys[count] = keyCode;
+        bound[count] = Bindings.getChannel(channel);
+        values[count] = value;
+
+        bindingKeys = keys;
+        bindingChannels = bound;
+        bindingValues = values;
+    }
+
+    /**
+     * Remove every key binding, including the default ones.
+     */
+    public void clearBindings() {
+        bindingKeys = new int[0];
+        bindingChannels = new int[0];
+        bindingValues = new double[0];
+    }
+
+    /**
+     * Queue a key event. This is safe to call from any thread.
+     *
+     * @param keyCode the key's code.
+     * @param pressed true if the key was pressed, false if it was released.
+     */
+    public void keyEvent(int keyCode,
+                         boolean pressed) {
+        if (keyCode < 0 || keyCode >= KEY_COUNT) return;
+
+        if (!queue.offer(KeyEventQueue.pack(keyCode, pressed))) {
+            overflowed.set(true);
+        }
+    }
+
+    /**
+     * Queue a key press. This is safe to call from any thread.
+     *
+     * @param keyCode the key's code.
+     */
+    public void press(int keyCode) {
+        keyEvent(keyCode, true);
+    }
+
+    /**
+     * Queue a key release. This is safe to call from any thread.
+     *
+     * @param keyCode the key's code.
+     */
+    public void release(int keyCode) {
+        keyEvent(keyCode, false);
+    }
+
+    /**
+     * Drain every queued event, updating which keys are held.
+     */
+    private void drain() {
+        int event;
+
+        while ((event = queue.poll()) != KeyEventQueue.EMPTY) {
+            int keyCode = KeyEventQueue.getKeyCode(event);
+            boolean pressed = KeyEventQueue.isPressed(event);
+
+            held[keyCode] = pressed;
+            if (pressed) tapped[keyCode] = true;
+        }
+
+        /*
+         * If events were dropped, we can't know which keys have been
+         * released. A stuck key is a lot worse than a released one, so
+         * just let go of everything.
+         */
+        if (overflowed.getAndSet(false)) {
+            for (int i = 0; i < KEY_COUNT; i++) {
+                held[i] = false;
+            }
+        }
+    }
+
+    /**
+     * Move a value towards a target, without moving further than a given
+     * amount.
+     *
+     * @param value    the current value.
+     * @param target   the target value.
+     * @param maxDelta how far the value can move. Infinity means the value
+     *                 can move as far as it'd like.
+     * @return the new value.
+     */
+    private static double approach(double value,
+                                   double target,
+                                   double maxDelta) {
+        double delta = target - value;
+
+        delta = Math.max(delta, -maxDelta);
+        delta = Math.min(delta, maxDelta);
+
+        return value + delta;
+    }
+
+    /**
+     * Get the maximum amount an axis can move in one tick.
+     *
+     * @param rate    the rate, in units per second.
+     * @param elapsed the time since the last tick, in seconds.
+     * @return how far the axis can move.
+     */
+    private static double maxDelta(double rate,
+                                   double elapsed) {
+        return rate > 0 ? rate * elapsed : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Coalesce every queued event into the core's channels.
+     *
+     * @param elapsed the time since the last update, in seconds.
+     */
+    public void update(double elapsed) {
+        drain();
+
+        for (int i = 0; i < Bindings.CHANNEL_COUNT; i++) {
+            targets[i] = 0;
+        }
+
+        for (int i = 0; i < bindingKeys.length; i++) {
+            int key = bindingKeys[i];
+
+            if (held[key] || tapped[key]) {
+                targets[bindingChannels[i]] += bindingValues[i];
+            }
+        }
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            tapped[i] = false;
+        }
+
+        double rampDelta = maxDelta(rampRate, elapsed);
+        double returnDelta = maxDelta(returnRate, elapsed);
+
+        for (int i = 0; i < Bindings.CHANNEL_COUNT; i++) {
+            double target = Math.max(-1, Math.min(1, targets[i]));
+
+            if (i < ControllerShaping.AXIS_COUNT) {
+                /*
+                 * Moving away from zero (or across it) ramps, moving back
+                 * towards zero returns.
+                 */
+                double current = channels[i];
+                boolean returning = Math.abs(target) < Math.abs(current) &&
+                        target * current >= 0;
+
+                channels[i] = approach(
+                        current,
+                        target,
+                        returning ? returnDelta : rampDelta
+                );
+            } else {
+                channels[i] = target > 0 ? 1 : 0;
+            }
+        }
+
+        ControllerEncoder.decode(channels, state);
+    }
+
+    /**
+     * Get the controller's state.
+     *
+     * <p>
+     * Each call counts as a tick - every queued event is coalesced, and
+     * axes are ramped according to how much time has passed since the last
+     * call. The same state object is returned every time, so this doesn't
+     * create any garbage.
+     * </p>
+     *
+     * @return the controller's state.
+     */
+    @Override
+    public ControllerState getState() {
+        long now = System.nanoTime();
+        double elapsed = hasTime ? (now - lastTime) * 1e-9 : 0;
+
+        lastTime = now;
+        hasTime = true;
+        update(elapsed);
+
+        return state;
+    }
+
+    /**
+     * Is a key currently held down?
+     *
+     * <p>
+     * This only reflects events that have been coalesced, so it should
+     * only be called from the thread that's reading the core's state.
+     * </p>
+     *
+     * @param keyCode the key's code.
+     * @return whether or not the key is held down.
+     */
+    public boolean isHeld(int keyCode) {
+        return keyCode >= 0 && keyCode < KEY_COUNT && held[keyCode];
+    }
+
+    /**
+     * Get the rate axes ramp away from zero at.
+     *
+     * @return the ramp rate, in units per second.
+     */
+    public double getRampRate() {
+        return rampRate;
+    }
+
+    /**
+     * Set the rate axes ramp away from zero at.
+     *
+     * @param rampRate the ramp rate, in units per second. Zero disables
+     *                 ramping.
+     */
+    public void setRampRate(double rampRate) {
+        this.rampRate = rampRate;
+    }
+
+    /**
+     * Get the rate axes ramp back towards zero at.
+     *
+     * @return the return rate, in units per second.
+     */
+    public double getReturnRate() {
+        return returnRate;
+    }
+
+    /**
+     * Set the rate axes ramp back towards zero at.
+     *
+     * @param returnRate the return rate, in units per second. Zero makes
+     *                   axes snap back to zero.
+     */
+    public void setReturnRate(double returnRate) {
+        this.returnRate = returnRate;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.network;
+
+import me.wobblyyyy.rlibx.input.controllers.Bindings;
+import me.wobblyyyy.rlibx.input.controllers.ControllerShaping;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The wire format used to send controller states over the network.
+ *
+ * <p>
+ * Packets are tiny - 46 bytes - and have a fixed layout:
+ * <pre>
+ * int    magic number ("RLBX")
+ * int    session (random, picked by the sender when it's created)
+ * long   sequence number
+ * long   time the packet was sent, in microseconds
+ * float  6 axis channels (sticks and triggers)
+ * short  10 button channels, packed as bits
+ * </pre>
+ * Axes are sent as floats, rather than doubles - joysticks aren't anywhere
+ * near precise enough for the extra precision to matter.
+ * </p>
+ *
+ * <p>
+ * Timestamps are in microseconds since the epoch, as measured by
+ * {@link ControllerPacket#currentTimeMicros()}. That clock is calibrated
+ * against the system's wall clock once, when this class is loaded, which
+ * means two processes on the same computer can disagree by up to about a
+ * millisecond. Latency values should be read with that in mind.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see NetworkControllerCore
+ * @see NetworkControllerSender
+ * @since 0.2.0
+ */
+public class ControllerPacket {
+    /**
+     * The magic number every packet starts with. If a datagram doesn't
+     * start with this, it's not one of ours.
+     */
+    public static final int MAGIC = 0x524C4258;
+
+    /**
+     * The size of a single packet, in bytes.
+     */
+    public static final int SIZE = 4 + 4 + 8 + 8 +
+            (ControllerShaping.AXIS_COUNT * 4) + 2;
+
+    /**
+     * The wall clock time (in microseconds) the clock was calibrated at.
+     */
+    private static final long BASE_MICROS = System.currentTimeMillis() * 1000;
+
+    /**
+     * The monotonic clock time (in nanoseconds) the clock was calibrated at.
+     */
+    private static final long BASE_NANOS = System.nanoTime();
+
+    /**
+     * Get the current time, in microseconds since the epoch.
+     *
+     * <p>
+     * This clock is monotonic - it won't jump around if the system's clock
+     * is adjusted - and has a much better resolution than
+     * {@link System#currentTimeMillis()}.
+     * </p>
+     *
+     * @return the current time, in microseconds.
+     */
+    public static long currentTimeMicros() {
+        return BASE_MICROS + ((System.nanoTime() - BASE_NANOS) / 1000);
+    }
+
+    /**
+     * Write a packet into a buffer.
+     *
+     * <p>
+     * The packet is written at the buffer's current position.
+     * </p>
+     *
+     * @param buffer   the buffer to write to.
+     * @param session  the sender's session number.
+     * @param sequence the packet's sequence number.
+     * @param sentAt   when the packet was sent, in microseconds.
+     * @param channels the encoded controller state to send.
+     */
+    public static void write(ByteBuffer buffer,
+                             int session,
+                             long sequence,
+                             long sentAt,
+                             double[] channels) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(session);
+        buffer.putLong(sequence);
+        buffer.putLong(sentAt);
+
+        for (int i = 0; i < ControllerShaping.AXIS_COUNT; i++) {
+            buffer.putFloat((float) channels[i]);
+        }
+
+        int buttons = 0;
+
+        for (int i = ControllerShaping.AXIS_COUNT;
+             i < Bindings.CHANNEL_COUNT; i++) {
+            if (channels[i] >= 0.5) {
+                buttons |= 1 << (i - ControllerShaping.AXIS_COUNT);
+            }
+        }
+
+        buffer.putShort((short) buttons);
+    }
+
+    /**
+     * Check whether or not a received buffer holds a valid packet.
+     *
+     * @param buffer a buffer that's been flipped and is ready to be read.
+     * @return whether or not the buffer holds a valid packet.
+     */
+    public static boolean isValid(ByteBuffer buffer) {
+        return buffer.remaining() >= SIZE &&
+                buffer.getInt(buffer.position()) == MAGIC;
+    }
+
+    /**
+     * Read a packet's session number.
+     *
+     * @param buffer a buffer holding a valid packet.
+     * @return the packet's session number.
+     */
+    public static int readSession(ByteBuffer buffer) {
+        return buffer.getInt(buffer.position() + 4);
+    }
+
+    /**
+     * Read a packet's sequence number.
+     *
+     * @param buffer a buffer holding a valid packet.
+     * @return the packet's sequence number.
+     */
+    public static long readSequence(ByteBuffer buffer) {
+        return buffer.getLong(buffer.position() + 8);
+    }
+
+    /**
+     * Read the time a packet was sent at.
+     *
+     * @param buffer a buffer holding a valid packet.
+     * @return when the packet was sent, in microseconds.
+     */
+    public static long readSentAt(ByteBuffer buffer) {
+        return buffer.getLong(buffer.position() + 16);
+    }
+
+    /**
+     * Read a packet's controller state.
+     *
+     * @param buffer   a buffer holding a valid packet.
+     * @param channels the array to decode the controller state into.
+     */
+    public static void readChannels(ByteBuffer buffer,
+                                    double[] channels) {
+        int position = buffer.position() + 24;
+
+        for (int i = 0; i < ControllerShaping.AXIS_COUNT; i++) {
+            channels[i] = buffer.getFloat(position);
+            position += 4;
+        }
+
+        int buttons = buffer.getShort(position);
+
+        for (int i = ControllerShaping.AXIS_COUNT;
+             i < Bindings.CHANNEL_COUNT; i++) {
+            boolean pressed =
+                    (buttons & (1 << (i - ControllerShaping.AXIS_COUNT))) != 0;
+
+            channels[i] = pressed ? 1.0 : 0.0;
+        }
+    }
+}
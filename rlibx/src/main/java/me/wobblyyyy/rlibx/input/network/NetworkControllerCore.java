@@ -0,0 +1,476 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.network;
+
+import me.wobblyyyy.rlibx.input.controllers.Bindings;
+import me.wobblyyyy.rlibx.input.controllers.ControllerEncoder;
+import me.wobblyyyy.rlibx.input.controllers.ControllerState;
+import me.wobblyyyy.rlibx.interfaces.ControllerCore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * A controller core that receives controller states over the network.
+ *
+ * <p>
+ * This is designed for bench testing and simulation - you can run a
+ * simulated robot in one process and drive it from a completely separate
+ * process (using a {@link NetworkControllerSender}) over localhost. Packets
+ * are received on a non-blocking {@link DatagramChannel}, so polling this
+ * core never blocks the robot's loop.
+ * </p>
+ *
+ * <p>
+ * Every time the state is requested, every packet that's waiting to be
+ * received is drained. Only the newest packet (the one with the highest
+ * sequence number) is actually used - any packets that arrive out of order,
+ * or are duplicates, are counted as stale and dropped. Gaps in the sequence
+ * numbers are counted as lost packets.
+ * </p>
+ *
+ * <p>
+ * Packets from a different session (a sender that's been restarted) are
+ * only accepted if they were sent after the newest packet that's been
+ * accepted so far. Session numbers are random, so they say nothing about
+ * which sender is newer - without that check, a single late packet from a
+ * sender that's already been replaced would flip the core back to the old
+ * session, and every packet from the new sender after it would be counted
+ * as lost or stale.
+ * </p>
+ *
+ * <p>
+ * If no packets have been received for longer than the core's timeout, the
+ * core reports a neutral state - every button released and every axis
+ * centered. If the sending process crashes, the robot stops. I'd say that's
+ * a pretty important feature.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see ControllerPacket
+ * @see NetworkControllerSender
+ * @since 0.2.0
+ */
+public class NetworkControllerCore implements ControllerCore, Closeable {
+    /**
+     * The default port controller packets are sent to.
+     */
+    public static final int DEFAULT_PORT = 5805;
+
+    /**
+     * The default timeout, in microseconds.
+     */
+    public static final long DEFAULT_TIMEOUT = 250_000;
+
+    /**
+     * How heavily new samples are weighted in latency and jitter averages.
+     * This is the same 1/16 gain RTP uses for its jitter estimate.
+     */
+    private static final double GAIN = 1.0 / 16.0;
+
+    /**
+     * The port packets are received on.
+     */
+    private final int port;
+
+    /**
+     * How long, in microseconds, the core can go without receiving a packet
+     * before it reports a neutral state.
+     */
+    private final long timeout;
+
+    /**
+     * The buffer datagrams are received into.
+     */
+    private final ByteBuffer buffer =
+            ByteBuffer.allocateDirect(ControllerPacket.SIZE * 4);
+
+    /**
+     * The newest received controller state, encoded.
+     */
+    private final double[] channels = new double[Bindings.CHANNEL_COUNT];
+
+    /**
+     * The state that's returned by {@link #getState()}.
+     */
+    private final ControllerState state = new ControllerState();
+
+    /**
+     * A neutral state, returned whenever the connection times out.
+     */
+    private final ControllerState neutral = new ControllerState();
+
+    /**
+     * The channel packets are received on.
+     */
+    private DatagramChannel channel;
+
+    /**
+     * The current sender's session.
+     */
+    private int session;
+
+    /**
+     * Have we received any packets at all yet?
+     */
+    private boolean hasReceived = false;
+
+    /**
+     * The newest sequence number that's been received.
+     */
+    private long lastSequence;
+
+    /**
+     * When the newest accepted packet was sent, in microseconds.
+     */
+    private long lastSentAt;
+
+    /**
+     * When the newest packet was received, in microseconds.
+     */
+    private long lastReceivedAt;
+
+    /**
+     * The transit time (receive time minus send time) of the last packet.
+     */
+    private long lastTransit;
+
+    /**
+     * The total number of packets received, including stale packets.
+     */
+    private long received;
+
+    /**
+     * The number of packets that were never received.
+     */
+    private long lost;
+
+    /**
+     * The number of packets that were dropped for being out of order.
+     */
+    private long stale;
+
+    /**
+     * The number of datagrams that weren't valid controller packets.
+     */
+    private long invalid;
+
+    /**
+     * The most recent packet's latency, in microseconds.
+     */
+    private long latency;
+
+    /**
+     * The smoothed latency, in microseconds.
+     */
+    private double averageLatency;
+
+    /**
+     * The smoothed inter-arrival jitter, in microseconds.
+     */
+    private double jitter;
+
+    /**
+     * Create a new network controller core on the default port.
+     */
+    public NetworkControllerCore() {
+        this(DEFAULT_PORT);
+    }
+
+    /**
+     * Create a new network controller core.
+     *
+     * @param port the port packets should be received on.
+     */
+    public NetworkControllerCore(int port) {
+        this(port, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Create a new network controller core.
+     *
+     * @param port    the port packets should be received on.
+     * @param timeout how long, in microseconds, the core can go without
+     *                receiving a packet before it reports a neutral state.
+     */
+    public NetworkControllerCore(int port,
+                                 long timeout) {
+        this.port = port;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Initialize the component.
+     *
+     * <p>
+     * This opens a non-blocking datagram channel, bound to the loopback
+     * address. If the channel can't be opened, the core will simply report
+     * a neutral state.
+     * </p>
+     */
+    @Override
+    public void init() {
+        try {
+            channel = DatagramChannel.open();
+            channel.configureBlocking(false);
+            channel.bind(new InetSocketAddress(
+                    InetAddress.getLoopbackAddress(),
+                    port
+            ));
+        } catch (IOException e) {
+            e.printStackTrace();
+            channel = null;
+        }
+    }
+
+    /**
+     * Close the core's datagram channel.
+     */
+    @Override
+    public void close() {
+        if (channel == null) return;
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        channel = null;
+    }
+
+    /**
+     * Receive and process every datagram that's waiting in the channel.
+     *
+     * @return whether or not a newer controller state was received.
+     */
+    private boolean drain() {
+        boolean updated = false;
+
+        try {
+            while (true) {
+                buffer.clear();
+
+                if (channel.receive(buffer) == null) break;
+
+                buffer.flip();
+
+                if (!ControllerPacket.isValid(buffer)) {
+                    invalid++;
+                    continue;
+                }
+
+                if (process(buffer)) updated = true;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        return updated;
+    }
+
+    /**
+     * Process a single valid packet.
+     *
+     * @param packet the buffer holding the packet.
+     * @return whether or not the packet was newer than any other packet.
+     */
+    private boolean process(ByteBuffer packet) {
+        long now = ControllerPacket.currentTimeMicros();
+        int packetSession = ControllerPacket.readSession(packet);
+        long sequence = ControllerPacket.readSequence(packet);
+        long sentAt = ControllerPacket.readSentAt(packet);
+
+        received++;
+
+        /*
+         * If the session has changed, the sender has been restarted, and
+         * its sequence numbers have started over. That's only true if the
+         * packet is actually newer than what we've got, though - a late
+         * packet from the old sender has a different session too, and
+         * should be dropped, not adopted.
+         */
+        if (hasReceived && packetSession != session &&
+                sentAt <= lastSentAt) {
+            stale++;
+            return false;
+        }
+
+        if (!hasReceived || packetSession != session) {
+            hasReceived = true;
+            session = packetSession;
+            lastSequence = sequence - 1;
+            lastTransit = now - sentAt;
+            averageLatency = now - sentAt;
+            jitter = 0;
+        }
+
+        if (sequence <= lastSequence) {
+            /*
+             * Out of order, or a duplicate. Either way, we've already got
+             * something newer.
+             */
+            stale++;
+            return false;
+        }
+
+        lost += sequence - lastSequence - 1;
+        lastSequence = sequence;
+        lastSentAt = sentAt;
+        lastReceivedAt = now;
+
+        /*
+         * Latency and jitter.
+         *
+         * Jitter is estimated the same way RTP (RFC 3550) estimates it:
+         * the difference between this packet's transit time and the last
+         * packet's transit time, smoothed.
+         */
+        long transit = now - sentAt;
+
+        latency = transit;
+        averageLatency += (transit - averageLatency) * GAIN;
+        jitter += (Math.abs(transit - lastTransit) - jitter) * GAIN;
+        lastTransit = transit;
+
+        ControllerPacket.readChannels(packet, channels);
+
+        return true;
+    }
+
+    /**
+     * Get the controller's state.
+     *
+     * <p>
+     * The same state object is returned every single time, so this method
+     * doesn't create any garbage.
+     * </p>
+     *
+     * @return the controller's state.
+     */
+    @Override
+    public ControllerState getState() {
+        if (channel == null) return neutral;
+
+        if (drain()) ControllerEncoder.decode(channels, state);
+
+        if (!isConnected()) return neutral;
+
+        return state;
+    }
+
+    /**
+     * Is the core currently receiving packets?
+     *
+     * @return whether or not a packet has been received within the core's
+     * timeout.
+     */
+    public boolean isConnected() {
+        return hasReceived &&
+                ControllerPacket.currentTimeMicros() - lastReceivedAt <=
+                        timeout;
+    }
+
+    /**
+     * Get the port the core receives packets on.
+     *
+     * @return the core's port.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Get the total number of packets received, including stale packets.
+     *
+     * @return how many packets have been received.
+     */
+    public long getReceived() {
+        return received;
+    }
+
+    /**
+     * Get the number of packets that were never received, based on gaps in
+     * the received sequence numbers.
+     *
+     * @return how many packets have been lost.
+     */
+    public long getLost() {
+        return lost;
+    }
+
+    /**
+     * Get the number of packets that were dropped because a newer packet
+     * had already been received.
+     *
+     * @return how many stale packets have been dropped.
+     */
+    public long getStale() {
+        return stale;
+    }
+
+    /**
+     * Get the number of datagrams that weren't valid controller packets.
+     *
+     * @return how many invalid datagrams have been received.
+     */
+    public long getInvalid() {
+        return invalid;
+    }
+
+    /**
+     * Get the latency of the most recent packet.
+     *
+     * @return the most recent packet's latency, in microseconds.
+     */
+    public long getLatency() {
+        return latency;
+    }
+
+    /**
+     * Get the smoothed latency.
+     *
+     * @return the smoothed latency, in microseconds.
+     */
+    public double getAverageLatency() {
+        return averageLatency;
+    }
+
+    /**
+     * Get the smoothed inter-arrival jitter.
+     *
+     * @return the jitter, in microseconds.
+     */
+    public double getJitter() {
+        return jitter;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.network;
+
+import me.wobblyyyy.rlibx.input.controllers.Bindings;
+import me.wobblyyyy.rlibx.input.controllers.ControllerEncoder;
+import me.wobblyyyy.rlibx.input.controllers.ControllerState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends controller states to a {@link NetworkControllerCore}.
+ *
+ * <p>
+ * Senders are meant to run in a separate process from the robot - a
+ * simulated driver station, a test harness, a replay tool, whatever. Each
+ * sender picks a random session number when it's created, so the receiving
+ * core can tell the difference between a sender that's been restarted and
+ * one that's sending packets out of order.
+ * </p>
+ *
+ * <p>
+ * Sending a state doesn't create any garbage - the sender re-uses the same
+ * buffer and channel array for every packet.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see ControllerPacket
+ * @see NetworkControllerCore
+ * @since 0.2.0
+ */
+public class NetworkControllerSender implements Closeable {
+    /**
+     * The channel packets are sent on.
+     */
+    private final DatagramChannel channel;
+
+    /**
+     * The buffer packets are written into.
+     */
+    private final ByteBuffer buffer =
+            ByteBuffer.allocateDirect(ControllerPacket.SIZE);
+
+    /**
+     * Encoded controller state, re-used between packets.
+     */
+    private final double[] channels = new double[Bindings.CHANNEL_COUNT];
+
+    /**
+     * The sender's session number.
+     */
+    private final int session = ThreadLocalRandom.current().nextInt();
+
+    /**
+     * The next sequence number.
+     */
+    private long sequence = 1;
+
+    /**
+     * Create a new sender, sending to the default port on localhost.
+     *
+     * @throws IOException if the sender's channel can't be opened.
+     */
+    public NetworkControllerSender() throws IOException {
+        this(NetworkControllerCore.DEFAULT_PORT);
+    }
+
+    /**
+     * Create a new sender, sending to a port on localhost.
+     *
+     * @param port the port to send packets to.
+     * @throws IOException if the sender's channel can't be opened.
+     */
+    public NetworkControllerSender(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Create a new sender.
+     *
+     * @param address the address to send packets to.
+     * @throws IOException if the sender's channel can't be opened.
+     */
+    public NetworkControllerSender(InetSocketAddress address)
+            throws IOException {
+        channel = DatagramChannel.open();
+        channel.connect(address);
+    }
+
+    /**
+     * Send a controller state.
+     *
+     * @param state the state to send.
+     * @throws IOException if the packet couldn't be sent.
+     */
+    public void send(ControllerState state) throws IOException {
+        ControllerEncoder.encode(state, channels);
+
+        send(channels);
+    }
+
+    /**
+     * Send an encoded controller state.
+     *
+     * @param encoded the encoded state to send. This array must have a
+     *                length of at least {@link Bindings#CHANNEL_COUNT}.
+     * @throws IOException if the packet couldn't be sent.
+     */
+    public void send(double[] encoded) throws IOException {
+        buffer.clear();
+
+        ControllerPacket.write(
+                buffer,
+                session,
+                sequence++,
+                ControllerPacket.currentTimeMicros(),
+                encoded
+        );
+
+        buffer.flip();
+        channel.write(buffer);
+    }
+
+    /**
+     * Get the sequence number of the next packet that'll be sent.
+     *
+     * @return the next sequence number.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Close the sender's channel.
+     *
+     * @throws IOException if the channel couldn't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
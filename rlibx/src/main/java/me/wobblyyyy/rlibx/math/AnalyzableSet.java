@@ -26,9 +26,7 @@
 
 package me.wobblyyyy.rlibx.math;
 
-import me.wobblyyyy.intra.ftc2.utils.math.Math;
-
-import java.util.ArrayList;
+import java.util.function.DoubleConsumer;
 
 /**
  * A set of numbers that can be expanded and analyzed.
@@ -38,20 +36,38 @@ import java.util.ArrayList;
  * can be gleaned based on looking at the stream of inputted data.
  * </p>
  *
+ * <p>
+ * Every statistic is updated in constant time whenever a number is added -
+ * the average and variance are calculated with Welford's algorithm, which is
+ * a lot more accurate than keeping a running sum of squares. Nothing is
+ * stored other than the statistics themselves, so you can add numbers to a
+ * set every loop for an entire match without it slowing down or using up
+ * more and more memory.
+ * </p>
+ *
+ * <p>
+ * Deviations are the differences between consecutive numbers - the second
+ * number minus the first, the third minus the second, and so on. A set
+ * needs at least two numbers to have any deviations.
+ * </p>
+ *
+ * <p>
+ * If you need every number that's been added, rather than just statistics
+ * about them, you can opt in to keeping a history with the
+ * {@link #AnalyzableSet(boolean)} constructor. History is stored as
+ * primitive doubles, so it doesn't box anything.
+ * </p>
+ *
  * @author Colin Robertson
+ * @version 1.1.0
  * @since 0.2.0
  */
-public class AnalyzableSet {
+public class AnalyzableSet implements DoubleConsumer {
     /**
-     * An {@code ArrayList} of all of the numbers added to the set.
+     * Every number added to the set, or null if the set isn't keeping a
+     * history.
      */
-    private final ArrayList<Double> data = new ArrayList<>();
-
-    /**
-     * An {@code ArrayList} of all of the deviations that have been added
-     * to the set.
-     */
-    private final ArrayList<Double> deviations = new ArrayList<>();
+    private final DoubleList history;
 
     /**
      * The last-recorded number.
@@ -66,13 +82,20 @@ public class AnalyzableSet {
     /**
      * How many items are currently in the set.
      */
-    private double currentCount;
+    private long currentCount;
 
     /**
      * The set's current average.
      */
     private double currentAverage;
 
+    /**
+     * The sum of squared differences from the average. This is the "M2"
+     * value from Welford's algorithm - divide it by the count and you've
+     * got the variance.
+     */
+    private double squaredDifferences;
+
     /**
      * The set's minimum.
      */
@@ -104,15 +127,21 @@ public class AnalyzableSet {
     private double maximumDeviation;
 
     /**
-     * Is the current execution cycle the first execution cycle?
+     * Create a new {@code AnalyzableSet} without any values.
      */
-    private boolean isFirst = true;
+    public AnalyzableSet() {
+        this(false);
+    }
 
     /**
      * Create a new {@code AnalyzableSet} without any values.
+     *
+     * @param keepHistory whether or not the set should keep every number
+     *                    that's added to it. If this is false, only
+     *                    statistics about the numbers are kept.
      */
-    public AnalyzableSet() {
-
+    public AnalyzableSet(boolean keepHistory) {
+        history = keepHistory ? new DoubleList() : null;
     }
 
     /**
@@ -121,60 +150,57 @@ public class AnalyzableSet {
      * @param doubles the values that should be analyzed upon construction.
      */
     public AnalyzableSet(double... doubles) {
+        this(false);
+
         for (double d : doubles) {
             analyze(d);
         }
     }
 
-    /**
-     * Unbox an {@code ArrayList} of {@code Double}s into an array of normal
-     * and non-funky doubles.
-     *
-     * @param doubles the doubles to be unboxed.
-     * @return the subsequently-unboxed doubles.
-     */
-    private double[] unboxDoubles(ArrayList<Double> doubles) {
-        double[] array = new double[doubles.size()];
-
-        for (Double d : doubles) {
-            array[doubles.indexOf(d)] = d;
-        }
-
-        return array;
-    }
-
     /**
      * Analyze a given number and update the recorded values to match.
      *
      * @param number the number to analyze.
      */
     private void analyze(double number) {
-        if (isFirst) {
-            isFirst = false;
-            currentSum = 0;
-            currentCount = 0;
-            currentAverage = 0;
-            minimum = number;
-            maximum = number;
-            minimumDeviation = number;
-            maximumDeviation = number;
-        }
-
-        data.add(number);
+        if (history != null) history.add(number);
 
+        currentCount++;
         currentSum += number;
-        currentCount += 1;
-        currentAverage = Math.average(unboxDoubles(data));
 
-        minimum = Math.min(number, minimum);
-        maximum = Math.max(number, maximum);
-
-        lastDeviation = number - lastNumber;
-        deviations.add(lastDeviation);
-        averageDeviation = Math.average(unboxDoubles(deviations));
+        /*
+         * Welford's algorithm. The difference from the old average and the
+         * difference from the new average are multiplied together, which
+         * is what keeps the variance from falling apart when the values
+         * are large and close together.
+         */
+        double delta = number - currentAverage;
+        currentAverage += delta / currentCount;
+        squaredDifferences += delta * (number - currentAverage);
+
+        if (currentCount == 1) {
+            minimum = number;
+            maximum = number;
+        } else {
+            minimum = Math.min(number, minimum);
+            maximum = Math.max(number, maximum);
+
+            lastDeviation = number - lastNumber;
+
+            long deviationCount = currentCount - 1;
+            averageDeviation +=
+                    (lastDeviation - averageDeviation) / deviationCount;
+
+            if (deviationCount == 1) {
+                minimumDeviation = lastDeviation;
+                maximumDeviation = lastDeviation;
+            } else {
+                minimumDeviation = Math.min(lastDeviation, minimumDeviation);
+                maximumDeviation = Math.max(lastDeviation, maximumDeviation);
+            }
+        }
 
-        minimumDeviation = Math.min(lastDeviation, minimumDeviation);
-        maximumDeviation = Math.max(lastDeviation, maximumDeviation);
+        lastNumber = number;
     }
 
     /**
@@ -187,6 +213,37 @@ public class AnalyzableSet {
         analyze(number);
     }
 
+    /**
+     * Add a given number to the set. This is the same as
+     * {@link #add(double)}, and it's here so a set can be used anywhere a
+     * {@link DoubleConsumer} can be.
+     *
+     * @param number the number to add to the set.
+     */
+    @Override
+    public void accept(double number) {
+        analyze(number);
+    }
+
+    /**
+     * Remove every number from the set, and reset every statistic.
+     */
+    public void reset() {
+        if (history != null) history.clear();
+
+        lastNumber = 0;
+        currentSum = 0;
+        currentCount = 0;
+        currentAverage = 0;
+        squaredDifferences = 0;
+        minimum = 0;
+        maximum = 0;
+        lastDeviation = 0;
+        averageDeviation = 0;
+        minimumDeviation = 0;
+        maximumDeviation = 0;
+    }
+
     /**
      * Get the last number.
      *
@@ -196,6 +253,15 @@ public class AnalyzableSet {
         return lastNumber;
     }
 
+    /**
+     * Get how many numbers have been added to the set.
+     *
+     * @return the set's count.
+     */
+    public long getCount() {
+        return currentCount;
+    }
+
     /**
      * Get the current sum.
      *
@@ -214,6 +280,37 @@ public class AnalyzableSet {
         return currentAverage;
     }
 
+    /**
+     * Get the population variance of the set.
+     *
+     * @return the set's variance, or zero if the set is empty.
+     */
+    public double getVariance() {
+        return currentCount > 0 ? squaredDifferences / currentCount : 0;
+    }
+
+    /**
+     * Get the sample variance of the set. This uses Bessel's correction,
+     * dividing by one less than the count.
+     *
+     * @return the set's sample variance, or zero if the set has fewer than
+     * two numbers.
+     */
+    public double getSampleVariance() {
+        return currentCount > 1 ?
+                squaredDifferences / (currentCount - 1) :
+                0;
+    }
+
+    /**
+     * Get the population standard deviation of the set.
+     *
+     * @return the set's standard deviation.
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
     /**
      * Get the current minimum.
      *
@@ -267,4 +364,22 @@ public class AnalyzableSet {
     public double getMaximumDeviation() {
         return maximumDeviation;
     }
+
+    /**
+     * Does the set keep a history of every number that's been added?
+     *
+     * @return whether or not the set keeps a history.
+     */
+    public boolean isKeepingHistory() {
+        return history != null;
+    }
+
+    /**
+     * Get every number that's been added to the set.
+     *
+     * @return the set's history, or null if the set isn't keeping one.
+     */
+    public DoubleList getHistory() {
+        return history;
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive doubles.
+ *
+ * <p>
+ * {@code ArrayList<Double>} boxes every single value it stores, which is a
+ * whole lot of garbage when you're recording a value every loop for an
+ * entire match. This list stores its values in a plain {@code double[]},
+ * which is only re-allocated (doubling in size) when it runs out of room.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see AnalyzableSet
+ * @since 0.2.0
+ */
+public class DoubleList {
+    /**
+     * The default initial capacity.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The list's values. Only the first {@link #size} values are used.
+     */
+    private double[] values;
+
+    /**
+     * How many values are in the list.
+     */
+    private int size = 0;
+
+    /**
+     * Create a new, empty, list with the default initial capacity.
+     */
+    public DoubleList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new, empty, list.
+     *
+     * @param capacity how many values the list can hold before it has to
+     *                 grow.
+     */
+    public DoubleList(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "Capacity must be at least 1!"
+            );
+        }
+
+        values = new double[capacity];
+    }
+
+    /**
+     * Add a value to the end of the list.
+     *
+     * @param value the value to add.
+     */
+    public void add(double value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+
+        values[size++] = value;
+    }
+
+    /**
+     * Get a value from the list.
+     *
+     * @param index the value's index.
+     * @return the value.
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of bounds for size " + size
+            );
+        }
+
+        return values[index];
+    }
+
+    /**
+     * Get how many values are in the list.
+     *
+     * @return the list's size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove every value from the list. The list's capacity isn't changed.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Copy some of the list's values into an array.
+     *
+     * @param from        the index of the first value to copy.
+     * @param destination the array to copy values into.
+     * @param offset      where in the destination array to start copying.
+     * @param length      how many values to copy.
+     */
+    public void copyTo(int from,
+                       double[] destination,
+                       int offset,
+                       int length) {
+        if (from < 0 || length < 0 || from + length > size) {
+            throw new IndexOutOfBoundsException(
+                    "Can't copy " + length + " values from index " + from +
+                            " of a list with size " + size
+            );
+        }
+
+        System.arraycopy(values, from, destination, offset, length);
+    }
+
+    /**
+     * Copy every value in the list into a new array.
+     *
+     * @return a new array, containing every value in the list.
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
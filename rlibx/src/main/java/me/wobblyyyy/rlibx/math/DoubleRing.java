@@ -0,0 +1,193 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+/**
+ * A fixed-size ring buffer of primitive doubles.
+ *
+ * <p>
+ * Once the ring is full, adding a value overwrites the oldest value. Adding
+ * a value is always constant time, and the ring never allocates anything
+ * after it's been created.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see WindowedStatistics
+ * @see RateOfChange
+ * @since 0.2.0
+ */
+public class DoubleRing {
+    /**
+     * The ring's values.
+     */
+    private final double[] values;
+
+    /**
+     * Where the next value will be written.
+     */
+    private int next = 0;
+
+    /**
+     * How many values are in the ring.
+     */
+    private int size = 0;
+
+    /**
+     * Create a new, empty, ring.
+     *
+     * @param capacity how many values the ring can hold.
+     */
+    public DoubleRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "Capacity must be at least 1!"
+            );
+        }
+
+        values = new double[capacity];
+    }
+
+    /**
+     * Add a value to the ring, overwriting the oldest value if the ring is
+     * full.
+     *
+     * @param value the value to add.
+     * @return the value that was overwritten, or zero if nothing was.
+     */
+    public double add(double value) {
+        double evicted = size == values.length ? values[next] : 0;
+
+        values[next] = value;
+        next = next + 1 == values.length ? 0 : next + 1;
+
+        if (size < values.length) size++;
+
+        return evicted;
+    }
+
+    /**
+     * Get a value from the ring.
+     *
+     * @param index the value's index. Zero is the oldest value, and
+     *              {@code size() - 1} is the newest.
+     * @return the value.
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of bounds for size " + size
+            );
+        }
+
+        int position = next - size + index;
+        if (position < 0) position += values.length;
+
+        return values[position];
+    }
+
+    /**
+     * Get the oldest value in the ring.
+     *
+     * @return the oldest value.
+     */
+    public double getOldest() {
+        return get(0);
+    }
+
+    /**
+     * Get the newest value in the ring.
+     *
+     * @return the newest value.
+     */
+    public double getNewest() {
+        return get(size - 1);
+    }
+
+    /**
+     * Copy every value in the ring into an array, oldest first.
+     *
+     * @param destination the array to copy into. It must be at least
+     *                    {@link #size()} long.
+     * @return how many values were copied.
+     */
+    public int copyTo(double[] destination) {
+        int start = next - size;
+
+        if (start >= 0) {
+            System.arraycopy(values, start, destination, 0, size);
+        } else {
+            int tail = -start;
+
+            System.arraycopy(
+                    values,
+                    values.length - tail,
+                    destination,
+                    0,
+                    tail
+            );
+            System.arraycopy(values, 0, destination, tail, next);
+        }
+
+        return size;
+    }
+
+    /**
+     * Get how many values are in the ring.
+     *
+     * @return the ring's size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get how many values the ring can hold.
+     *
+     * @return the ring's capacity.
+     */
+    public int capacity() {
+        return values.length;
+    }
+
+    /**
+     * Is the ring full?
+     *
+     * @return whether or not the ring is full.
+     */
+    public boolean isFull() {
+        return size == values.length;
+    }
+
+    /**
+     * Remove every value from the ring.
+     */
+    public void clear() {
+        next = 0;
+        size = 0;
+    }
+}
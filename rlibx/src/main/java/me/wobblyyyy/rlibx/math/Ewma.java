@@ -0,0 +1,169 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * An exponentially-weighted moving average.
+ *
+ * <p>
+ * Rather than a smoothing factor, EWMAs here are configured with a
+ * half-life: how long it takes for a value's influence on the average to
+ * drop by half. That's a lot easier to reason about than "alpha = 0.0347"
+ * and, more importantly, it still means the same thing if your loop speeds
+ * up or slows down.
+ * </p>
+ *
+ * <p>
+ * The half-life is in whatever units you pass as elapsed time. If you use
+ * {@link #accept(double)}, every value counts as one unit, so the half-life
+ * is a number of samples. If you use {@link #accept(double, double)} with
+ * elapsed time in seconds, the half-life is in seconds, and irregular loop
+ * times are handled correctly.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class Ewma implements DoubleConsumer {
+    /**
+     * The EWMA's half-life.
+     */
+    private final double halfLife;
+
+    /**
+     * The smoothing factor for a single unit of elapsed time.
+     */
+    private final double unitAlpha;
+
+    /**
+     * The current average.
+     */
+    private double average;
+
+    /**
+     * Has the average been given any values yet?
+     */
+    private boolean hasValue = false;
+
+    /**
+     * Create a new EWMA.
+     *
+     * @param halfLife the EWMA's half-life. This must be positive.
+     */
+    public Ewma(double halfLife) {
+        if (!(halfLife > 0)) {
+            throw new IllegalArgumentException(
+                    "Half-life must be positive!"
+            );
+        }
+
+        this.halfLife = halfLife;
+        this.unitAlpha = alpha(1);
+    }
+
+    /**
+     * Calculate the smoothing factor for a given amount of elapsed time.
+     *
+     * @param elapsed how much time has elapsed.
+     * @return the smoothing factor.
+     */
+    private double alpha(double elapsed) {
+        return 1 - Math.pow(2, -elapsed / halfLife);
+    }
+
+    /**
+     * Add a value, with one unit of time elapsed since the last value.
+     *
+     * @param value the value to add.
+     */
+    @Override
+    public void accept(double value) {
+        update(value, unitAlpha);
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value   the value to add.
+     * @param elapsed how much time has elapsed since the last value, in the
+     *                same units as the half-life.
+     */
+    public void accept(double value,
+                       double elapsed) {
+        update(value, alpha(elapsed));
+    }
+
+    /**
+     * Update the average.
+     *
+     * @param value the new value.
+     * @param alpha the smoothing factor.
+     */
+    private void update(double value,
+                        double alpha) {
+        if (!hasValue) {
+            /*
+             * Start at the first value instead of at zero - otherwise, the
+             * average would spend its first few half-lives climbing up to
+             * wherever the values actually are.
+             */
+            average = value;
+            hasValue = true;
+        } else {
+            average += (value - average) * alpha;
+        }
+    }
+
+    /**
+     * Get the current average.
+     *
+     * @return the average, or zero if no values have been added.
+     */
+    public double getAverage() {
+        return average;
+    }
+
+    /**
+     * Get the EWMA's half-life.
+     *
+     * @return the half-life.
+     */
+    public double getHalfLife() {
+        return halfLife;
+    }
+
+    /**
+     * Forget every value that's been added.
+     */
+    public void reset() {
+        average = 0;
+        hasValue = false;
+    }
+}
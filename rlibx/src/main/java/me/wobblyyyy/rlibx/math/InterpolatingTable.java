@@ -0,0 +1,328 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A lookup table that interpolates between its entries.
+ *
+ * <p>
+ * Tables like these are everywhere in robotics - shooter speed based on
+ * distance to the goal, arm feedforward based on angle, that sort of
+ * thing. You measure a handful of points and let the table fill in the
+ * gaps. Keys are stored in a sorted primitive array, so a lookup is a
+ * binary search followed by a bit of arithmetic. Nothing is boxed, and
+ * nothing is allocated.
+ * </p>
+ *
+ * <p>
+ * Keys outside of the table's range are clamped to the nearest end of the
+ * table - the table never extrapolates. Looking up NaN gets you NaN, so a
+ * broken sensor reading doesn't quietly turn into the first entry.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class InterpolatingTable implements DoubleUnaryOperator {
+    /**
+     * How values between a table's entries are calculated.
+     */
+    public enum Interpolation {
+        /**
+         * Draw a straight line between neighboring entries.
+         */
+        LINEAR,
+
+        /**
+         * Fit a smooth curve through the entries. The curve is a monotone
+         * cubic (Fritsch-Carlson), so it never overshoots - if the table's
+         * values only go up, the interpolated values only go up too.
+         */
+        CUBIC
+    }
+
+    /**
+     * The table's keys, in strictly increasing order.
+     */
+    private final double[] keys;
+
+    /**
+     * The table's values.
+     */
+    private final double[] values;
+
+    /**
+     * The curve's slope at each key, or null if the table is linear.
+     */
+    private final double[] slopes;
+
+    /**
+     * How the table interpolates.
+     */
+    private final Interpolation interpolation;
+
+    /**
+     * Create a new, linear, interpolating table.
+     *
+     * @param keys   the table's keys. These have to be finite and in
+     *               strictly increasing order.
+     * @param values the table's values.
+     */
+    public InterpolatingTable(double[] keys,
+                              double[] values) {
+        this(keys, values, Interpolation.LINEAR);
+    }
+
+    /**
+     * Create a new interpolating table.
+     *
+     * <p>
+     * Both arrays are copied, so changing them afterwards doesn't change
+     * the table.
+     * </p>
+     *
+     * @param keys          the table's keys. These have to be finite and
+     *                      in strictly increasing order.
+     * @param values        the table's values.
+     * @param interpolation how values between entries should be
+     *                      calculated.
+     */
+    public InterpolatingTable(double[] keys,
+                              double[] values,
+                              Interpolation interpolation) {
+        if (keys.length == 0 || keys.length != values.length) {
+            throw new IllegalArgumentException(
+                    "Interpolating tables need at least one entry, and " +
+                            "the same number of keys as values!"
+            );
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            if (!Double.isFinite(keys[i]) ||
+                    (i > 0 && !(keys[i] > keys[i - 1]))) {
+                throw new IllegalArgumentException(
+                        "Interpolating table keys must be finite and in " +
+                                "strictly increasing order!"
+                );
+            }
+        }
+
+        this.keys = keys.clone();
+        this.values = values.clone();
+        this.interpolation = interpolation;
+        this.slopes = interpolation == Interpolation.CUBIC ?
+                monotoneSlopes(this.keys, this.values) :
+                null;
+    }
+
+    /**
+     * Create a new interpolating table from a map - a {@code TreeMap}
+     * that's being used as a lookup table, for example.
+     *
+     * @param entries       the table's entries. Keys have to be finite.
+     * @param interpolation how values between entries should be
+     *                      calculated.
+     * @return a new interpolating table.
+     */
+    public static InterpolatingTable of(Map<Double, Double> entries,
+                                        Interpolation interpolation) {
+        double[] keys = new double[entries.size()];
+        int i = 0;
+
+        for (double key : entries.keySet()) keys[i++] = key;
+
+        Arrays.sort(keys);
+
+        double[] values = new double[keys.length];
+
+        for (i = 0; i < keys.length; i++) values[i] = entries.get(keys[i]);
+
+        return new InterpolatingTable(keys, values, interpolation);
+    }
+
+    /**
+     * Calculate the slope of a monotone cubic curve at each key, using the
+     * Fritsch-Carlson method.
+     *
+     * @param keys   the table's keys.
+     * @param values the table's values.
+     * @return the slope at each key.
+     */
+    private static double[] monotoneSlopes(double[] keys,
+                                           double[] values) {
+        int n = keys.length;
+        double[] slopes = new double[n];
+
+        if (n < 2) return slopes;
+
+        double[] secants = new double[n - 1];
+
+        for (int i = 0; i < n - 1; i++) {
+            secants[i] = (values[i + 1] - values[i]) / (keys[i + 1] - keys[i]);
+        }
+
+        /*
+         * Start with the average of the neighboring secants - or zero, at
+         * any local minimum or maximum, so the curve doesn't go past it.
+         */
+        slopes[0] = secants[0];
+        slopes[n - 1] = secants[n - 2];
+
+        for (int i = 1; i < n - 1; i++) {
+            slopes[i] = secants[i - 1] * secants[i] <= 0 ?
+                    0 :
+                    (secants[i - 1] + secants[i]) / 2;
+        }
+
+        /*
+         * Then scale down any slopes that are steep enough to make the
+         * curve overshoot.
+         */
+        for (int i = 0; i < n - 1; i++) {
+            if (secants[i] == 0) {
+                slopes[i] = 0;
+                slopes[i + 1] = 0;
+                continue;
+            }
+
+            double a = slopes[i] / secants[i];
+            double b = slopes[i + 1] / secants[i];
+            double s = a * a + b * b;
+
+            if (s > 9) {
+                double tau = 3 / Math.sqrt(s);
+
+                slopes[i] = tau * a * secants[i];
+                slopes[i + 1] = tau * b * secants[i];
+            }
+        }
+
+        return slopes;
+    }
+
+    /**
+     * Look up a value.
+     *
+     * @param key the key to look up.
+     * @return the interpolated value. Keys outside the table's range get
+     * the value at the nearest end of the table, and a key that isn't a
+     * number gets a value that isn't a number.
+     */
+    public double get(double key) {
+        int last = keys.length - 1;
+
+        if (Double.isNaN(key)) return Double.NaN;
+        if (!(key > keys[0])) return values[0];
+        if (!(key < keys[last])) return values[last];
+
+        int i = Arrays.binarySearch(keys, key);
+
+        if (i >= 0) return values[i];
+
+        /*
+         * The key's between two entries - i is now the index of the entry
+         * just below it.
+         */
+        i = -i - 2;
+
+        double x0 = keys[i];
+        double h = keys[i + 1] - x0;
+        double t = (key - x0) / h;
+        double y0 = values[i];
+        double y1 = values[i + 1];
+
+        if (slopes == null) return y0 + (y1 - y0) * t;
+
+        /*
+         * Cubic Hermite interpolation, written as an offset from y0 so a
+         * flat stretch of the table comes out exactly flat, instead of
+         * wobbling by a rounding error.
+         */
+        double t2 = t * t;
+        double t3 = t2 * t;
+
+        return y0 +
+                (3 * t2 - 2 * t3) * (y1 - y0) +
+                (t3 - 2 * t2 + t) * h * slopes[i] +
+                (t3 - t2) * h * slopes[i + 1];
+    }
+
+    /**
+     * Look up a value.
+     *
+     * @param key the key to look up.
+     * @return the interpolated value.
+     * @see #get(double)
+     */
+    @Override
+    public double applyAsDouble(double key) {
+        return get(key);
+    }
+
+    /**
+     * Get how many entries are in the table.
+     *
+     * @return the table's size.
+     */
+    public int getSize() {
+        return keys.length;
+    }
+
+    /**
+     * Get one of the table's keys.
+     *
+     * @param index the entry's index.
+     * @return the entry's key.
+     */
+    public double getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Get one of the table's values.
+     *
+     * @param index the entry's index.
+     * @return the entry's value.
+     */
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Get how the table interpolates.
+     *
+     * @return the table's interpolation.
+     */
+    public Interpolation getInterpolation() {
+        return interpolation;
+    }
+}
@@ -0,0 +1,608 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A fixed-memory estimate of a distribution, used for finding quantiles.
+ *
+ * <p>
+ * Say you want to know your loop time's 99th percentile over an entire
+ * match. The exact answer means keeping every loop time and sorting them -
+ * for a 200 Hz loop, that's tens of thousands of values per match. A
+ * quantile sketch gets you an answer that's very close to exact, using a
+ * fixed (and small) amount of memory, no matter how many values it's fed.
+ * </p>
+ *
+ * <p>
+ * This is a merging t-digest. Values are clustered into centroids - a mean
+ * and a weight (how many values the centroid represents). Centroids near
+ * the middle of the distribution are allowed to get big, while centroids
+ * near the tails are kept small, which is why extreme quantiles like the
+ * 99th or 99.9th percentile are so accurate. The compression parameter
+ * controls the trade-off between size and accuracy: a sketch never has
+ * more than {@code 3 * compression} centroids, and with the default
+ * compression of 100, quantiles are usually within a tenth of a percent
+ * (in rank) of the exact answer - and much closer than that at the tails.
+ * </p>
+ *
+ * <p>
+ * New values are collected in a buffer. Once the buffer fills up, it's
+ * sorted and merged into the centroids in a single pass. Adding a value
+ * doesn't allocate anything, and the cost of merging is spread out over
+ * every value in the buffer.
+ * </p>
+ *
+ * <p>
+ * Sketches aren't thread-safe. If several threads are recording values,
+ * give each thread its own sketch and {@link #merge(QuantileSketch)} them
+ * together afterwards. Sketches can also be written to (and read from) a
+ * {@link ByteBuffer}, so sketches from different matches can be saved and
+ * combined later.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class QuantileSketch implements DoubleConsumer {
+    /**
+     * The default compression.
+     */
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    /**
+     * Written at the start of every serialized sketch.
+     */
+    private static final int MAGIC = 0x54444731;
+
+    /**
+     * The sketch's compression.
+     */
+    private final double compression;
+
+    /**
+     * The mean of each centroid, sorted.
+     */
+    private final double[] means;
+
+    /**
+     * The weight of each centroid.
+     */
+    private final double[] weights;
+
+    /**
+     * How many centroids there are.
+     */
+    private int centroids = 0;
+
+    /**
+     * Values that haven't been merged into the centroids yet.
+     */
+    private final double[] buffer;
+
+    /**
+     * How many values are in the buffer.
+     */
+    private int buffered = 0;
+
+    /**
+     * Scratch space for merging, holding centroid means.
+     */
+    private double[] mergeMeans;
+
+    /**
+     * Scratch space for merging, holding centroid weights.
+     */
+    private double[] mergeWeights;
+
+    /**
+     * The total weight of every centroid (not including the buffer).
+     */
+    private double totalWeight = 0;
+
+    /**
+     * The smallest value the sketch has seen.
+     */
+    private double minimum = Double.POSITIVE_INFINITY;
+
+    /**
+     * The largest value the sketch has seen.
+     */
+    private double maximum = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Create a new quantile sketch with the default compression.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Create a new quantile sketch.
+     *
+     * @param compression the sketch's compression. Higher values are more
+     *                    accurate and use more memory. Somewhere between
+     *                    50 and 500 is usually reasonable.
+     */
+    public QuantileSketch(double compression) {
+        if (!(compression >= 10)) {
+            throw new IllegalArgumentException(
+                    "Compression must be at least 10!"
+            );
+        }
+
+        this.compression = compression;
+
+        /*
+         * While the sketch is still small, the scale function can ask for
+         * a few more centroids than the usual limit, so leave some room.
+         */
+        int capacity = 3 * (int) Math.ceil(compression) + 10;
+        int bufferSize = 5 * (int) Math.ceil(compression);
+
+        means = new double[capacity];
+        weights = new double[capacity];
+        buffer = new double[bufferSize];
+        mergeMeans = new double[capacity + bufferSize];
+        mergeWeights = new double[capacity + bufferSize];
+    }
+
+    /**
+     * Get the normalizer used by the scale function. This depends on how
+     * many values the sketch has seen, which keeps the number of centroids
+     * roughly constant as the sketch grows. The factor of 4 lets the sketch
+     * use most of its centroid budget - without it, the middle of the
+     * distribution ends up with only a handful of very large centroids.
+     *
+     * @return the scale function's normalizer.
+     */
+    private double normalizer() {
+        return 4 * compression /
+                (4 * Math.log(Math.max(totalWeight / compression, 1)) + 24);
+    }
+
+    /**
+     * The t-digest scale function: maps a quantile to a "k" value. Each
+     * centroid can span at most one unit of k, and k changes fastest near
+     * the tails, which is what keeps the centroids near the tails small.
+     *
+     * <p>
+     * This is the logarithmic scale function from the t-digest paper
+     * (usually called k2), which gives the extreme quantiles quite a bit
+     * more resolution than the original arcsine one.
+     * </p>
+     *
+     * @param q          the quantile.
+     * @param normalizer the scale function's normalizer.
+     * @return the quantile's k value.
+     */
+    private static double k(double q,
+                            double normalizer) {
+        if (q <= 0) return Double.NEGATIVE_INFINITY;
+        if (q >= 1) return Double.POSITIVE_INFINITY;
+
+        return normalizer * Math.log(q / (1 - q));
+    }
+
+    /**
+     * The inverse of {@link #k(double, double)}.
+     *
+     * @param k          a k value.
+     * @param normalizer the scale function's normalizer.
+     * @return the k value's quantile.
+     */
+    private static double q(double k,
+                            double normalizer) {
+        return 1 / (1 + Math.exp(-k / normalizer));
+    }
+
+    /**
+     * Add a value to the sketch.
+     *
+     * @param value the value to add. NaN values are ignored.
+     */
+    @Override
+    public void accept(double value) {
+        if (Double.isNaN(value)) return;
+
+        if (buffered == buffer.length) flush();
+
+        buffer[buffered++] = value;
+        minimum = Math.min(minimum, value);
+        maximum = Math.max(maximum, value);
+    }
+
+    /**
+     * Add a value to the sketch.
+     *
+     * @param value the value to add.
+     */
+    public void add(double value) {
+        accept(value);
+    }
+
+    /**
+     * Make sure the merge scratch space can hold a given number of
+     * centroids.
+     *
+     * @param size how many centroids the scratch space needs to hold.
+     */
+    private void ensureScratch(int size) {
+        if (mergeMeans.length < size) {
+            mergeMeans = new double[size];
+            mergeWeights = new double[size];
+        }
+    }
+
+    /**
+     * Merge every buffered value into the centroids.
+     */
+    private void flush() {
+        if (buffered == 0) return;
+
+        Arrays.sort(buffer, 0, buffered);
+
+        /*
+         * Both the centroids and the buffer are sorted, so they can be
+         * merged together like the last step of a merge sort.
+         */
+        int i = 0;
+        int j = 0;
+        int n = 0;
+
+        while (i < centroids || j < buffered) {
+            if (j == buffered || (i < centroids && means[i] <= buffer[j])) {
+                mergeMeans[n] = means[i];
+                mergeWeights[n++] = weights[i++];
+            } else {
+                mergeMeans[n] = buffer[j++];
+                mergeWeights[n++] = 1;
+            }
+        }
+
+        totalWeight += buffered;
+        buffered = 0;
+
+        compress(n);
+    }
+
+    /**
+     * Compress sorted centroids from the scratch space back into the
+     * sketch's centroids.
+     *
+     * @param n how many centroids are in the scratch space.
+     */
+    private void compress(int n) {
+        double normalizer = normalizer();
+        double soFar = 0;
+        double limit = 0;
+        double mean = mergeMeans[0];
+        double weight = mergeWeights[0];
+
+        centroids = 0;
+
+        for (int i = 1; i < n; i++) {
+            double nextMean = mergeMeans[i];
+            double nextWeight = mergeWeights[i];
+
+            if (soFar + weight + nextWeight <= limit ||
+                    centroids == means.length - 1) {
+                /*
+                 * The next centroid fits within this centroid's k span,
+                 * so the two get combined into one.
+                 */
+                weight += nextWeight;
+                mean += (nextMean - mean) * nextWeight / weight;
+            } else {
+                means[centroids] = mean;
+                weights[centroids++] = weight;
+
+                soFar += weight;
+                limit = totalWeight * q(
+                        k(soFar / totalWeight, normalizer) + 1,
+                        normalizer
+                );
+
+                mean = nextMean;
+                weight = nextWeight;
+            }
+        }
+
+        means[centroids] = mean;
+        weights[centroids++] = weight;
+    }
+
+    /**
+     * Merge another sketch into this one. The other sketch isn't modified
+     * (other than flushing its buffer).
+     *
+     * @param other the sketch to merge into this one.
+     */
+    public void merge(QuantileSketch other) {
+        flush();
+        other.flush();
+
+        if (other.centroids == 0) return;
+
+        ensureScratch(centroids + other.centroids);
+
+        int i = 0;
+        int j = 0;
+        int n = 0;
+
+        while (i < centroids || j < other.centroids) {
+            if (j == other.centroids ||
+                    (i < centroids && means[i] <= other.means[j])) {
+                mergeMeans[n] = means[i];
+                mergeWeights[n++] = weights[i++];
+            } else {
+                mergeMeans[n] = other.means[j];
+                mergeWeights[n++] = other.weights[j++];
+            }
+        }
+
+        totalWeight += other.totalWeight;
+        minimum = Math.min(minimum, other.minimum);
+        maximum = Math.max(maximum, other.maximum);
+
+        compress(n);
+    }
+
+    /**
+     * Estimate a quantile.
+     *
+     * @param q the quantile, between 0 and 1. 0.5 is the median, 0.99 is
+     *          the 99th percentile, and so on.
+     * @return the estimated value at that quantile, or NaN if the sketch
+     * is empty.
+     */
+    public double getQuantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException(
+                    "Quantiles must be between 0 and 1, not " + q + "."
+            );
+        }
+
+        flush();
+
+        if (centroids == 0) return Double.NaN;
+        if (q == 0) return minimum;
+        if (q == 1) return maximum;
+
+        double index = q * totalWeight;
+
+        /*
+         * Each centroid's mean is treated as sitting at the middle of its
+         * weight. Before the first centroid's middle, interpolate from the
+         * minimum, and after the last centroid's middle, interpolate to the
+         * maximum. A single centroid is both, so it goes from the minimum,
+         * through its mean at the median, to the maximum.
+         */
+        if (index < weights[0] / 2) {
+            return minimum + (means[0] - minimum) * index / (weights[0] / 2);
+        }
+
+        double soFar = weights[0] / 2;
+
+        for (int i = 0; i < centroids - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+
+            if (index < soFar + gap) {
+                double fraction = (index - soFar) / gap;
+
+                return means[i] + (means[i + 1] - means[i]) * fraction;
+            }
+
+            soFar += gap;
+        }
+
+        double last = weights[centroids - 1] / 2;
+        double fraction = Math.min(1, (index - soFar) / last);
+
+        return means[centroids - 1] +
+                (maximum - means[centroids - 1]) * fraction;
+    }
+
+    /**
+     * Estimate the median.
+     *
+     * @return the estimated median.
+     */
+    public double getMedian() {
+        return getQuantile(0.5);
+    }
+
+    /**
+     * Get how many values the sketch has seen.
+     *
+     * @return the sketch's count.
+     */
+    public long getCount() {
+        return (long) totalWeight + buffered;
+    }
+
+    /**
+     * Get the smallest value the sketch has seen.
+     *
+     * @return the minimum, or positive infinity if the sketch is empty.
+     */
+    public double getMinimum() {
+        return minimum;
+    }
+
+    /**
+     * Get the largest value the sketch has seen.
+     *
+     * @return the maximum, or negative infinity if the sketch is empty.
+     */
+    public double getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * Get the sketch's compression.
+     *
+     * @return the sketch's compression.
+     */
+    public double getCompression() {
+        return compression;
+    }
+
+    /**
+     * Get how many centroids the sketch currently has.
+     *
+     * @return the sketch's centroid count.
+     */
+    public int getCentroidCount() {
+        flush();
+
+        return centroids;
+    }
+
+    /**
+     * Remove every value from the sketch.
+     */
+    public void reset() {
+        centroids = 0;
+        buffered = 0;
+        totalWeight = 0;
+        minimum = Double.POSITIVE_INFINITY;
+        maximum = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Get how many bytes {@link #write(ByteBuffer)} will write.
+     *
+     * @return the sketch's serialized size, in bytes.
+     */
+    public int getSerializedSize() {
+        flush();
+
+        return 4 + 8 + 8 + 8 + 8 + 4 + (centroids * 16);
+    }
+
+    /**
+     * Write the sketch into a buffer.
+     *
+     * @param out the buffer to write to. It must have at least
+     *            {@link #getSerializedSize()} bytes remaining.
+     */
+    public void write(ByteBuffer out) {
+        flush();
+
+        out.putInt(MAGIC);
+        out.putDouble(compression);
+        out.putDouble(totalWeight);
+        out.putDouble(minimum);
+        out.putDouble(maximum);
+        out.putInt(centroids);
+
+        for (int i = 0; i < centroids; i++) {
+            out.putDouble(means[i]);
+            out.putDouble(weights[i]);
+        }
+    }
+
+    /**
+     * Read a sketch from a buffer.
+     *
+     * <p>
+     * Everything that's read is checked before it's used. A centroid count
+     * that's negative, or larger than what's left in the buffer, or
+     * centroid weights that don't add up to the sketch's total weight, mean
+     * the buffer's been corrupted (or wasn't written by
+     * {@link #write(ByteBuffer)} at all).
+     * </p>
+     *
+     * @param in the buffer to read from.
+     * @return the sketch that was read.
+     * @throws IllegalArgumentException if the buffer doesn't hold a valid
+     *                                  sketch.
+     */
+    public static QuantileSketch read(ByteBuffer in) {
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException(
+                    "The buffer doesn't hold a quantile sketch!"
+            );
+        }
+
+        QuantileSketch sketch = new QuantileSketch(in.getDouble());
+        double totalWeight = in.getDouble();
+        double minimum = in.getDouble();
+        double maximum = in.getDouble();
+        int count = in.getInt();
+
+        if (count < 0 || count > in.remaining() / 16) {
+            throw new IllegalArgumentException(
+                    "The sketch claims to have " + count + " centroids, " +
+                            "but the buffer only has room for " +
+                            (in.remaining() / 16) + "."
+            );
+        }
+
+        sketch.ensureScratch(count);
+
+        double sum = 0;
+
+        for (int i = 0; i < count; i++) {
+            sketch.mergeMeans[i] = in.getDouble();
+            sketch.mergeWeights[i] = in.getDouble();
+
+            if (!(sketch.mergeWeights[i] > 0)) {
+                throw new IllegalArgumentException(
+                        "Centroid weights must be positive, not " +
+                                sketch.mergeWeights[i] + "."
+                );
+            }
+
+            sum += sketch.mergeWeights[i];
+        }
+
+        /*
+         * Weights are sums of whole numbers, so they should add up exactly,
+         * but leave a little room for rounding anyway.
+         */
+        if (!(Math.abs(sum - totalWeight) <= totalWeight * 1e-9)) {
+            throw new IllegalArgumentException(
+                    "The sketch's centroid weights add up to " + sum +
+                            ", but its total weight is " + totalWeight + "."
+            );
+        }
+
+        sketch.totalWeight = totalWeight;
+        sketch.minimum = minimum;
+        sketch.maximum = maximum;
+
+        if (count > 0) sketch.compress(count);
+
+        return sketch;
+    }
+}
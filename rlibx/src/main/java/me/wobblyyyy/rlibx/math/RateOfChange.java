@@ -0,0 +1,138 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * The rate of change of a value, measured over a window of samples.
+ *
+ * <p>
+ * Differentiating a noisy signal (say, encoder counts) between two
+ * consecutive samples is a great way to turn a little bit of noise into a
+ * whole lot of noise. Measuring the change between the oldest and newest
+ * samples of a window smooths that out, at the cost of a bit of lag.
+ * </p>
+ *
+ * <p>
+ * Rates are in units per second.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class RateOfChange implements DoubleConsumer {
+    /**
+     * The values in the window.
+     */
+    private final DoubleRing values;
+
+    /**
+     * The time each value was added, in seconds.
+     */
+    private final DoubleRing times;
+
+    /**
+     * Create a new rate of change.
+     *
+     * @param size how many samples the rate is measured over. The rate is
+     *             the change between the oldest and newest of these
+     *             samples, so this must be at least 2.
+     */
+    public RateOfChange(int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException(
+                    "Rates need a window of at least 2 samples!"
+            );
+        }
+
+        values = new DoubleRing(size);
+        times = new DoubleRing(size);
+    }
+
+    /**
+     * Add a value, timestamped with the system's clock.
+     *
+     * @param value the value to add.
+     */
+    @Override
+    public void accept(double value) {
+        acceptAt(value, System.nanoTime() * 1e-9);
+    }
+
+    /**
+     * Add a value that was measured at a given time.
+     *
+     * <p>
+     * The time is an absolute timestamp, not the time since the last value
+     * - that's why this isn't just another {@code accept} overload, like
+     * {@link Ewma#accept(double, double)}, which takes elapsed time.
+     * </p>
+     *
+     * @param value the value to add.
+     * @param time  the time the value was measured at, in seconds.
+     */
+    public void acceptAt(double value,
+                         double time) {
+        values.add(value);
+        times.add(time);
+    }
+
+    /**
+     * Get the rate of change over the window.
+     *
+     * @return the rate of change, in units per second, or zero if there
+     * aren't enough samples to measure a rate.
+     */
+    public double getRate() {
+        if (values.size() < 2) return 0;
+
+        double elapsed = times.getNewest() - times.getOldest();
+
+        if (elapsed <= 0) return 0;
+
+        return (values.getNewest() - values.getOldest()) / elapsed;
+    }
+
+    /**
+     * Get how many samples are in the window.
+     *
+     * @return the window's count.
+     */
+    public int getCount() {
+        return values.size();
+    }
+
+    /**
+     * Remove every sample from the window.
+     */
+    public void reset() {
+        values.clear();
+        times.clear();
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * The last N timestamped values of something.
+ *
+ * <p>
+ * Telemetry, encoder history, replaying a match - all of these need to know
+ * what a value was at some point in the past. A time series stores samples
+ * (a timestamp and a value) in a fixed-size ring: once it's full, each new
+ * sample overwrites the oldest one. Timestamps and values are kept in
+ * separate primitive arrays, so nothing is ever boxed, and nothing is
+ * allocated after the series has been created.
+ * </p>
+ *
+ * <p>
+ * For big histories - a full match at 1 kHz is 150,000 samples, and you
+ * might want dozens of those - a time series can be stored off-heap, in
+ * direct byte buffers. Off-heap storage doesn't count towards the Java
+ * heap at all, so the garbage collector never has to look at it.
+ * </p>
+ *
+ * <p>
+ * Timestamps can be in whatever unit you'd like (nanoseconds, microseconds,
+ * milliseconds...), but they have to be added in order - each sample's
+ * timestamp must be at least as large as the one before it. Because of
+ * that, looking up a timestamp is a binary search, and takes O(log n) time.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class TimeSeries {
+    /**
+     * The largest capacity a time series can have, limited by the size of
+     * a direct byte buffer.
+     */
+    public static final int MAX_CAPACITY = Integer.MAX_VALUE / 8;
+
+    /**
+     * Each sample's timestamp.
+     */
+    private final LongBuffer times;
+
+    /**
+     * Each sample's value.
+     */
+    private final DoubleBuffer values;
+
+    /**
+     * How many samples the series can hold.
+     */
+    private final int capacity;
+
+    /**
+     * Is the series stored off-heap?
+     */
+    private final boolean isDirect;
+
+    /**
+     * The physical index of the oldest sample.
+     */
+    private int head = 0;
+
+    /**
+     * How many samples are in the series.
+     */
+    private int size = 0;
+
+    /**
+     * Create a new time series, stored on the heap.
+     *
+     * @param capacity how many samples the series can hold.
+     */
+    public TimeSeries(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Create a new time series.
+     *
+     * @param capacity how many samples the series can hold.
+     * @param isDirect if true, the series is stored off-heap, in direct byte
+     *                 buffers. If false, it's stored in plain arrays.
+     */
+    public TimeSeries(int capacity,
+                      boolean isDirect) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                    "Capacity must be between 1 and " + MAX_CAPACITY + "!"
+            );
+        }
+
+        this.capacity = capacity;
+        this.isDirect = isDirect;
+
+        if (isDirect) {
+            times = ByteBuffer.allocateDirect(capacity * 8)
+                    .order(ByteOrder.nativeOrder())
+                    .asLongBuffer();
+            values = ByteBuffer.allocateDirect(capacity * 8)
+                    .order(ByteOrder.nativeOrder())
+                    .asDoubleBuffer();
+        } else {
+            times = LongBuffer.wrap(new long[capacity]);
+            values = DoubleBuffer.wrap(new double[capacity]);
+        }
+    }
+
+    /**
+     * Convert a logical index (0 is the oldest sample) into a physical
+     * index into the storage buffers.
+     *
+     * @param index the logical index.
+     * @return the physical index.
+     */
+    private int physical(int index) {
+        int position = head + index;
+
+        return position >= capacity ? position - capacity : position;
+    }
+
+    /**
+     * Add a sample to the series, overwriting the oldest sample if the
+     * series is full.
+     *
+     * @param time  the sample's timestamp. This can't be earlier than the
+     *              newest sample's timestamp.
+     * @param value the sample's value.
+     */
+    public void add(long time,
+                    double value) {
+        if (size > 0 && time < getNewestTime()) {
+            throw new IllegalArgumentException(
+                    "Samples have to be added in order! " + time +
+                            " is earlier than " + getNewestTime() + "."
+            );
+        }
+
+        int index;
+
+        if (size < capacity) {
+            index = physical(size);
+            size++;
+        } else {
+            index = head;
+            head = head + 1 == capacity ? 0 : head + 1;
+        }
+
+        times.put(index, time);
+        values.put(index, value);
+    }
+
+    /**
+     * Get a sample's timestamp.
+     *
+     * @param index the sample's index. Zero is the oldest sample.
+     * @return the sample's timestamp.
+     */
+    public long getTime(int index) {
+        checkIndex(index);
+
+        return times.get(physical(index));
+    }
+
+    /**
+     * Get a sample's value.
+     *
+     * @param index the sample's index. Zero is the oldest sample.
+     * @return the sample's value.
+     */
+    public double getValue(int index) {
+        checkIndex(index);
+
+        return values.get(physical(index));
+    }
+
+    /**
+     * Make sure an index refers to a sample in the series.
+     *
+     * @param index the index to check.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of bounds for size " + size
+            );
+        }
+    }
+
+    /**
+     * Get the oldest sample's timestamp.
+     *
+     * @return the oldest timestamp.
+     */
+    public long getOldestTime() {
+        return getTime(0);
+    }
+
+    /**
+     * Get the newest sample's timestamp.
+     *
+     * @return the newest timestamp.
+     */
+    public long getNewestTime() {
+        return getTime(size - 1);
+    }
+
+    /**
+     * Get the newest sample's value.
+     *
+     * @return the newest value.
+     */
+    public double getNewestValue() {
+        return getValue(size - 1);
+    }
+
+    /**
+     * Find the newest sample at or before a timestamp.
+     *
+     * @param time the timestamp to look for.
+     * @return the index of the sample, or -1 if every sample is after the
+     * timestamp.
+     */
+    public int floorIndex(long time) {
+        int low = 0;
+        int high = size - 1;
+        int found = -1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+
+            if (times.get(physical(middle)) <= time) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the oldest sample at or after a timestamp.
+     *
+     * @param time the timestamp to look for.
+     * @return the index of the sample, or {@link #size()} if every sample
+     * is before the timestamp.
+     */
+    public int ceilingIndex(long time) {
+        int low = 0;
+        int high = size - 1;
+        int found = size;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+
+            if (times.get(physical(middle)) >= time) {
+                found = middle;
+                high = middle - 1;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Get the value of the series at a timestamp, interpolating linearly
+     * between the samples on either side of it.
+     *
+     * <p>
+     * Timestamps before the oldest sample get the oldest sample's value,
+     * and timestamps after the newest sample get the newest sample's value.
+     * </p>
+     *
+     * @param time the timestamp.
+     * @return the value at the timestamp, or NaN if the series is empty.
+     */
+    public double sample(long time) {
+        if (size == 0) return Double.NaN;
+
+        int before = floorIndex(time);
+
+        if (before < 0) return getValue(0);
+        if (before == size - 1) return getValue(size - 1);
+
+        int a = physical(before);
+        int b = physical(before + 1);
+        long timeA = times.get(a);
+        long timeB = times.get(b);
+
+        /*
+         * The floor is the newest sample at or before the timestamp, so the
+         * next sample has to be strictly after it, and this can never
+         * divide by zero.
+         */
+        double fraction = (double) (time - timeA) / (timeB - timeA);
+
+        return values.get(a) + (values.get(b) - values.get(a)) * fraction;
+    }
+
+    /**
+     * Copy a range of samples into arrays, without boxing anything.
+     *
+     * @param start     the index of the first sample to copy.
+     * @param count     how many samples to copy.
+     * @param timesOut  the array to copy timestamps into. Null skips the
+     *                  timestamps.
+     * @param valuesOut the array to copy values into. Null skips the
+     *                  values.
+     * @param offset    where in the arrays to start copying to.
+     */
+    public void copyTo(int start,
+                       int count,
+                       long[] timesOut,
+                       double[] valuesOut,
+                       int offset) {
+        if (start < 0 || count < 0 || start + count > size) {
+            throw new IndexOutOfBoundsException(
+                    "Can't copy " + count + " samples from index " + start +
+                            " of a series with size " + size
+            );
+        }
+
+        /*
+         * The range might wrap around the end of the ring, in which case
+         * it's copied in two pieces.
+         */
+        int first = physical(start);
+        int firstLength = Math.min(count, capacity - first);
+        int secondLength = count - firstLength;
+
+        if (timesOut != null) {
+            times.get(first, timesOut, offset, firstLength);
+            times.get(0, timesOut, offset + firstLength, secondLength);
+        }
+
+        if (valuesOut != null) {
+            values.get(first, valuesOut, offset, firstLength);
+            values.get(0, valuesOut, offset + firstLength, secondLength);
+        }
+    }
+
+    /**
+     * Copy every sample between two timestamps (inclusive) into arrays.
+     *
+     * @param from      the earliest timestamp to copy.
+     * @param to        the latest timestamp to copy.
+     * @param timesOut  the array to copy timestamps into. Null skips the
+     *                  timestamps.
+     * @param valuesOut the array to copy values into. Null skips the
+     *                  values.
+     * @return how many samples were copied. If the arrays are too small to
+     * hold every sample in the range, only the oldest samples that fit are
+     * copied.
+     */
+    public int copyRange(long from,
+                         long to,
+                         long[] timesOut,
+                         double[] valuesOut) {
+        int start = ceilingIndex(from);
+        int end = floorIndex(to);
+
+        if (end < start) return 0;
+
+        int count = end - start + 1;
+
+        if (timesOut != null) count = Math.min(count, timesOut.length);
+        if (valuesOut != null) count = Math.min(count, valuesOut.length);
+
+        copyTo(start, count, timesOut, valuesOut, 0);
+
+        return count;
+    }
+
+    /**
+     * Get how many samples are in the series.
+     *
+     * @return the series' size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get how many samples the series can hold.
+     *
+     * @return the series' capacity.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Is the series stored off-heap?
+     *
+     * @return whether or not the series is stored in direct buffers.
+     */
+    public boolean isDirect() {
+        return isDirect;
+    }
+
+    /**
+     * Is the series empty?
+     *
+     * @return whether or not the series is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove every sample from the series. The series' storage is kept.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+}
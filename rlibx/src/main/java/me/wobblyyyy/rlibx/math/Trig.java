@@ -0,0 +1,370 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+/**
+ * Trigonometric functions, with a choice of how accurate (and how fast)
+ * they should be.
+ *
+ * <p>
+ * Kinematics and odometry call sine, cosine, and arctangent several times
+ * every single loop. Java's own implementations are extremely accurate -
+ * far more accurate than any encoder or gyroscope - and that accuracy
+ * isn't free. Each mode here trades some of it away for speed, and
+ * documents exactly how much it gives up:
+ * <ul>
+ *     <li>
+ *         {@link #EXACT} uses {@link Math}. It's as accurate as it gets.
+ *     </li>
+ *     <li>
+ *         {@link #POLYNOMIAL} reduces the angle to a small range and then
+ *         evaluates a polynomial. It doesn't need any tables, and it's
+ *         accurate to within a few billionths.
+ *     </li>
+ *     <li>
+ *         {@link #TABLE} linearly interpolates between values in a lookup
+ *         table. It's the fastest, and it's accurate to within a few
+ *         ten-millionths - about a thousandth of a degree.
+ *     </li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Modes are picked per call site, rather than globally - store whichever
+ * mode you'd like in a field and call through it. Code that needs to be
+ * precise can keep using {@link #EXACT} while the drivetrain uses
+ * {@link #TABLE}. Every error bound is the largest absolute difference
+ * from {@link StrictMath}, for finite inputs with a magnitude of up to
+ * {@link #MAXIMUM_INPUT}. Larger inputs still work, but the error bounds
+ * aren't guaranteed.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public enum Trig {
+    /**
+     * Java's own trigonometric functions.
+     */
+    EXACT(1e-15, 1e-15) {
+        @Override
+        public double sin(double angle) {
+            return Math.sin(angle);
+        }
+
+        @Override
+        public double cos(double angle) {
+            return Math.cos(angle);
+        }
+
+        @Override
+        public double atan2(double y,
+                            double x) {
+            return Math.atan2(y, x);
+        }
+    },
+
+    /**
+     * Polynomial approximations. Sine and cosine are accurate to within
+     * {@code 1e-9}, and arctangent to within {@code 5e-9}.
+     */
+    POLYNOMIAL(1e-9, 5e-9) {
+        @Override
+        public double sin(double angle) {
+            return Tables.polynomialSin(angle);
+        }
+
+        @Override
+        public double cos(double angle) {
+            return Tables.polynomialSin(angle + Tables.HALF_PI);
+        }
+
+        @Override
+        public double atan2(double y,
+                            double x) {
+            return Tables.atan2(y, x, false);
+        }
+    },
+
+    /**
+     * Interpolated lookup tables. Sine and cosine are accurate to within
+     * {@code 3e-7}, and arctangent to within {@code 1e-7}.
+     */
+    TABLE(3e-7, 1e-7) {
+        @Override
+        public double sin(double angle) {
+            return Tables.tableSin(angle * Tables.SIN_SCALE);
+        }
+
+        @Override
+        public double cos(double angle) {
+            return Tables.tableSin(
+                    angle * Tables.SIN_SCALE + Tables.QUARTER_TURN
+            );
+        }
+
+        @Override
+        public double atan2(double y,
+                            double x) {
+            return Tables.atan2(y, x, true);
+        }
+    };
+
+    /**
+     * The largest input magnitude the error bounds are guaranteed for.
+     */
+    public static final double MAXIMUM_INPUT = 1e6;
+
+    /**
+     * The largest absolute error of sine and cosine.
+     */
+    private final double sinError;
+
+    /**
+     * The largest absolute error of arctangent.
+     */
+    private final double atanError;
+
+    Trig(double sinError,
+         double atanError) {
+        this.sinError = sinError;
+        this.atanError = atanError;
+    }
+
+    /**
+     * Get the sine of an angle.
+     *
+     * @param angle the angle, in radians.
+     * @return the sine of the angle.
+     */
+    public abstract double sin(double angle);
+
+    /**
+     * Get the cosine of an angle.
+     *
+     * @param angle the angle, in radians.
+     * @return the cosine of the angle.
+     */
+    public abstract double cos(double angle);
+
+    /**
+     * Get the angle of a point, the same way {@link Math#atan2(double,
+     * double)} does.
+     *
+     * @param y the point's Y coordinate.
+     * @param x the point's X coordinate.
+     * @return the point's angle, in radians, from -pi to pi.
+     */
+    public abstract double atan2(double y,
+                                 double x);
+
+    /**
+     * Get the largest absolute error of this mode's {@link #sin(double)}
+     * and {@link #cos(double)}, compared to {@link StrictMath}.
+     *
+     * @return the largest absolute error of sine and cosine.
+     */
+    public double getSinError() {
+        return sinError;
+    }
+
+    /**
+     * Get the largest absolute error of this mode's
+     * {@link #atan2(double, double)}, compared to {@link StrictMath}.
+     *
+     * @return the largest absolute error of arctangent.
+     */
+    public double getAtanError() {
+        return atanError;
+    }
+
+    /**
+     * Tables and approximations used by the faster modes.
+     *
+     * <p>
+     * These live in their own class because an enum's constants are
+     * created before any of its other static fields are.
+     * </p>
+     */
+    private static class Tables {
+        private static final double PI = Math.PI;
+        private static final double HALF_PI = Math.PI / 2;
+        private static final double TWO_PI = Math.PI * 2;
+        private static final double INVERSE_TWO_PI = 1 / TWO_PI;
+        private static final double SQRT_3 = Math.sqrt(3);
+        private static final double TAN_PI_12 = 2 - SQRT_3;
+        private static final double PI_6 = Math.PI / 6;
+
+        /**
+         * How many sine table entries there are per turn. This has to be a
+         * power of two, so indices can be wrapped with a mask.
+         */
+        private static final int SIN_SIZE = 1 << 12;
+        private static final int SIN_MASK = SIN_SIZE - 1;
+        private static final double SIN_SCALE = SIN_SIZE / TWO_PI;
+        private static final double QUARTER_TURN = SIN_SIZE / 4.0;
+
+        /**
+         * How many arctangent table entries there are between 0 and 1.
+         */
+        private static final int ATAN_SIZE = 1 << 10;
+
+        /**
+         * Sine values for a full turn, plus one extra entry at the end so
+         * the last entry can be interpolated without wrapping.
+         */
+        private static final double[] SIN_TABLE = new double[SIN_SIZE + 1];
+
+        /**
+         * Arctangent values from 0 to 1, inclusive.
+         */
+        private static final double[] ATAN_TABLE =
+                new double[ATAN_SIZE + 1];
+
+        static {
+            for (int i = 0; i <= SIN_SIZE; i++) {
+                SIN_TABLE[i] = StrictMath.sin(i * TWO_PI / SIN_SIZE);
+            }
+
+            for (int i = 0; i <= ATAN_SIZE; i++) {
+                ATAN_TABLE[i] = StrictMath.atan((double) i / ATAN_SIZE);
+            }
+        }
+
+        /**
+         * Look up a sine value.
+         *
+         * @param position the angle, in table entries.
+         * @return the interpolated sine.
+         */
+        private static double tableSin(double position) {
+            double floor = Math.floor(position);
+            int i = (int) ((long) floor & SIN_MASK);
+            double a = SIN_TABLE[i];
+
+            return a + (SIN_TABLE[i + 1] - a) * (position - floor);
+        }
+
+        /**
+         * Calculate a sine value with a polynomial.
+         *
+         * @param angle the angle, in radians.
+         * @return the sine of the angle.
+         */
+        private static double polynomialSin(double angle) {
+            /*
+             * Reduce the angle to -pi to pi, and then to -pi/2 to pi/2 -
+             * sin(pi - x) is the same as sin(x). The Taylor series is very
+             * accurate that close to zero.
+             */
+            double r = angle - Math.rint(angle * INVERSE_TWO_PI) * TWO_PI;
+
+            if (r > HALF_PI) {
+                r = PI - r;
+            } else if (r < -HALF_PI) {
+                r = -PI - r;
+            }
+
+            double r2 = r * r;
+
+            return r * (1 + r2 * (-1.0 / 6 + r2 * (1.0 / 120 +
+                    r2 * (-1.0 / 5040 + r2 * (1.0 / 362880 +
+                            r2 * (-1.0 / 39916800 +
+                                    r2 * (1.0 / 6227020800.0)))))));
+        }
+
+        /**
+         * Calculate an arctangent between 0 and 1 with a polynomial.
+         *
+         * @param t the value, from 0 to 1.
+         * @return the arctangent of the value.
+         */
+        private static double polynomialAtan(double t) {
+            /*
+             * atan(t) = pi/6 + atan((t * sqrt(3) - 1) / (t + sqrt(3))),
+             * which brings everything down to within tan(pi/12) of zero.
+             */
+            double offset = 0;
+
+            if (t > TAN_PI_12) {
+                offset = PI_6;
+                t = (t * SQRT_3 - 1) / (t + SQRT_3);
+            }
+
+            double t2 = t * t;
+
+            return offset + t * (1 + t2 * (-1.0 / 3 + t2 * (1.0 / 5 +
+                    t2 * (-1.0 / 7 + t2 * (1.0 / 9 + t2 * (-1.0 / 11))))));
+        }
+
+        /**
+         * Look up an arctangent between 0 and 1.
+         *
+         * @param t the value, from 0 to 1.
+         * @return the interpolated arctangent of the value.
+         */
+        private static double tableAtan(double t) {
+            double position = t * ATAN_SIZE;
+            int i = Math.min((int) position, ATAN_SIZE - 1);
+            double a = ATAN_TABLE[i];
+
+            return a + (ATAN_TABLE[i + 1] - a) * (position - i);
+        }
+
+        /**
+         * Calculate the angle of a point.
+         *
+         * @param y     the point's Y coordinate.
+         * @param x     the point's X coordinate.
+         * @param table should the lookup table be used, instead of the
+         *              polynomial?
+         * @return the angle of the point.
+         */
+        private static double atan2(double y,
+                                    double x,
+                                    boolean table) {
+            double ay = Math.abs(y);
+            double ax = Math.abs(x);
+
+            if (ay == 0 && ax == 0) return Math.atan2(y, x);
+
+            /*
+             * Fold everything into the first octant, where the tangent is
+             * between 0 and 1, and then unfold the result.
+             */
+            boolean swap = ay > ax;
+            double t = swap ? ax / ay : ay / ax;
+            double angle = table ? tableAtan(t) : polynomialAtan(t);
+
+            if (swap) angle = HALF_PI - angle;
+            if (x < 0) angle = PI - angle;
+
+            return Math.copySign(angle, y);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * The minimum and maximum of the most recent values in a stream.
+ *
+ * <p>
+ * The obvious way to find the maximum of a window is to look at every value
+ * in it, every time. That's fine for a window of 5 values and not so fine
+ * for a window of 500. Instead, this keeps a monotonic deque for each
+ * extreme - a queue of candidates, in the order they were added, where each
+ * candidate is larger (for the maximum) than every candidate after it.
+ * </p>
+ *
+ * <p>
+ * When a new value comes in, every candidate at the back of the deque that
+ * it beats is thrown out, because none of them can ever be the maximum
+ * again - the new value is bigger, and it'll stay in the window longer.
+ * Candidates at the front of the deque are thrown out once they fall out of
+ * the window. The maximum is always at the front. Each value goes into and
+ * out of each deque at most once, so updates are constant time on average.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see WindowedStatistics
+ * @since 0.2.0
+ */
+public class WindowedExtrema implements DoubleConsumer {
+    /**
+     * How many values the window holds.
+     */
+    private final int size;
+
+    /**
+     * The values in the window, indexed by sample number modulo size.
+     */
+    private final double[] values;
+
+    /**
+     * The sample numbers of the maximum candidates, as a circular deque.
+     */
+    private final long[] maxDeque;
+
+    /**
+     * The sample numbers of the minimum candidates, as a circular deque.
+     */
+    private final long[] minDeque;
+
+    /**
+     * The front and length of the maximum deque.
+     */
+    private int maxHead, maxLength;
+
+    /**
+     * The front and length of the minimum deque.
+     */
+    private int minHead, minLength;
+
+    /**
+     * How many values have been added in total.
+     */
+    private long count = 0;
+
+    /**
+     * Create a new windowed minimum and maximum.
+     *
+     * @param size how many values the window holds.
+     */
+    public WindowedExtrema(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException(
+                    "Window size must be at least 1!"
+            );
+        }
+
+        this.size = size;
+        this.values = new double[size];
+        this.maxDeque = new long[size];
+        this.minDeque = new long[size];
+    }
+
+    /**
+     * Add a value to the window.
+     *
+     * @param value the value to add.
+     */
+    @Override
+    public void accept(double value) {
+        long sample = count++;
+        long expired = sample - size;
+
+        /*
+         * Throw out anything that's fallen out of the window. This has to
+         * happen before the new value is written, because the new value
+         * takes the expired value's slot.
+         */
+        if (maxLength > 0 && maxDeque[maxHead] <= expired) {
+            maxHead = (maxHead + 1) % size;
+            maxLength--;
+        }
+
+        if (minLength > 0 && minDeque[minHead] <= expired) {
+            minHead = (minHead + 1) % size;
+            minLength--;
+        }
+
+        values[(int) (sample % size)] = value;
+
+        /*
+         * Throw out every candidate the new value beats.
+         */
+        while (maxLength > 0 && valueAt(maxDeque, maxHead, maxLength) <=
+                value) {
+            maxLength--;
+        }
+
+        while (minLength > 0 && valueAt(minDeque, minHead, minLength) >=
+                value) {
+            minLength--;
+        }
+
+        maxDeque[(maxHead + maxLength++) % size] = sample;
+        minDeque[(minHead + minLength++) % size] = sample;
+    }
+
+    /**
+     * Get the value of the candidate at the back of a deque.
+     *
+     * @param deque  the deque.
+     * @param head   the front of the deque.
+     * @param length the length of the deque.
+     * @return the value of the deque's last candidate.
+     */
+    private double valueAt(long[] deque,
+                           int head,
+                           int length) {
+        long sample = deque[(head + length - 1) % size];
+
+        return values[(int) (sample % size)];
+    }
+
+    /**
+     * Get the maximum of the window.
+     *
+     * @return the window's maximum, or zero if the window is empty.
+     */
+    public double getMaximum() {
+        return maxLength > 0 ? values[(int) (maxDeque[maxHead] % size)] : 0;
+    }
+
+    /**
+     * Get the minimum of the window.
+     *
+     * @return the window's minimum, or zero if the window is empty.
+     */
+    public double getMinimum() {
+        return minLength > 0 ? values[(int) (minDeque[minHead] % size)] : 0;
+    }
+
+    /**
+     * Get the range (maximum minus minimum) of the window.
+     *
+     * @return the window's range.
+     */
+    public double getRange() {
+        return getMaximum() - getMinimum();
+    }
+
+    /**
+     * Get how many values are in the window.
+     *
+     * @return the window's count.
+     */
+    public int getCount() {
+        return (int) Math.min(count, size);
+    }
+
+    /**
+     * Remove every value from the window.
+     */
+    public void reset() {
+        count = 0;
+        maxHead = maxLength = 0;
+        minHead = minLength = 0;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * The mean and variance of the most recent values in a stream.
+ *
+ * <p>
+ * Unlike {@link AnalyzableSet}, which describes every value it's ever been
+ * given, windowed statistics only describe the last few values - the last
+ * 50 encoder readings, the last 200 loop times, whatever. Old values fall
+ * out of the window as new values come in.
+ * </p>
+ *
+ * <p>
+ * Updates are constant time. The mean and the sum of squared differences
+ * are updated with a sliding version of Welford's algorithm: when a new
+ * value replaces an old one, both are accounted for at once, so the window
+ * never has to be walked through.
+ * </p>
+ *
+ * <p>
+ * Every sliding update adds a tiny bit of rounding error, and unlike
+ * plain Welford's algorithm, that error never gets diluted - the window is
+ * always the same size. Left alone, it would build up for as long as the
+ * robot runs. So, once every time the whole window has been replaced, the
+ * mean and the squared differences are recomputed from the window itself.
+ * That's one walk through the window for every {@code size} values, so
+ * updates are still constant time on average.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see WindowedExtrema
+ * @since 0.2.0
+ */
+public class WindowedStatistics implements DoubleConsumer {
+    /**
+     * The values in the window.
+     */
+    private final DoubleRing window;
+
+    /**
+     * The mean of the window.
+     */
+    private double mean;
+
+    /**
+     * The sum of squared differences from the mean.
+     */
+    private double squaredDifferences;
+
+    /**
+     * How many values have been evicted since the statistics were last
+     * recomputed from the window.
+     */
+    private int evictions;
+
+    /**
+     * Create a new set of windowed statistics.
+     *
+     * @param size how many values the window holds.
+     */
+    public WindowedStatistics(int size) {
+        window = new DoubleRing(size);
+    }
+
+    /**
+     * Add a value to the window.
+     *
+     * @param value the value to add.
+     */
+    @Override
+    public void accept(double value) {
+        if (!window.isFull()) {
+            /*
+             * The window's still filling up, so this is just plain old
+             * Welford's algorithm.
+             */
+            window.add(value);
+
+            double delta = value - mean;
+            mean += delta / window.size();
+            squaredDifferences += delta * (value - mean);
+        } else {
+            /*
+             * The window's full. Replace the oldest value with the new one,
+             * adjusting the mean and the squared differences for both.
+             */
+            double evicted = window.add(value);
+            double oldMean = mean;
+
+            mean += (value - evicted) / window.size();
+            squaredDifferences +=
+                    (value - evicted) * (value - mean + evicted - oldMean);
+
+            /*
+             * Floating point error can push this ever so slightly below
+             * zero when every value in the window is the same.
+             */
+            if (squaredDifferences < 0) squaredDifferences = 0;
+
+            if (++evictions == window.capacity()) recompute();
+        }
+    }
+
+    /**
+     * Throw away the running mean and squared differences, and compute them
+     * from scratch (with two passes through the window) instead.
+     */
+    private void recompute() {
+        int count = window.size();
+        double sum = 0;
+
+        for (int i = 0; i < count; i++) {
+            sum += window.get(i);
+        }
+
+        mean = sum / count;
+        squaredDifferences = 0;
+
+        for (int i = 0; i < count; i++) {
+            double delta = window.get(i) - mean;
+
+            squaredDifferences += delta * delta;
+        }
+
+        evictions = 0;
+    }
+
+    /**
+     * Get the mean of the window.
+     *
+     * @return the window's mean, or zero if the window is empty.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Get the population variance of the window.
+     *
+     * @return the window's variance, or zero if the window is empty.
+     */
+    public double getVariance() {
+        return window.size() > 0 ? squaredDifferences / window.size() : 0;
+    }
+
+    /**
+     * Get the sample variance of the window.
+     *
+     * @return the window's sample variance, or zero if the window has
+     * fewer than two values.
+     */
+    public double getSampleVariance() {
+        return window.size() > 1 ?
+                squaredDifferences / (window.size() - 1) :
+                0;
+    }
+
+    /**
+     * Get the population standard deviation of the window.
+     *
+     * @return the window's standard deviation.
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Get the newest value in the window.
+     *
+     * @return the newest value.
+     */
+    public double getLast() {
+        return window.getNewest();
+    }
+
+    /**
+     * Get how many values are in the window.
+     *
+     * @return the window's count.
+     */
+    public int getCount() {
+        return window.size();
+    }
+
+    /**
+     * Get how many values the window can hold.
+     *
+     * @return the window's size.
+     */
+    public int getSize() {
+        return window.capacity();
+    }
+
+    /**
+     * Remove every value from the window.
+     */
+    public void reset() {
+        window.clear();
+        mean = 0;
+        squaredDifferences = 0;
+        evictions = 0;
+    }
+}
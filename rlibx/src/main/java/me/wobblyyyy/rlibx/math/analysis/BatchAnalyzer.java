@@ -0,0 +1,452 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel analysis of large recorded datasets.
+ *
+ * <p>
+ * After an event, you might have dozens of match logs, each with dozens of
+ * channels, each with hundreds of thousands of samples. Analyzing all of
+ * that one sample at a time, on one core, is slow. A batch analyzer splits
+ * the work up with fork-join parallelism - across channels, and across
+ * fixed-size chunks of each channel - and merges the partial results back
+ * together.
+ * </p>
+ *
+ * <p>
+ * Results are deterministic. Chunks are always the same size, and they're
+ * always merged in the same order, no matter how many threads are doing
+ * the work, so you'll get exactly the same numbers (down to the last bit)
+ * on a laptop as you will on a workstation.
+ * </p>
+ *
+ * <p>
+ * The building blocks - {@link Summary}, {@link Histogram},
+ * {@link Correlation}, and {@link Crossings} - are all mergeable, and any
+ * other mergeable analysis can be run with
+ * {@link #run(int, ChunkAnalysis)}.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class BatchAnalyzer {
+    /**
+     * The default chunk size, in samples.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    /**
+     * The pool analysis is run on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * How many samples are in a single chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * Create a new batch analyzer that uses the common fork-join pool and
+     * the default chunk size.
+     */
+    public BatchAnalyzer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a new batch analyzer.
+     *
+     * @param pool      the pool analysis should be run on.
+     * @param chunkSize how many samples are in a single chunk. Changing the
+     *                  chunk size can change floating point results in the
+     *                  last few bits, so stick with one chunk size if you
+     *                  want to compare results between runs.
+     */
+    public BatchAnalyzer(ForkJoinPool pool,
+                         int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(
+                    "Chunk size must be at least 1!"
+            );
+        }
+
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Create a task that runs an analysis over a range of samples.
+     *
+     * @param length   how many samples there are.
+     * @param analysis the analysis to run.
+     * @param <R>      the type of the analysis' result.
+     * @return a new task.
+     */
+    private <R> ChunkTask<R> task(int length,
+                                  ChunkAnalysis<R> analysis) {
+        return new ChunkTask<>(analysis, 0, length, chunkSize);
+    }
+
+    /**
+     * Run an analysis over every sample.
+     *
+     * @param length   how many samples there are.
+     * @param analysis the analysis to run.
+     * @param <R>      the type of the analysis' result.
+     * @return the analysis' result.
+     */
+    public <R> R run(int length,
+                     ChunkAnalysis<R> analysis) {
+        return pool.invoke(task(length, analysis));
+    }
+
+    /**
+     * Create an analysis that summarizes a set of samples.
+     *
+     * @param values the samples.
+     * @return a summary analysis.
+     */
+    private static ChunkAnalysis<Summary> summaryOf(double[] values) {
+        return new ChunkAnalysis<>() {
+            @Override
+            public Summary analyze(int from, int to) {
+                return Summary.of(values, from, to);
+            }
+
+            @Override
+            public Summary merge(Summary left, Summary right) {
+                return Summary.merge(left, right);
+            }
+        };
+    }
+
+    /**
+     * Create an analysis that builds a histogram of a set of samples.
+     *
+     * @param values  the samples.
+     * @param minimum the lower edge of the first bin.
+     * @param maximum the upper edge of the last bin.
+     * @param bins    how many bins there are.
+     * @return a histogram analysis.
+     */
+    private static ChunkAnalysis<Histogram> histogramOf(double[] values,
+                                                        double minimum,
+                                                        double maximum,
+                                                        int bins) {
+        return new ChunkAnalysis<>() {
+            @Override
+            public Histogram analyze(int from, int to) {
+                Histogram histogram = new Histogram(minimum, maximum, bins);
+                histogram.addAll(values, from, to);
+                return histogram;
+            }
+
+            @Override
+            public Histogram merge(Histogram left, Histogram right) {
+                return left.merge(right);
+            }
+        };
+    }
+
+    /**
+     * Create an analysis that correlates two sets of samples.
+     *
+     * @param x the first set of samples.
+     * @param y the second set of samples.
+     * @return a correlation analysis.
+     */
+    private static ChunkAnalysis<Correlation> correlationOf(double[] x,
+                                                            double[] y) {
+        return new ChunkAnalysis<>() {
+            @Override
+            public Correlation analyze(int from, int to) {
+                return Correlation.of(x, y, from, to);
+            }
+
+            @Override
+            public Correlation merge(Correlation left, Correlation right) {
+                return Correlation.merge(left, right);
+            }
+        };
+    }
+
+    /**
+     * Create an analysis that finds threshold crossings.
+     *
+     * @param times     each sample's timestamp.
+     * @param values    each sample's value.
+     * @param threshold the threshold.
+     * @return a crossing analysis.
+     */
+    private static ChunkAnalysis<Crossings> crossingsOf(long[] times,
+                                                        double[] values,
+                                                        double threshold) {
+        return new ChunkAnalysis<>() {
+            @Override
+            public Crossings analyze(int from, int to) {
+                return Crossings.of(threshold, times, values, from, to);
+            }
+
+            @Override
+            public Crossings merge(Crossings left, Crossings right) {
+                return Crossings.merge(left, right);
+            }
+        };
+    }
+
+    /**
+     * Summarize a set of samples.
+     *
+     * @param values the samples.
+     * @return a summary of the samples.
+     */
+    public Summary summarize(double[] values) {
+        return run(values.length, summaryOf(values));
+    }
+
+    /**
+     * Build a histogram of a set of samples.
+     *
+     * @param values  the samples.
+     * @param minimum the lower edge of the first bin.
+     * @param maximum the upper edge of the last bin.
+     * @param bins    how many bins there are.
+     * @return a histogram of the samples.
+     */
+    public Histogram histogram(double[] values,
+                               double minimum,
+                               double maximum,
+                               int bins) {
+        return run(values.length, histogramOf(values, minimum, maximum, bins));
+    }
+
+    /**
+     * Correlate two sets of paired samples.
+     *
+     * @param x the first set of samples.
+     * @param y the second set of samples. This must be the same length as
+     *          the first set.
+     * @return the correlation of the two sets.
+     */
+    public Correlation correlate(double[] x,
+                                 double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException(
+                    "Only sets of the same length can be correlated!"
+            );
+        }
+
+        return run(x.length, correlationOf(x, y));
+    }
+
+    /**
+     * Find every time a channel crossed a threshold.
+     *
+     * @param channel   the channel.
+     * @param threshold the threshold.
+     * @return every crossing, in order.
+     */
+    public Crossings crossings(RecordedChannel channel,
+                               double threshold) {
+        return run(
+                channel.size(),
+                crossingsOf(channel.getTimes(), channel.getValues(), threshold)
+        );
+    }
+
+    /**
+     * Analyze every channel in a set of channels.
+     *
+     * <p>
+     * Each channel gets a summary, a histogram spanning its minimum to its
+     * maximum, and (if a threshold is given) its threshold crossings.
+     * Channels are analyzed in parallel with each other, and each channel
+     * is split into chunks that are analyzed in parallel too.
+     * </p>
+     *
+     * @param channels  the channels to analyze.
+     * @param bins      how many bins each channel's histogram should have.
+     * @param threshold the threshold to find crossings of, or NaN to skip
+     *                  finding crossings.
+     * @return a report for each channel, in the same order as the channels.
+     */
+    public List<ChannelReport> analyze(List<RecordedChannel> channels,
+                                       int bins,
+                                       double threshold) {
+        List<RecursiveTask<ChannelReport>> tasks = new ArrayList<>();
+
+        for (RecordedChannel channel : channels) {
+            tasks.add(new RecursiveTask<>() {
+                @Override
+                protected ChannelReport compute() {
+                    return report(channel, bins, threshold);
+                }
+            });
+        }
+
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                ForkJoinTask.invokeAll(tasks);
+                return null;
+            }
+        });
+
+        List<ChannelReport> reports = new ArrayList<>();
+
+        for (RecursiveTask<ChannelReport> task : tasks) {
+            reports.add(task.join());
+        }
+
+        return reports;
+    }
+
+    /**
+     * Analyze a single channel. This has to be called from inside the
+     * analyzer's pool.
+     *
+     * @param channel   the channel to analyze.
+     * @param bins      how many bins the histogram should have.
+     * @param threshold the threshold, or NaN to skip finding crossings.
+     * @return the channel's report.
+     */
+    private ChannelReport report(RecordedChannel channel,
+                                 int bins,
+                                 double threshold) {
+        double[] values = channel.getValues();
+        int length = channel.size();
+
+        /*
+         * The histogram's range depends on the summary, so the summary has
+         * to come first. Crossings don't depend on anything, so they're
+         * found at the same time.
+         */
+        ChunkTask<Crossings> crossings = Double.isNaN(threshold) ?
+                null :
+                task(length, crossingsOf(
+                        channel.getTimes(),
+                        values,
+                        threshold
+                ));
+
+        if (crossings != null) crossings.fork();
+
+        Summary summary = task(length, summaryOf(values)).invoke();
+        Histogram histogram = null;
+
+        if (summary.getMaximum() > summary.getMinimum()) {
+            /*
+             * Nudge the top of the range up by one ulp, so the maximum
+             * lands in the last bin instead of the overflow.
+             */
+            histogram = task(length, histogramOf(
+                    values,
+                    summary.getMinimum(),
+                    Math.nextUp(summary.getMaximum()),
+                    bins
+            )).invoke();
+        }
+
+        return new ChannelReport(
+                channel,
+                summary,
+                histogram,
+                crossings == null ? null : crossings.join()
+        );
+    }
+
+    /**
+     * Correlate every pair of channels.
+     *
+     * <p>
+     * Channels are paired up sample by sample, so every channel must have
+     * the same number of samples - in other words, the channels should be
+     * recorded (or resampled) on the same clock.
+     * </p>
+     *
+     * @param channels the channels to correlate.
+     * @return a matrix of correlation coefficients, where the value at
+     * {@code [i][j]} is the correlation between channel i and channel j.
+     */
+    public double[][] correlationMatrix(List<RecordedChannel> channels) {
+        int count = channels.size();
+        double[][] matrix = new double[count][count];
+        List<ChunkTask<Correlation>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                RecordedChannel x = channels.get(i);
+                RecordedChannel y = channels.get(j);
+
+                if (x.size() != y.size()) {
+                    throw new IllegalArgumentException(
+                            "Channels " + x.getName() + " and " +
+                                    y.getName() + " have different sizes!"
+                    );
+                }
+
+                tasks.add(task(
+                        x.size(),
+                        correlationOf(x.getValues(), y.getValues())
+                ));
+            }
+        }
+
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                ForkJoinTask.invokeAll(tasks);
+                return null;
+            }
+        });
+
+        int index = 0;
+
+        for (int i = 0; i < count; i++) {
+            matrix[i][i] = 1;
+
+            for (int j = i + 1; j < count; j++) {
+                double coefficient = tasks.get(index++).join()
+                        .getCoefficient();
+
+                matrix[i][j] = coefficient;
+                matrix[j][i] = coefficient;
+            }
+        }
+
+        return matrix;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.analysis;
+
+/**
+ * The results of analyzing a single recorded channel.
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see BatchAnalyzer
+ * @since 0.2.0
+ */
+public class ChannelReport {
+    /**
+     * The channel that was analyzed.
+     */
+    private final RecordedChannel channel;
+
+    /**
+     * The channel's summary statistics.
+     */
+    private final Summary summary;
+
+    /**
+     * The channel's histogram, spanning its minimum to its maximum.
+     */
+    private final Histogram histogram;
+
+    /**
+     * The channel's threshold crossings, or null if no threshold was
+     * given.
+     */
+    private final Crossings crossings;
+
+    /**
+     * Create a new channel report.
+     *
+     * @param channel   the channel that was analyzed.
+     * @param summary   the channel's summary statistics.
+     * @param histogram the channel's histogram.
+     * @param crossings the channel's threshold crossings.
+     */
+    public ChannelReport(RecordedChannel channel,
+                         Summary summary,
+                         Histogram histogram,
+                         Crossings crossings) {
+        this.channel = channel;
+        this.summary = summary;
+        this.histogram = histogram;
+        this.crossings = crossings;
+    }
+
+    /**
+     * Get the channel that was analyzed.
+     *
+     * @return the analyzed channel.
+     */
+    public RecordedChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Get the channel's summary statistics.
+     *
+     * @return the channel's summary.
+     */
+    public Summary getSummary() {
+        return summary;
+    }
+
+    /**
+     * Get the channel's histogram.
+     *
+     * @return the channel's histogram, or null if the channel didn't have
+     * any range at all (every sample was the same).
+     */
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Get the channel's threshold crossings.
+     *
+     * @return the channel's crossings, or null if there wasn't a threshold.
+     */
+    public Crossings getCrossings() {
+        return crossings;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.analysis;
+
+/**
+ * An analysis that can be split into chunks and put back together.
+ *
+ * <p>
+ * Every batch analysis is made up of two steps: analyzing a single chunk
+ * of samples, and merging the results of two neighbouring chunks. As long as
+ * merging is associative - merging A with (B merged with C) gives the same
+ * result as merging (A merged with B) with C - the chunks can be analyzed
+ * in parallel, on as many cores as you've got.
+ * </p>
+ *
+ * @param <R> the type of the analysis' result.
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see BatchAnalyzer
+ * @since 0.2.0
+ */
+public interface ChunkAnalysis<R> {
+    /**
+     * Analyze a single chunk of samples.
+     *
+     * @param from the index of the first sample in the chunk.
+     * @param to   the index after the last sample in the chunk.
+     * @return the chunk's result.
+     */
+    R analyze(int from,
+              int to);
+
+    /**
+     * Merge the results of two neighbouring chunks.
+     *
+     * @param left  the result of the earlier chunk.
+     * @param right the result of the later chunk.
+     * @return the merged result.
+     */
+    R merge(R left,
+            R right);
+}
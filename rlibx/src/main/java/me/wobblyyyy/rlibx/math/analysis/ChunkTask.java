@@ -0,0 +1,118 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.analysis;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A fork-join task that runs a {@link ChunkAnalysis} over a range of
+ * samples.
+ *
+ * <p>
+ * Ranges are split in half (rounded to a whole number of chunks) until
+ * they're a single chunk long. The split points only depend on the length
+ * of the range and the chunk size - never on how many threads there are or
+ * which thread steals what - so results are merged in exactly the same
+ * order every time, and floating point results are the same on a laptop
+ * as they are on a 64-core workstation.
+ * </p>
+ *
+ * @param <R> the type of the analysis' result.
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see BatchAnalyzer
+ * @since 0.2.0
+ */
+class ChunkTask<R> extends RecursiveTask<R> {
+    /**
+     * Fork-join tasks are serializable, even though chunk tasks never
+     * actually get serialized.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The analysis to run.
+     */
+    private final ChunkAnalysis<R> analysis;
+
+    /**
+     * The index of the first sample.
+     */
+    private final int from;
+
+    /**
+     * The index after the last sample.
+     */
+    private final int to;
+
+    /**
+     * How many samples are in a single chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * Create a new chunk task.
+     *
+     * @param analysis  the analysis to run.
+     * @param from      the index of the first sample.
+     * @param to        the index after the last sample.
+     * @param chunkSize how many samples are in a single chunk.
+     */
+    ChunkTask(ChunkAnalysis<R> analysis,
+              int from,
+              int to,
+              int chunkSize) {
+        this.analysis = analysis;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Run the analysis.
+     *
+     * @return the analysis' result.
+     */
+    @Override
+    protected R compute() {
+        int length = to - from;
+
+        if (length <= chunkSize) return analysis.analyze(from, to);
+
+        int chunks = (length + chunkSize - 1) / chunkSize;
+        int middle = from + (chunks / 2) * chunkSize;
+
+        ChunkTask<R> left = new ChunkTask<>(analysis, from, middle, chunkSize);
+        ChunkTask<R> right = new ChunkTask<>(analysis, middle, to, chunkSize);
+
+        left.fork();
+        R rightResult = right.compute();
+        R leftResult = left.join();
+
+        return analysis.merge(leftResult, rightResult);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.analysis;
+
+/**
+ * The Pearson correlation between two sets of paired samples.
+ *
+ * <p>
+ * Like {@link Summary}, correlations are immutable and mergeable - along
+ * with each set's mean and sum of squared differences, a correlation keeps
+ * the sum of co-moments (how much the two sets move together), which can
+ * be merged the same way.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see BatchAnalyzer
+ * @since 0.2.0
+ */
+public class Correlation {
+    /**
+     * A correlation of no samples at all.
+     */
+    public static final Correlation EMPTY =
+            new Correlation(0, 0, 0, 0, 0, 0);
+
+    /**
+     * How many pairs of samples there are.
+     */
+    private final long count;
+
+    /**
+     * The mean of the first set.
+     */
+    private final double meanX;
+
+    /**
+     * The mean of the second set.
+     */
+    private final double meanY;
+
+    /**
+     * The first set's sum of squared differences from its mean.
+     */
+    private final double squaredX;
+
+    /**
+     * The second set's sum of squared differences from its mean.
+     */
+    private final double squaredY;
+
+    /**
+     * The sum of co-moments.
+     */
+    private final double coMoment;
+
+    /**
+     * Create a new correlation.
+     *
+     * @param count    how many pairs of samples there are.
+     * @param meanX    the mean of the first set.
+     * @param meanY    the mean of the second set.
+     * @param squaredX the first set's sum of squared differences.
+     * @param squaredY the second set's sum of squared differences.
+     * @param coMoment the sum of co-moments.
+     */
+    public Correlation(long count,
+                       double meanX,
+                       double meanY,
+                       double squaredX,
+                       double squaredY,
+                       double coMoment) {
+        this.count = count;
+        this.meanX = meanX;
+        this.meanY = meanY;
+        this.squaredX = squaredX;
+        this.squaredY = squaredY;
+        this.coMoment = coMoment;
+    }
+
+    /**
+     * Correlate a range of paired samples.
+     *
+     * @param x    the first set of samples.
+     * @param y    the second set of samples.
+     * @param from the index of the first pair.
+     * @param to   the index after the last pair.
+     * @return the correlation of the pairs.
+     */
+    public static Correlation of(double[] x,
+                                 double[] y,
+                                 int from,
+                                 int to) {
+        long count = 0;
+        double meanX = 0;
+        double meanY = 0;
+        double squaredX = 0;
+        double squaredY = 0;
+        double coMoment = 0;
+
+        for (int i = from; i < to; i++) {
+            count++;
+
+            double deltaX = x[i] - meanX;
+            double deltaY = y[i] - meanY;
+
+            meanX += deltaX / count;
+            meanY += deltaY / count;
+            squaredX += deltaX * (x[i] - meanX);
+            squaredY += deltaY * (y[i] - meanY);
+            coMoment += deltaX * (y[i] - meanY);
+        }
+
+        return new Correlation(
+                count,
+                meanX,
+                meanY,
+                squaredX,
+                squaredY,
+                coMoment
+        );
+    }
+
+    /**
+     * Merge two correlations.
+     *
+     * @param left  the first correlation.
+     * @param right the second correlation.
+     * @return a correlation of every pair in both correlations.
+     */
+    public static Correlation merge(Correlation left,
+                                    Correlation right) {
+        if (left.count == 0) return right;
+        if (right.count == 0) return left;
+
+        long count = left.count + right.count;
+        double deltaX = right.meanX - left.meanX;
+        double deltaY = right.meanY - left.meanY;
+        double weight = (double) left.count * right.count / count;
+
+        return new Correlation(
+                count,
+                left.meanX + deltaX * right.count / count,
+                left.meanY + deltaY * right.count / count,
+                left.squaredX + right.squaredX + deltaX * deltaX * weight,
+                left.squaredY + right.squaredY + deltaY * deltaY * weight,
+                left.coMoment + right.coMoment + deltaX * deltaY * weight
+        );
+    }
+
+    /**
+     * Get the Pearson correlation coefficient.
+     *
+     * @return the correlation coefficient, between -1 and 1, or NaN if
+     * either set of samples doesn't vary at all.
+     */
+    public double getCoefficient() {
+        double denominator = Math.sqrt(squaredX * squaredY);
+
+        return denominator > 0 ? coMoment / denominator : Double.NaN;
+    }
+
+    /**
+     * Get the population covariance of the two sets.
+     *
+     * @return the covariance, or zero if there aren't any pairs.
+     */
+    public double getCovariance() {
+        return count > 0 ? coMoment / count : 0;
+    }
+
+    /**
+     * Get how many pairs of samples there are.
+     *
+     * @return the pair count.
+     */
+    public long getCount() {
+        return count;
+    }
+}
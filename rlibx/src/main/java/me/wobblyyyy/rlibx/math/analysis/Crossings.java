@@ -0,0 +1,282 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Every time a channel crossed a threshold.
+ *
+ * <p>
+ * A crossing is rising if the channel went from below the threshold to at
+ * or above it, and falling if it went the other way. The time of each
+ * crossing is interpolated between the two samples on either side of it.
+ * </p>
+ *
+ * <p>
+ * Crossings from neighbouring chunks can be merged. Each chunk remembers
+ * its first and last samples, so a crossing that happens right at the
+ * boundary between two chunks isn't missed.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see BatchAnalyzer
+ * @since 0.2.0
+ */
+public class Crossings {
+    /**
+     * The threshold.
+     */
+    private final double threshold;
+
+    /**
+     * When each crossing happened.
+     */
+    private long[] times;
+
+    /**
+     * Whether each crossing was rising (true) or falling (false).
+     */
+    private boolean[] rising;
+
+    /**
+     * How many crossings there are.
+     */
+    private int count = 0;
+
+    /**
+     * Whether or not any samples have been added.
+     */
+    private boolean hasSamples = false;
+
+    /**
+     * The first sample's timestamp.
+     */
+    private long firstTime;
+
+    /**
+     * The first sample's value.
+     */
+    private double firstValue;
+
+    /**
+     * The last sample's timestamp.
+     */
+    private long lastTime;
+
+    /**
+     * The last sample's value.
+     */
+    private double lastValue;
+
+    /**
+     * Create a new, empty, set of crossings.
+     *
+     * @param threshold the threshold.
+     */
+    public Crossings(double threshold) {
+        this.threshold = threshold;
+        this.times = new long[4];
+        this.rising = new boolean[4];
+    }
+
+    /**
+     * Find every crossing in a range of samples.
+     *
+     * @param threshold the threshold.
+     * @param times     each sample's timestamp.
+     * @param values    each sample's value.
+     * @param from      the index of the first sample.
+     * @param to        the index after the last sample.
+     * @return every crossing in the range.
+     */
+    public static Crossings of(double threshold,
+                               long[] times,
+                               double[] values,
+                               int from,
+                               int to) {
+        Crossings crossings = new Crossings(threshold);
+
+        for (int i = from; i < to; i++) {
+            crossings.add(times[i], values[i]);
+        }
+
+        return crossings;
+    }
+
+    /**
+     * Add a sample, checking whether it crossed the threshold.
+     *
+     * @param time  the sample's timestamp.
+     * @param value the sample's value.
+     */
+    public void add(long time,
+                    double value) {
+        if (!hasSamples) {
+            hasSamples = true;
+            firstTime = time;
+            firstValue = value;
+        } else {
+            check(lastTime, lastValue, time, value);
+        }
+
+        lastTime = time;
+        lastValue = value;
+    }
+
+    /**
+     * Check whether the threshold was crossed between two samples, and
+     * record the crossing if it was.
+     *
+     * @param timeA  the first sample's timestamp.
+     * @param valueA the first sample's value.
+     * @param timeB  the second sample's timestamp.
+     * @param valueB the second sample's value.
+     */
+    private void check(long timeA,
+                       double valueA,
+                       long timeB,
+                       double valueB) {
+        boolean wasBelow = valueA < threshold;
+        boolean isBelow = valueB < threshold;
+
+        if (wasBelow == isBelow) return;
+
+        double fraction = (threshold - valueA) / (valueB - valueA);
+        long time = timeA + Math.round((timeB - timeA) * fraction);
+
+        record(time, wasBelow);
+    }
+
+    /**
+     * Record a single crossing.
+     *
+     * @param time     when the crossing happened.
+     * @param isRising whether or not the crossing was rising.
+     */
+    private void record(long time,
+                        boolean isRising) {
+        if (count == times.length) {
+            times = Arrays.copyOf(times, count * 2);
+            rising = Arrays.copyOf(rising, count * 2);
+        }
+
+        times[count] = time;
+        rising[count++] = isRising;
+    }
+
+    /**
+     * Merge the crossings of two neighbouring ranges.
+     *
+     * @param left  the crossings of the earlier range.
+     * @param right the crossings of the later range.
+     * @return the crossings of both ranges, including any crossing between
+     * the last sample of the first range and the first sample of the
+     * second range.
+     */
+    public static Crossings merge(Crossings left,
+                                  Crossings right) {
+        if (!left.hasSamples) return right;
+        if (!right.hasSamples) return left;
+
+        Crossings merged = new Crossings(left.threshold);
+
+        for (int i = 0; i < left.count; i++) {
+            merged.record(left.times[i], left.rising[i]);
+        }
+
+        merged.check(
+                left.lastTime,
+                left.lastValue,
+                right.firstTime,
+                right.firstValue
+        );
+
+        for (int i = 0; i < right.count; i++) {
+            merged.record(right.times[i], right.rising[i]);
+        }
+
+        merged.hasSamples = true;
+        merged.firstTime = left.firstTime;
+        merged.firstValue = left.firstValue;
+        merged.lastTime = right.lastTime;
+        merged.lastValue = right.lastValue;
+
+        return merged;
+    }
+
+    /**
+     * Get how many crossings there are.
+     *
+     * @return the crossing count.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get when a crossing happened.
+     *
+     * @param index the crossing's index.
+     * @return the crossing's timestamp.
+     */
+    public long getTime(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of bounds for count " + count
+            );
+        }
+
+        return times[index];
+    }
+
+    /**
+     * Was a crossing rising?
+     *
+     * @param index the crossing's index.
+     * @return true if the crossing was rising, false if it was falling.
+     */
+    public boolean isRising(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of bounds for count " + count
+            );
+        }
+
+        return rising[index];
+    }
+
+    /**
+     * Get the threshold.
+     *
+     * @return the threshold.
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.analysis;
+
+/**
+ * A histogram with evenly-sized bins.
+ *
+ * <p>
+ * Samples below the histogram's range are counted as underflow, samples
+ * at or above it are counted as overflow, and NaN samples (which aren't
+ * anywhere at all) are counted on their own, so no samples are ever
+ * silently dropped. Histograms with the same range and number of bins can
+ * be merged by adding their counts together.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see BatchAnalyzer
+ * @since 0.2.0
+ */
+public class Histogram {
+    /**
+     * The lower edge of the first bin.
+     */
+    private final double minimum;
+
+    /**
+     * The upper edge of the last bin.
+     */
+    private final double maximum;
+
+    /**
+     * The number of samples in each bin.
+     */
+    private final long[] counts;
+
+    /**
+     * The number of samples below the minimum.
+     */
+    private long underflow;
+
+    /**
+     * The number of samples at or above the maximum.
+     */
+    private long overflow;
+
+    /**
+     * The number of NaN samples.
+     */
+    private long nan;
+
+    /**
+     * Create a new, empty, histogram.
+     *
+     * @param minimum the lower edge of the first bin.
+     * @param maximum the upper edge of the last bin.
+     * @param bins    how many bins the histogram has.
+     */
+    public Histogram(double minimum,
+                     double maximum,
+                     int bins) {
+        if (bins < 1 || !(maximum > minimum)) {
+            throw new IllegalArgumentException(
+                    "Histograms need at least one bin, and a maximum " +
+                            "larger than their minimum!"
+            );
+        }
+
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.counts = new long[bins];
+    }
+
+    /**
+     * Add a sample to the histogram.
+     *
+     * @param value the sample.
+     */
+    public void add(double value) {
+        /*
+         * NaN fails every comparison, so without this check it would fall
+         * through to the last branch and end up in the first bin.
+         */
+        if (Double.isNaN(value)) {
+            nan++;
+        } else if (value < minimum) {
+            underflow++;
+        } else if (value >= maximum) {
+            overflow++;
+        } else {
+            int bin = (int) ((value - minimum) / (maximum - minimum) *
+                    counts.length);
+
+            /*
+             * Rounding can land a value just under the maximum in a bin
+             * that doesn't exist.
+             */
+            counts[Math.min(bin, counts.length - 1)]++;
+        }
+    }
+
+    /**
+     * Add a range of samples to the histogram.
+     *
+     * @param values the samples.
+     * @param from   the index of the first sample.
+     * @param to     the index after the last sample.
+     */
+    public void addAll(double[] values,
+                       int from,
+                       int to) {
+        for (int i = from; i < to; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Merge another histogram into this one.
+     *
+     * @param other the histogram to merge in. It must have the same range
+     *              and number of bins as this histogram.
+     * @return this histogram.
+     */
+    public Histogram merge(Histogram other) {
+        if (other.counts.length != counts.length ||
+                other.minimum != minimum ||
+                other.maximum != maximum) {
+            throw new IllegalArgumentException(
+                    "Only histograms with the same bins can be merged!"
+            );
+        }
+
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+
+        underflow += other.underflow;
+        overflow += other.overflow;
+        nan += other.nan;
+
+        return this;
+    }
+
+    /**
+     * Get how many samples are in a bin.
+     *
+     * @param bin the bin's index.
+     * @return the bin's count.
+     */
+    public long getCount(int bin) {
+        return counts[bin];
+    }
+
+    /**
+     * Get the lower edge of a bin.
+     *
+     * @param bin the bin's index.
+     * @return the bin's lower edge.
+     */
+    public double getBinStart(int bin) {
+        return minimum + (maximum - minimum) * bin / counts.length;
+    }
+
+    /**
+     * Get how many bins the histogram has.
+     *
+     * @return the number of bins.
+     */
+    public int getBinCount() {
+        return counts.length;
+    }
+
+    /**
+     * Get how many samples were below the histogram's range.
+     *
+     * @return the underflow count.
+     */
+    public long getUnderflow() {
+        return underflow;
+    }
+
+    /**
+     * Get how many samples were at or above the histogram's range.
+     *
+     * @return the overflow count.
+     */
+    public long getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Get how many samples were NaN.
+     *
+     * @return the NaN count.
+     */
+    public long getNaN() {
+        return nan;
+    }
+
+    /**
+     * Get how many samples have been added, including underflow, overflow,
+     * and NaN samples.
+     *
+     * @return the total count.
+     */
+    public long getTotal() {
+        long total = underflow + overflow + nan;
+
+        for (long count : counts) {
+            total += count;
+        }
+
+        return total;
+    }
+
+    /**
+     * Get the lower edge of the first bin.
+     *
+     * @return the histogram's minimum.
+     */
+    public double getMinimum() {
+        return minimum;
+    }
+
+    /**
+     * Get the upper edge of the last bin.
+     *
+     * @return the histogram's maximum.
+     */
+    public double getMaximum() {
+        return maximum;
+    }
+}
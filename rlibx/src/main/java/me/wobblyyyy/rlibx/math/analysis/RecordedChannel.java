@@ -0,0 +1,134 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.analysis;
+
+import me.wobblyyyy.rlibx.math.TimeSeries;
+
+/**
+ * A recorded channel of samples, ready to be analyzed.
+ *
+ * <p>
+ * Channels are just a name, an array of timestamps, and an array of values.
+ * The arrays aren't copied, so they shouldn't be modified while they're
+ * being analyzed.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see BatchAnalyzer
+ * @since 0.2.0
+ */
+public class RecordedChannel {
+    /**
+     * The channel's name.
+     */
+    private final String name;
+
+    /**
+     * Each sample's timestamp.
+     */
+    private final long[] times;
+
+    /**
+     * Each sample's value.
+     */
+    private final double[] values;
+
+    /**
+     * Create a new recorded channel.
+     *
+     * @param name   the channel's name.
+     * @param times  each sample's timestamp.
+     * @param values each sample's value.
+     */
+    public RecordedChannel(String name,
+                           long[] times,
+                           double[] values) {
+        if (times.length != values.length) {
+            throw new IllegalArgumentException(
+                    "Every sample needs a timestamp and a value!"
+            );
+        }
+
+        this.name = name;
+        this.times = times;
+        this.values = values;
+    }
+
+    /**
+     * Copy every sample out of a time series into a recorded channel.
+     *
+     * @param name   the channel's name.
+     * @param series the time series to copy.
+     * @return a new recorded channel.
+     */
+    public static RecordedChannel of(String name,
+                                     TimeSeries series) {
+        long[] times = new long[series.size()];
+        double[] values = new double[series.size()];
+
+        series.copyTo(0, series.size(), times, values, 0);
+
+        return new RecordedChannel(name, times, values);
+    }
+
+    /**
+     * Get the channel's name.
+     *
+     * @return the channel's name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the channel's timestamps.
+     *
+     * @return each sample's timestamp.
+     */
+    public long[] getTimes() {
+        return times;
+    }
+
+    /**
+     * Get the channel's values.
+     *
+     * @return each sample's value.
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * Get how many samples the channel has.
+     *
+     * @return the channel's size.
+     */
+    public int size() {
+        return values.length;
+    }
+}
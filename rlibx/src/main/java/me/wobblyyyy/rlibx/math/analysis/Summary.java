@@ -0,0 +1,224 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.analysis;
+
+/**
+ * Summary statistics of a set of samples: count, mean, variance, minimum
+ * and maximum.
+ *
+ * <p>
+ * Summaries are immutable and can be merged. Merging uses Chan's parallel
+ * version of Welford's algorithm, which combines two means and two sums of
+ * squared differences without ever needing the original samples.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see BatchAnalyzer
+ * @since 0.2.0
+ */
+public class Summary {
+    /**
+     * A summary of no samples at all.
+     */
+    public static final Summary EMPTY = new Summary(
+            0,
+            0,
+            0,
+            Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY
+    );
+
+    /**
+     * How many samples there are.
+     */
+    private final long count;
+
+    /**
+     * The mean of the samples.
+     */
+    private final double mean;
+
+    /**
+     * The sum of squared differences from the mean.
+     */
+    private final double squaredDifferences;
+
+    /**
+     * The smallest sample.
+     */
+    private final double minimum;
+
+    /**
+     * The largest sample.
+     */
+    private final double maximum;
+
+    /**
+     * Create a new summary.
+     *
+     * @param count              how many samples there are.
+     * @param mean               the mean of the samples.
+     * @param squaredDifferences the sum of squared differences from the
+     *                           mean.
+     * @param minimum            the smallest sample.
+     * @param maximum            the largest sample.
+     */
+    public Summary(long count,
+                   double mean,
+                   double squaredDifferences,
+                   double minimum,
+                   double maximum) {
+        this.count = count;
+        this.mean = mean;
+        this.squaredDifferences = squaredDifferences;
+        this.minimum = minimum;
+        this.maximum = maximum;
+    }
+
+    /**
+     * Summarize a range of samples.
+     *
+     * @param values the samples.
+     * @param from   the index of the first sample.
+     * @param to     the index after the last sample.
+     * @return a summary of the samples.
+     */
+    public static Summary of(double[] values,
+                             int from,
+                             int to) {
+        long count = 0;
+        double mean = 0;
+        double squaredDifferences = 0;
+        double minimum = Double.POSITIVE_INFINITY;
+        double maximum = Double.NEGATIVE_INFINITY;
+
+        for (int i = from; i < to; i++) {
+            double value = values[i];
+            double delta = value - mean;
+
+            count++;
+            mean += delta / count;
+            squaredDifferences += delta * (value - mean);
+            minimum = Math.min(minimum, value);
+            maximum = Math.max(maximum, value);
+        }
+
+        return new Summary(count, mean, squaredDifferences, minimum, maximum);
+    }
+
+    /**
+     * Merge two summaries.
+     *
+     * @param left  the first summary.
+     * @param right the second summary.
+     * @return a summary of every sample in both summaries.
+     */
+    public static Summary merge(Summary left,
+                                Summary right) {
+        if (left.count == 0) return right;
+        if (right.count == 0) return left;
+
+        long count = left.count + right.count;
+        double delta = right.mean - left.mean;
+        double mean = left.mean + delta * right.count / count;
+        double squaredDifferences = left.squaredDifferences +
+                right.squaredDifferences +
+                delta * delta * ((double) left.count * right.count / count);
+
+        return new Summary(
+                count,
+                mean,
+                squaredDifferences,
+                Math.min(left.minimum, right.minimum),
+                Math.max(left.maximum, right.maximum)
+        );
+    }
+
+    /**
+     * Get how many samples there are.
+     *
+     * @return the sample count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the mean of the samples.
+     *
+     * @return the mean.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Get the population variance of the samples.
+     *
+     * @return the variance, or zero if there aren't any samples.
+     */
+    public double getVariance() {
+        return count > 0 ? squaredDifferences / count : 0;
+    }
+
+    /**
+     * Get the population standard deviation of the samples.
+     *
+     * @return the standard deviation.
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Get the sum of squared differences from the mean.
+     *
+     * @return the sum of squared differences.
+     */
+    public double getSquaredDifferences() {
+        return squaredDifferences;
+    }
+
+    /**
+     * Get the smallest sample.
+     *
+     * @return the minimum.
+     */
+    public double getMinimum() {
+        return minimum;
+    }
+
+    /**
+     * Get the largest sample.
+     *
+     * @return the maximum.
+     */
+    public double getMaximum() {
+        return maximum;
+    }
+}
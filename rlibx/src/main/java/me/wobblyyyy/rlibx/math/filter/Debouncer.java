@@ -0,0 +1,238 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.filter;
+
+/**
+ * A debouncer for boolean inputs.
+ *
+ * <p>
+ * Limit switches, beam breaks, and buttons all have a habit of flickering
+ * between on and off for a few milliseconds when they change. A debouncer
+ * only lets a change through once the input has held its new value for
+ * long enough. Debouncing can be applied to rising edges (false to true),
+ * falling edges (true to false), or both.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class Debouncer {
+    /**
+     * Which changes should be debounced.
+     */
+    public enum Edge {
+        /**
+         * Only debounce changes from false to true. Changes from true to
+         * false go through immediately.
+         */
+        RISING,
+
+        /**
+         * Only debounce changes from true to false. Changes from false to
+         * true go through immediately.
+         */
+        FALLING,
+
+        /**
+         * Debounce every change.
+         */
+        BOTH
+    }
+
+    /**
+     * How long an input has to hold a new value before it's let through.
+     */
+    private final double time;
+
+    /**
+     * Which changes are debounced.
+     */
+    private final Edge edge;
+
+    /**
+     * The value the debouncer starts out with.
+     */
+    private final boolean initial;
+
+    /**
+     * The debounced value.
+     */
+    private boolean output;
+
+    /**
+     * How long the input has been different from the output.
+     */
+    private double held = 0;
+
+    /**
+     * The last time an input was debounced, in nanoseconds.
+     */
+    private long lastTime;
+
+    /**
+     * Has the debouncer seen a sample yet? Until it has, there's no
+     * elapsed time to count towards the debounce period.
+     */
+    private boolean hasTime = false;
+
+    /**
+     * Create a new debouncer that debounces every change and starts out
+     * false.
+     *
+     * @param time how long the input has to hold a new value before it's
+     *             let through.
+     */
+    public Debouncer(double time) {
+        this(time, Edge.BOTH, false);
+    }
+
+    /**
+     * Create a new debouncer.
+     *
+     * @param time    how long the input has to hold a new value before it's
+     *                let through. This can't be negative.
+     * @param edge    which changes should be debounced.
+     * @param initial the value the debouncer should start out with.
+     */
+    public Debouncer(double time,
+                     Edge edge,
+                     boolean initial) {
+        if (!(time >= 0)) {
+            throw new IllegalArgumentException(
+                    "Debounce time can't be negative!"
+            );
+        }
+
+        this.time = time;
+        this.edge = edge;
+        this.initial = initial;
+        this.output = initial;
+    }
+
+    /**
+     * Should a change to a given value be debounced?
+     *
+     * @param value the value the input is changing to.
+     * @return whether or not the change is debounced.
+     */
+    private boolean isDebounced(boolean value) {
+        switch (edge) {
+            case RISING:
+                return value;
+            case FALLING:
+                return !value;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Debounce an input, using the system clock to determine how much time
+     * has elapsed since the last input, in seconds.
+     *
+     * @param value the raw input.
+     * @return the debounced input.
+     */
+    public boolean calculate(boolean value) {
+        long now = System.nanoTime();
+        double elapsed = hasTime ? (now - lastTime) * 1e-9 : 0;
+
+        lastTime = now;
+        hasTime = true;
+
+        return calculate(value, elapsed);
+    }
+
+    /**
+     * Debounce an input.
+     *
+     * @param value   the raw input.
+     * @param elapsed how much time has elapsed since the last input, in the
+     *                same units as the debounce time.
+     * @return the debounced input.
+     */
+    public boolean calculate(boolean value,
+                             double elapsed) {
+        if (value == output) {
+            /*
+             * The input agrees with the output, so any change that was
+             * building up was just a flicker.
+             */
+            held = 0;
+        } else if (!isDebounced(value)) {
+            output = value;
+            held = 0;
+        } else {
+            held += elapsed;
+
+            if (held >= time) {
+                output = value;
+                held = 0;
+            }
+        }
+
+        return output;
+    }
+
+    /**
+     * Get the debounced value.
+     *
+     * @return the debounced value.
+     */
+    public boolean getOutput() {
+        return output;
+    }
+
+    /**
+     * Get how long an input has to hold a new value before it's let
+     * through.
+     *
+     * @return the debounce time.
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Get which changes are debounced.
+     *
+     * @return which changes are debounced.
+     */
+    public Edge getEdge() {
+        return edge;
+    }
+
+    /**
+     * Reset the debouncer to its initial value.
+     */
+    public void reset() {
+        output = initial;
+        held = 0;
+        hasTime = false;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.filter;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A filter for a stream of values - encoder counts, gyroscope headings,
+ * sensor readings, that sort of thing.
+ *
+ * <p>
+ * Filters are stateful. Each one remembers whatever it needs to about the
+ * values it's already seen, so a single filter should only ever be used
+ * for a single stream. Every filter in this package is allocated up front
+ * and works entirely with primitives, so filtering a value doesn't create
+ * any garbage.
+ * </p>
+ *
+ * <p>
+ * Because filters are {@link DoubleUnaryOperator}s, they can be chained
+ * together with {@link DoubleUnaryOperator#andThen(DoubleUnaryOperator)}.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public interface Filter extends DoubleUnaryOperator {
+    /**
+     * Filter a single value.
+     *
+     * @param value the raw value.
+     * @return the filtered value.
+     */
+    double calculate(double value);
+
+    /**
+     * Forget every value the filter has seen.
+     */
+    void reset();
+
+    /**
+     * Filter a single value.
+     *
+     * @param value the raw value.
+     * @return the filtered value.
+     * @see #calculate(double)
+     */
+    @Override
+    default double applyAsDouble(double value) {
+        return calculate(value);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.filter;
+
+/**
+ * A one-dimensional Kalman filter.
+ *
+ * <p>
+ * This filter estimates a single value that doesn't change much on its own
+ * - a gyroscope's drift, the voltage of a battery, the distance to a wall
+ * the robot is parked in front of. Each time a measurement comes in, the
+ * filter blends it with its current estimate, trusting whichever one is
+ * less uncertain. The less noisy the measurements are compared to how much
+ * the value actually changes, the more the filter trusts them.
+ * </p>
+ *
+ * <p>
+ * If the value you're filtering is moving, and you know roughly how fast,
+ * {@link KalmanFilter2D} will do a much better job.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see KalmanFilter2D
+ * @since 0.2.0
+ */
+public class KalmanFilter implements Filter {
+    /**
+     * How much the value is expected to change between measurements,
+     * as a variance.
+     */
+    private final double processNoise;
+
+    /**
+     * How noisy each measurement is, as a variance.
+     */
+    private final double measurementNoise;
+
+    /**
+     * The current estimate.
+     */
+    private double estimate;
+
+    /**
+     * The variance of the current estimate.
+     */
+    private double variance;
+
+    /**
+     * The gain used in the last update.
+     */
+    private double gain;
+
+    /**
+     * Has the filter been given any measurements yet?
+     */
+    private boolean hasValue = false;
+
+    /**
+     * Create a new one-dimensional Kalman filter.
+     *
+     * @param processNoise     how much the value is expected to change
+     *                         between measurements, as a variance. This
+     *                         can't be negative.
+     * @param measurementNoise how noisy each measurement is, as a variance.
+     *                         This must be positive.
+     */
+    public KalmanFilter(double processNoise,
+                        double measurementNoise) {
+        if (!(processNoise >= 0) || !(measurementNoise > 0)) {
+            throw new IllegalArgumentException(
+                    "Process noise can't be negative, and measurement " +
+                            "noise must be positive!"
+            );
+        }
+
+        this.processNoise = processNoise;
+        this.measurementNoise = measurementNoise;
+    }
+
+    /**
+     * Predict the next value. The estimate itself doesn't change, but it
+     * becomes less certain.
+     */
+    public void predict() {
+        variance += processNoise;
+    }
+
+    /**
+     * Correct the estimate with a measurement.
+     *
+     * @param measurement the measured value.
+     * @return the corrected estimate.
+     */
+    public double update(double measurement) {
+        if (!hasValue) {
+            /*
+             * The first measurement is all we know, so it becomes the
+             * estimate, with the measurement's own uncertainty.
+             */
+            estimate = measurement;
+            variance = measurementNoise;
+            gain = 1;
+            hasValue = true;
+
+            return estimate;
+        }
+
+        gain = variance / (variance + measurementNoise);
+        estimate += gain * (measurement - estimate);
+        variance *= 1 - gain;
+
+        return estimate;
+    }
+
+    /**
+     * Predict the next value and correct it with a measurement.
+     *
+     * @param measurement the measured value.
+     * @return the filtered value.
+     */
+    @Override
+    public double calculate(double measurement) {
+        if (hasValue) predict();
+
+        return update(measurement);
+    }
+
+    /**
+     * Get the current estimate.
+     *
+     * @return the current estimate, or zero if no measurements have been
+     * given to the filter.
+     */
+    public double getEstimate() {
+        return estimate;
+    }
+
+    /**
+     * Get the variance of the current estimate.
+     *
+     * @return the estimate's variance.
+     */
+    public double getVariance() {
+        return variance;
+    }
+
+    /**
+     * Get the gain used in the last update - how much the last measurement
+     * was trusted, from 0 (not at all) to 1 (completely).
+     *
+     * @return the last gain.
+     */
+    public double getGain() {
+        return gain;
+    }
+
+    /**
+     * Forget every measurement the filter has seen.
+     */
+    @Override
+    public void reset() {
+        estimate = 0;
+        variance = 0;
+        gain = 0;
+        hasValue = false;
+    }
+}
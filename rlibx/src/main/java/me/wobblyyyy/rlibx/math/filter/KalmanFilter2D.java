@@ -0,0 +1,283 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.filter;
+
+/**
+ * A two-dimensional, constant-velocity, Kalman filter.
+ *
+ * <p>
+ * This filter estimates both a position and the velocity that position is
+ * changing at, from measurements of the position alone. That makes it a
+ * great fit for encoders and gyroscopes: you get a smoothed position, and
+ * a velocity estimate that's far less noisy than differentiating the raw
+ * readings yourself.
+ * </p>
+ *
+ * <p>
+ * The filter assumes the velocity stays about the same between
+ * measurements, and anything that changes it - the robot accelerating,
+ * somebody pushing it - is modeled as random acceleration. The process
+ * noise is how much random acceleration to expect, as a variance per unit
+ * of time. Turn it up and the filter follows changes in speed more
+ * quickly, turn it down and the velocity estimate gets smoother.
+ * </p>
+ *
+ * <p>
+ * The 2x2 covariance matrix is stored as four plain doubles, so filtering
+ * a measurement doesn't create any garbage at all.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see KalmanFilter
+ * @since 0.2.0
+ */
+public class KalmanFilter2D implements Filter {
+    /**
+     * The variance of the random acceleration, per unit of time.
+     */
+    private final double processNoise;
+
+    /**
+     * How noisy each position measurement is, as a variance.
+     */
+    private final double measurementNoise;
+
+    /**
+     * The estimated position.
+     */
+    private double position;
+
+    /**
+     * The estimated velocity.
+     */
+    private double velocity;
+
+    /**
+     * Covariance matrix: position variance.
+     */
+    private double p00;
+
+    /**
+     * Covariance matrix: position-velocity covariance. The matrix is
+     * symmetric, so this is both of the off-diagonal entries.
+     */
+    private double p01;
+
+    /**
+     * Covariance matrix: velocity variance.
+     */
+    private double p11;
+
+    /**
+     * Has the filter been given any measurements yet?
+     */
+    private boolean hasValue = false;
+
+    /**
+     * The last time a measurement was filtered, in nanoseconds.
+     */
+    private long lastTime;
+
+    /**
+     * Has the filter been given a measurement yet? The first predict
+     * step has no elapsed time to work with.
+     */
+    private boolean hasTime = false;
+
+    /**
+     * Create a new two-dimensional Kalman filter.
+     *
+     * @param processNoise     the variance of the random acceleration, per
+     *                         unit of time. This can't be negative.
+     * @param measurementNoise how noisy each position measurement is, as a
+     *                         variance. This must be positive.
+     */
+    public KalmanFilter2D(double processNoise,
+                          double measurementNoise) {
+        if (!(processNoise >= 0) || !(measurementNoise > 0)) {
+            throw new IllegalArgumentException(
+                    "Process noise can't be negative, and measurement " +
+                            "noise must be positive!"
+            );
+        }
+
+        this.processNoise = processNoise;
+        this.measurementNoise = measurementNoise;
+    }
+
+    /**
+     * Predict the position and velocity after some amount of time.
+     *
+     * @param elapsed how much time has elapsed since the last prediction.
+     */
+    public void predict(double elapsed) {
+        double dt = elapsed;
+        double dt2 = dt * dt;
+        double q = processNoise;
+
+        position += velocity * dt;
+
+        /*
+         * P = F * P * F^T + Q, with F = [1 dt; 0 1].
+         *
+         * Q is the covariance of a random, constant, acceleration over the
+         * time step - it's the usual discrete white noise model.
+         */
+        p00 += dt * (2 * p01 + dt * p11) + q * dt2 * dt / 3;
+        p01 += dt * p11 + q * dt2 / 2;
+        p11 += q * dt;
+    }
+
+    /**
+     * Correct the estimate with a position measurement.
+     *
+     * @param measurement the measured position.
+     * @return the corrected position.
+     */
+    public double update(double measurement) {
+        if (!hasValue) {
+            /*
+             * We only know where we are - not how fast we're going. The
+             * velocity starts out at zero, with a huge variance, so the
+             * first few measurements decide what it actually is.
+             */
+            position = measurement;
+            velocity = 0;
+            p00 = measurementNoise;
+            p01 = 0;
+            p11 = 1e9;
+            hasValue = true;
+
+            return position;
+        }
+
+        double innovation = measurement - position;
+        double s = p00 + measurementNoise;
+        double k0 = p00 / s;
+        double k1 = p01 / s;
+
+        position += k0 * innovation;
+        velocity += k1 * innovation;
+
+        /*
+         * P = (I - K * H) * P, with H = [1 0].
+         */
+        double n00 = (1 - k0) * p00;
+        double n01 = (1 - k0) * p01;
+        double n11 = p11 - k1 * p01;
+
+        p00 = n00;
+        p01 = n01;
+        p11 = n11;
+
+        return position;
+    }
+
+    /**
+     * Predict and correct with a position measurement, using the system
+     * clock to determine how much time has elapsed, in seconds.
+     *
+     * @param measurement the measured position.
+     * @return the filtered position.
+     */
+    @Override
+    public double calculate(double measurement) {
+        long now = System.nanoTime();
+        double elapsed = hasTime ? (now - lastTime) * 1e-9 : 0;
+
+        lastTime = now;
+        hasTime = true;
+
+        return calculate(measurement, elapsed);
+    }
+
+    /**
+     * Predict and correct with a position measurement.
+     *
+     * @param measurement the measured position.
+     * @param elapsed     how much time has elapsed since the last
+     *                    measurement.
+     * @return the filtered position.
+     */
+    public double calculate(double measurement,
+                            double elapsed) {
+        if (hasValue) predict(elapsed);
+
+        return update(measurement);
+    }
+
+    /**
+     * Get the estimated position.
+     *
+     * @return the estimated position.
+     */
+    public double getPosition() {
+        return position;
+    }
+
+    /**
+     * Get the estimated velocity.
+     *
+     * @return the estimated velocity, in position units per unit of time.
+     */
+    public double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * Get the variance of the estimated position.
+     *
+     * @return the position's variance.
+     */
+    public double getPositionVariance() {
+        return p00;
+    }
+
+    /**
+     * Get the variance of the estimated velocity.
+     *
+     * @return the velocity's variance.
+     */
+    public double getVelocityVariance() {
+        return p11;
+    }
+
+    /**
+     * Forget every measurement the filter has seen.
+     */
+    @Override
+    public void reset() {
+        position = 0;
+        velocity = 0;
+        p00 = 0;
+        p01 = 0;
+        p11 = 0;
+        hasValue = false;
+        hasTime = false;
+    }
+}
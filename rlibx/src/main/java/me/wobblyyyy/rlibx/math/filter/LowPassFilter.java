@@ -0,0 +1,181 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.filter;
+
+/**
+ * A first-order low-pass filter.
+ *
+ * <p>
+ * Low-pass filters smooth out high-frequency noise - the jitter you get
+ * from an analog sensor, for example - at the cost of lagging behind the
+ * actual signal a little bit. The filter is configured with a time
+ * constant: after one time constant, the output has moved about 63% of the
+ * way towards a new input value.
+ * </p>
+ *
+ * <p>
+ * The time constant is in whatever units you pass as elapsed time. If you
+ * use {@link #calculate(double)}, elapsed time is measured with the
+ * system's clock, in seconds. If you'd rather count in loops, use
+ * {@link #calculate(double, double)} with an elapsed time of 1.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class LowPassFilter implements Filter {
+    /**
+     * The filter's time constant.
+     */
+    private final double timeConstant;
+
+    /**
+     * The filter's current output.
+     */
+    private double output;
+
+    /**
+     * Has the filter been given any values yet?
+     */
+    private boolean hasValue = false;
+
+    /**
+     * The last time a value was filtered, in nanoseconds.
+     */
+    private long lastTime;
+
+    /**
+     * Has a time been recorded yet? {@link System#nanoTime()} may be
+     * negative, so {@link #lastTime} can't double as that flag.
+     */
+    private boolean hasTime = false;
+
+    /**
+     * Create a new low-pass filter.
+     *
+     * @param timeConstant the filter's time constant. This must be
+     *                     positive.
+     */
+    public LowPassFilter(double timeConstant) {
+        if (!(timeConstant > 0)) {
+            throw new IllegalArgumentException(
+                    "Time constant must be positive!"
+            );
+        }
+
+        this.timeConstant = timeConstant;
+    }
+
+    /**
+     * Create a new low-pass filter from a cutoff frequency, rather than a
+     * time constant.
+     *
+     * @param frequency the cutoff frequency, in hertz. This must be
+     *                  positive.
+     * @return a new low-pass filter, with a time constant in seconds.
+     */
+    public static LowPassFilter fromCutoff(double frequency) {
+        if (!(frequency > 0)) {
+            throw new IllegalArgumentException(
+                    "Cutoff frequency must be positive!"
+            );
+        }
+
+        return new LowPassFilter(1 / (2 * Math.PI * frequency));
+    }
+
+    /**
+     * Filter a value, using the system clock to determine how much time has
+     * elapsed since the last value.
+     *
+     * @param value the raw value.
+     * @return the filtered value.
+     */
+    @Override
+    public double calculate(double value) {
+        long now = System.nanoTime();
+        double elapsed = hasTime ? (now - lastTime) * 1e-9 : 0;
+
+        lastTime = now;
+        hasTime = true;
+
+        return calculate(value, elapsed);
+    }
+
+    /**
+     * Filter a value.
+     *
+     * @param value   the raw value.
+     * @param elapsed how much time has elapsed since the last value, in the
+     *                same units as the time constant.
+     * @return the filtered value.
+     */
+    public double calculate(double value,
+                            double elapsed) {
+        if (!hasValue) {
+            /*
+             * Start at the first value instead of at zero, same as the
+             * EWMA does.
+             */
+            output = value;
+            hasValue = true;
+        } else {
+            output += (value - output) * (elapsed / (timeConstant + elapsed));
+        }
+
+        return output;
+    }
+
+    /**
+     * Get the filter's current output.
+     *
+     * @return the last filtered value.
+     */
+    public double getOutput() {
+        return output;
+    }
+
+    /**
+     * Get the filter's time constant.
+     *
+     * @return the time constant.
+     */
+    public double getTimeConstant() {
+        return timeConstant;
+    }
+
+    /**
+     * Forget every value the filter has seen.
+     */
+    @Override
+    public void reset() {
+        output = 0;
+        hasValue = false;
+        hasTime = false;
+    }
+}
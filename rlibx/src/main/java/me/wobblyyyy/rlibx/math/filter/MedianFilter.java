@@ -0,0 +1,322 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.filter;
+
+/**
+ * A moving median filter.
+ *
+ * <p>
+ * Median filters are great at getting rid of spikes - a single bad reading
+ * from a distance sensor, or an encoder glitch - without smearing out the
+ * rest of the signal the way a low-pass filter would. The output is the
+ * median of the last however-many values. If there's an even number of
+ * values, it's the average of the two middle values.
+ * </p>
+ *
+ * <p>
+ * Rather than sorting the whole window every time a value is added, the
+ * window is kept in two heaps that sit back to back: a max-heap of the
+ * lower half of the window and a min-heap of the upper half, with the
+ * median sitting right between them. Each value's position in the heaps is
+ * tracked, so the value that's falling out of the window can be replaced by
+ * the new value in place. Adding a value takes O(log n) time, and getting
+ * the median takes constant time.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @since 0.2.0
+ */
+public class MedianFilter implements Filter {
+    /**
+     * The values in the window, in the order they were added.
+     */
+    private final double[] values;
+
+    /**
+     * The heap position of each value in the window. Zero is the median,
+     * negative positions are in the max-heap, and positive positions are in
+     * the min-heap.
+     */
+    private final int[] positions;
+
+    /**
+     * The heaps, as indices into the value array. Heap position p is
+     * stored at index p + offset.
+     */
+    private final int[] heap;
+
+    /**
+     * The offset of the median in the heap array.
+     */
+    private final int offset;
+
+    /**
+     * The index the next value will be written to.
+     */
+    private int next = 0;
+
+    /**
+     * How many values are currently in the window.
+     */
+    private int count = 0;
+
+    /**
+     * Create a new median filter.
+     *
+     * @param size how many values the median should be taken over. This
+     *             must be positive.
+     */
+    public MedianFilter(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException(
+                    "Median filters need a window size of at least 1!"
+            );
+        }
+
+        values = new double[size];
+        positions = new int[size];
+        heap = new int[size];
+        offset = size / 2;
+
+        reset();
+    }
+
+    /**
+     * Is the value at one heap position less than the value at another?
+     *
+     * @param i the first heap position.
+     * @param j the second heap position.
+     * @return whether or not the first position's value is smaller.
+     */
+    private boolean less(int i,
+                         int j) {
+        return values[heap[i + offset]] < values[heap[j + offset]];
+    }
+
+    /**
+     * Swap two heap positions, keeping track of where each value ends up.
+     *
+     * @param i the first heap position.
+     * @param j the second heap position.
+     */
+    private void exchange(int i,
+                          int j) {
+        int a = heap[i + offset];
+        int b = heap[j + offset];
+
+        heap[i + offset] = b;
+        heap[j + offset] = a;
+        positions[b] = i;
+        positions[a] = j;
+    }
+
+    /**
+     * Swap two heap positions if the first one's value is less than the
+     * second one's.
+     *
+     * @param i the first heap position.
+     * @param j the second heap position.
+     * @return whether or not the positions were swapped.
+     */
+    private boolean compareExchange(int i,
+                                    int j) {
+        if (less(i, j)) {
+            exchange(i, j);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * How many values are in the min-heap.
+     *
+     * @return the size of the min-heap.
+     */
+    private int minCount() {
+        return (count - 1) / 2;
+    }
+
+    /**
+     * How many values are in the max-heap.
+     *
+     * @return the size of the max-heap.
+     */
+    private int maxCount() {
+        return count / 2;
+    }
+
+    /**
+     * Restore the min-heap, starting at a given child position and working
+     * down. Position 1 is the median's only child in the min-heap.
+     *
+     * @param i the first child position to check.
+     */
+    private void minSortDown(int i) {
+        for (; i <= minCount(); i *= 2) {
+            if (i > 1 && i < minCount() && less(i + 1, i)) i++;
+
+            if (!compareExchange(i, i / 2)) break;
+        }
+    }
+
+    /**
+     * Restore the max-heap, starting at a given (negative) child position
+     * and working down. Position -1 is the median's only child in the
+     * max-heap.
+     *
+     * @param i the first child position to check.
+     */
+    private void maxSortDown(int i) {
+        for (; i >= -maxCount(); i *= 2) {
+            if (i < -1 && i > -maxCount() && less(i, i - 1)) i--;
+
+            if (!compareExchange(i / 2, i)) break;
+        }
+    }
+
+    /**
+     * Restore the min-heap above a given position.
+     *
+     * @param i the position to start at.
+     * @return whether or not the value moved all the way up to the median.
+     */
+    private boolean minSortUp(int i) {
+        while (i > 0 && compareExchange(i, i / 2)) i /= 2;
+
+        return i == 0;
+    }
+
+    /**
+     * Restore the max-heap above a given (negative) position.
+     *
+     * @param i the position to start at.
+     * @return whether or not the value moved all the way up to the median.
+     */
+    private boolean maxSortUp(int i) {
+        while (i < 0 && compareExchange(i / 2, i)) i /= 2;
+
+        return i == 0;
+    }
+
+    /**
+     * Add a value to the window and get the new median.
+     *
+     * @param value the raw value.
+     * @return the median of the window.
+     */
+    @Override
+    public double calculate(double value) {
+        boolean isNew = count < values.length;
+        int position = positions[next];
+        double old = values[next];
+
+        values[next] = value;
+        next = (next + 1) % values.length;
+
+        if (isNew) count++;
+
+        /*
+         * The new value has taken the old value's place in the heaps. From
+         * there, it only ever has to move in one direction - down its own
+         * heap, or up towards (and maybe through) the median.
+         */
+        if (position > 0) {
+            if (!isNew && old < value) {
+                minSortDown(position * 2);
+            } else if (minSortUp(position)) {
+                maxSortDown(-1);
+            }
+        } else if (position < 0) {
+            if (!isNew && value < old) {
+                maxSortDown(position * 2);
+            } else if (maxSortUp(position)) {
+                minSortDown(1);
+            }
+        } else {
+            if (maxCount() > 0) maxSortDown(-1);
+            if (minCount() > 0) minSortDown(1);
+        }
+
+        return getMedian();
+    }
+
+    /**
+     * Get the median of the values currently in the window.
+     *
+     * @return the median, or zero if no values have been added.
+     */
+    public double getMedian() {
+        if (count == 0) return 0;
+
+        double median = values[heap[offset]];
+
+        if ((count & 1) == 0) {
+            median = (median + values[heap[offset - 1]]) / 2;
+        }
+
+        return median;
+    }
+
+    /**
+     * Get how many values are currently in the window.
+     *
+     * @return how many values are in the window.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get the size of the window.
+     *
+     * @return the most values the median is taken over.
+     */
+    public int getSize() {
+        return values.length;
+    }
+
+    /**
+     * Forget every value the filter has seen.
+     */
+    @Override
+    public void reset() {
+        next = 0;
+        count = 0;
+
+        /*
+         * Lay out the empty slots so the heaps fill up evenly: the median
+         * first, then the max-heap and the min-heap, taking turns.
+         */
+        for (int i = values.length - 1; i >= 0; i--) {
+            positions[i] = ((i + 1) / 2) * ((i & 1) == 1 ? -1 : 1);
+            heap[positions[i] + offset] = i;
+            values[i] = 0;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.linalg;
+
+/**
+ * A Cholesky decomposition of a symmetric, positive definite, matrix.
+ *
+ * <p>
+ * Covariance matrices - the kind Kalman filters are full of - are always
+ * symmetric and positive definite, and for those, this is the most stable
+ * way to solve a system or get an inverse. Like
+ * {@link LuDecomposition}, a decomposition keeps its own workspace and
+ * never allocates after it's been created.
+ * </p>
+ *
+ * <p>
+ * Only the lower triangle of the input matrix is read. The upper triangle
+ * is assumed to match it.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see LuDecomposition
+ * @since 0.2.0
+ */
+public class CholeskyDecomposition {
+    /**
+     * The size of the matrices this decomposition works with.
+     */
+    private final int size;
+
+    /**
+     * The lower-triangular factor L, where {@code A = L * L^T}, in
+     * row-major order.
+     */
+    private final double[] l;
+
+    /**
+     * Workspace used while solving.
+     */
+    private final double[] work;
+
+    /**
+     * Whether the last matrix was positive definite.
+     */
+    private boolean positiveDefinite = false;
+
+    /**
+     * Create a new Cholesky decomposition.
+     *
+     * @param size the size of the (square) matrices to decompose.
+     */
+    public CholeskyDecomposition(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException(
+                    "Matrices need at least one row and one column!"
+            );
+        }
+
+        this.size = size;
+        this.l = new double[size * size];
+        this.work = new double[size];
+    }
+
+    /**
+     * Decompose a matrix.
+     *
+     * @param matrix the matrix to decompose. This isn't modified.
+     * @return true if the matrix could be decomposed, or false if it isn't
+     * positive definite.
+     */
+    public boolean decompose(Matrix matrix) {
+        Matrix.checkSize(matrix, size, size);
+
+        int n = size;
+        double[] a = matrix.data;
+
+        positiveDefinite = true;
+
+        for (int j = 0; j < n; j++) {
+            double diagonal = a[j * n + j];
+
+            for (int k = 0; k < j; k++) {
+                diagonal -= l[j * n + k] * l[j * n + k];
+            }
+
+            if (!(diagonal > 0)) {
+                positiveDefinite = false;
+                return false;
+            }
+
+            double root = Math.sqrt(diagonal);
+
+            l[j * n + j] = root;
+
+            for (int i = j + 1; i < n; i++) {
+                double sum = a[i * n + j];
+
+                for (int k = 0; k < j; k++) {
+                    sum -= l[i * n + k] * l[j * n + k];
+                }
+
+                l[i * n + j] = sum / root;
+            }
+
+            for (int i = 0; i < j; i++) l[i * n + j] = 0;
+        }
+
+        return true;
+    }
+
+    /**
+     * Was the last decomposed matrix positive definite?
+     *
+     * @return whether or not the last matrix was positive definite.
+     */
+    public boolean isPositiveDefinite() {
+        return positiveDefinite;
+    }
+
+    /**
+     * Get the determinant of the last decomposed matrix.
+     *
+     * @return the determinant.
+     */
+    public double getDeterminant() {
+        double determinant = 1;
+
+        for (int i = 0; i < size; i++) determinant *= l[i * size + i];
+
+        return determinant * determinant;
+    }
+
+    /**
+     * Copy the lower-triangular factor L into a matrix.
+     *
+     * @param into the matrix to write L into.
+     * @return the destination matrix.
+     */
+    public Matrix getL(Matrix into) {
+        Matrix.checkSize(into, size, size);
+
+        System.arraycopy(l, 0, into.data, 0, l.length);
+
+        return into;
+    }
+
+    /**
+     * Make sure the last decomposed matrix can actually be solved with.
+     */
+    private void checkSolvable() {
+        if (!positiveDefinite) {
+            throw new IllegalStateException(
+                    "Can't solve with a matrix that isn't positive definite!"
+            );
+        }
+    }
+
+    /**
+     * Solve the system in the workspace, in place.
+     */
+    private void solveWork() {
+        int n = size;
+
+        for (int i = 0; i < n; i++) {
+            double sum = work[i];
+
+            for (int k = 0; k < i; k++) sum -= l[i * n + k] * work[k];
+
+            work[i] = sum / l[i * n + i];
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = work[i];
+
+            for (int k = i + 1; k < n; k++) sum -= l[k * n + i] * work[k];
+
+            work[i] = sum / l[i * n + i];
+        }
+    }
+
+    /**
+     * Solve {@code A * x = b}, where A is the last decomposed matrix.
+     *
+     * @param b    the right-hand side.
+     * @param into the vector to write x into. This can be the same vector
+     *             as b.
+     * @return the destination vector.
+     */
+    public Vector solve(Vector b,
+                        Vector into) {
+        checkSolvable();
+
+        if (b.data.length != size || into.data.length != size) {
+            throw new IllegalArgumentException(
+                    "Expected vectors of size " + size + "."
+            );
+        }
+
+        System.arraycopy(b.data, 0, work, 0, size);
+
+        solveWork();
+
+        System.arraycopy(work, 0, into.data, 0, size);
+
+        return into;
+    }
+
+    /**
+     * Solve {@code A * X = B}, where A is the last decomposed matrix, one
+     * column at a time.
+     *
+     * @param b    the right-hand side.
+     * @param into the matrix to write X into. This can be the same matrix
+     *             as b.
+     * @return the destination matrix.
+     */
+    public Matrix solve(Matrix b,
+                        Matrix into) {
+        checkSolvable();
+
+        if (b.rows != size) {
+            throw new IllegalArgumentException(
+                    "Expected a matrix with " + size + " rows."
+            );
+        }
+
+        Matrix.checkSize(into, size, b.columns);
+
+        int m = b.columns;
+
+        for (int c = 0; c < m; c++) {
+            for (int i = 0; i < size; i++) work[i] = b.data[i * m + c];
+
+            solveWork();
+
+            for (int i = 0; i < size; i++) into.data[i * m + c] = work[i];
+        }
+
+        return into;
+    }
+
+    /**
+     * Invert the last decomposed matrix.
+     *
+     * @param into the matrix to write the inverse into.
+     * @return the destination matrix.
+     */
+    public Matrix invert(Matrix into) {
+        checkSolvable();
+        Matrix.checkSize(into, size, size);
+
+        int n = size;
+
+        for (int c = 0; c < n; c++) {
+            for (int i = 0; i < n; i++) work[i] = i == c ? 1 : 0;
+
+            solveWork();
+
+            for (int i = 0; i < n; i++) into.data[i * n + c] = work[i];
+        }
+
+        return into;
+    }
+}
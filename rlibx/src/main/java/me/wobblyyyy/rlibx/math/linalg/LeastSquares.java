@@ -0,0 +1,306 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.linalg;
+
+/**
+ * A least squares solver, for systems with more equations than unknowns.
+ *
+ * <p>
+ * Give this a tall matrix A (at least as many rows as columns) and it'll
+ * find the x that makes {@code A * x} as close as possible to b. That's how
+ * you fit a line to a bunch of measurements, or figure out how a robot
+ * moved from more wheel readings than it has degrees of freedom.
+ * </p>
+ *
+ * <p>
+ * The matrix is factored with Householder reflections (a QR
+ * decomposition) rather than by solving the normal equations
+ * ({@code A^T * A * x = A^T * b}), which would square the matrix's
+ * condition number and throw away half the precision. Once a matrix has
+ * been factored, it can be solved against as many right-hand sides as you
+ * want. Like the other decompositions, this keeps its own workspace and
+ * never allocates after it's been created.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see LuDecomposition
+ * @since 0.2.0
+ */
+public class LeastSquares {
+    /**
+     * How small a diagonal entry of R can be, relative to the largest one,
+     * before the matrix is considered rank deficient.
+     */
+    private static final double TOLERANCE = 1e-12;
+
+    /**
+     * How many rows (equations) the matrices have.
+     */
+    private final int rows;
+
+    /**
+     * How many columns (unknowns) the matrices have.
+     */
+    private final int columns;
+
+    /**
+     * The Householder vectors (on and below the diagonal) and R (above
+     * the diagonal), in row-major order.
+     */
+    private final double[] qr;
+
+    /**
+     * The diagonal of R.
+     */
+    private final double[] diagonal;
+
+    /**
+     * Workspace used while solving.
+     */
+    private final double[] work;
+
+    /**
+     * Whether the last factored matrix had full column rank.
+     */
+    private boolean fullRank = false;
+
+    /**
+     * Create a new least squares solver.
+     *
+     * @param rows    how many rows (equations) the matrices have.
+     * @param columns how many columns (unknowns) the matrices have. This
+     *                can't be more than the number of rows.
+     */
+    public LeastSquares(int rows,
+                        int columns) {
+        if (columns < 1 || rows < columns) {
+            throw new IllegalArgumentException(
+                    "Least squares needs at least one column, and at " +
+                            "least as many rows as columns!"
+            );
+        }
+
+        this.rows = rows;
+        this.columns = columns;
+        this.qr = new double[rows * columns];
+        this.diagonal = new double[columns];
+        this.work = new double[rows];
+    }
+
+    /**
+     * Factor a matrix.
+     *
+     * @param matrix the matrix to factor. This isn't modified.
+     * @return true if the matrix has full column rank, or false if some of
+     * its columns depend on the others (in which case there's no unique
+     * solution).
+     */
+    public boolean factor(Matrix matrix) {
+        Matrix.checkSize(matrix, rows, columns);
+
+        int m = rows;
+        int n = columns;
+        double largest = 0;
+
+        System.arraycopy(matrix.data, 0, qr, 0, qr.length);
+
+        for (int k = 0; k < n; k++) {
+            /*
+             * Build the reflection that zeroes everything below the
+             * diagonal in this column.
+             */
+            double norm = 0;
+
+            for (int i = k; i < m; i++) norm += qr[i * n + k] * qr[i * n + k];
+
+            norm = Math.sqrt(norm);
+
+            if (norm != 0) {
+                if (qr[k * n + k] < 0) norm = -norm;
+
+                for (int i = k; i < m; i++) qr[i * n + k] /= norm;
+
+                qr[k * n + k] += 1;
+
+                /*
+                 * Apply it to every column to the right.
+                 */
+                for (int j = k + 1; j < n; j++) {
+                    double s = 0;
+
+                    for (int i = k; i < m; i++) {
+                        s += qr[i * n + k] * qr[i * n + j];
+                    }
+
+                    s = -s / qr[k * n + k];
+
+                    for (int i = k; i < m; i++) {
+                        qr[i * n + j] += s * qr[i * n + k];
+                    }
+                }
+            }
+
+            diagonal[k] = -norm;
+            largest = Math.max(largest, Math.abs(norm));
+        }
+
+        fullRank = largest > 0;
+
+        for (int k = 0; k < n; k++) {
+            if (Math.abs(diagonal[k]) <= TOLERANCE * largest) {
+                fullRank = false;
+            }
+        }
+
+        return fullRank;
+    }
+
+    /**
+     * Did the last factored matrix have full column rank?
+     *
+     * @return whether or not the last matrix had full column rank.
+     */
+    public boolean isFullRank() {
+        return fullRank;
+    }
+
+    /**
+     * Make sure the last factored matrix can actually be solved with.
+     */
+    private void checkSolvable() {
+        if (!fullRank) {
+            throw new IllegalStateException(
+                    "Can't solve with a matrix that isn't full rank!"
+            );
+        }
+    }
+
+    /**
+     * Solve the system in the workspace, in place. The solution ends up in
+     * the first {@code columns} entries.
+     */
+    private void solveWork() {
+        int m = rows;
+        int n = columns;
+
+        /*
+         * Multiply by Q^T, one reflection at a time...
+         */
+        for (int k = 0; k < n; k++) {
+            double s = 0;
+
+            for (int i = k; i < m; i++) s += qr[i * n + k] * work[i];
+
+            s = -s / qr[k * n + k];
+
+            for (int i = k; i < m; i++) work[i] += s * qr[i * n + k];
+        }
+
+        /*
+         * ... and then back substitute with R.
+         */
+        for (int k = n - 1; k >= 0; k--) {
+            work[k] /= diagonal[k];
+
+            for (int i = 0; i < k; i++) work[i] -= work[k] * qr[i * n + k];
+        }
+    }
+
+    /**
+     * Find the x that minimizes {@code |A * x - b|}, where A is the last
+     * factored matrix.
+     *
+     * @param b    the right-hand side, with one entry per row.
+     * @param into the vector to write x into, with one entry per column.
+     * @return the destination vector.
+     */
+    public Vector solve(Vector b,
+                        Vector into) {
+        checkSolvable();
+
+        if (b.data.length != rows || into.data.length != columns) {
+            throw new IllegalArgumentException(
+                    "Expected a right-hand side of size " + rows + " and " +
+                            "a solution of size " + columns + "."
+            );
+        }
+
+        System.arraycopy(b.data, 0, work, 0, rows);
+
+        solveWork();
+
+        System.arraycopy(work, 0, into.data, 0, columns);
+
+        return into;
+    }
+
+    /**
+     * Factor a matrix and solve it in one go.
+     *
+     * @param matrix the matrix A.
+     * @param b      the right-hand side.
+     * @param into   the vector to write x into.
+     * @return true if the system was solved, or false if the matrix didn't
+     * have full column rank (in which case the destination isn't touched).
+     */
+    public boolean solve(Matrix matrix,
+                         Vector b,
+                         Vector into) {
+        if (!factor(matrix)) return false;
+
+        solve(b, into);
+
+        return true;
+    }
+
+    /**
+     * Get the pseudo-inverse of the last factored matrix - the matrix that
+     * turns any b straight into its least squares solution.
+     *
+     * @param into the (columns x rows) matrix to write the pseudo-inverse
+     *             into.
+     * @return the destination matrix.
+     */
+    public Matrix pseudoInverse(Matrix into) {
+        checkSolvable();
+        Matrix.checkSize(into, columns, rows);
+
+        int m = rows;
+        int n = columns;
+
+        for (int c = 0; c < m; c++) {
+            for (int i = 0; i < m; i++) work[i] = i == c ? 1 : 0;
+
+            solveWork();
+
+            for (int i = 0; i < n; i++) into.data[i * m + c] = work[i];
+        }
+
+        return into;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.linalg;
+
+/**
+ * An LU decomposition, with partial pivoting, of a square matrix.
+ *
+ * <p>
+ * This is the general-purpose way to invert a matrix or solve a system of
+ * linear equations. Create one decomposition for a given size and re-use
+ * it - the decomposition keeps its own workspace, so decomposing a matrix,
+ * solving with it, and inverting it never allocate anything.
+ * </p>
+ *
+ * <p>
+ * If the matrix you're working with is symmetric and positive definite (a
+ * covariance matrix, for example), {@link CholeskyDecomposition} is more
+ * numerically stable, and it'll tell you if the matrix isn't actually
+ * positive definite.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see CholeskyDecomposition
+ * @since 0.2.0
+ */
+public class LuDecomposition {
+    /**
+     * The size of the matrices this decomposition works with.
+     */
+    private final int size;
+
+    /**
+     * The combined L (below the diagonal, with an implicit unit diagonal)
+     * and U (on and above the diagonal) factors, in row-major order.
+     */
+    private final double[] lu;
+
+    /**
+     * The row permutation: row i of the factored matrix is row pivots[i]
+     * of the original matrix.
+     */
+    private final int[] pivots;
+
+    /**
+     * Workspace used while solving.
+     */
+    private final double[] work;
+
+    /**
+     * Whether the permutation has an odd number of swaps.
+     */
+    private boolean odd;
+
+    /**
+     * Whether the last matrix that was decomposed was singular.
+     */
+    private boolean singular = true;
+
+    /**
+     * Create a new LU decomposition.
+     *
+     * @param size the size of the (square) matrices to decompose.
+     */
+    public LuDecomposition(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException(
+                    "Matrices need at least one row and one column!"
+            );
+        }
+
+        this.size = size;
+        this.lu = new double[size * size];
+        this.pivots = new int[size];
+        this.work = new double[size];
+    }
+
+    /**
+     * Decompose a matrix.
+     *
+     * @param matrix the matrix to decompose. This isn't modified.
+     * @return true if the matrix could be decomposed, or false if it's
+     * singular (meaning it can't be inverted).
+     */
+    public boolean decompose(Matrix matrix) {
+        Matrix.checkSize(matrix, size, size);
+
+        int n = size;
+
+        System.arraycopy(matrix.data, 0, lu, 0, lu.length);
+
+        for (int i = 0; i < n; i++) pivots[i] = i;
+
+        odd = false;
+        singular = false;
+
+        for (int k = 0; k < n; k++) {
+            /*
+             * Partial pivoting: swap the row with the biggest entry in this
+             * column into the pivot position.
+             */
+            int pivot = k;
+            double max = Math.abs(lu[k * n + k]);
+
+            for (int i = k + 1; i < n; i++) {
+                double value = Math.abs(lu[i * n + k]);
+
+                if (value > max) {
+                    max = value;
+                    pivot = i;
+                }
+            }
+
+            if (pivot != k) {
+                for (int j = 0; j < n; j++) {
+                    double temp = lu[k * n + j];
+
+                    lu[k * n + j] = lu[pivot * n + j];
+                    lu[pivot * n + j] = temp;
+                }
+
+                int temp = pivots[k];
+
+                pivots[k] = pivots[pivot];
+                pivots[pivot] = temp;
+                odd = !odd;
+            }
+
+            double diagonal = lu[k * n + k];
+
+            if (diagonal == 0) {
+                singular = true;
+                continue;
+            }
+
+            for (int i = k + 1; i < n; i++) {
+                double factor = lu[i * n + k] / diagonal;
+
+                lu[i * n + k] = factor;
+
+                for (int j = k + 1; j < n; j++) {
+                    lu[i * n + j] -= factor * lu[k * n + j];
+                }
+            }
+        }
+
+        return !singular;
+    }
+
+    /**
+     * Was the last decomposed matrix singular?
+     *
+     * @return whether or not the last matrix was singular.
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /**
+     * Get the determinant of the last decomposed matrix.
+     *
+     * @return the determinant.
+     */
+    public double getDeterminant() {
+        double determinant = odd ? -1 : 1;
+
+        for (int i = 0; i < size; i++) {
+            determinant *= lu[i * size + i];
+        }
+
+        return determinant;
+    }
+
+    /**
+     * Make sure the last decomposed matrix can actually be solved with.
+     */
+    private void checkSolvable() {
+        if (singular) {
+            throw new IllegalStateException(
+                    "Can't solve with a singular matrix!"
+            );
+        }
+    }
+
+    /**
+     * Solve the system in the workspace, in place.
+     */
+    private void solveWork() {
+        int n = size;
+
+        /*
+         * Forward substitution with L, then back substitution with U.
+         */
+        for (int i = 1; i < n; i++) {
+            double sum = work[i];
+
+            for (int j = 0; j < i; j++) sum -= lu[i * n + j] * work[j];
+
+            work[i] = sum;
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = work[i];
+
+            for (int j = i + 1; j < n; j++) sum -= lu[i * n + j] * work[j];
+
+            work[i] = sum / lu[i * n + i];
+        }
+    }
+
+    /**
+     * Solve {@code A * x = b}, where A is the last decomposed matrix.
+     *
+     * @param b    the right-hand side.
+     * @param into the vector to write x into. This can be the same vector
+     *             as b.
+     * @return the destination vector.
+     */
+    public Vector solve(Vector b,
+                        Vector into) {
+        checkSolvable();
+
+        if (b.data.length != size || into.data.length != size) {
+            throw new IllegalArgumentException(
+                    "Expected vectors of size " + size + "."
+            );
+        }
+
+        for (int i = 0; i < size; i++) work[i] = b.data[pivots[i]];
+
+        solveWork();
+
+        System.arraycopy(work, 0, into.data, 0, size);
+
+        return into;
+    }
+
+    /**
+     * Solve {@code A * X = B}, where A is the last decomposed matrix, one
+     * column at a time.
+     *
+     * @param b    the right-hand side.
+     * @param into the matrix to write X into. This can be the same matrix
+     *             as b.
+     * @return the destination matrix.
+     */
+    public Matrix solve(Matrix b,
+                        Matrix into) {
+        checkSolvable();
+
+        if (b.rows != size) {
+            throw new IllegalArgumentException(
+                    "Expected a matrix with " + size + " rows."
+            );
+        }
+
+        Matrix.checkSize(into, size, b.columns);
+
+        int m = b.columns;
+
+        for (int c = 0; c < m; c++) {
+            for (int i = 0; i < size; i++) {
+                work[i] = b.data[pivots[i] * m + c];
+            }
+
+            solveWork();
+
+            for (int i = 0; i < size; i++) into.data[i * m + c] = work[i];
+        }
+
+        return into;
+    }
+
+    /**
+     * Invert the last decomposed matrix.
+     *
+     * @param into the matrix to write the inverse into.
+     * @return the destination matrix.
+     */
+    public Matrix invert(Matrix into) {
+        checkSolvable();
+        Matrix.checkSize(into, size, size);
+
+        int n = size;
+
+        for (int c = 0; c < n; c++) {
+            for (int i = 0; i < n; i++) work[i] = pivots[i] == c ? 1 : 0;
+
+            solveWork();
+
+            for (int i = 0; i < n; i++) into.data[i * n + c] = work[i];
+        }
+
+        return into;
+    }
+}
@@ -0,0 +1,501 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.linalg;
+
+import java.util.Arrays;
+
+/**
+ * A mutable, fixed-size, matrix.
+ *
+ * <p>
+ * This is designed for the small matrices robotics code actually uses -
+ * 2x2 up to 6x6 or so, for kinematics, odometry, and Kalman filters. Like
+ * {@link Vector}, matrices are meant to be created once and re-used. Every
+ * operation writes its result into a matrix you provide, so nothing in here
+ * allocates. Entries are stored in a single row-major array, and none of
+ * the operations create any temporary objects, so there's nothing for the
+ * garbage collector to do and nothing for the JIT to have to scalar-replace.
+ * </p>
+ *
+ * <p>
+ * Operations that read from one matrix while writing to another (like
+ * {@link #multiply(Matrix, Matrix)}) can't write into one of their inputs -
+ * they'd overwrite entries they still need. Those operations throw an
+ * exception if you try. Element-wise operations, like
+ * {@link #add(Matrix, Matrix)}, are fine either way.
+ * </p>
+ *
+ * <p>
+ * Inverses and solving linear systems are handled by
+ * {@link LuDecomposition}, {@link CholeskyDecomposition}, and
+ * {@link LeastSquares}, which keep their own pre-allocated workspaces.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see Vector
+ * @since 0.2.0
+ */
+public class Matrix {
+    /**
+     * How many rows the matrix has.
+     */
+    final int rows;
+
+    /**
+     * How many columns the matrix has.
+     */
+    final int columns;
+
+    /**
+     * The matrix's entries, in row-major order.
+     */
+    final double[] data;
+
+    /**
+     * Create a new matrix, with every entry set to zero.
+     *
+     * @param rows    how many rows the matrix has. This must be positive.
+     * @param columns how many columns the matrix has. This must be
+     *                positive.
+     */
+    public Matrix(int rows,
+                  int columns) {
+        if (rows < 1 || columns < 1) {
+            throw new IllegalArgumentException(
+                    "Matrices need at least one row and one column!"
+            );
+        }
+
+        this.rows = rows;
+        this.columns = columns;
+        this.data = new double[rows * columns];
+    }
+
+    /**
+     * Create a new identity matrix.
+     *
+     * @param size how many rows and columns the matrix has.
+     * @return a new identity matrix.
+     */
+    public static Matrix identity(int size) {
+        return new Matrix(size, size).setIdentity();
+    }
+
+    /**
+     * Create a new matrix with a set of entries.
+     *
+     * @param rows    how many rows the matrix has.
+     * @param columns how many columns the matrix has.
+     * @param values  the matrix's entries, in row-major order.
+     * @return a new matrix.
+     */
+    public static Matrix of(int rows,
+                            int columns,
+                            double... values) {
+        return new Matrix(rows, columns).set(values);
+    }
+
+    /**
+     * Make sure another matrix has a given size.
+     *
+     * @param other   the other matrix.
+     * @param rows    how many rows the matrix should have.
+     * @param columns how many columns the matrix should have.
+     */
+    static void checkSize(Matrix other,
+                          int rows,
+                          int columns) {
+        if (other.rows != rows || other.columns != columns) {
+            throw new IllegalArgumentException(
+                    "Expected a " + rows + "x" + columns + " matrix, but " +
+                            "got a " + other.rows + "x" + other.columns +
+                            " matrix."
+            );
+        }
+    }
+
+    /**
+     * Make sure a destination isn't also one of the inputs.
+     *
+     * @param into the destination.
+     * @param a    the first input.
+     * @param b    the second input, or null if there's only one.
+     */
+    private static void checkAlias(Object into,
+                                   Object a,
+                                   Object b) {
+        if (into == a || into == b) {
+            throw new IllegalArgumentException(
+                    "This operation can't write into one of its inputs!"
+            );
+        }
+    }
+
+    /**
+     * Get how many rows the matrix has.
+     *
+     * @return the matrix's row count.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Get how many columns the matrix has.
+     *
+     * @return the matrix's column count.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get one of the matrix's entries.
+     *
+     * @param row    the entry's row.
+     * @param column the entry's column.
+     * @return the entry.
+     */
+    public double get(int row,
+                      int column) {
+        return data[row * columns + column];
+    }
+
+    /**
+     * Set one of the matrix's entries.
+     *
+     * @param row    the entry's row.
+     * @param column the entry's column.
+     * @param value  the entry's new value.
+     */
+    public void set(int row,
+                    int column,
+                    double value) {
+        data[row * columns + column] = value;
+    }
+
+    /**
+     * Copy another matrix's entries into this one.
+     *
+     * @param other the matrix to copy.
+     * @return this matrix.
+     */
+    public Matrix set(Matrix other) {
+        checkSize(other, rows, columns);
+
+        System.arraycopy(other.data, 0, data, 0, data.length);
+
+        return this;
+    }
+
+    /**
+     * Set every entry of the matrix.
+     *
+     * @param values the matrix's new entries, in row-major order.
+     * @return this matrix.
+     */
+    public Matrix set(double... values) {
+        if (values.length != data.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + data.length + " values, but got " +
+                            values.length + "."
+            );
+        }
+
+        System.arraycopy(values, 0, data, 0, data.length);
+
+        return this;
+    }
+
+    /**
+     * Set every entry to zero.
+     *
+     * @return this matrix.
+     */
+    public Matrix setZero() {
+        Arrays.fill(data, 0);
+
+        return this;
+    }
+
+    /**
+     * Turn this matrix into an identity matrix - ones on the diagonal, and
+     * zeros everywhere else.
+     *
+     * @return this matrix.
+     */
+    public Matrix setIdentity() {
+        Arrays.fill(data, 0);
+
+        for (int i = 0; i < Math.min(rows, columns); i++) {
+            data[i * columns + i] = 1;
+        }
+
+        return this;
+    }
+
+    /**
+     * Multiply this matrix by another matrix.
+     *
+     * @param other the matrix to multiply by, on the right.
+     * @param into  the matrix to write the product into. This can't be
+     *              either of the inputs.
+     * @return the destination matrix.
+     */
+    public Matrix multiply(Matrix other,
+                           Matrix into) {
+        if (other.rows != columns) {
+            throw new IllegalArgumentException(
+                    "Can't multiply a " + rows + "x" + columns + " matrix " +
+                            "by a " + other.rows + "x" + other.columns +
+                            " matrix."
+            );
+        }
+
+        checkSize(into, rows, other.columns);
+        checkAlias(into, this, other);
+
+        double[] a = data;
+        double[] b = other.data;
+        double[] c = into.data;
+        int n = other.columns;
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+
+                for (int k = 0; k < columns; k++) {
+                    sum += a[i * columns + k] * b[k * n + j];
+                }
+
+                c[i * n + j] = sum;
+            }
+        }
+
+        return into;
+    }
+
+    /**
+     * Multiply this matrix by the transpose of another matrix, without
+     * actually transposing it. This comes up constantly in Kalman filters
+     * ({@code P * H^T}, {@code F * P * F^T}).
+     *
+     * @param other the matrix whose transpose should be multiplied by.
+     * @param into  the matrix to write the product into. This can't be
+     *              either of the inputs.
+     * @return the destination matrix.
+     */
+    public Matrix multiplyTransposed(Matrix other,
+                                     Matrix into) {
+        if (other.columns != columns) {
+            throw new IllegalArgumentException(
+                    "Can't multiply a " + rows + "x" + columns + " matrix " +
+                            "by the transpose of a " + other.rows + "x" +
+                            other.columns + " matrix."
+            );
+        }
+
+        checkSize(into, rows, other.rows);
+        checkAlias(into, this, other);
+
+        double[] a = data;
+        double[] b = other.data;
+        double[] c = into.data;
+        int n = other.rows;
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+
+                for (int k = 0; k < columns; k++) {
+                    sum += a[i * columns + k] * b[j * columns + k];
+                }
+
+                c[i * n + j] = sum;
+            }
+        }
+
+        return into;
+    }
+
+    /**
+     * Multiply this matrix by a vector.
+     *
+     * @param vector the vector to multiply by.
+     * @param into   the vector to write the product into. This can't be the
+     *               input vector.
+     * @return the destination vector.
+     */
+    public Vector multiply(Vector vector,
+                           Vector into) {
+        if (vector.data.length != columns || into.data.length != rows) {
+            throw new IllegalArgumentException(
+                    "Can't multiply a " + rows + "x" + columns + " matrix " +
+                            "by a vector of size " + vector.data.length +
+                            " into a vector of size " + into.data.length +
+                            "."
+            );
+        }
+
+        checkAlias(into, vector, null);
+
+        double[] a = data;
+        double[] v = vector.data;
+        double[] c = into.data;
+
+        for (int i = 0; i < rows; i++) {
+            double sum = 0;
+
+            for (int k = 0; k < columns; k++) {
+                sum += a[i * columns + k] * v[k];
+            }
+
+            c[i] = sum;
+        }
+
+        return into;
+    }
+
+    /**
+     * Transpose this matrix.
+     *
+     * @param into the matrix to write the transpose into. This can only be
+     *             this matrix if this matrix is square.
+     * @return the destination matrix.
+     */
+    public Matrix transpose(Matrix into) {
+        checkSize(into, columns, rows);
+
+        if (into == this) {
+            for (int i = 0; i < rows; i++) {
+                for (int j = i + 1; j < columns; j++) {
+                    double temp = data[i * columns + j];
+
+                    data[i * columns + j] = data[j * columns + i];
+                    data[j * columns + i] = temp;
+                }
+            }
+
+            return into;
+        }
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                into.data[j * rows + i] = data[i * columns + j];
+            }
+        }
+
+        return into;
+    }
+
+    /**
+     * Add another matrix to this one.
+     *
+     * @param other the matrix to add.
+     * @param into  the matrix to write the sum into.
+     * @return the destination matrix.
+     */
+    public Matrix add(Matrix other,
+                      Matrix into) {
+        checkSize(other, rows, columns);
+        checkSize(into, rows, columns);
+
+        for (int i = 0; i < data.length; i++) {
+            into.data[i] = data[i] + other.data[i];
+        }
+
+        return into;
+    }
+
+    /**
+     * Subtract another matrix from this one.
+     *
+     * @param other the matrix to subtract.
+     * @param into  the matrix to write the difference into.
+     * @return the destination matrix.
+     */
+    public Matrix subtract(Matrix other,
+                           Matrix into) {
+        checkSize(other, rows, columns);
+        checkSize(into, rows, columns);
+
+        for (int i = 0; i < data.length; i++) {
+            into.data[i] = data[i] - other.data[i];
+        }
+
+        return into;
+    }
+
+    /**
+     * Multiply every entry of this matrix by a number.
+     *
+     * @param scalar the number to multiply by.
+     * @param into   the matrix to write the result into.
+     * @return the destination matrix.
+     */
+    public Matrix scale(double scalar,
+                        Matrix into) {
+        checkSize(into, rows, columns);
+
+        for (int i = 0; i < data.length; i++) {
+            into.data[i] = data[i] * scalar;
+        }
+
+        return into;
+    }
+
+    /**
+     * Get the largest absolute value of any entry.
+     *
+     * @return the largest absolute entry.
+     */
+    public double maxAbs() {
+        double max = 0;
+
+        for (double value : data) {
+            max = Math.max(max, Math.abs(value));
+        }
+
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < rows; i++) {
+            builder.append(Arrays.toString(
+                    Arrays.copyOfRange(data, i * columns, (i + 1) * columns)
+            ));
+
+            if (i < rows - 1) builder.append('\n');
+        }
+
+        return builder.toString();
+    }
+}
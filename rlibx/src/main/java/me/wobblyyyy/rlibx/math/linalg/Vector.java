@@ -0,0 +1,272 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.linalg;
+
+import java.util.Arrays;
+
+/**
+ * A mutable, fixed-size, vector.
+ *
+ * <p>
+ * Vectors are meant to be created once and re-used forever. Every
+ * operation writes its result into a vector you provide (which is allowed
+ * to be the same vector you're calling the method on), so nothing in here
+ * ever allocates anything. Methods return the destination vector, so
+ * operations can be chained.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see Matrix
+ * @since 0.2.0
+ */
+public class Vector {
+    /**
+     * The vector's entries.
+     */
+    final double[] data;
+
+    /**
+     * Create a new vector, with every entry set to zero.
+     *
+     * @param size how many entries the vector has. This must be positive.
+     */
+    public Vector(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException(
+                    "Vectors need at least one entry!"
+            );
+        }
+
+        data = new double[size];
+    }
+
+    /**
+     * Create a new vector with a set of entries.
+     *
+     * @param values the vector's entries. These are copied.
+     * @return a new vector.
+     */
+    public static Vector of(double... values) {
+        Vector vector = new Vector(values.length);
+
+        System.arraycopy(values, 0, vector.data, 0, values.length);
+
+        return vector;
+    }
+
+    /**
+     * Make sure another vector is the same size as this one.
+     *
+     * @param other the other vector.
+     */
+    void checkSize(Vector other) {
+        if (other.data.length != data.length) {
+            throw new IllegalArgumentException(
+                    "Expected a vector of size " + data.length + ", but " +
+                            "got one of size " + other.data.length + "."
+            );
+        }
+    }
+
+    /**
+     * Get how many entries the vector has.
+     *
+     * @return the vector's size.
+     */
+    public int size() {
+        return data.length;
+    }
+
+    /**
+     * Get one of the vector's entries.
+     *
+     * @param index the entry's index.
+     * @return the entry.
+     */
+    public double get(int index) {
+        return data[index];
+    }
+
+    /**
+     * Set one of the vector's entries.
+     *
+     * @param index the entry's index.
+     * @param value the entry's new value.
+     */
+    public void set(int index,
+                    double value) {
+        data[index] = value;
+    }
+
+    /**
+     * Copy another vector's entries into this one.
+     *
+     * @param other the vector to copy.
+     * @return this vector.
+     */
+    public Vector set(Vector other) {
+        checkSize(other);
+
+        System.arraycopy(other.data, 0, data, 0, data.length);
+
+        return this;
+    }
+
+    /**
+     * Set every entry of the vector.
+     *
+     * @param values the vector's new entries.
+     * @return this vector.
+     */
+    public Vector set(double... values) {
+        if (values.length != data.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + data.length + " values, but got " +
+                            values.length + "."
+            );
+        }
+
+        System.arraycopy(values, 0, data, 0, data.length);
+
+        return this;
+    }
+
+    /**
+     * Set every entry to zero.
+     *
+     * @return this vector.
+     */
+    public Vector setZero() {
+        Arrays.fill(data, 0);
+
+        return this;
+    }
+
+    /**
+     * Add another vector to this one.
+     *
+     * @param other the vector to add.
+     * @param into  the vector to write the sum into.
+     * @return the destination vector.
+     */
+    public Vector add(Vector other,
+                      Vector into) {
+        checkSize(other);
+        checkSize(into);
+
+        for (int i = 0; i < data.length; i++) {
+            into.data[i] = data[i] + other.data[i];
+        }
+
+        return into;
+    }
+
+    /**
+     * Subtract another vector from this one.
+     *
+     * @param other the vector to subtract.
+     * @param into  the vector to write the difference into.
+     * @return the destination vector.
+     */
+    public Vector subtract(Vector other,
+                           Vector into) {
+        checkSize(other);
+        checkSize(into);
+
+        for (int i = 0; i < data.length; i++) {
+            into.data[i] = data[i] - other.data[i];
+        }
+
+        return into;
+    }
+
+    /**
+     * Multiply this vector by a number.
+     *
+     * @param scalar the number to multiply by.
+     * @param into   the vector to write the result into.
+     * @return the destination vector.
+     */
+    public Vector scale(double scalar,
+                        Vector into) {
+        checkSize(into);
+
+        for (int i = 0; i < data.length; i++) {
+            into.data[i] = data[i] * scalar;
+        }
+
+        return into;
+    }
+
+    /**
+     * Get the dot product of this vector and another one.
+     *
+     * @param other the other vector.
+     * @return the dot product.
+     */
+    public double dot(Vector other) {
+        checkSize(other);
+
+        double sum = 0;
+
+        for (int i = 0; i < data.length; i++) {
+            sum += data[i] * other.data[i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Get the length of the vector.
+     *
+     * @return the vector's Euclidean norm.
+     */
+    public double norm() {
+        return Math.sqrt(dot(this));
+    }
+
+    /**
+     * Get the largest absolute value of any entry.
+     *
+     * @return the vector's infinity norm.
+     */
+    public double maxAbs() {
+        double max = 0;
+
+        for (double value : data) {
+            max = Math.max(max, Math.abs(value));
+        }
+
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(data);
+    }
+}
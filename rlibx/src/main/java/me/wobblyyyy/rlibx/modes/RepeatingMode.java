@@ -26,6 +26,8 @@
 
 package me.wobblyyyy.rlibx.modes;
 
+import java.util.function.DoubleConsumer;
+
 /**
  * A mode, containing a single Runnable element that's executed many times
  * over and over again.
@@ -44,8 +46,15 @@ package me.wobblyyyy.rlibx.modes;
  * modes, such as {@link Mode} and {@link LinearMode} do.
  * </p>
  *
+ * <p>
+ * If you'd like to keep an eye on how quickly the loop is running, you can
+ * give a repeating mode a {@link DoubleConsumer} that loop times should be
+ * reported to - {@link me.wobblyyyy.rlibx.math.WindowedStatistics} and
+ * {@link me.wobblyyyy.rlibx.math.WindowedExtrema} are both good choices.
+ * </p>
+ *
  * @author Colin Robertson
- * @version 1.0.0
+ * @version 1.1.0
  * @since 0.1.0
  */
 public class RepeatingMode extends Mode {
@@ -122,6 +131,26 @@ public class RepeatingMode extends Mode {
         });
     }
 
+    /**
+     * Create a new RepeatingMode with the Runnable element that you input,
+     * reporting loop times to a consumer.
+     *
+     * <p>
+     * Every time the loop comes back around, the time since the previous
+     * iteration started (in seconds) is passed to the consumer. That's the
+     * loop's period - the same amount of time any control code running in
+     * the loop sees between updates. The consumer is called from the mode's
+     * thread, right before the runnable is run.
+     * </p>
+     *
+     * @param runnable  the runnable that should be run on a loop.
+     * @param loopTimes the consumer loop times should be reported to.
+     */
+    public RepeatingMode(Runnable runnable,
+                         DoubleConsumer loopTimes) {
+        this(new LoopTimer(runnable, loopTimes));
+    }
+
     /**
      * Start the repeating mode's execution.
      *
@@ -174,4 +203,57 @@ public class RepeatingMode extends Mode {
          */
         shouldRun = false;
     }
+
+    /**
+     * A runnable that reports how long it's been since it was last run.
+     */
+    private static class LoopTimer implements Runnable {
+        /**
+         * The runnable being timed.
+         */
+        private final Runnable runnable;
+
+        /**
+         * The consumer loop times are reported to.
+         */
+        private final DoubleConsumer loopTimes;
+
+        /**
+         * When the last iteration started, in nanoseconds.
+         */
+        private long lastStart;
+
+        /**
+         * Has there been an iteration yet? Only meaningful loop times (the
+         * gap between two iterations) are reported, so the first one is
+         * skipped.
+         */
+        private boolean hasStarted = false;
+
+        /**
+         * Create a new loop timer.
+         *
+         * @param runnable  the runnable being timed.
+         * @param loopTimes the consumer loop times are reported to.
+         */
+        private LoopTimer(Runnable runnable,
+                          DoubleConsumer loopTimes) {
+            this.runnable = runnable;
+            this.loopTimes = loopTimes;
+        }
+
+        /**
+         * Report the loop time, and then run the runnable.
+         */
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+
+            if (hasStarted) loopTimes.accept((now - lastStart) * 1e-9);
+
+            lastStart = now;
+            hasStarted = true;
+            runnable.run();
+        }
+    }
 }
@@ -35,7 +35,7 @@ import java.util.HashMap;
  * Class used in storing information about multiple different modes.
  *
  * @author Colin Robertson
- * @version 1.1.0
+ * @version 1.2.0
  * @since 0.1.0
  */
 public class MultiModeManager {
@@ -49,6 +49,11 @@ public class MultiModeManager {
      * The robot's current mode of operation.
      */
     private Modes currentMode = Modes.ROBOT;
+    /**
+     * The service that prepares expensive work ahead of the autonomous
+     * period. This may be null, in which case nothing is prepared.
+     */
+    private PreparationService preparation;
 
     /**
      * Create a new MultiModeManager without any parameters.
@@ -83,10 +88,21 @@ public class MultiModeManager {
     /**
      * Force the activation of a given mode.
      *
+     * <p>
+     * If the mode is {@link Modes#AUTONOMOUS}, and this manager has a
+     * {@link PreparationService}, the service is sealed before the mode is
+     * started. Everything autonomous needs has either finished preparing or
+     * fallen back by the time the mode's code starts running.
+     * </p>
+     *
      * @param mode the mode to activate.
      * @see MultiModeManager#deactivateMode(Modes)
      */
     public void activateMode(Modes mode) {
+        if (mode == Modes.AUTONOMOUS && preparation != null) {
+            preparation.seal();
+        }
+
         getMode(mode).start();
     }
 
@@ -230,6 +246,27 @@ public class MultiModeManager {
         modeMap.put(mode, executor);
     }
 
+    /**
+     * Set the service that prepares work ahead of the autonomous period.
+     *
+     * @param preparation the preparation service to seal whenever the
+     *                    autonomous mode is activated. Null means nothing
+     *                    is sealed.
+     */
+    public void setPreparation(PreparationService preparation) {
+        this.preparation = preparation;
+    }
+
+    /**
+     * Get the service that prepares work ahead of the autonomous period.
+     *
+     * @return the manager's preparation service, or null if it doesn't have
+     * one.
+     */
+    public PreparationService getPreparation() {
+        return preparation;
+    }
+
     /**
      * Check to see if the given mode is currently active.
      *
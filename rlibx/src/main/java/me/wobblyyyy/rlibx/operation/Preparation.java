@@ -0,0 +1,379 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.operation;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * A single piece of expensive work that's being prepared ahead of time by a
+ * {@link PreparationService}.
+ *
+ * <p>
+ * Each preparation is resolved exactly once. Resolving a preparation that's
+ * already finished just gets its result. Resolving a preparation that
+ * hasn't finished yet (or failed) uses its fallback instead, and once a
+ * preparation has fallen back, it'll never switch over to the real result,
+ * even if the real work finishes a moment later. Whatever value
+ * {@link #get()} returns the first time is the value it'll always return.
+ * </p>
+ *
+ * <p>
+ * If a preparation doesn't have a fallback, resolving it early finishes
+ * the work on the calling thread instead - if the work hasn't started yet,
+ * it's run right there, and if it has, we wait for it. That's slow, but it's
+ * still deterministic: you always get the real result.
+ * </p>
+ *
+ * @param <T> the type of value the preparation produces.
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see PreparationService
+ * @since 0.2.0
+ */
+public class Preparation<T> {
+    /**
+     * The different states a preparation can be in.
+     */
+    public enum Status {
+        /**
+         * The work is waiting for a thread to run on.
+         */
+        PENDING,
+
+        /**
+         * The work is running.
+         */
+        RUNNING,
+
+        /**
+         * The work finished successfully.
+         */
+        READY,
+
+        /**
+         * The work threw an exception.
+         */
+        FAILED,
+
+        /**
+         * The preparation was resolved with its fallback, because the work
+         * either hadn't finished in time or failed.
+         */
+        FALLBACK
+    }
+
+    /**
+     * The preparation's name.
+     */
+    private final String name;
+
+    /**
+     * The expensive work.
+     */
+    private final Callable<T> work;
+
+    /**
+     * The fallback, or null if the preparation doesn't have one.
+     */
+    private final Supplier<T> fallback;
+
+    /**
+     * The task that's submitted to the service's thread pool.
+     */
+    private final FutureTask<T> future;
+
+    /**
+     * Has the work been claimed, either by a pool thread starting to run it
+     * or by the preparation being resolved before it started?
+     */
+    private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+    /**
+     * How long the work took, in nanoseconds, or -1 if it hasn't finished.
+     */
+    private volatile long duration = -1;
+
+    /**
+     * Has the preparation been resolved?
+     */
+    private volatile boolean resolved = false;
+
+    /**
+     * Was the preparation resolved with its fallback?
+     */
+    private volatile boolean fellBack = false;
+
+    /**
+     * The preparation's resolved value.
+     */
+    private T value;
+
+    /**
+     * The exception the work threw, if it threw one.
+     */
+    private volatile Throwable failure;
+
+    /**
+     * Create a new preparation.
+     *
+     * @param name     the preparation's name.
+     * @param work     the expensive work.
+     * @param fallback the value to use if the work isn't finished in time,
+     *                 or null to finish the work on the calling thread.
+     */
+    Preparation(String name,
+                Callable<T> work,
+                Supplier<T> fallback) {
+        this.name = name;
+        this.work = work;
+        this.fallback = fallback;
+        this.future = new FutureTask<>(() -> {
+            /*
+             * If the preparation has already been resolved, don't bother
+             * running the work at all - nobody would ever see the result.
+             */
+            if (!claimed.compareAndSet(false, true)) return null;
+
+            long start = System.nanoTime();
+
+            try {
+                return work.call();
+            } finally {
+                duration = System.nanoTime() - start;
+            }
+        });
+    }
+
+    /**
+     * Get the task that should be submitted to a thread pool.
+     *
+     * @return the preparation's task.
+     */
+    Runnable getTask() {
+        return future;
+    }
+
+    /**
+     * Resolve the preparation, if it hasn't already been resolved, and get
+     * its value.
+     *
+     * @return the preparation's value - either the result of the work, or
+     * the fallback value.
+     * @throws IllegalStateException if the work failed and there's no
+     *                               fallback to use instead.
+     */
+    public synchronized T get() {
+        if (!resolved) {
+            resolve();
+            resolved = true;
+        }
+
+        if (failure != null && !fellBack) {
+            throw new IllegalStateException(
+                    "Preparation \"" + name + "\" failed, and it " +
+                            "doesn't have a fallback.",
+                    failure
+            );
+        }
+
+        return value;
+    }
+
+    /**
+     * Resolve the preparation, either with the result of its work or with
+     * its fallback.
+     */
+    private void resolve() {
+        if (claimed.compareAndSet(false, true)) {
+            /*
+             * The work never started. Take it out of the pool's queue, and
+             * either fall back or do the work right here.
+             */
+            future.cancel(false);
+
+            if (fallback != null) {
+                fallBack();
+                return;
+            }
+
+            try {
+                value = work.call();
+            } catch (Exception e) {
+                failure = e;
+            }
+        } else if (future.isDone() || fallback == null) {
+            /*
+             * Either the work is already done, or we don't have a fallback
+             * and need to wait for it anyways.
+             */
+            try {
+                value = future.get();
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            } catch (CancellationException | InterruptedException e) {
+                failure = e;
+            }
+
+            if (failure != null && fallback != null) fallBack();
+        } else {
+            /*
+             * The work is still running, and we're out of time.
+             */
+            future.cancel(true);
+            fallBack();
+        }
+    }
+
+    /**
+     * Resolve the preparation with its fallback.
+     */
+    private void fallBack() {
+        value = fallback.get();
+        fellBack = true;
+    }
+
+    /**
+     * Get the preparation's status.
+     *
+     * @return the preparation's status.
+     */
+    public Status getStatus() {
+        if (fellBack) return Status.FALLBACK;
+
+        if (!future.isDone()) {
+            return claimed.get() ? Status.RUNNING : Status.PENDING;
+        }
+
+        if (future.isCancelled()) {
+            /*
+             * The preparation was resolved before the work started, and
+             * the work is being (or has been) done on the resolving thread.
+             */
+            if (!resolved) return Status.RUNNING;
+
+            return failure == null ? Status.READY : Status.FAILED;
+        }
+
+        try {
+            future.get();
+            return Status.READY;
+        } catch (Exception e) {
+            return Status.FAILED;
+        }
+    }
+
+    /**
+     * Has the work finished successfully?
+     *
+     * @return whether or not the work has finished successfully.
+     */
+    public boolean isReady() {
+        return getStatus() == Status.READY;
+    }
+
+    /**
+     * Is the preparation finished, one way or another? A finished
+     * preparation's {@link #get()} never blocks.
+     *
+     * @return whether or not the preparation is finished.
+     */
+    public boolean isDone() {
+        return resolved || (future.isDone() && !future.isCancelled());
+    }
+
+    /**
+     * Has the preparation been resolved?
+     *
+     * @return whether or not the preparation has been resolved.
+     */
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    /**
+     * Was the preparation resolved with its fallback?
+     *
+     * @return whether or not the fallback was used.
+     */
+    public boolean isFallback() {
+        return fellBack;
+    }
+
+    /**
+     * Get the preparation's future. Waiting on this future waits for the
+     * work to finish on the thread pool - it doesn't resolve the
+     * preparation, and it won't ever return the fallback.
+     *
+     * @return the preparation's future.
+     */
+    public Future<T> getFuture() {
+        return future;
+    }
+
+    /**
+     * Get the preparation's name.
+     *
+     * @return the preparation's name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get how long the work took.
+     *
+     * @return how long the work took, in nanoseconds, or -1 if it hasn't
+     * finished running.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Get the exception the work threw.
+     *
+     * @return the exception the work threw, or null if it hasn't thrown
+     * one (or the preparation hasn't been resolved yet).
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return "Preparation(" +
+                "name=" + name +
+                ", status=" + getStatus() +
+                ")";
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.operation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs expensive setup work in the background, before it's needed.
+ *
+ * <p>
+ * Generating trajectories, building lookup tables, compiling scripts - all
+ * of that takes time, and none of it should happen after the autonomous
+ * period has started. Instead, submit it to a preparation service while the
+ * robot is initializing or disabled. The work runs in parallel on a small,
+ * bounded pool of low-priority daemon threads, so it won't get in the way
+ * of the robot's main loop.
+ * </p>
+ *
+ * <p>
+ * When the autonomous period starts, the service is sealed - every
+ * preparation is resolved, right then and there. Finished work is used
+ * as-is. Unfinished (or failed) work uses its fallback, so autonomous can
+ * start immediately rather than waiting on something that might take a
+ * while. See {@link Preparation} for exactly how that works.
+ * </p>
+ *
+ * <pre>
+ * PreparationService preparation = RLib.instance.getPreparation();
+ * Preparation&lt;Trajectory&gt; path = preparation.submit(
+ *         "path",
+ *         () -&gt; cache.get(Spline.QUINTIC, constraints, 0.01, waypoints),
+ *         () -&gt; fallbackPath
+ * );
+ *
+ * // later, in autonomous...
+ * Trajectory trajectory = path.get();
+ * </pre>
+ *
+ * <p>
+ * If the service is attached to a {@link MultiModeManager}, it's sealed
+ * automatically whenever {@link me.wobblyyyy.rlibx.modes.Modes#AUTONOMOUS}
+ * is activated.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see Preparation
+ * @since 0.2.0
+ */
+public class PreparationService {
+    /**
+     * The default number of threads. One core is left free for the robot's
+     * main loop, and there are never more than 4 threads.
+     */
+    public static final int DEFAULT_THREADS = Math.max(
+            1,
+            Math.min(4, Runtime.getRuntime().availableProcessors() - 1)
+    );
+
+    /**
+     * Every preparation that's been submitted, by name, in the order they
+     * were submitted in.
+     */
+    private final Map<String, Preparation<?>> preparations =
+            new LinkedHashMap<>();
+
+    /**
+     * The number of threads in the service's pool.
+     */
+    private final int threads;
+
+    /**
+     * The service's thread pool. The pool isn't created until something is
+     * actually submitted.
+     */
+    private ExecutorService pool;
+
+    /**
+     * Create a new preparation service with the default number of threads.
+     */
+    public PreparationService() {
+        this(DEFAULT_THREADS);
+    }
+
+    /**
+     * Create a new preparation service.
+     *
+     * @param threads the maximum number of threads work can run on.
+     */
+    public PreparationService(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(
+                    "A preparation service needs at least 1 thread, but " +
+                            "you tried to create one with " + threads + "."
+            );
+        }
+
+        this.threads = threads;
+    }
+
+    /**
+     * Create a thread factory for the service's pool.
+     *
+     * @return a thread factory that creates low-priority daemon threads.
+     */
+    private static ThreadFactory createThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(
+                    runnable,
+                    "rlibx-preparation-" + count.incrementAndGet()
+            );
+
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+
+            return thread;
+        };
+    }
+
+    /**
+     * Submit work without a fallback. If this work isn't done by the time
+     * the service is sealed, it's finished on the thread that sealed it.
+     *
+     * @param name the work's name. Each name can only be used once.
+     * @param work the work to do.
+     * @param <T>  the type of value the work produces.
+     * @return the work's preparation.
+     */
+    public <T> Preparation<T> submit(String name,
+                                     Callable<T> work) {
+        return submit(name, work, null);
+    }
+
+    /**
+     * Submit work to be run in the background.
+     *
+     * @param name     the work's name. Each name can only be used once.
+     * @param work     the work to do.
+     * @param fallback the value to use if the work isn't done by the time
+     *                 the service is sealed. This should be quick, and
+     *                 should always return the same thing. Null means the
+     *                 work is finished on the thread that sealed the
+     *                 service instead.
+     * @param <T>      the type of value the work produces.
+     * @return the work's preparation.
+     */
+    public synchronized <T> Preparation<T> submit(String name,
+                                                  Callable<T> work,
+                                                  Supplier<T> fallback) {
+        if (preparations.containsKey(name)) {
+            throw new IllegalArgumentException(
+                    "There's already a preparation named \"" + name +
+                            "\"."
+            );
+        }
+
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(
+                    threads,
+                    createThreadFactory()
+            );
+        }
+
+        Preparation<T> preparation = new Preparation<>(name, work, fallback);
+
+        preparations.put(name, preparation);
+        pool.execute(preparation.getTask());
+
+        return preparation;
+    }
+
+    /**
+     * Get a preparation by its name.
+     *
+     * @param name the preparation's name.
+     * @return the preparation, or null if there isn't one with that name.
+     */
+    public synchronized Preparation<?> get(String name) {
+        return preparations.get(name);
+    }
+
+    /**
+     * Get every preparation, in the order they were submitted in.
+     *
+     * @return a copy of the list of preparations.
+     */
+    public synchronized List<Preparation<?>> getPreparations() {
+        return new ArrayList<>(preparations.values());
+    }
+
+    /**
+     * Is every preparation ready?
+     *
+     * @return whether or not every piece of work has finished successfully.
+     */
+    public boolean isReady() {
+        return getReadyCount() == size();
+    }
+
+    /**
+     * Get the number of preparations that are ready.
+     *
+     * @return how many pieces of work have finished successfully.
+     */
+    public synchronized int getReadyCount() {
+        int ready = 0;
+
+        for (Preparation<?> preparation : preparations.values()) {
+            if (preparation.isReady()) ready++;
+        }
+
+        return ready;
+    }
+
+    /**
+     * Get the number of preparations.
+     *
+     * @return how many pieces of work have been submitted.
+     */
+    public synchronized int size() {
+        return preparations.size();
+    }
+
+    /**
+     * Wait for every preparation to finish, or for a timeout to elapse,
+     * whichever comes first. This doesn't resolve anything.
+     *
+     * @param timeout how long to wait for.
+     * @param unit    the timeout's unit.
+     * @return whether or not every preparation finished.
+     * @throws InterruptedException if the thread is interrupted while
+     *                              waiting.
+     */
+    public boolean await(long timeout,
+                         TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        for (Preparation<?> preparation : getPreparations()) {
+            while (!preparation.isDone()) {
+                long remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0) return false;
+
+                try {
+                    preparation.getFuture().get(
+                            remaining,
+                            TimeUnit.NANOSECONDS
+                    );
+                } catch (TimeoutException e) {
+                    return false;
+                } catch (ExecutionException |
+                        CancellationException e) {
+                    break;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Seal the service, resolving every preparation. Anything that's
+     * finished uses its result, and anything that isn't uses its fallback.
+     *
+     * <p>
+     * Sealing the service doesn't stop it from accepting more work - you
+     * can submit more work afterwards, and seal it again later.
+     * Preparations that have already been resolved stay resolved.
+     * </p>
+     *
+     * @return how many preparations fell back.
+     */
+    public int seal() {
+        int fallbacks = 0;
+
+        for (Preparation<?> preparation : getPreparations()) {
+            try {
+                preparation.get();
+            } catch (IllegalStateException e) {
+                e.printStackTrace();
+            }
+
+            if (preparation.isFallback()) fallbacks++;
+        }
+
+        return fallbacks;
+    }
+
+    /**
+     * Shut down the service's thread pool. Any work that's still running
+     * is interrupted.
+     */
+    public synchronized void shutdown() {
+        if (pool != null) pool.shutdownNow();
+
+        pool = null;
+    }
+
+    /**
+     * Get the maximum number of threads work can run on.
+     *
+     * @return the size of the service's thread pool.
+     */
+    public int getThreads() {
+        return threads;
+    }
+}
@@ -33,6 +33,7 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import java.io.InputStream;
 
 public class ConfigLoader {
     private static JAXBContext context;
@@ -60,6 +61,17 @@ public class ConfigLoader {
         return (RobotConfig) unmarshaller.unmarshal(XmlRw.readAsStream(file));
     }
 
+    /**
+     * Load an XML configuration from a stream.
+     *
+     * @param stream a stream containing the XML configuration.
+     * @return a (hopefully loaded) XML file.
+     */
+    public static RobotConfig loadConfig(InputStream stream)
+            throws JAXBException {
+        return (RobotConfig) unmarshaller.unmarshal(stream);
+    }
+
     /**
      * Save an XML configuration file.
      *
@@ -28,6 +28,8 @@ package me.wobblyyyy.rlibx.xml.config;
 
 import me.wobblyyyy.rlibx.xml.config.code.CodeList;
 import me.wobblyyyy.rlibx.xml.config.components.ComponentList;
+import me.wobblyyyy.rlibx.xml.config.controllers.LayoutList;
+import me.wobblyyyy.rlibx.xml.config.controllers.ShapingList;
 import me.wobblyyyy.rlibx.xml.config.subsystems.SubsystemList;
 
 import javax.xml.bind.annotation.XmlRootElement;
@@ -37,6 +39,8 @@ public class RobotConfig {
     private ComponentList componentList;
     private SubsystemList subsystemList;
     private CodeList codeList;
+    private ShapingList shapingList;
+    private LayoutList layoutList;
 
     public CodeList getCode() {
         return codeList;
@@ -61,4 +65,20 @@ public class RobotConfig {
     public void setSubsystems(SubsystemList subsystemList) {
         this.subsystemList = subsystemList;
     }
+
+    public ShapingList getShaping() {
+        return shapingList;
+    }
+
+    public void setShaping(ShapingList shapingList) {
+        this.shapingList = shapingList;
+    }
+
+    public LayoutList getLayouts() {
+        return layoutList;
+    }
+
+    public void setLayouts(LayoutList layoutList) {
+        this.layoutList = layoutList;
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.xml.config.controllers;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlTransient;
+
+public class Axis {
+    @XmlAttribute
+    private String channel;
+    @XmlAttribute
+    private double deadband = 0.0;
+    @XmlAttribute
+    private double expo = 0.0;
+    @XmlAttribute
+    private double exponent = 3.0;
+    @XmlAttribute
+    private double scale = 1.0;
+    @XmlAttribute
+    private double slew = 0.0;
+    @XmlAttribute
+    private boolean inverted = false;
+
+    public Axis() {
+
+    }
+
+    public Axis(String channel,
+                double deadband,
+                double expo) {
+        this.channel = channel;
+        this.deadband = deadband;
+        this.expo = expo;
+    }
+
+    @XmlTransient
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    @XmlTransient
+    public double getDeadband() {
+        return deadband;
+    }
+
+    public void setDeadband(double deadband) {
+        this.deadband = deadband;
+    }
+
+    @XmlTransient
+    public double getExpo() {
+        return expo;
+    }
+
+    public void setExpo(double expo) {
+        this.expo = expo;
+    }
+
+    @XmlTransient
+    public double getExponent() {
+        return exponent;
+    }
+
+    public void setExponent(double exponent) {
+        this.exponent = exponent;
+    }
+
+    @XmlTransient
+    public double getScale() {
+        return scale;
+    }
+
+    public void setScale(double scale) {
+        this.scale = scale;
+    }
+
+    @XmlTransient
+    public double getSlew() {
+        return slew;
+    }
+
+    public void setSlew(double slew) {
+        this.slew = slew;
+    }
+
+    @XmlTransient
+    public boolean isInverted() {
+        return inverted;
+    }
+
+    public void setInverted(boolean inverted) {
+        this.inverted = inverted;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.xml.config.controllers;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlTransient;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class LayoutList {
+    @XmlAttribute
+    private String active;
+    private ArrayList<Layout> layout;
+
+    public LayoutList() {
+
+    }
+
+    public LayoutList(String active,
+                      Layout... layouts) {
+        this.active = active;
+        this.layout = new ArrayList<>(Arrays.asList(layouts));
+    }
+
+    @XmlTransient
+    public String getActive() {
+        return active;
+    }
+
+    public void setActive(String active) {
+        this.active = active;
+    }
+
+    public ArrayList<Layout> getLayout() {
+        return layout;
+    }
+
+    public void setLayout(ArrayList<Layout> layout) {
+        this.layout = layout;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.xml.factory;
+
+import me.wobblyyyy.rlibx.error.InvalidAttributeException;
+import me.wobblyyyy.rlibx.input.controllers.Bindings;
+import me.wobblyyyy.rlibx.input.controllers.ControllerLayout;
+import me.wobblyyyy.rlibx.input.controllers.ControllerMap;
+import me.wobblyyyy.rlibx.xml.config.RobotConfig;
+import me.wobblyyyy.rlibx.xml.config.controllers.Channel;
+import me.wobblyyyy.rlibx.xml.config.controllers.Layout;
+import me.wobblyyyy.rlibx.xml.config.controllers.LayoutList;
+
+/**
+ * Factory used to create controller maps from an XML robot configuration.
+ *
+ * <p>
+ * Layouts are configured with a {@code layouts} element, which contains a
+ * {@code layout} element for each custom layout. Each layout lists the
+ * channels it changes - any channel that isn't listed is passed through
+ * unchanged. For example:
+ * <pre>
+ * &lt;layouts active="southpaw"&gt;
+ *     &lt;layout name="southpaw"&gt;
+ *         &lt;channel target="LSX" source="RSX"/&gt;
+ *         &lt;channel target="LSY" source="RSY" inverted="true"/&gt;
+ *         &lt;channel target="RSX" source="LSX" scale="0.5"/&gt;
+ *         &lt;channel target="RSY" source="LSY"/&gt;
+ *     &lt;/layout&gt;
+ * &lt;/layouts&gt;
+ * </pre>
+ * Channel names are the names of the {@link Bindings.Core} channels. The
+ * built-in layouts ("identity", "xbox", and "playstation") are always
+ * available, and the {@code active} attribute can name any layout.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see ControllerMap
+ * @see ControllerLayout
+ * @since 0.2.0
+ */
+public class ControllerMapFactory {
+    /**
+     * Create a controller map from a robot configuration.
+     *
+     * @param config the robot configuration.
+     * @return a controller map. If the configuration doesn't have any
+     * layouts, the map only has the built-in layouts.
+     * @throws InvalidAttributeException if any of the configured layouts
+     *                                   are invalid.
+     */
+    public static ControllerMap create(RobotConfig config)
+            throws InvalidAttributeException {
+        if (config.getLayouts() == null) return new ControllerMap();
+
+        return create(config.getLayouts());
+    }
+
+    /**
+     * Create a controller map from a list of layouts.
+     *
+     * @param list the list of layouts.
+     * @return a controller map, with the built-in layouts as well as each
+     * layout in the list.
+     * @throws InvalidAttributeException if any of the configured layouts
+     *                                   are invalid, or the active layout
+     *                                   doesn't exist.
+     */
+    public static ControllerMap create(LayoutList list)
+            throws InvalidAttributeException {
+        ControllerMap map = new ControllerMap();
+
+        if (list.getLayout() != null) {
+            for (Layout layout : list.getLayout()) {
+                map.add(createLayout(layout));
+            }
+        }
+
+        if (list.getActive() != null) {
+            if (map.indexOf(list.getActive()) < 0) {
+                throw new InvalidAttributeException(
+                        "Unknown active layout: " + list.getActive()
+                );
+            }
+
+            map.setLayout(list.getActive());
+        }
+
+        return map;
+    }
+
+    /**
+     * Compile a single layout element.
+     *
+     * @param layout the layout element.
+     * @return a compiled layout.
+     * @throws InvalidAttributeException if the layout doesn't have a name,
+     *                                   or any of its channels are invalid.
+     */
+    private static ControllerLayout createLayout(Layout layout)
+            throws InvalidAttributeException {
+        if (layout.getName() == null) {
+            throw new InvalidAttributeException(
+                    "Every layout needs a name!"
+            );
+        }
+
+        int[] sources = new int[Bindings.CHANNEL_COUNT];
+        boolean[] inverted = new boolean[Bindings.CHANNEL_COUNT];
+        double[] scales = new double[Bindings.CHANNEL_COUNT];
+
+        /*
+         * Start with every channel passing straight through, and then apply
+         * whatever channels the layout has listed.
+         */
+        for (int i = 0; i < Bindings.CHANNEL_COUNT; i++) {
+            sources[i] = i;
+            scales[i] = 1;
+        }
+
+        if (layout.getChannel() != null) {
+            for (Channel channel : layout.getChannel()) {
+                int target = getChannel(channel.getTarget());
+                int source = channel.getSource() == null ?
+                        target :
+                        getChannel(channel.getSource());
+
+                sources[target] = source;
+                inverted[target] = channel.isInverted();
+                scales[target] = channel.getScale();
+            }
+        }
+
+        try {
+            return new ControllerLayout(
+                    layout.getName(),
+                    sources,
+                    inverted,
+                    scales
+            );
+        } catch (IllegalArgumentException e) {
+            throw new InvalidAttributeException(
+                    "Invalid layout " + layout.getName() + ": " +
+                            e.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Get the channel a channel name refers to.
+     *
+     * @param name the channel's name.
+     * @return the channel.
+     * @throws InvalidAttributeException if the channel doesn't exist.
+     */
+    private static int getChannel(String name)
+            throws InvalidAttributeException {
+        try {
+            return Bindings.getChannel(
+                    Bindings.Core.valueOf(name.toUpperCase())
+            );
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new InvalidAttributeException(
+                    "Unknown controller channel: " + name
+            );
+        }
+    }
+}
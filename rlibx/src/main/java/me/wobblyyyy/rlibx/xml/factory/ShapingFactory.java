@@ -0,0 +1,155 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.xml.factory;
+
+import me.wobblyyyy.rlibx.error.InvalidAttributeException;
+import me.wobblyyyy.rlibx.input.controllers.AxisCurve;
+import me.wobblyyyy.rlibx.input.controllers.AxisShaper;
+import me.wobblyyyy.rlibx.input.controllers.Bindings;
+import me.wobblyyyy.rlibx.input.controllers.ControllerShaping;
+import me.wobblyyyy.rlibx.xml.config.RobotConfig;
+import me.wobblyyyy.rlibx.xml.config.controllers.Axis;
+import me.wobblyyyy.rlibx.xml.config.controllers.ShapingList;
+
+/**
+ * Factory used to create controller shaping from an XML robot configuration.
+ *
+ * <p>
+ * Shaping is configured with a {@code shaping} element, which contains an
+ * {@code axis} element for each axis that should be shaped. For example:
+ * <pre>
+ * &lt;shaping&gt;
+ *     &lt;axis channel="LSX" deadband="0.05" expo="0.4"/&gt;
+ *     &lt;axis channel="LSY" deadband="0.05" expo="0.4" slew="3"/&gt;
+ *     &lt;axis channel="RT" deadband="0.1" inverted="true"/&gt;
+ * &lt;/shaping&gt;
+ * </pre>
+ * Channel names are the names of the {@link Bindings.Core} channels. Any
+ * attribute that isn't specified uses its default value.
+ * </p>
+ *
+ * @author Colin Robertson
+ * @version 1.0.0
+ * @see ControllerShaping
+ * @since 0.2.0
+ */
+public class ShapingFactory {
+    /**
+     * Create controller shaping from a robot configuration.
+     *
+     * @param config the robot configuration.
+     * @return controller shaping. If the configuration doesn't have any
+     * shaping, the returned shaping won't have any shapers.
+     * @throws InvalidAttributeException if any of the configured axes are
+     *                                   invalid.
+     */
+    public static ControllerShaping create(RobotConfig config)
+            throws InvalidAttributeException {
+        if (config.getShaping() == null) return new ControllerShaping();
+
+        return create(config.getShaping());
+    }
+
+    /**
+     * Create controller shaping from a list of shaped axes.
+     *
+     * @param list the list of shaped axes.
+     * @return controller shaping, with a shaper for each axis in the list.
+     * @throws InvalidAttributeException if any of the configured axes are
+     *                                   invalid.
+     */
+    public static ControllerShaping create(ShapingList list)
+            throws InvalidAttributeException {
+        ControllerShaping shaping = new ControllerShaping();
+
+        if (list.getAxis() == null) return shaping;
+
+        for (Axis axis : list.getAxis()) {
+            shaping.setShaper(getChannel(axis), createShaper(axis));
+        }
+
+        return shaping;
+    }
+
+    /**
+     * Get the channel an axis element refers to.
+     *
+     * @param axis the axis element.
+     * @return the axis element's channel.
+     * @throws InvalidAttributeException if the channel doesn't exist, or
+     *                                   isn't a stick or trigger.
+     */
+    private static Bindings.Core getChannel(Axis axis)
+            throws InvalidAttributeException {
+        Bindings.Core channel;
+
+        try {
+            channel = Bindings.Core.valueOf(axis.getChannel().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new InvalidAttributeException(
+                    "Unknown controller channel: " + axis.getChannel()
+            );
+        }
+
+        if (!ControllerShaping.isAxis(channel)) {
+            throw new InvalidAttributeException(
+                    "Only stick and trigger channels can be shaped, not " +
+                            channel + "."
+            );
+        }
+
+        return channel;
+    }
+
+    /**
+     * Create a shaper for an axis element.
+     *
+     * @param axis the axis element.
+     * @return a newly-created (and compiled) shaper.
+     * @throws InvalidAttributeException if any of the axis' values are out
+     *                                   of range.
+     */
+    private static AxisShaper createShaper(Axis axis)
+            throws InvalidAttributeException {
+        try {
+            AxisCurve curve = new AxisCurve(
+                    axis.getDeadband(),
+                    axis.getExpo(),
+                    axis.getExponent(),
+                    axis.isInverted() ? -axis.getScale() : axis.getScale(),
+                    AxisCurve.DEFAULT_RESOLUTION
+            );
+
+            return new AxisShaper(curve, axis.getSlew());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidAttributeException(
+                    "Invalid shaping for " + axis.getChannel() + ": " +
+                            e.getMessage()
+            );
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.math.linalg.Matrix;
+import me.wobblyyyy.rlibx.math.linalg.Vector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Check matrix kinematics against the hand-written meccanum kinematics,
+ * and make sure forwards kinematics undo inverse kinematics for every
+ * direction a drivetrain can actually move in.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class MatrixKinematicsTest {
+    /**
+     * Distance between the left and right wheels.
+     */
+    private static final double TRACK_WIDTH = 0.4;
+
+    /**
+     * Distance between the front and back wheels.
+     */
+    private static final double WHEELBASE = 0.3;
+
+    /**
+     * Check that forwards kinematics times inverse kinematics is the
+     * identity for every used direction, and zero for every other one.
+     */
+    private static void assertRoundTrip(MatrixKinematics kinematics,
+                                        boolean... used) {
+        Matrix product = kinematics.getForward().multiply(
+                kinematics.getInverse(),
+                new Matrix(3, 3)
+        );
+
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 3; c++) {
+                Assertions.assertEquals(
+                        r == c && used[r] ? 1 : 0,
+                        product.get(r, c),
+                        1e-9,
+                        product.toString()
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testMeccanumMatchesKinematics() {
+        MatrixKinematics kinematics =
+                MatrixKinematics.meccanum(TRACK_WIDTH, WHEELBASE);
+        WheelPowers expected = new WheelPowers(4);
+        WheelPowers actual = new WheelPowers(4);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1000; i++) {
+            double x = random.nextDouble() * 2 - 1;
+            double y = random.nextDouble() * 2 - 1;
+            double turn = random.nextDouble() * 2 - 1;
+
+            Kinematics.calculateMeccanum(x, y, turn, expected);
+            kinematics.calculate(x, y, turn, actual);
+
+            for (int w = 0; w < 4; w++) {
+                Assertions.assertEquals(
+                        expected.get(w),
+                        actual.get(w),
+                        1e-12,
+                        expected + " vs " + actual
+                );
+            }
+        }
+
+        assertRoundTrip(kinematics, true, true, true);
+    }
+
+    @Test
+    public void testTankDropsStrafe() {
+        MatrixKinematics kinematics =
+                MatrixKinematics.tank(TRACK_WIDTH, WHEELBASE, 3);
+
+        Assertions.assertEquals(6, kinematics.getCount());
+
+        for (int i = 0; i < 6; i++) {
+            Assertions.assertEquals(0, kinematics.getInverse().get(i, 0));
+            Assertions.assertEquals(0, kinematics.getForward().get(0, i));
+        }
+
+        assertRoundTrip(kinematics, false, true, true);
+
+        /*
+         * Strafing does nothing, and every wheel on a side gets the same
+         * power.
+         */
+        WheelPowers powers = new WheelPowers(6);
+
+        kinematics.calculate(1, 0, 0, powers);
+        Assertions.assertEquals(0, powers.getMaxAbs());
+
+        kinematics.calculate(0.5, 0.2, 0.3, powers);
+
+        for (int i = 0; i < 6; i += 2) {
+            Assertions.assertEquals(0.2 - 0.3, powers.get(i), 1e-12);
+            Assertions.assertEquals(0.2 + 0.3, powers.get(i + 1), 1e-12);
+        }
+
+        /*
+         * And forwards kinematics never claim the robot went sideways,
+         * even if the wheels disagree.
+         */
+        for (int i = 0; i < 6; i++) powers.set(i, i);
+
+        Vector chassis = kinematics.calculateChassis(powers, new Vector(3));
+
+        Assertions.assertEquals(0, chassis.get(0));
+    }
+
+    @Test
+    public void testOmniRoundTrips() {
+        assertRoundTrip(
+                MatrixKinematics.xDrive(TRACK_WIDTH, WHEELBASE),
+                true, true, true
+        );
+        assertRoundTrip(
+                MatrixKinematics.hDrive(TRACK_WIDTH, WHEELBASE),
+                true, true, true
+        );
+        assertRoundTrip(
+                MatrixKinematics.tank(TRACK_WIDTH, WHEELBASE, 2),
+                false, true, true
+        );
+
+        /*
+         * The same thing, through the public API: wheel speeds from a
+         * chassis velocity, then the chassis velocity from those speeds.
+         */
+        MatrixKinematics kinematics =
+                MatrixKinematics.hDrive(TRACK_WIDTH, WHEELBASE);
+        WheelPowers powers = new WheelPowers(5);
+        Vector chassis = new Vector(3);
+
+        kinematics.calculate(0.1, -0.2, 0.3, powers);
+        kinematics.calculateChassis(powers, chassis);
+
+        Assertions.assertEquals(0.1, chassis.get(0), 1e-12);
+        Assertions.assertEquals(-0.2, chassis.get(1), 1e-12);
+        Assertions.assertEquals(0.3, chassis.get(2), 1e-12);
+    }
+
+    @Test
+    public void testRejectsBadLayouts() {
+        /*
+         * One wheel can't tell three directions apart.
+         */
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new MatrixKinematics(
+                        new double[]{1},
+                        new double[]{1},
+                        new double[]{0},
+                        new double[]{0}
+                )
+        );
+
+        /*
+         * Two wheels in the same place, pointing the same way, can't tell
+         * driving forwards apart from turning.
+         */
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new MatrixKinematics(
+                        new double[]{1, 1},
+                        new double[]{0, 0},
+                        new double[]{0, 0},
+                        new double[]{0, 0}
+                )
+        );
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new MatrixKinematics(
+                        new double[]{1, -1},
+                        new double[]{0},
+                        new double[]{0, 0},
+                        new double[]{0, 0}
+                )
+        );
+
+        MatrixKinematics kinematics =
+                MatrixKinematics.meccanum(TRACK_WIDTH, WHEELBASE);
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> kinematics.calculate(0, 1, 0, new WheelPowers(5))
+        );
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.math.Trig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Make sure meccanum wheels push the right way, and never go faster than
+ * full speed.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class MeccanumKinematicsTest {
+    /**
+     * Calculate robot-centric wheel powers.
+     */
+    private static WheelPowers calculate(double x,
+                                         double y,
+                                         double turn) {
+        WheelPowers powers = new WheelPowers(4);
+
+        Kinematics.calculateMeccanum(x, y, turn, powers);
+
+        return powers;
+    }
+
+    /**
+     * Check every wheel's power, in {@link Wheels} order: front-right,
+     * front-left, back-right, back-left.
+     */
+    private static void assertPowers(WheelPowers powers,
+                                     double tolerance,
+                                     double fr,
+                                     double fl,
+                                     double br,
+                                     double bl) {
+        String message = powers.toString();
+
+        Assertions.assertEquals(fr, powers.get(Wheels.FR), tolerance, message);
+        Assertions.assertEquals(fl, powers.get(Wheels.FL), tolerance, message);
+        Assertions.assertEquals(br, powers.get(Wheels.BR), tolerance, message);
+        Assertions.assertEquals(bl, powers.get(Wheels.BL), tolerance, message);
+    }
+
+    @Test
+    public void testSingleAxes() {
+        assertPowers(calculate(0, 1, 0), 0, 1, 1, 1, 1);
+        assertPowers(calculate(0, -0.5, 0), 0, -0.5, -0.5, -0.5, -0.5);
+
+        /*
+         * Strafing right means the diagonal pairs push against each
+         * other: the front-left and back-right wheels go forwards, and the
+         * other two go backwards.
+         */
+        assertPowers(calculate(1, 0, 0), 0, -1, 1, 1, -1);
+
+        /*
+         * Turning clockwise means the left side goes forwards and the
+         * right side goes backwards.
+         */
+        assertPowers(calculate(0, 0, 1), 0, -1, 1, -1, 1);
+        assertPowers(calculate(0, 0, 0), 0, 0, 0, 0, 0);
+    }
+
+    @Test
+    public void testDesaturation() {
+        /*
+         * Nothing's above full speed, so nothing gets scaled.
+         */
+        assertPowers(calculate(0.2, 0.3, 0), 1e-15, 0.1, 0.5, 0.5, 0.1);
+
+        /*
+         * Forwards and right at the same time is a diagonal, and two of
+         * the wheels would have to go twice as fast as they can.
+         */
+        assertPowers(calculate(1, 1, 0), 0, 0, 1, 1, 0);
+        assertPowers(calculate(0, 1, 1), 0, 0, 1, 0, 1);
+
+        /*
+         * Scaling has to keep the ratios between the wheels, or the robot
+         * would drive off in the wrong direction.
+         */
+        WheelPowers powers = calculate(0.5, 0.5, 0.5);
+
+        assertPowers(powers, 1e-15, -1.0 / 3, 1, 1.0 / 3, 1.0 / 3);
+        Assertions.assertEquals(1, powers.getMaxAbs(), 1e-15);
+
+        powers = calculate(-1, 1, -1);
+
+        Assertions.assertEquals(1, powers.getMaxAbs(), 1e-15);
+        assertPowers(powers, 1e-15, 1, -1.0 / 3, 1.0 / 3, 1.0 / 3);
+    }
+
+    @Test
+    public void testFieldCentric() {
+        for (Trig trig : Trig.values()) {
+            double tolerance = trig.getSinError() * 4;
+            WheelPowers powers = new WheelPowers(4);
+
+            /*
+             * Facing straight ahead, field-centric and robot-centric are
+             * the same thing.
+             */
+            Kinematics.calculateMeccanum(0.2, 0.3, 0.1, 0, trig, powers);
+            assertPowers(
+                    powers,
+                    tolerance,
+                    0.3 - 0.2 - 0.1,
+                    0.3 + 0.2 + 0.1,
+                    0.3 + 0.2 - 0.1,
+                    0.3 - 0.2 + 0.1
+            );
+
+            /*
+             * Turned 90 degrees (counter-clockwise, like every other angle
+             * in here), the robot's facing the field's left - so to go
+             * away from the driver, it has to strafe to its own right.
+             */
+            Kinematics.calculateMeccanum(0, 1, 0, 90, trig, powers);
+            assertPowers(powers, tolerance, -1, 1, 1, -1);
+
+            /*
+             * And to go right, relative to the field, it drives backwards.
+             */
+            Kinematics.calculateMeccanum(1, 0, 0, 90, trig, powers);
+            assertPowers(powers, tolerance, -1, -1, -1, -1);
+
+            /*
+             * Turning isn't affected by heading at all.
+             */
+            Kinematics.calculateMeccanum(0, 0, 1, 90, trig, powers);
+            assertPowers(powers, tolerance, -1, 1, -1, 1);
+
+            Kinematics.calculateMeccanum(0, 1, 0, 180, trig, powers);
+            assertPowers(powers, tolerance, -1, -1, -1, -1);
+        }
+    }
+
+    @Test
+    public void testTranslationMatchesBuffer() {
+        PowerMeccanum power =
+                Kinematics.calculateMeccanum(new Translation(0.6, 0.8));
+        WheelPowers powers = calculate(0.6, 0.8, 0);
+
+        Assertions.assertEquals(powers.get(Wheels.FR), power.getFr());
+        Assertions.assertEquals(powers.get(Wheels.FL), power.getFl());
+        Assertions.assertEquals(powers.get(Wheels.BR), power.getBr());
+        Assertions.assertEquals(powers.get(Wheels.BL), power.getBl());
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.hardware.encoder.Encoder;
+import me.wobblyyyy.rlibx.hardware.gyro.Gyroscope;
+import me.wobblyyyy.rlibx.interfaces.EncoderCore;
+import me.wobblyyyy.rlibx.interfaces.GyroscopeCore;
+import me.wobblyyyy.rlibx.math.Trig;
+import me.wobblyyyy.rlibx.math.linalg.Matrix;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Make sure odometry ends up where the robot really went - along arcs,
+ * through both kinds of forwards kinematics, and across the gyroscope's
+ * wrap-around - and that published poses are never torn.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class OdometryTest {
+    /**
+     * How far a wheel moves per encoder count.
+     */
+    private static final double DISTANCE_PER_COUNT = 1e-6;
+
+    /**
+     * Turn encoder counts per module rotation.
+     */
+    private static final int TURN_CPR = 3_600_000;
+
+    /**
+     * An encoder whose count can be set by hand.
+     */
+    private static class FakeEncoder implements EncoderCore {
+        /**
+         * Counts per rotation.
+         */
+        private final double cpr;
+
+        /**
+         * The encoder's count.
+         */
+        private int count;
+
+        private FakeEncoder(double cpr) {
+            this.cpr = cpr;
+        }
+
+        @Override
+        public void init() {
+
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public double getCpr() {
+            return cpr;
+        }
+    }
+
+    /**
+     * A gyroscope whose heading can be set by hand.
+     */
+    private static class FakeGyroscope implements GyroscopeCore {
+        /**
+         * The gyroscope's heading, in degrees.
+         */
+        private double heading;
+
+        @Override
+        public void init() {
+
+        }
+
+        @Override
+        public double getX() {
+            return 0;
+        }
+
+        @Override
+        public double getY() {
+            return 0;
+        }
+
+        @Override
+        public double getVelocity() {
+            return 0;
+        }
+
+        @Override
+        public double getHeading() {
+            return heading;
+        }
+    }
+
+    /**
+     * Create encoders that all start at zero.
+     */
+    private static FakeEncoder[] createCores(int count,
+                                             double cpr) {
+        FakeEncoder[] cores = new FakeEncoder[count];
+
+        for (int i = 0; i < count; i++) {
+            cores[i] = new FakeEncoder(cpr);
+        }
+
+        return cores;
+    }
+
+    /**
+     * Wrap fake encoders in real ones.
+     */
+    private static Encoder[] createEncoders(FakeEncoder[] cores) {
+        Encoder[] encoders = new Encoder[cores.length];
+
+        for (int i = 0; i < cores.length; i++) {
+            encoders[i] = new Encoder(cores[i]);
+        }
+
+        return encoders;
+    }
+
+    /**
+     * Turn a distance (or angle) into the nearest encoder count.
+     */
+    private static int toCounts(double distance,
+                                double perCount) {
+        return (int) Math.round(distance / perCount);
+    }
+
+    @Test
+    public void testIntegratesConstantArc() {
+        /*
+         * Drive 2 units forwards while turning 90 degrees counter-clockwise,
+         * in 100 equal steps. That's a quarter circle around a center to
+         * the robot's left.
+         */
+        double distance = 2;
+        double angle = Math.PI / 2;
+        double radius = distance / angle;
+        int steps = 100;
+        double[] pose = new double[3];
+
+        for (int i = 0; i < steps; i++) {
+            Odometry.integrate(
+                    pose,
+                    0,
+                    distance / steps,
+                    angle / steps,
+                    Trig.EXACT
+            );
+        }
+
+        Assertions.assertEquals(
+                -radius * (1 - Math.cos(angle)),
+                pose[0],
+                1e-9
+        );
+        Assertions.assertEquals(radius * Math.sin(angle), pose[1], 1e-9);
+        Assertions.assertEquals(angle, pose[2], 1e-9);
+
+        /*
+         * The pose exponential is exact for arcs, so a single step has to
+         * end up in exactly the same place.
+         */
+        double[] single = new double[3];
+
+        Odometry.integrate(single, 0, distance, angle, Trig.EXACT);
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(pose[i], single[i], 1e-9);
+        }
+    }
+
+    @Test
+    public void testMeccanumRoundTrip() {
+        MatrixKinematics kinematics = MatrixKinematics.meccanum(0.4, 0.3);
+        FakeEncoder[] cores = createCores(4, 1000);
+        WheelOdometry odometry = new WheelOdometry(
+                kinematics,
+                createEncoders(cores),
+                DISTANCE_PER_COUNT,
+                null
+        );
+        odometry.setTrig(Trig.EXACT);
+
+        /*
+         * Move 3cm right, 5cm forwards, and 0.02 radians clockwise, and
+         * work out how far each wheel has to roll to do that.
+         */
+        double right = 0.03;
+        double forward = 0.05;
+        double clockwise = 0.02;
+        double turn = clockwise * kinematics.getTurnScale();
+        Matrix inverse = kinematics.getInverse();
+
+        odometry.update(0);
+
+        for (int i = 0; i < 4; i++) {
+            double wheel = (inverse.get(i, 0) * right) +
+                    (inverse.get(i, 1) * forward) +
+                    (inverse.get(i, 2) * turn);
+
+            cores[i].count = toCounts(wheel, DISTANCE_PER_COUNT);
+        }
+
+        odometry.update(1);
+
+        Assertions.assertEquals(right, odometry.getLastRight(), 1e-5);
+        Assertions.assertEquals(forward, odometry.getLastForward(), 1e-5);
+        Assertions.assertEquals(
+                -Math.toDegrees(clockwise),
+                odometry.getLastHeadingChange(),
+                1e-3
+        );
+    }
+
+    @Test
+    public void testSwerveRoundTrip() {
+        SwerveKinematics kinematics = SwerveKinematics.rectangle(0.5, 0.4);
+        FakeEncoder[] driveCores = createCores(4, 1000);
+        FakeEncoder[] turnCores = createCores(4, TURN_CPR);
+        SwerveOdometry odometry = new SwerveOdometry(
+                kinematics,
+                createEncoders(driveCores),
+                createEncoders(turnCores),
+                DISTANCE_PER_COUNT,
+                null
+        );
+        odometry.setTrig(Trig.EXACT);
+        kinematics.setTrig(Trig.EXACT);
+
+        /*
+         * Module speeds are fractions of the robot's top speed - say that
+         * top speed covers 10cm in one update.
+         */
+        double scale = 0.1;
+        double x = 0.3;
+        double y = 0.5;
+        double turn = 0.2;
+
+        kinematics.calculate(x, y, turn);
+
+        odometry.update(0);
+
+        for (int i = 0; i < 4; i++) {
+            driveCores[i].count = toCounts(
+                    kinematics.getSpeed(i) * scale,
+                    DISTANCE_PER_COUNT
+            );
+            turnCores[i].count = toCounts(
+                    kinematics.getAngle(i),
+                    360.0 / TURN_CPR
+            );
+        }
+
+        odometry.update(1);
+
+        double clockwise = turn * scale / kinematics.getRadius();
+
+        Assertions.assertEquals(x * scale, odometry.getLastRight(), 1e-5);
+        Assertions.assertEquals(y * scale, odometry.getLastForward(), 1e-5);
+        Assertions.assertEquals(
+                -Math.toDegrees(clockwise),
+                odometry.getLastHeadingChange(),
+                1e-3
+        );
+    }
+
+    @Test
+    public void testGyroscopeWrapsAround() {
+        FakeGyroscope gyroscope = new FakeGyroscope();
+        WheelOdometry odometry = new WheelOdometry(
+                MatrixKinematics.tank(0.4, 0.3, 2),
+                createEncoders(createCores(4, 1000)),
+                DISTANCE_PER_COUNT,
+                new Gyroscope(gyroscope)
+        );
+        Pose pose = new Pose();
+
+        /*
+         * Turn counter-clockwise through 180, where the gyroscope jumps
+         * from positive to negative.
+         */
+        double[] headings = {172, 175, 178, -179, -176, -173};
+
+        for (int i = 0; i < headings.length; i++) {
+            gyroscope.heading = headings[i];
+            odometry.update(i);
+
+            if (i > 0) {
+                Assertions.assertEquals(
+                        3,
+                        odometry.getLastHeadingChange(),
+                        1e-9
+                );
+            }
+        }
+
+        odometry.getPose(pose);
+
+        Assertions.assertEquals(15, pose.getHeading(), 1e-9);
+
+        /*
+         * And back again, clockwise.
+         */
+        gyroscope.heading = 179;
+        odometry.update(headings.length);
+
+        Assertions.assertEquals(-8, odometry.getLastHeadingChange(), 1e-9);
+    }
+
+    @Test
+    public void testPublishedPosesAreNeverTorn() throws InterruptedException {
+        PosePublisher publisher = new PosePublisher();
+        AtomicBoolean isDone = new AtomicBoolean(false);
+        AtomicLong torn = new AtomicLong();
+        AtomicLong reads = new AtomicLong();
+        Thread[] readers = new Thread[3];
+
+        /*
+         * Every pose is (i, 2i, 3i) at time i. If a reader ever sees parts
+         * of two different poses, those won't line up.
+         */
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                Pose pose = new Pose();
+                long last = 0;
+
+                while (!isDone.get()) {
+                    long time = publisher.read(pose);
+                    double i = pose.getX();
+
+                    if (pose.getY() != 2 * i ||
+                            pose.getHeading() != 3 * i ||
+                            time != (long) i ||
+                            time < last) {
+                        torn.incrementAndGet();
+                    }
+
+                    last = time;
+                    reads.incrementAndGet();
+                }
+            });
+            readers[r].start();
+        }
+
+        for (long i = 1; i <= 2_000_000; i++) {
+            publisher.publish(i, 2 * i, 3 * i, i);
+        }
+
+        isDone.set(true);
+
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        Assertions.assertEquals(0, torn.get());
+        Assertions.assertTrue(reads.get() > 0);
+        Assertions.assertEquals(2_000_000, publisher.getVersion());
+    }
+}
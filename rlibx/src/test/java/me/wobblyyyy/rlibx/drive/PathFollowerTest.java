@@ -0,0 +1,150 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.drive.trajectory.Spline;
+import me.wobblyyyy.rlibx.drive.trajectory.Trajectory;
+import me.wobblyyyy.rlibx.drive.trajectory.TrajectoryConstraints;
+import me.wobblyyyy.rlibx.drive.trajectory.TrajectoryGenerator;
+import me.wobblyyyy.rlibx.drive.trajectory.TrajectoryState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drive a simulated robot along a trajectory, starting slightly off the
+ * path, and make sure {@link PurePursuit} and {@link Ramsete} both bring it
+ * back onto the path and all the way to the end.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class PathFollowerTest {
+    /**
+     * How often the simulated robot is updated, in seconds.
+     */
+    private static final double PERIOD = 0.005;
+
+    /**
+     * An S-curve, ending with a left turn.
+     */
+    private static final Trajectory TRAJECTORY = TrajectoryGenerator.generate(
+            Spline.QUINTIC,
+            new TrajectoryConstraints(2, 1, 1),
+            0.01,
+            new Pose(0, 0, 0),
+            new Pose(1, 3, -30),
+            new Pose(-1, 6, 30),
+            new Pose(0, 9, 0),
+            new Pose(-3, 12, 90)
+    );
+
+    /**
+     * Move a simulated robot, which goes exactly where it's told to.
+     *
+     * @param pose   the robot's pose, which is updated in place.
+     * @param speeds the robot's chassis speeds.
+     */
+    private static void move(Pose pose,
+                             ChassisSpeeds speeds) {
+        double heading = Math.toRadians(pose.getHeading());
+        double distance = speeds.getForward() * PERIOD;
+
+        pose.set(
+                pose.getX() - Math.sin(heading) * distance,
+                pose.getY() + Math.cos(heading) * distance,
+                pose.getHeading() -
+                        Math.toDegrees(speeds.getTurn() * PERIOD)
+        );
+    }
+
+    /**
+     * Find how far a pose is from the closest point on the trajectory.
+     *
+     * @param pose the pose.
+     * @return the distance to the closest sample.
+     */
+    private static double crossTrackError(Pose pose) {
+        double best = Double.MAX_VALUE;
+
+        for (int i = 0; i < TRAJECTORY.size(); i++) {
+            best = Math.min(best, Math.hypot(
+                    TRAJECTORY.getX(i) - pose.getX(),
+                    TRAJECTORY.getY(i) - pose.getY()
+            ));
+        }
+
+        return best;
+    }
+
+    @Test
+    public void testPurePursuitFollowsPath() {
+        PurePursuit follower = new PurePursuit(TRAJECTORY, 0.4, 0.1, 0.05);
+        Pose pose = new Pose(0.2, 0, 10);
+        double worst = 0;
+        int steps = 0;
+
+        while (!follower.isFinished() && steps < 10_000) {
+            move(pose, follower.update(pose));
+            steps++;
+
+            if (steps % 20 == 0 && steps * PERIOD > 2) {
+                worst = Math.max(worst, crossTrackError(pose));
+            }
+        }
+
+        Assertions.assertTrue(follower.isFinished());
+        Assertions.assertTrue(worst < 0.05, "cross-track error " + worst);
+        Assertions.assertTrue(pose.distance(new Pose(-3, 12, 0)) < 0.1);
+        Assertions.assertEquals(0, follower.getSpeeds().getForward());
+    }
+
+    @Test
+    public void testRamseteTracksReference() {
+        Ramsete follower = new Ramsete(TRAJECTORY);
+        TrajectoryState reference = new TrajectoryState();
+        Pose pose = new Pose(0.2, -0.1, 10);
+        double worst = 0;
+
+        for (double time = 0; time <= TRAJECTORY.getDuration();
+             time += PERIOD) {
+            move(pose, follower.update(pose, time));
+
+            if (time > 3) {
+                TRAJECTORY.sample(time + PERIOD, reference);
+
+                worst = Math.max(worst, Math.hypot(
+                        reference.getX() - pose.getX(),
+                        reference.getY() - pose.getY()
+                ));
+            }
+        }
+
+        Assertions.assertTrue(worst < 0.02, "tracking error " + worst);
+        Assertions.assertTrue(pose.distance(new Pose(-3, 12, 0)) < 0.02);
+        Assertions.assertEquals(90, pose.getHeading(), 1);
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.math.Trig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Drive a simulated robot around with noisy, biased sensors, and make sure
+ * {@link PoseEstimator} tracks it far better than odometry alone does.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class PoseEstimatorTest {
+    /**
+     * How often the simulated sensors are sampled, in hertz.
+     */
+    private static final int RATE = 1000;
+
+    /**
+     * How long the simulation runs for, in seconds.
+     */
+    private static final int SECONDS = 30;
+
+    /**
+     * Run a simulation.
+     *
+     * @param seed the random seed for the simulated sensor noise.
+     * @return an array holding the estimator's final X, Y, and heading,
+     * its RMS position error, and the odometry-only RMS position error.
+     */
+    private static double[] simulate(long seed) {
+        Random random = new Random(seed);
+        double elapsed = 1.0 / RATE;
+        double[] truth = new double[3];
+        double[] deadReckoning = new double[3];
+        PoseEstimator estimator = new PoseEstimator(new Pose(), 0.01, 1);
+        Pose estimate = new Pose();
+        double estimatorError = 0;
+        double deadReckoningError = 0;
+        int samples = RATE * SECONDS;
+
+        for (int i = 0; i < samples; i++) {
+            double time = (double) i / RATE;
+
+            /*
+             * The robot drives forwards at 1 unit per second, strafes a
+             * bit, and weaves from side to side.
+             */
+            double forward = 1.0 * elapsed;
+            double right = 0.2 * Math.sin(time * 0.5) * elapsed;
+            double rate = 40 * Math.sin(time * 0.7);
+            double turn = Math.toRadians(rate) * elapsed;
+
+            Odometry.integrate(truth, right, forward, turn, Trig.EXACT);
+
+            /*
+             * The wheels read 3% long, and slip 8% while turning. The
+             * gyroscope has a constant bias of half a degree per second.
+             */
+            double measuredForward = forward * 1.03 +
+                    random.nextGaussian() * 1e-5;
+            double measuredRight = right * 1.03 +
+                    random.nextGaussian() * 1e-5;
+            double wheelTurn = Math.toDegrees(turn) * 0.92 +
+                    random.nextGaussian() * 0.005;
+            double gyroRate = rate + 0.5 + random.nextGaussian() * 0.2;
+
+            Odometry.integrate(
+                    deadReckoning,
+                    measuredRight,
+                    measuredForward,
+                    Math.toRadians(wheelTurn),
+                    Trig.EXACT
+            );
+
+            estimator.predict(
+                    measuredRight,
+                    measuredForward,
+                    wheelTurn,
+                    gyroRate,
+                    elapsed
+            );
+
+            if (i % 20 == 0) {
+                estimator.updateHeading(
+                        Math.toDegrees(truth[2]) +
+                                random.nextGaussian() * 0.5,
+                        0.25
+                );
+            }
+
+            if (i % 100 == 0) {
+                estimator.submitFix(
+                        truth[0] + random.nextGaussian() * 0.05,
+                        truth[1] + random.nextGaussian() * 0.05,
+                        Double.NaN,
+                        0.0025,
+                        0
+                );
+            }
+
+            estimator.getPose(estimate);
+
+            estimatorError += square(estimate.getX() - truth[0]) +
+                    square(estimate.getY() - truth[1]);
+            deadReckoningError += square(deadReckoning[0] - truth[0]) +
+                    square(deadReckoning[1] - truth[1]);
+        }
+
+        return new double[]{
+                estimate.getX(),
+                estimate.getY(),
+                estimate.getHeading(),
+                Math.sqrt(estimatorError / samples),
+                Math.sqrt(deadReckoningError / samples)
+        };
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+
+    /**
+     * The estimator should stay within a few centimeters of the truth,
+     * while odometry alone drifts away.
+     */
+    @Test
+    public void testTracksNoisySensors() {
+        double[] result = simulate(0);
+        double estimatorError = result[3];
+        double deadReckoningError = result[4];
+
+        Assertions.assertTrue(
+                estimatorError < 0.05,
+                "Estimator RMS error was " + estimatorError
+        );
+        Assertions.assertTrue(
+                estimatorError * 10 < deadReckoningError,
+                "Estimator RMS error was " + estimatorError +
+                        ", but odometry alone was " + deadReckoningError
+        );
+    }
+
+    /**
+     * The same inputs should always produce exactly the same estimate.
+     */
+    @Test
+    public void testDeterministic() {
+        Assertions.assertArrayEquals(simulate(42), simulate(42));
+    }
+
+    /**
+     * If the robot gets knocked around while its wheels don't notice, the
+     * gyroscope should win.
+     */
+    @Test
+    public void testGyroWinsWhenWheelsDontTurn() {
+        PoseEstimator estimator = new PoseEstimator(new Pose(), 0, 0);
+        Pose pose = new Pose();
+        double elapsed = 1.0 / RATE;
+
+        for (int i = 0; i < RATE; i++) {
+            estimator.predict(0, 0, 0, 90, elapsed);
+        }
+
+        estimator.getPose(pose);
+
+        Assertions.assertEquals(90, pose.getHeading(), 1);
+
+        /*
+         * Same thing while driving forwards, with the wheels only noticing
+         * a tiny bit of the turn.
+         */
+        estimator.reset(new Pose(), 0, 0);
+
+        for (int i = 0; i < RATE; i++) {
+            estimator.predict(0, elapsed, 0.001, 90, elapsed);
+        }
+
+        estimator.getPose(pose);
+
+        Assertions.assertEquals(90, pose.getHeading(), 1);
+    }
+
+    /**
+     * A confident absolute fix should pull the estimate right to it, and
+     * the covariance should stay symmetric and positive.
+     */
+    @Test
+    public void testPoseFix() {
+        PoseEstimator estimator = new PoseEstimator(new Pose(), 1, 100);
+        Pose pose = new Pose();
+
+        estimator.updatePose(2, -3, 170, 1e-6, 1e-6);
+        estimator.getPose(pose);
+
+        Assertions.assertEquals(2, pose.getX(), 1e-4);
+        Assertions.assertEquals(-3, pose.getY(), 1e-4);
+        Assertions.assertEquals(170, pose.getHeading(), 1e-2);
+
+        /*
+         * Wrapping: a fix at -170 degrees is only 20 degrees away from 170
+         * degrees, not 340.
+         */
+        estimator.updatePose(2, -3, -170, 1, 1e9);
+        estimator.updateHeading(-170, estimator.getHeadingVariance());
+        estimator.getPose(pose);
+
+        Assertions.assertEquals(180, pose.getHeading(), 1e-2);
+        Assertions.assertTrue(estimator.getXVariance() > 0);
+        Assertions.assertEquals(
+                estimator.getCovariance().get(0, 2),
+                estimator.getCovariance().get(2, 0)
+        );
+    }
+}
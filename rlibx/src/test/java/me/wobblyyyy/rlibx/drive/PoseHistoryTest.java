@@ -0,0 +1,108 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.math.Trig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Make sure delayed corrections land at the moment they were measured,
+ * not at whichever sample happens to come before it.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class PoseHistoryTest {
+    /**
+     * How far apart samples are, in nanoseconds.
+     */
+    private static final long PERIOD = 10_000_000;
+
+    /**
+     * Drive forwards at 1 unit per second for a second, with a sample every
+     * 10 milliseconds.
+     */
+    private static PoseHistory createHistory() {
+        PoseHistory history = new PoseHistory(256);
+
+        for (int i = 0; i <= 100; i++) {
+            history.add(i * PERIOD, 0, i * 0.01, 0, 0, i == 0 ? 0 : 0.01, 0);
+        }
+
+        return history;
+    }
+
+    @Test
+    public void testCorrectsBetweenSamples() {
+        PoseHistory history = createHistory();
+        Pose pose = new Pose();
+
+        /*
+         * Halfway between two samples, the robot was really half a unit to
+         * the right, and a fifth of a unit further forwards.
+         */
+        long time = 45 * PERIOD + PERIOD / 2;
+
+        Assertions.assertTrue(
+                history.correct(time, new Pose(0.5, 0.455 + 0.2, 0), Trig.EXACT)
+        );
+
+        history.get(time, pose);
+
+        Assertions.assertEquals(0.5, pose.getX(), 1e-9);
+        Assertions.assertEquals(0.655, pose.getY(), 1e-9);
+
+        history.get(history.size() - 1, pose);
+
+        Assertions.assertEquals(0.5, pose.getX(), 1e-9);
+        Assertions.assertEquals(1.2, pose.getY(), 1e-9);
+        Assertions.assertEquals(0, pose.getHeading(), 1e-9);
+    }
+
+    @Test
+    public void testCorrectsAtSamples() {
+        PoseHistory history = createHistory();
+        Pose pose = new Pose();
+
+        Assertions.assertTrue(
+                history.correct(50 * PERIOD, new Pose(1, 0.5, 0), Trig.EXACT)
+        );
+
+        history.get(history.size() - 1, pose);
+
+        Assertions.assertEquals(1, pose.getX(), 1e-9);
+        Assertions.assertEquals(1, pose.getY(), 1e-9);
+
+        /*
+         * Corrections from before the history starts can't be applied.
+         */
+        Assertions.assertFalse(
+                history.correct(-1, new Pose(), Trig.EXACT)
+        );
+    }
+}
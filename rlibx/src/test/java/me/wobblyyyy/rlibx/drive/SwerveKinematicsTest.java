@@ -0,0 +1,297 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive;
+
+import me.wobblyyyy.rlibx.hardware.encoder.Encoder;
+import me.wobblyyyy.rlibx.hardware.motor.Direction;
+import me.wobblyyyy.rlibx.hardware.motor.Motor;
+import me.wobblyyyy.rlibx.hardware.motor.MotorConfig;
+import me.wobblyyyy.rlibx.interfaces.EncoderCore;
+import me.wobblyyyy.rlibx.interfaces.MotorCore;
+import me.wobblyyyy.rlibx.math.Trig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Make sure swerve modules point the right way, never go faster than
+ * full speed, and never turn the long way round.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class SwerveKinematicsTest {
+    /**
+     * Half the track width.
+     */
+    private static final double X = 0.25;
+
+    /**
+     * Half the wheelbase.
+     */
+    private static final double Y = 0.2;
+
+    /**
+     * Module angles that are each off from forwards in a different way -
+     * a little past 90 both ways, and outside of -180 to 180 both ways.
+     */
+    private static final double[] CURRENT = {170, -100, 550, -400};
+
+    /**
+     * A motor that just remembers its power.
+     */
+    private static class FakeMotor implements MotorCore {
+        /**
+         * The motor's power.
+         */
+        private double power;
+
+        @Override
+        public void init() {
+
+        }
+
+        @Override
+        public double getPower() {
+            return power;
+        }
+
+        @Override
+        public void setPower(double power) {
+            this.power = power;
+        }
+    }
+
+    /**
+     * An encoder that counts one per degree, and never moves.
+     */
+    private static class FakeEncoder implements EncoderCore {
+        /**
+         * The encoder's count.
+         */
+        private final int count;
+
+        private FakeEncoder(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void init() {
+
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public double getCpr() {
+            return 360;
+        }
+    }
+
+    /**
+     * Create rectangle kinematics with exact trigonometry.
+     */
+    private static SwerveKinematics createKinematics() {
+        SwerveKinematics kinematics = SwerveKinematics.rectangle(X * 2, Y * 2);
+
+        kinematics.setTrig(Trig.EXACT);
+
+        return kinematics;
+    }
+
+    /**
+     * Create motors that apply power immediately.
+     */
+    private static Motor[] createMotors() {
+        Motor[] motors = new Motor[4];
+
+        for (int i = 0; i < motors.length; i++) {
+            motors[i] = new Motor(
+                    new FakeMotor(),
+                    new MotorConfig(-1, 1, 1, 0, false, Direction.FORWARDS)
+            );
+            motors[i].enableUserControl();
+        }
+
+        return motors;
+    }
+
+    @Test
+    public void testPureStrafe() {
+        SwerveKinematics kinematics = createKinematics();
+
+        kinematics.calculate(1, 0, 0);
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(1, kinematics.getSpeed(i), 1e-9);
+            Assertions.assertEquals(-90, kinematics.getAngle(i), 1e-9);
+        }
+
+        kinematics.calculate(-0.5, 0, 0);
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(0.5, kinematics.getSpeed(i), 1e-9);
+            Assertions.assertEquals(90, kinematics.getAngle(i), 1e-9);
+        }
+    }
+
+    @Test
+    public void testPureRotation() {
+        SwerveKinematics kinematics = createKinematics();
+
+        kinematics.calculate(0, 0, 1);
+
+        for (int i = 0; i < 4; i++) {
+            double px = kinematics.getX(i);
+            double py = kinematics.getY(i);
+            double angle = Math.toRadians(kinematics.getAngle(i));
+
+            /*
+             * Every module is the same distance from the center, so they
+             * all go full speed, at a right angle to the center - and
+             * clockwise, so the direction is (py, -px).
+             */
+            Assertions.assertEquals(1, kinematics.getSpeed(i), 1e-9);
+            Assertions.assertEquals(
+                    Math.toDegrees(Math.atan2(-py, -px)),
+                    kinematics.getAngle(i),
+                    1e-9
+            );
+            Assertions.assertEquals(
+                    0,
+                    (-Math.sin(angle) * px) + (Math.cos(angle) * py),
+                    1e-9
+            );
+        }
+
+        Assertions.assertEquals(
+                Math.toDegrees(Math.atan2(Y, X)) - 180,
+                kinematics.getAngle(0),
+                1e-9
+        );
+    }
+
+    @Test
+    public void testDesaturates() {
+        SwerveKinematics kinematics = createKinematics();
+        double[] raw = new double[4];
+        double max = 0;
+
+        for (int i = 0; i < 4; i++) {
+            double vx = 1 + kinematics.getY(i);
+            double vy = 1 - kinematics.getX(i);
+
+            raw[i] = Math.hypot(vx, vy);
+            max = Math.max(max, raw[i]);
+        }
+
+        kinematics.calculate(1, 1, 1);
+
+        double fastest = 0;
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(
+                    raw[i] / max,
+                    kinematics.getSpeed(i),
+                    1e-9
+            );
+
+            fastest = Math.max(fastest, kinematics.getSpeed(i));
+        }
+
+        Assertions.assertEquals(1, fastest, 1e-9);
+    }
+
+    @Test
+    public void testOptimizeFlips() {
+        SwerveKinematics kinematics = createKinematics();
+
+        kinematics.calculate(0, 1, 0);
+        kinematics.optimize(CURRENT.clone());
+
+        double[] angles = {180, -180, 540, -360};
+        double[] speeds = {-1, -1, -1, 1};
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(angles[i], kinematics.getAngle(i), 1e-9);
+            Assertions.assertEquals(speeds[i], kinematics.getSpeed(i), 1e-9);
+            Assertions.assertTrue(
+                    Math.abs(kinematics.getAngle(i) - CURRENT[i]) <= 90
+            );
+        }
+    }
+
+    @Test
+    public void testDrivetrainSteersShortWay() {
+        SwerveKinematics kinematics = createKinematics();
+        Motor[] driveMotors = createMotors();
+        Motor[] turnMotors = createMotors();
+        Encoder[] encoders = new Encoder[4];
+
+        for (int i = 0; i < 4; i++) {
+            encoders[i] = new Encoder(new FakeEncoder((int) CURRENT[i]));
+        }
+
+        DrivetrainSwerve drivetrain = new DrivetrainSwerve(
+                driveMotors,
+                turnMotors,
+                encoders,
+                kinematics
+        );
+        drivetrain.setSteeringGains(0.02, 0);
+
+        drivetrain.drive(0, 1, 0, 0.02);
+
+        /*
+         * Errors are 10, -80, -10, and 40 degrees. Turn power is
+         * proportional to the error (clamped to 1), and drive power is
+         * scaled by the error's cosine.
+         */
+        double[] errors = {10, -80, -10, 40};
+        double[] speeds = {-1, -1, -1, 1};
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(
+                    CURRENT[i],
+                    drivetrain.getCurrentAngle(i),
+                    1e-9
+            );
+            Assertions.assertEquals(
+                    Math.max(-1, Math.min(1, 0.02 * errors[i])),
+                    turnMotors[i].getPower(),
+                    1e-9
+            );
+            Assertions.assertEquals(
+                    speeds[i] * Math.cos(Math.toRadians(errors[i])),
+                    driveMotors[i].getPower(),
+                    1e-9
+            );
+        }
+    }
+}
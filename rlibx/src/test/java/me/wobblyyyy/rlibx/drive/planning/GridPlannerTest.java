@@ -0,0 +1,293 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.planning;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Check the distance field and the grid planner against slow, obviously
+ * correct versions of themselves.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class GridPlannerTest {
+    private static final int WIDTH = 60;
+    private static final int HEIGHT = 40;
+    private static final double RADIUS = 1.5;
+
+    private static OccupancyGrid createGrid(long seed) {
+        Random random = new Random(seed);
+        OccupancyGrid grid = new OccupancyGrid(WIDTH, HEIGHT, 1);
+
+        grid.setRectangle(15, 0, 17, 28, true);
+        grid.setRectangle(35, 12, 37, 40, true);
+
+        for (int i = 0; i < 40; i++) {
+            grid.set(random.nextInt(WIDTH), random.nextInt(HEIGHT), true);
+        }
+
+        return grid;
+    }
+
+    private static boolean isFree(DistanceField field,
+                                  int column,
+                                  int row) {
+        OccupancyGrid grid = field.getGrid();
+
+        return grid.contains(column, row) &&
+                field.getCellDistanceSquared(grid.index(column, row)) >=
+                        field.getClearance(RADIUS);
+    }
+
+    /**
+     * The length of the shortest 8-connected path between two cells,
+     * found with plain old Dijkstra's algorithm. Diagonal moves can't cut
+     * corners, same as the planner.
+     */
+    private static double dijkstra(DistanceField field,
+                                   int start,
+                                   int goal) {
+        OccupancyGrid grid = field.getGrid();
+        double[] costs = new double[grid.size()];
+        PriorityQueue<double[]> queue = new PriorityQueue<>(
+                (a, b) -> Double.compare(a[0], b[0])
+        );
+
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        costs[start] = 0;
+        queue.add(new double[]{0, start});
+
+        while (!queue.isEmpty()) {
+            double[] entry = queue.poll();
+            int current = (int) entry[1];
+
+            if (entry[0] > costs[current]) continue;
+            if (current == goal) return costs[current];
+
+            int column = current % WIDTH;
+            int row = current / WIDTH;
+
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (dx == 0 && dy == 0) continue;
+                    if (!isFree(field, column + dx, row + dy)) continue;
+
+                    if (dx != 0 && dy != 0 &&
+                            !(isFree(field, column + dx, row) &&
+                                    isFree(field, column, row + dy))) {
+                        continue;
+                    }
+
+                    int next = grid.index(column + dx, row + dy);
+                    double cost = costs[current] +
+                            (dx != 0 && dy != 0 ? Math.sqrt(2) : 1);
+
+                    if (cost < costs[next]) {
+                        costs[next] = cost;
+                        queue.add(new double[]{cost, next});
+                    }
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    @Test
+    public void testDistanceFieldIsExact() {
+        OccupancyGrid grid = createGrid(1);
+        DistanceField field = new DistanceField(grid);
+
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int column = 0; column < WIDTH; column++) {
+                int edge = Math.min(
+                        Math.min(column + 1, WIDTH - column),
+                        Math.min(row + 1, HEIGHT - row)
+                );
+                double expected = edge * edge;
+
+                for (int y = 0; y < HEIGHT; y++) {
+                    for (int x = 0; x < WIDTH; x++) {
+                        if (!grid.isOccupied(x, y)) continue;
+
+                        int dx = x - column;
+                        int dy = y - row;
+
+                        expected = Math.min(expected, dx * dx + dy * dy);
+                    }
+                }
+
+                Assertions.assertEquals(
+                        expected,
+                        field.getCellDistanceSquared(grid.index(column, row))
+                );
+            }
+        }
+
+        /*
+         * The field only updates when the grid actually changes.
+         */
+        Assertions.assertFalse(field.update());
+        grid.set(30, 20, true);
+        Assertions.assertTrue(field.update());
+        Assertions.assertEquals(0, field.getDistance(30, 20));
+    }
+
+    @Test
+    public void testDistanceFieldUpdatesLocally() {
+        Random random = new Random(4);
+        OccupancyGrid grid = createGrid(4);
+        DistanceField field = new DistanceField(grid, 5);
+
+        for (int i = 0; i < 50; i++) {
+            grid.setCircle(
+                    random.nextDouble() * WIDTH,
+                    random.nextDouble() * HEIGHT,
+                    random.nextDouble() * 3,
+                    random.nextBoolean()
+            );
+
+            Assertions.assertTrue(grid.hasHistory(field.getVersion()));
+            field.update();
+
+            DistanceField expected = new DistanceField(grid, 5);
+
+            for (int cell = 0; cell < grid.size(); cell++) {
+                Assertions.assertEquals(
+                        expected.getCellDistanceSquared(cell),
+                        field.getCellDistanceSquared(cell)
+                );
+            }
+        }
+
+        /*
+         * Nothing's ever further away than the maximum distance.
+         */
+        grid.clear();
+
+        Assertions.assertFalse(grid.hasHistory(field.getVersion()));
+        Assertions.assertTrue(field.update());
+        Assertions.assertEquals(5, field.getDistance(30, 20));
+    }
+
+    @Test
+    public void testPlansAreOptimal() {
+        Random random = new Random(2);
+        OccupancyGrid grid = createGrid(2);
+        DistanceField field = new DistanceField(grid);
+        GridPlanner planner = new GridPlanner(field);
+        GridPath path = new GridPath();
+        int checked = 0;
+
+        planner.setSmoothing(false);
+
+        while (checked < 50) {
+            int start = random.nextInt(grid.size());
+            int goal = random.nextInt(grid.size());
+            int startColumn = start % WIDTH;
+            int startRow = start / WIDTH;
+            int goalColumn = goal % WIDTH;
+            int goalRow = goal / WIDTH;
+
+            if (!isFree(field, startColumn, startRow) ||
+                    !isFree(field, goalColumn, goalRow)) {
+                continue;
+            }
+
+            double expected = dijkstra(field, start, goal);
+            boolean found = planner.plan(
+                    grid.toX(startColumn),
+                    grid.toY(startRow),
+                    grid.toX(goalColumn),
+                    grid.toY(goalRow),
+                    RADIUS,
+                    path
+            );
+
+            Assertions.assertEquals(expected >= 0, found);
+
+            if (found) {
+                Assertions.assertEquals(expected, path.getLength(), 1e-9);
+            }
+
+            checked++;
+        }
+    }
+
+    @Test
+    public void testSmoothedPathKeepsClearance() {
+        OccupancyGrid grid = createGrid(3);
+        DistanceField field = new DistanceField(grid);
+        GridPlanner planner = new GridPlanner(field);
+        GridPath path = new GridPath();
+
+        Assertions.assertTrue(planner.plan(5, 35, 55, 5, RADIUS, path));
+        Assertions.assertEquals(5, path.getX(0));
+        Assertions.assertEquals(35, path.getY(0));
+        Assertions.assertEquals(55, path.getX(path.size() - 1));
+        Assertions.assertEquals(5, path.getY(path.size() - 1));
+
+        for (int i = 1; i < path.size(); i++) {
+            double x = path.getX(i - 1);
+            double y = path.getY(i - 1);
+            double dx = path.getX(i) - x;
+            double dy = path.getY(i) - y;
+
+            for (double t = 0; t <= 1; t += 0.01) {
+                Assertions.assertTrue(
+                        field.getDistance(x + dx * t, y + dy * t) >= RADIUS
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testNoPath() {
+        OccupancyGrid grid = new OccupancyGrid(WIDTH, HEIGHT, 1);
+        DistanceField field = new DistanceField(grid);
+        GridPlanner planner = new GridPlanner(field);
+        GridPath path = new GridPath();
+
+        Assertions.assertTrue(planner.plan(5, 20, 55, 20, RADIUS, path));
+
+        grid.setRectangle(29, 0, 31, HEIGHT, true);
+
+        Assertions.assertFalse(planner.plan(5, 20, 55, 20, RADIUS, path));
+        Assertions.assertTrue(path.isEmpty());
+
+        /*
+         * A goal inside an obstacle can't ever be reached.
+         */
+        Assertions.assertFalse(planner.plan(5, 20, 30, 20, RADIUS, path));
+    }
+}
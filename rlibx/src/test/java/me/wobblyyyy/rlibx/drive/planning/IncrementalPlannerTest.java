@@ -0,0 +1,283 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.planning;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Make sure repaired paths are exactly as good as paths planned from
+ * scratch, and that repairs only do as much work as they need to.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class IncrementalPlannerTest {
+    private static final int WIDTH = 80;
+    private static final int HEIGHT = 50;
+    private static final double RADIUS = 1.5;
+
+    private static OccupancyGrid createGrid(Random random) {
+        OccupancyGrid grid = new OccupancyGrid(WIDTH, HEIGHT, 1);
+
+        for (int i = 0; i < 25; i++) {
+            grid.setCircle(
+                    random.nextDouble() * WIDTH,
+                    random.nextDouble() * HEIGHT,
+                    random.nextDouble() * 4,
+                    true
+            );
+        }
+
+        return grid;
+    }
+
+    @Test
+    public void testRepairsMatchFreshPlans() {
+        Random random = new Random(1);
+        OccupancyGrid grid = createGrid(random);
+        DistanceField field = new DistanceField(grid, 3);
+        IncrementalPlanner incremental = new IncrementalPlanner(field, RADIUS);
+        GridPlanner planner = new GridPlanner(field);
+        GridPath repaired = new GridPath();
+        GridPath fresh = new GridPath();
+
+        incremental.setSmoothing(false);
+        planner.setSmoothing(false);
+
+        for (int trial = 0; trial < 5; trial++) {
+            double goalX = grid.toX(random.nextInt(WIDTH));
+            double goalY = grid.toY(random.nextInt(HEIGHT));
+            double x = grid.toX(random.nextInt(WIDTH));
+            double y = grid.toY(random.nextInt(HEIGHT));
+
+            incremental.setGoal(goalX, goalY);
+
+            for (int step = 0; step < 20; step++) {
+                /*
+                 * Obstacles come and go, and the robot moves a few cells
+                 * along its path every step.
+                 */
+                for (int i = random.nextInt(3); i > 0; i--) {
+                    grid.setCircle(
+                            random.nextDouble() * WIDTH,
+                            random.nextDouble() * HEIGHT,
+                            random.nextDouble() * 3,
+                            random.nextInt(3) != 0
+                    );
+                }
+
+                boolean isRepaired = incremental.plan(x, y, repaired);
+                boolean isFresh = planner.plan(
+                        x,
+                        y,
+                        goalX,
+                        goalY,
+                        RADIUS,
+                        fresh
+                );
+
+                Assertions.assertEquals(isFresh, isRepaired);
+
+                if (!isRepaired) continue;
+
+                Assertions.assertEquals(
+                        fresh.getLength(),
+                        repaired.getLength(),
+                        1e-9
+                );
+
+                int next = Math.min(3, repaired.size() - 1);
+
+                x = grid.toX(grid.toColumn(repaired.getX(next)));
+                y = grid.toY(grid.toRow(repaired.getY(next)));
+            }
+        }
+    }
+
+    @Test
+    public void testRepairsOnlyWhatChanged() {
+        OccupancyGrid grid = new OccupancyGrid(WIDTH, HEIGHT, 1);
+        DistanceField field = new DistanceField(grid, 3);
+        IncrementalPlanner planner = new IncrementalPlanner(field, RADIUS);
+        GridPath path = new GridPath();
+
+        planner.setGoal(75, 25);
+
+        Assertions.assertTrue(planner.plan(5, 25, path));
+        Assertions.assertEquals(70, path.getLength(), 1e-9);
+
+        int initial = planner.getExpanded();
+
+        /*
+         * Nothing's changed, so there's nothing to do.
+         */
+        Assertions.assertTrue(planner.plan(5, 25, path));
+        Assertions.assertEquals(0, planner.getExpanded());
+
+        /*
+         * An obstacle that's nowhere near the path barely costs anything.
+         */
+        grid.setCircle(40, 3, 1, true);
+
+        Assertions.assertTrue(planner.plan(5, 25, path));
+        Assertions.assertTrue(planner.getChanged() > 0);
+        Assertions.assertTrue(planner.getExpanded() < initial / 10);
+        Assertions.assertEquals(70, path.getLength(), 1e-9);
+
+        /*
+         * A wall across the field means there's no path at all, until a
+         * gap opens back up.
+         */
+        grid.setRectangle(40, 0, 41, HEIGHT, true);
+
+        Assertions.assertFalse(planner.plan(5, 25, path));
+        Assertions.assertTrue(path.isEmpty());
+
+        grid.setRectangle(40, 20, 41, 30, false);
+
+        Assertions.assertTrue(planner.plan(5, 25, path));
+        Assertions.assertEquals(70, path.getLength(), 1e-9);
+
+        /*
+         * Clearing the grid changes too much to keep track of, so the
+         * search starts over.
+         */
+        grid.clear();
+
+        Assertions.assertTrue(planner.plan(5, 25, path));
+        Assertions.assertEquals(-1, planner.getChanged());
+    }
+
+    @Test
+    public void testBackgroundPlannerPublishesPaths()
+            throws InterruptedException {
+        OccupancyGrid grid = new OccupancyGrid(WIDTH, HEIGHT, 1);
+        DistanceField field = new DistanceField(grid, 3);
+        BackgroundPlanner planner = new BackgroundPlanner(
+                new IncrementalPlanner(field, RADIUS)
+        );
+
+        Assertions.assertTrue(planner.getPath().isEmpty());
+
+        planner.start();
+        planner.setGoal(75, 25);
+        planner.setStart(5, 25);
+
+        awaitPublished(planner, 1);
+
+        GridPath path = planner.getPath();
+
+        Assertions.assertEquals(75, path.getX(path.size() - 1));
+        Assertions.assertEquals(25, path.getY(path.size() - 1));
+
+        /*
+         * Moving within the same cell doesn't need a new plan, but walling
+         * off the goal does.
+         */
+        planner.setStart(5.2, 25.2);
+        planner.edit(g -> g.setRectangle(40, 0, 41, HEIGHT, true));
+
+        awaitPublished(planner, 2);
+
+        Assertions.assertTrue(planner.getPath().isEmpty());
+        Assertions.assertEquals(70, path.getLength(), 1e-9);
+
+        planner.stop();
+
+        Assertions.assertFalse(planner.isRunning());
+    }
+
+    @Test
+    public void testBackgroundPlannerSurvivesExceptions()
+            throws InterruptedException {
+        OccupancyGrid grid = new OccupancyGrid(WIDTH, HEIGHT, 1);
+        DistanceField field = new DistanceField(grid, 3);
+        AtomicBoolean isBroken = new AtomicBoolean(false);
+        BackgroundPlanner planner = new BackgroundPlanner(
+                new IncrementalPlanner(field, RADIUS) {
+                    @Override
+                    public boolean plan(double startX,
+                                        double startY,
+                                        GridPath into) {
+                        if (isBroken.get()) {
+                            throw new IllegalStateException("Broken!");
+                        }
+
+                        return super.plan(startX, startY, into);
+                    }
+                }
+        );
+
+        planner.start();
+        planner.setGoal(75, 25);
+        planner.setStart(5, 25);
+
+        awaitPublished(planner, 1);
+
+        Assertions.assertFalse(planner.getPath().isEmpty());
+
+        /*
+         * A plan that throws publishes an empty path, rather than leaving
+         * the old one in place forever...
+         */
+        isBroken.set(true);
+        planner.setStart(10, 25);
+
+        awaitPublished(planner, 2);
+
+        Assertions.assertTrue(planner.getPath().isEmpty());
+        Assertions.assertTrue(planner.isRunning());
+
+        /*
+         * ...and the thread is still around to plan again afterwards.
+         */
+        isBroken.set(false);
+        planner.setStart(15, 25);
+
+        awaitPublished(planner, 3);
+
+        Assertions.assertFalse(planner.getPath().isEmpty());
+
+        planner.stop();
+    }
+
+    private static void awaitPublished(BackgroundPlanner planner,
+                                       int published)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+
+        while (planner.getPublished() < published) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline);
+
+            Thread.sleep(1);
+        }
+    }
+}
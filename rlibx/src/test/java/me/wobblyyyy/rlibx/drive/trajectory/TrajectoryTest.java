@@ -0,0 +1,355 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.drive.trajectory;
+
+import me.wobblyyyy.rlibx.drive.Pose;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Make sure generated trajectories respect their constraints, and that the
+ * trajectory cache never generates the same trajectory twice.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class TrajectoryTest {
+    private static final TrajectoryConstraints CONSTRAINTS =
+            new TrajectoryConstraints(2, 1, 1);
+
+    /**
+     * A semicircle with a radius of 5, turning clockwise.
+     */
+    private static final Pose[] SEMICIRCLE = {
+            new Pose(0, 0, 90),
+            new Pose(-5, 5, 0),
+            new Pose(0, 10, -90)
+    };
+
+    @Test
+    public void testStraightLineIsTrapezoidal() {
+        for (Spline spline : Spline.values()) {
+            Trajectory trajectory = TrajectoryGenerator.generate(
+                    spline,
+                    CONSTRAINTS,
+                    0.01,
+                    new Pose(0, 0, 0),
+                    new Pose(0, 10, 0)
+            );
+
+            /*
+             * 2 seconds to speed up, 2 seconds to slow down, and 3 seconds
+             * cruising at 2 units per second in the middle.
+             */
+            Assertions.assertEquals(10, trajectory.getLength(), 1e-9);
+            Assertions.assertEquals(7, trajectory.getDuration(), 1e-6);
+
+            TrajectoryState state = new TrajectoryState();
+
+            trajectory.sample(3.5, state);
+
+            Assertions.assertEquals(2, state.getVelocity(), 1e-6);
+            Assertions.assertEquals(5, state.getY(), 1e-6);
+            Assertions.assertEquals(0, state.getX(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testShortPathStillMoves() {
+        for (Spline spline : Spline.values()) {
+            /*
+             * Shorter than a single sample spacing. There's no room to
+             * reach full speed, so the robot speeds up for half the path
+             * and slows down for the other half.
+             */
+            Trajectory trajectory = TrajectoryGenerator.generate(
+                    spline,
+                    CONSTRAINTS,
+                    0.5,
+                    new Pose(0, 0, 0),
+                    new Pose(0, 0.3, 0)
+            );
+
+            Assertions.assertEquals(0.3, trajectory.getLength(), 1e-9);
+            Assertions.assertEquals(
+                    2 * Math.sqrt(0.3),
+                    trajectory.getDuration(),
+                    1e-6
+            );
+
+            TrajectoryState state = new TrajectoryState();
+
+            trajectory.sample(trajectory.getDuration() / 2, state);
+
+            Assertions.assertTrue(state.getVelocity() > 0);
+        }
+    }
+
+    @Test
+    public void testCurveRespectsConstraints() {
+        for (Spline spline : Spline.values()) {
+            Trajectory trajectory = TrajectoryGenerator.generate(
+                    spline,
+                    CONSTRAINTS,
+                    0.05,
+                    SEMICIRCLE
+            );
+
+            Assertions.assertEquals(0, trajectory.getVelocity(0));
+            Assertions.assertEquals(
+                    0,
+                    trajectory.getVelocity(trajectory.size() - 1)
+            );
+
+            for (int i = 0; i < trajectory.size(); i++) {
+                double v = trajectory.getVelocity(i);
+                double k = trajectory.getCurvature(i);
+
+                Assertions.assertTrue(v <= 2 + 1e-9);
+                Assertions.assertTrue(v * v * Math.abs(k) <= 1 + 1e-9);
+                Assertions.assertTrue(
+                        Math.abs(trajectory.getAcceleration(i)) <= 1 + 1e-9
+                );
+            }
+
+            for (int i = 1; i < trajectory.size(); i++) {
+                double step = Math.hypot(
+                        trajectory.getX(i) - trajectory.getX(i - 1),
+                        trajectory.getY(i) - trajectory.getY(i - 1)
+                );
+
+                Assertions.assertTrue(step <= 0.05 + 1e-9);
+                Assertions.assertTrue(
+                        trajectory.getTime(i) > trajectory.getTime(i - 1)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testCacheOnlyGeneratesOnce(@TempDir Path directory) {
+        TrajectoryCache first = new TrajectoryCache(directory);
+        Trajectory generated = first.get(
+                Spline.QUINTIC,
+                CONSTRAINTS,
+                0.05,
+                SEMICIRCLE
+        );
+
+        Assertions.assertSame(
+                generated,
+                first.get(Spline.QUINTIC, CONSTRAINTS, 0.05, SEMICIRCLE)
+        );
+        Assertions.assertEquals(1, first.getGenerated());
+
+        long key = TrajectoryCache.key(
+                Spline.QUINTIC,
+                CONSTRAINTS,
+                0.05,
+                SEMICIRCLE
+        );
+
+        Assertions.assertTrue(Files.isRegularFile(first.getFile(key)));
+
+        /*
+         * A brand new cache, pointed at the same directory, should read the
+         * trajectory from disk instead of generating it again.
+         */
+        TrajectoryCache second = new TrajectoryCache(directory);
+        Trajectory loaded = second.get(
+                Spline.QUINTIC,
+                CONSTRAINTS,
+                0.05,
+                SEMICIRCLE
+        );
+
+        Assertions.assertEquals(0, second.getGenerated());
+        Assertions.assertEquals(1, second.getLoaded());
+        Assertions.assertEquals(generated.size(), loaded.size());
+
+        for (int i = 0; i < generated.size(); i++) {
+            Assertions.assertEquals(generated.getX(i), loaded.getX(i));
+            Assertions.assertEquals(generated.getTime(i), loaded.getTime(i));
+        }
+
+        Assertions.assertNotEquals(
+                key,
+                TrajectoryCache.key(Spline.CUBIC, CONSTRAINTS, 0.05, SEMICIRCLE)
+        );
+    }
+
+    @Test
+    public void testCacheChecksInputs(@TempDir Path directory)
+            throws IOException {
+        TrajectoryCache first = new TrajectoryCache(directory);
+        Pose[] line = {new Pose(0, 0, 0), new Pose(0, 5, 0)};
+
+        first.get(Spline.QUINTIC, CONSTRAINTS, 0.05, SEMICIRCLE);
+
+        /*
+         * Pretend the semicircle's file belongs to a different trajectory,
+         * the way it would if the two keys collided.
+         */
+        long semicircle = TrajectoryCache.key(
+                Spline.QUINTIC,
+                CONSTRAINTS,
+                0.05,
+                SEMICIRCLE
+        );
+        long straight = TrajectoryCache.key(
+                Spline.QUINTIC,
+                CONSTRAINTS,
+                0.05,
+                line
+        );
+
+        Files.copy(
+                first.getFile(semicircle),
+                first.getFile(straight),
+                StandardCopyOption.REPLACE_EXISTING
+        );
+
+        TrajectoryCache second = new TrajectoryCache(directory);
+        Trajectory trajectory = second.get(
+                Spline.QUINTIC,
+                CONSTRAINTS,
+                0.05,
+                line
+        );
+
+        Assertions.assertEquals(0, second.getLoaded());
+        Assertions.assertEquals(1, second.getGenerated());
+        Assertions.assertEquals(5, trajectory.getLength(), 1e-9);
+    }
+
+    /**
+     * Read a written trajectory back, with its sample count replaced.
+     */
+    private static Trajectory readWithSize(byte[] written,
+                                           int size) throws IOException {
+        byte[] bytes = written.clone();
+
+        ByteBuffer.wrap(bytes).putInt(0, size);
+
+        return Trajectory.read(
+                new DataInputStream(new ByteArrayInputStream(bytes)),
+                bytes.length
+        );
+    }
+
+    @Test
+    public void testReadChecksSampleCount() throws IOException {
+        Trajectory trajectory = TrajectoryGenerator.generate(
+                Spline.QUINTIC,
+                CONSTRAINTS,
+                0.05,
+                SEMICIRCLE
+        );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        trajectory.write(new DataOutputStream(out));
+
+        byte[] written = out.toByteArray();
+        int size = trajectory.size();
+
+        Assertions.assertEquals(
+                size,
+                readWithSize(written, size).size()
+        );
+
+        for (int bad : new int[]{-1, 1, size + 1, Integer.MAX_VALUE}) {
+            Assertions.assertThrows(
+                    IOException.class,
+                    () -> readWithSize(written, bad)
+            );
+        }
+
+        /*
+         * Without a length, only the hard limit applies.
+         */
+        ByteBuffer.wrap(written).putInt(0, Trajectory.MAX_SAMPLES + 1);
+
+        Assertions.assertThrows(
+                IOException.class,
+                () -> Trajectory.read(new DataInputStream(
+                        new ByteArrayInputStream(written)))
+        );
+    }
+
+    @Test
+    public void testCacheIgnoresCorruptedFile(@TempDir Path directory)
+            throws IOException {
+        TrajectoryCache first = new TrajectoryCache(directory);
+
+        first.get(Spline.QUINTIC, CONSTRAINTS, 0.05, SEMICIRCLE);
+
+        Path file = first.getFile(TrajectoryCache.key(
+                Spline.QUINTIC,
+                CONSTRAINTS,
+                0.05,
+                SEMICIRCLE
+        ));
+        byte[] bytes = Files.readAllBytes(file);
+
+        /*
+         * The sample count comes right after the header and the inputs:
+         * magic, version, key, spline, 3 constraints, spacing, waypoint
+         * count, and 3 waypoints.
+         */
+        int offset = 4 + 4 + 8 + 4 + (3 * 8) + 8 + 4 + (3 * 3 * 8);
+
+        ByteBuffer.wrap(bytes).putInt(offset, Integer.MAX_VALUE);
+        Files.write(file, bytes);
+
+        TrajectoryCache second = new TrajectoryCache(directory);
+        Trajectory trajectory = second.get(
+                Spline.QUINTIC,
+                CONSTRAINTS,
+                0.05,
+                SEMICIRCLE
+        );
+
+        Assertions.assertEquals(0, second.getLoaded());
+        Assertions.assertEquals(1, second.getGenerated());
+        Assertions.assertEquals(
+                first.get(Spline.QUINTIC, CONSTRAINTS, 0.05, SEMICIRCLE)
+                        .size(),
+                trajectory.size()
+        );
+    }
+}
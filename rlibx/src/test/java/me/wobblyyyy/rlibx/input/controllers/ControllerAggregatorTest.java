@@ -0,0 +1,252 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.controllers;
+
+import me.wobblyyyy.rlibx.interfaces.ControllerCore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+/**
+ * Run every merge policy over a table of controller states.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class ControllerAggregatorTest {
+    /**
+     * A controller core whose state is set by the test.
+     */
+    private static class FakeCore implements ControllerCore {
+        private final ControllerState state = new ControllerState();
+
+        @Override
+        public void init() {
+
+        }
+
+        @Override
+        public ControllerState getState() {
+            return state;
+        }
+    }
+
+    /**
+     * One row of the table: a channel, how it's merged, what each
+     * controller has on that channel, and what should come out.
+     */
+    private static class Case {
+        private final MergePolicy policy;
+        private final Bindings.Core channel;
+        private final double[] inputs;
+        private final double value;
+        private final int source;
+
+        private Case(MergePolicy policy,
+                     Bindings.Core channel,
+                     double[] inputs,
+                     double value,
+                     int source) {
+            this.policy = policy;
+            this.channel = channel;
+            this.inputs = inputs;
+            this.value = value;
+            this.source = source;
+        }
+
+        @Override
+        public String toString() {
+            return policy + " " + channel + " " +
+                    Arrays.toString(inputs);
+        }
+    }
+
+    /**
+     * A table row for {@link MergePolicy#PRIORITY}.
+     */
+    private static Case priority(Bindings.Core channel,
+                                 double value,
+                                 int source,
+                                 double... inputs) {
+        return new Case(MergePolicy.PRIORITY, channel, inputs, value, source);
+    }
+
+    /**
+     * A table row for {@link MergePolicy#MAX_MAGNITUDE}.
+     */
+    private static Case max(Bindings.Core channel,
+                            double value,
+                            int source,
+                            double... inputs) {
+        return new Case(
+                MergePolicy.MAX_MAGNITUDE,
+                channel,
+                inputs,
+                value,
+                source
+        );
+    }
+
+    /**
+     * A table row for {@link MergePolicy#OR}.
+     */
+    private static Case or(Bindings.Core channel,
+                           double value,
+                           int source,
+                           double... inputs) {
+        return new Case(MergePolicy.OR, channel, inputs, value, source);
+    }
+
+    /**
+     * Every case, with the default threshold of 0.05.
+     */
+    private static final Case[] CASES = {
+            /*
+             * The first controller that's actually using the channel
+             * wins, even if a later one is pushing harder.
+             */
+            priority(Bindings.Core.LSX, 0.3, 0, 0.3, -0.9),
+            priority(Bindings.Core.LSX, 0.5, 1, 0.02, 0.5, -0.9),
+            priority(Bindings.Core.LSX, -0.06, 0, -0.06, 0.9),
+            priority(Bindings.Core.LSX, 0, -1, 0.01, -0.04, 0.05),
+            priority(Bindings.Core.B, 1, 2, 0, 0, 1),
+
+            /*
+             * The biggest value wins, whichever way it's pointing. Ties
+             * go to the higher priority controller.
+             */
+            max(Bindings.Core.LSY, -0.8, 1, 0.3, -0.8, 0.5),
+            max(Bindings.Core.LSY, 0.5, 0, 0.5, -0.5),
+            max(Bindings.Core.LSY, 0.01, 2, 0, 0, 0.01),
+            max(Bindings.Core.LSY, 0, -1, 0, 0, 0),
+
+            /*
+             * Anybody can press a button. Analog channels count as pressed
+             * from halfway.
+             */
+            or(Bindings.Core.A, 1, 1, 0, 1, 1),
+            or(Bindings.Core.A, 1, 0, 1, 0),
+            or(Bindings.Core.A, 0, -1, 0, 0, 0),
+            or(Bindings.Core.RT, 1, 1, 0.4, 0.6),
+            or(Bindings.Core.RT, 0, -1, 0.49, 0.3),
+    };
+
+    @Test
+    public void testMergePolicies() {
+        for (Case c : CASES) {
+            FakeCore[] cores = new FakeCore[c.inputs.length];
+            Controller[] controllers = new Controller[c.inputs.length];
+
+            for (int i = 0; i < cores.length; i++) {
+                double[] packed = new double[Bindings.CHANNEL_COUNT];
+
+                packed[Bindings.getChannel(c.channel)] = c.inputs[i];
+
+                cores[i] = new FakeCore();
+                ControllerEncoder.decode(packed, cores[i].getState());
+                controllers[i] = new Controller(cores[i]);
+            }
+
+            ControllerAggregator aggregator =
+                    new ControllerAggregator(controllers);
+
+            aggregator.setPolicy(c.channel, c.policy);
+
+            double[] merged = ControllerEncoder.encode(aggregator.getState());
+
+            for (Bindings.Core channel : Bindings.Core.values()) {
+                if (channel == c.channel) {
+                    Assertions.assertEquals(
+                            c.value,
+                            merged[Bindings.getChannel(channel)],
+                            c.toString()
+                    );
+                    Assertions.assertEquals(
+                            c.source,
+                            aggregator.getSource(channel),
+                            c.toString()
+                    );
+                } else {
+                    Assertions.assertEquals(
+                            0,
+                            merged[Bindings.getChannel(channel)],
+                            c + ", " + channel
+                    );
+                    Assertions.assertEquals(
+                            -1,
+                            aggregator.getSource(channel),
+                            c + ", " + channel
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultPoliciesAndStickButtons() {
+        FakeCore driver = new FakeCore();
+        FakeCore operator = new FakeCore();
+        ControllerAggregator aggregator = new ControllerAggregator(
+                new Controller(driver),
+                new Controller(operator)
+        );
+
+        for (Bindings.Core channel : Bindings.Core.values()) {
+            Assertions.assertEquals(
+                    ControllerShaping.isAxis(channel) ?
+                            MergePolicy.PRIORITY :
+                            MergePolicy.OR,
+                    aggregator.getPolicy(channel)
+            );
+        }
+
+        driver.getState().setLsx(0.2);
+        operator.getState().setLsx(-1);
+        operator.getState().setRsy(0.7);
+        operator.getState().setA(true);
+        operator.getState().setRightStick(true);
+
+        ControllerState state = aggregator.getState();
+
+        Assertions.assertEquals(0.2, state.getLsx());
+        Assertions.assertEquals(0.7, state.getRsy());
+        Assertions.assertTrue(state.isA());
+        Assertions.assertTrue(state.isRightStick());
+        Assertions.assertFalse(state.isLeftStick());
+        Assertions.assertEquals(1, aggregator.getSource(Bindings.Core.RSY));
+
+        /*
+         * Raising the threshold means the driver's small nudge doesn't
+         * count any more.
+         */
+        aggregator.setThreshold(0.25);
+
+        Assertions.assertEquals(-1, aggregator.getState().getLsx());
+        Assertions.assertSame(state, aggregator.getState());
+    }
+}
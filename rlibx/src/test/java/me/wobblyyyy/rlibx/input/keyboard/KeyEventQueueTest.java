@@ -0,0 +1,191 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.keyboard;
+
+import me.wobblyyyy.rlibx.input.controllers.Bindings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Make sure key events from many threads all arrive exactly once and in
+ * order, and that a quick tap isn't lost between two ticks.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class KeyEventQueueTest {
+    /**
+     * How many threads offer events at once.
+     */
+    private static final int PRODUCERS = 4;
+
+    /**
+     * How many events each thread offers.
+     */
+    private static final int EVENTS = 50_000;
+
+    /**
+     * Key code bound to the A button in the tap tests.
+     */
+    private static final int KEY = 'Z';
+
+    @Test
+    public void testManyProducers() throws InterruptedException {
+        /*
+         * A small queue, so producers keep finding it full and the ring
+         * wraps around thousands of times.
+         */
+        KeyEventQueue queue = new KeyEventQueue(64);
+        Thread[] producers = new Thread[PRODUCERS];
+
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < EVENTS; i++) {
+                    int event = (producer << 24) | i;
+
+                    while (!queue.offer(event)) Thread.yield();
+                }
+            });
+            producers[p].start();
+        }
+
+        /*
+         * Each producer's events have to come out in the order they went
+         * in, so the next event from each producer is always known.
+         */
+        int[] next = new int[PRODUCERS];
+        int received = 0;
+        long deadline = System.currentTimeMillis() + 30_000;
+
+        while (received < PRODUCERS * EVENTS) {
+            int event = queue.poll();
+
+            if (event == KeyEventQueue.EMPTY) {
+                Assertions.assertTrue(
+                        System.currentTimeMillis() < deadline,
+                        "only received " + received + " events"
+                );
+                Thread.yield();
+                continue;
+            }
+
+            int producer = event >>> 24;
+            int index = event & 0xFFFFFF;
+
+            Assertions.assertEquals(next[producer], index);
+
+            next[producer]++;
+            received++;
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        Assertions.assertEquals(KeyEventQueue.EMPTY, queue.poll());
+
+        for (int count : next) {
+            Assertions.assertEquals(EVENTS, count);
+        }
+    }
+
+    @Test
+    public void testFullQueueRejects() {
+        KeyEventQueue queue = new KeyEventQueue(3);
+
+        Assertions.assertEquals(4, queue.getCapacity());
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertTrue(queue.offer(i));
+        }
+
+        Assertions.assertFalse(queue.offer(4));
+        Assertions.assertEquals(0, queue.poll());
+        Assertions.assertTrue(queue.offer(4));
+
+        for (int i = 1; i <= 4; i++) {
+            Assertions.assertEquals(i, queue.poll());
+        }
+
+        Assertions.assertEquals(KeyEventQueue.EMPTY, queue.poll());
+    }
+
+    /**
+     * Create a core where the only binding is a key for the A button.
+     */
+    private static KeyboardEventCore createCore() {
+        KeyboardEventCore core = new KeyboardEventCore();
+
+        core.clearBindings();
+        core.bind(KEY, Bindings.Core.A, 1);
+
+        return core;
+    }
+
+    @Test
+    public void testTapCountsForOneTick() {
+        KeyboardEventCore core = createCore();
+
+        Assertions.assertFalse(core.getState().isA());
+
+        /*
+         * Pressed and released before the next tick.
+         */
+        core.press(KEY);
+        core.release(KEY);
+
+        Assertions.assertTrue(core.getState().isA());
+        Assertions.assertFalse(core.isHeld(KEY));
+        Assertions.assertFalse(core.getState().isA());
+    }
+
+    @Test
+    public void testHeldKeyStaysPressed() {
+        KeyboardEventCore core = createCore();
+
+        core.press(KEY);
+
+        Assertions.assertTrue(core.getState().isA());
+        Assertions.assertTrue(core.getState().isA());
+        Assertions.assertTrue(core.isHeld(KEY));
+
+        /*
+         * Released and pressed again in the same tick - still held.
+         */
+        core.release(KEY);
+        core.press(KEY);
+
+        Assertions.assertTrue(core.getState().isA());
+        Assertions.assertTrue(core.isHeld(KEY));
+
+        core.release(KEY);
+
+        Assertions.assertFalse(core.getState().isA());
+    }
+}
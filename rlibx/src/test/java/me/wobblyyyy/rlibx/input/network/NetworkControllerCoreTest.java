@@ -0,0 +1,156 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.input.network;
+
+import me.wobblyyyy.rlibx.input.controllers.Bindings;
+import me.wobblyyyy.rlibx.input.controllers.ControllerState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * Send hand-made packets to a core over loopback and make sure
+ * out-of-order, duplicate and old-session packets are all dropped.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class NetworkControllerCoreTest {
+    /**
+     * The first sender's session.
+     */
+    private static final int OLD = 1234;
+
+    /**
+     * The restarted sender's session.
+     */
+    private static final int NEW = -42;
+
+    /**
+     * Find a port nothing's bound to.
+     */
+    private static int findPort() throws IOException {
+        try (DatagramChannel channel = DatagramChannel.open()) {
+            channel.bind(new InetSocketAddress(
+                    InetAddress.getLoopbackAddress(),
+                    0
+            ));
+
+            return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+        }
+    }
+
+    /**
+     * Send a single packet, and wait for the core to receive it.
+     */
+    private static void send(DatagramChannel channel,
+                             NetworkControllerCore core,
+                             int session,
+                             long sequence,
+                             long sentAt,
+                             double lsx) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ControllerPacket.SIZE);
+        double[] channels = new double[Bindings.CHANNEL_COUNT];
+        long received = core.getReceived();
+
+        channels[Bindings.CHANNEL_LSX] = lsx;
+
+        ControllerPacket.write(buffer, session, sequence, sentAt, channels);
+        buffer.flip();
+        channel.write(buffer);
+
+        long deadline = System.currentTimeMillis() + 2000;
+
+        while (core.getReceived() == received) {
+            Assertions.assertTrue(
+                    System.currentTimeMillis() < deadline,
+                    "packet was never received"
+            );
+
+            core.getState();
+        }
+    }
+
+    @Test
+    public void testDropsStaleAndOldSessionPackets() throws IOException {
+        int port = findPort();
+
+        try (NetworkControllerCore core =
+                     new NetworkControllerCore(port, 60_000_000);
+             DatagramChannel channel = DatagramChannel.open()) {
+            core.init();
+            channel.connect(new InetSocketAddress(
+                    InetAddress.getLoopbackAddress(),
+                    port
+            ));
+
+            send(channel, core, OLD, 1, 1000, 0.125);
+            Assertions.assertEquals(0.125, core.getState().getLsx());
+
+            /*
+             * Packet 2 goes missing, and then turns up late.
+             */
+            send(channel, core, OLD, 3, 1030, 0.375);
+            Assertions.assertEquals(1, core.getLost());
+
+            send(channel, core, OLD, 2, 1020, 0.25);
+            send(channel, core, OLD, 3, 1030, 0.375);
+            Assertions.assertEquals(2, core.getStale());
+            Assertions.assertEquals(0.375, core.getState().getLsx());
+
+            /*
+             * The sender restarts. Its sequence numbers start over, and
+             * that's not loss.
+             */
+            send(channel, core, NEW, 1, 2000, 0.5);
+            Assertions.assertEquals(0.5, core.getState().getLsx());
+
+            /*
+             * A late packet from the old sender mustn't take over again.
+             */
+            send(channel, core, OLD, 4, 1040, 0.875);
+            Assertions.assertEquals(3, core.getStale());
+            Assertions.assertEquals(0.5, core.getState().getLsx());
+
+            send(channel, core, NEW, 2, 2010, 0.625);
+
+            ControllerState state = core.getState();
+
+            Assertions.assertEquals(0.625, state.getLsx());
+            Assertions.assertEquals(7, core.getReceived());
+            Assertions.assertEquals(3, core.getStale());
+            Assertions.assertEquals(1, core.getLost());
+            Assertions.assertEquals(0, core.getInvalid());
+            Assertions.assertTrue(core.isConnected());
+        }
+    }
+}
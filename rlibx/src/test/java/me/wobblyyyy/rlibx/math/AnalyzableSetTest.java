@@ -0,0 +1,174 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Check every {@link AnalyzableSet} statistic against a slow, obviously
+ * correct two-pass calculation.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class AnalyzableSetTest {
+    private static void assertMatches(double[] numbers,
+                                      AnalyzableSet set) {
+        assertMatches(numbers, set, 1e-9);
+    }
+
+    private static void assertMatches(double[] numbers,
+                                      AnalyzableSet set,
+                                      double precision) {
+        int count = numbers.length;
+        double sum = 0;
+        double minimum = Double.POSITIVE_INFINITY;
+        double maximum = Double.NEGATIVE_INFINITY;
+
+        for (double number : numbers) {
+            sum += number;
+            minimum = Math.min(minimum, number);
+            maximum = Math.max(maximum, number);
+        }
+
+        double average = sum / count;
+        double squaredDifferences = 0;
+
+        for (double number : numbers) {
+            squaredDifferences += (number - average) * (number - average);
+        }
+
+        double deviationSum = 0;
+        double minimumDeviation = Double.POSITIVE_INFINITY;
+        double maximumDeviation = Double.NEGATIVE_INFINITY;
+
+        for (int i = 1; i < count; i++) {
+            double deviation = numbers[i] - numbers[i - 1];
+
+            deviationSum += deviation;
+            minimumDeviation = Math.min(minimumDeviation, deviation);
+            maximumDeviation = Math.max(maximumDeviation, deviation);
+        }
+
+        double tolerance = 1e-9 * Math.max(1, Math.abs(average));
+
+        Assertions.assertEquals(count, set.getCount());
+        Assertions.assertEquals(numbers[count - 1], set.getLastNumber());
+        Assertions.assertEquals(minimum, set.getMinimum());
+        Assertions.assertEquals(maximum, set.getMaximum());
+        Assertions.assertEquals(sum, set.getSum(), tolerance * count);
+        Assertions.assertEquals(average, set.getAverage(), tolerance);
+        Assertions.assertEquals(
+                squaredDifferences / count,
+                set.getVariance(),
+                precision * Math.max(1, squaredDifferences / count)
+        );
+
+        if (count > 1) {
+            Assertions.assertEquals(
+                    squaredDifferences / (count - 1),
+                    set.getSampleVariance(),
+                    precision *
+                            Math.max(1, squaredDifferences / (count - 1))
+            );
+            Assertions.assertEquals(
+                    numbers[count - 1] - numbers[count - 2],
+                    set.getLastDeviation()
+            );
+            Assertions.assertEquals(
+                    deviationSum / (count - 1),
+                    set.getAverageDeviation(),
+                    1e-9
+            );
+            Assertions.assertEquals(minimumDeviation,
+                    set.getMinimumDeviation());
+            Assertions.assertEquals(maximumDeviation,
+                    set.getMaximumDeviation());
+        }
+    }
+
+    @Test
+    public void testMatchesTwoPass() {
+        Random random = new Random(0);
+        double[] numbers = new double[1000];
+        AnalyzableSet set = new AnalyzableSet();
+
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = random.nextGaussian() * 10 - 3;
+            set.add(numbers[i]);
+
+            assertMatches(Arrays.copyOf(numbers, i + 1), set);
+        }
+    }
+
+    @Test
+    public void testLargeCloseValues() {
+        /*
+         * A running sum of squares loses every digit of the variance
+         * here. Each number is only stored to about 7 digits after the
+         * decimal point, so that's as close as the two can agree.
+         */
+        Random random = new Random(1);
+        double[] numbers = new double[500];
+        AnalyzableSet set = new AnalyzableSet();
+
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = 1e9 + random.nextDouble();
+            set.add(numbers[i]);
+        }
+
+        assertMatches(numbers, set, 1e-6);
+    }
+
+    @Test
+    public void testDeviationsUseThePreviousNumber() {
+        /*
+         * Deviations used to be measured from zero, because the last number
+         * was never recorded, and repeated values threw the average off.
+         */
+        double[] numbers = {5, 5, 7, 4, 4, 10};
+        AnalyzableSet set = new AnalyzableSet(numbers);
+
+        assertMatches(numbers, set);
+        Assertions.assertEquals(10, set.getLastNumber());
+        Assertions.assertEquals(6, set.getLastDeviation());
+        Assertions.assertEquals(-3, set.getMinimumDeviation());
+        Assertions.assertEquals(6, set.getMaximumDeviation());
+        Assertions.assertEquals(1, set.getAverageDeviation(), 1e-12);
+        Assertions.assertEquals(35.0 / 6, set.getAverage(), 1e-12);
+
+        set.reset();
+        set.add(-2);
+
+        assertMatches(new double[]{-2}, set);
+        Assertions.assertEquals(0, set.getLastDeviation());
+    }
+}
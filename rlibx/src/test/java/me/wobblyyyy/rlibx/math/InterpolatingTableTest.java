@@ -0,0 +1,184 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.TreeMap;
+
+/**
+ * Check that interpolating tables hit their entries, clamp at their ends,
+ * and (for cubic tables) never overshoot.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class InterpolatingTableTest {
+    /**
+     * Keys shared by most of the tests. They're unevenly spaced on
+     * purpose.
+     */
+    private static final double[] KEYS = {0, 1, 3, 4, 10};
+
+    /**
+     * Values that only go up, with a flat spot and a very steep jump -
+     * exactly the kind of data a regular cubic spline overshoots on.
+     */
+    private static final double[] VALUES = {0, 0.1, 0.1, 5, 5.5};
+
+    @Test
+    public void testExactKeys() {
+        for (InterpolatingTable.Interpolation interpolation :
+                InterpolatingTable.Interpolation.values()) {
+            InterpolatingTable table =
+                    new InterpolatingTable(KEYS, VALUES, interpolation);
+
+            for (int i = 0; i < KEYS.length; i++) {
+                Assertions.assertEquals(VALUES[i], table.get(KEYS[i]));
+            }
+        }
+    }
+
+    @Test
+    public void testLinearMidpoints() {
+        InterpolatingTable table = new InterpolatingTable(KEYS, VALUES);
+
+        for (int i = 0; i < KEYS.length - 1; i++) {
+            Assertions.assertEquals(
+                    (VALUES[i] + VALUES[i + 1]) / 2,
+                    table.get((KEYS[i] + KEYS[i + 1]) / 2),
+                    1e-12
+            );
+        }
+
+        Assertions.assertEquals(0.75 * 5 + 0.25 * 5.5, table.get(5.5), 1e-12);
+    }
+
+    @Test
+    public void testClamping() {
+        for (InterpolatingTable.Interpolation interpolation :
+                InterpolatingTable.Interpolation.values()) {
+            InterpolatingTable table =
+                    new InterpolatingTable(KEYS, VALUES, interpolation);
+
+            Assertions.assertEquals(0, table.get(-1));
+            Assertions.assertEquals(0, table.get(Double.NEGATIVE_INFINITY));
+            Assertions.assertEquals(5.5, table.get(11));
+            Assertions.assertEquals(5.5, table.get(Double.POSITIVE_INFINITY));
+            Assertions.assertTrue(Double.isNaN(table.get(Double.NaN)));
+        }
+
+        InterpolatingTable single = new InterpolatingTable(
+                new double[]{2},
+                new double[]{7},
+                InterpolatingTable.Interpolation.CUBIC
+        );
+
+        Assertions.assertEquals(7, single.get(-100));
+        Assertions.assertEquals(7, single.get(100));
+        Assertions.assertTrue(Double.isNaN(single.get(Double.NaN)));
+    }
+
+    @Test
+    public void testCubicDoesNotOvershoot() {
+        InterpolatingTable table = new InterpolatingTable(
+                KEYS,
+                VALUES,
+                InterpolatingTable.Interpolation.CUBIC
+        );
+
+        double last = table.get(KEYS[0]);
+
+        for (double key = 0; key <= 10; key += 0.001) {
+            double value = table.get(key);
+
+            /*
+             * The values only go up, so the curve only goes up. And it
+             * has to stay flat across the flat spot.
+             */
+            Assertions.assertTrue(value >= last, "at " + key);
+
+            if (key >= 1 && key <= 3) {
+                Assertions.assertEquals(0.1, value, 1e-12, "at " + key);
+            }
+
+            last = value;
+        }
+
+        Assertions.assertTrue(last <= 5.5);
+    }
+
+    @Test
+    public void testRejectsBadKeys() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new InterpolatingTable(
+                        new double[]{0, 2, 1},
+                        new double[]{0, 0, 0}
+                )
+        );
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new InterpolatingTable(
+                        new double[]{0, 1, 1},
+                        new double[]{0, 0, 0}
+                )
+        );
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new InterpolatingTable(
+                        new double[]{0, Double.NaN, 2},
+                        new double[]{0, 0, 0}
+                )
+        );
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new InterpolatingTable(
+                        new double[]{Double.NaN},
+                        new double[]{0}
+                )
+        );
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new InterpolatingTable(new double[0], new double[0])
+        );
+
+        TreeMap<Double, Double> entries = new TreeMap<>();
+
+        entries.put(Double.NaN, 1.0);
+        entries.put(0.0, 0.0);
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> InterpolatingTable.of(
+                        entries,
+                        InterpolatingTable.Interpolation.LINEAR
+                )
+        );
+    }
+}
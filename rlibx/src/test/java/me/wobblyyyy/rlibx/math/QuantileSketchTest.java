@@ -0,0 +1,235 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Check quantile sketches against exact quantiles, and make sure they
+ * survive being written out and read back in.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class QuantileSketchTest {
+    /**
+     * The rank error the sketch's documentation promises at the default
+     * compression - a tenth of a percent.
+     */
+    private static final double RANK_ERROR = 0.001;
+
+    private static double[] createValues(long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[100_000];
+
+        for (int i = 0; i < values.length; i++) {
+            /*
+             * Loop times look a lot like this: a tight cluster, with a long
+             * tail of slow loops.
+             */
+            values[i] = i % 10 == 0
+                    ? 5 - Math.log(random.nextDouble()) * 20
+                    : 5 + random.nextGaussian() * 0.5;
+        }
+
+        return values;
+    }
+
+    /**
+     * Find where a value would rank among sorted values, as a fraction.
+     */
+    private static double rank(double[] sorted,
+                               double value) {
+        int below = 0;
+
+        while (below < sorted.length && sorted[below] < value) below++;
+
+        int atOrBelow = below;
+
+        while (atOrBelow < sorted.length && sorted[atOrBelow] <= value) {
+            atOrBelow++;
+        }
+
+        return (below + atOrBelow) / 2.0 / sorted.length;
+    }
+
+    @Test
+    public void testRankError() {
+        for (long seed = 0; seed < 5; seed++) {
+            double[] values = createValues(seed);
+            QuantileSketch sketch = new QuantileSketch();
+
+            for (double value : values) sketch.add(value);
+
+            Arrays.sort(values);
+
+            Assertions.assertEquals(values.length, sketch.getCount());
+            Assertions.assertEquals(values[0], sketch.getMinimum());
+            Assertions.assertEquals(
+                    values[values.length - 1],
+                    sketch.getMaximum()
+            );
+            Assertions.assertTrue(
+                    sketch.getCentroidCount() <=
+                            3 * QuantileSketch.DEFAULT_COMPRESSION
+            );
+
+            for (double q : new double[]{0.5, 0.99}) {
+                double error = Math.abs(
+                        rank(values, sketch.getQuantile(q)) - q
+                );
+
+                Assertions.assertTrue(
+                        error <= RANK_ERROR,
+                        "p" + (q * 100) + " rank error was " + error
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testSerialization() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        for (double value : createValues(7)) sketch.add(value);
+
+        ByteBuffer buffer = ByteBuffer.allocate(sketch.getSerializedSize());
+
+        sketch.write(buffer);
+
+        Assertions.assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+
+        QuantileSketch read = QuantileSketch.read(buffer);
+
+        Assertions.assertEquals(sketch.getCount(), read.getCount());
+        Assertions.assertEquals(sketch.getMinimum(), read.getMinimum());
+        Assertions.assertEquals(sketch.getMaximum(), read.getMaximum());
+        Assertions.assertEquals(
+                sketch.getCompression(),
+                read.getCompression()
+        );
+        Assertions.assertEquals(
+                sketch.getCentroidCount(),
+                read.getCentroidCount()
+        );
+
+        for (int i = 0; i <= 1000; i++) {
+            double q = i / 1000.0;
+
+            Assertions.assertEquals(
+                    sketch.getQuantile(q),
+                    read.getQuantile(q)
+            );
+        }
+
+        /*
+         * Anything that isn't a sketch is rejected.
+         */
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> QuantileSketch.read(ByteBuffer.allocate(64))
+        );
+    }
+
+    /**
+     * Write a sketch of a single value, so its layout is easy to patch.
+     */
+    private static ByteBuffer writeSingle() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        sketch.add(1);
+
+        ByteBuffer buffer = ByteBuffer.allocate(sketch.getSerializedSize());
+
+        sketch.write(buffer);
+        buffer.flip();
+
+        return buffer;
+    }
+
+    @Test
+    public void testSingleCentroidInterpolates() {
+        /*
+         * One centroid holding 10 values, with a mean of 5, somewhere
+         * between 0 and 20. The offsets are the total weight, minimum,
+         * maximum, and the centroid's mean and weight.
+         */
+        ByteBuffer buffer = writeSingle();
+
+        buffer.putDouble(12, 10);
+        buffer.putDouble(20, 0);
+        buffer.putDouble(28, 20);
+        buffer.putDouble(40, 5);
+        buffer.putDouble(48, 10);
+
+        QuantileSketch sketch = QuantileSketch.read(buffer);
+
+        Assertions.assertEquals(1, sketch.getCentroidCount());
+        Assertions.assertEquals(0, sketch.getQuantile(0));
+        Assertions.assertEquals(2.5, sketch.getQuantile(0.25), 1e-12);
+        Assertions.assertEquals(5, sketch.getMedian(), 1e-12);
+        Assertions.assertEquals(12.5, sketch.getQuantile(0.75), 1e-12);
+        Assertions.assertEquals(20, sketch.getQuantile(1));
+    }
+
+    @Test
+    public void testReadRejectsCorruptedSketch() {
+        Assertions.assertEquals(
+                1,
+                QuantileSketch.read(writeSingle()).getCount()
+        );
+
+        for (int count : new int[]{-1, 2, Integer.MAX_VALUE}) {
+            ByteBuffer buffer = writeSingle();
+
+            buffer.putInt(36, count);
+
+            Assertions.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> QuantileSketch.read(buffer)
+            );
+        }
+
+        for (double weight : new double[]{2, 0, -1, Double.NaN}) {
+            ByteBuffer buffer = writeSingle();
+
+            buffer.putDouble(48, weight);
+
+            Assertions.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> QuantileSketch.read(buffer)
+            );
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Make sure rates of change use absolute timestamps, and exponential
+ * averages use elapsed time, and that each does the right thing with it.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class RateOfChangeTest {
+    @Test
+    public void testRateOverWindow() {
+        RateOfChange rate = new RateOfChange(5);
+
+        Assertions.assertEquals(0, rate.getRate());
+
+        /*
+         * 3 units per second, sampled at irregular times that don't start
+         * at zero.
+         */
+        double[] times = {100, 100.1, 100.15, 100.4, 100.45, 100.7, 101};
+
+        for (double time : times) {
+            rate.acceptAt(3 * time, time);
+        }
+
+        Assertions.assertEquals(5, rate.getCount());
+        Assertions.assertEquals(3, rate.getRate(), 1e-9);
+
+        /*
+         * Only the oldest and newest samples in the window matter - a
+         * spike in the middle doesn't change anything.
+         */
+        rate.reset();
+        rate.acceptAt(0, 0);
+        rate.acceptAt(50, 1);
+        rate.acceptAt(4, 2);
+
+        Assertions.assertEquals(2, rate.getRate(), 1e-12);
+    }
+
+    @Test
+    public void testRateIgnoresTimeGoingBackwards() {
+        RateOfChange rate = new RateOfChange(2);
+
+        rate.acceptAt(0, 5);
+        rate.acceptAt(10, 5);
+
+        Assertions.assertEquals(0, rate.getRate());
+
+        rate.acceptAt(20, 4);
+
+        Assertions.assertEquals(0, rate.getRate());
+    }
+
+    @Test
+    public void testEwmaHalfLife() {
+        Ewma samples = new Ewma(2);
+        Ewma seconds = new Ewma(0.5);
+
+        /*
+         * Start at the first value, then step to 1 - after one half-life,
+         * the average should be halfway there.
+         */
+        samples.accept(0);
+        samples.accept(1);
+        samples.accept(1);
+
+        Assertions.assertEquals(0.5, samples.getAverage(), 1e-12);
+
+        seconds.accept(0, 0);
+        seconds.accept(1, 0.2);
+        seconds.accept(1, 0.3);
+
+        Assertions.assertEquals(0.5, seconds.getAverage(), 1e-12);
+
+        /*
+         * One long gap is the same as several short ones.
+         */
+        Ewma once = new Ewma(0.5);
+
+        once.accept(0, 0);
+        once.accept(1, 0.5);
+
+        Assertions.assertEquals(
+                seconds.getAverage(),
+                once.getAverage(),
+                1e-12
+        );
+    }
+}
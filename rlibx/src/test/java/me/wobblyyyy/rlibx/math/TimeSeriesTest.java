@@ -0,0 +1,241 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Check time series lookups and copies, especially around the point
+ * where the ring wraps, for both heap and off-heap storage.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class TimeSeriesTest {
+    /**
+     * Create a series with a capacity of 5 holding 8 samples - 10, 20,
+     * ..., 80, with values of 1, 2, ..., 8. The oldest 3 samples have
+     * been overwritten, so the ring's seam is between 60 and 70.
+     */
+    private static TimeSeries wrapped(boolean isDirect) {
+        TimeSeries series = new TimeSeries(5, isDirect);
+
+        for (int i = 1; i <= 8; i++) series.add(i * 10, i);
+
+        return series;
+    }
+
+    @Test
+    public void testWrapAround() {
+        for (boolean isDirect : new boolean[]{false, true}) {
+            TimeSeries series = wrapped(isDirect);
+
+            Assertions.assertEquals(isDirect, series.isDirect());
+            Assertions.assertEquals(5, series.size());
+            Assertions.assertEquals(40, series.getOldestTime());
+            Assertions.assertEquals(80, series.getNewestTime());
+            Assertions.assertEquals(8, series.getNewestValue());
+
+            for (int i = 0; i < 5; i++) {
+                Assertions.assertEquals(40 + i * 10, series.getTime(i));
+                Assertions.assertEquals(4 + i, series.getValue(i));
+            }
+
+            Assertions.assertThrows(
+                    IndexOutOfBoundsException.class,
+                    () -> series.getValue(5)
+            );
+            Assertions.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> series.add(79, 0)
+            );
+
+            series.clear();
+
+            Assertions.assertTrue(series.isEmpty());
+            Assertions.assertTrue(Double.isNaN(series.sample(50)));
+            Assertions.assertEquals(-1, series.floorIndex(50));
+            Assertions.assertEquals(0, series.ceilingIndex(50));
+        }
+    }
+
+    @Test
+    public void testFloorAndCeilingAtTheEnds() {
+        for (boolean isDirect : new boolean[]{false, true}) {
+            TimeSeries series = wrapped(isDirect);
+
+            Assertions.assertEquals(-1, series.floorIndex(39));
+            Assertions.assertEquals(0, series.floorIndex(40));
+            Assertions.assertEquals(0, series.floorIndex(49));
+            Assertions.assertEquals(2, series.floorIndex(60));
+            Assertions.assertEquals(2, series.floorIndex(69));
+            Assertions.assertEquals(4, series.floorIndex(80));
+            Assertions.assertEquals(4, series.floorIndex(Long.MAX_VALUE));
+
+            Assertions.assertEquals(0, series.ceilingIndex(Long.MIN_VALUE));
+            Assertions.assertEquals(0, series.ceilingIndex(40));
+            Assertions.assertEquals(1, series.ceilingIndex(41));
+            Assertions.assertEquals(3, series.ceilingIndex(61));
+            Assertions.assertEquals(4, series.ceilingIndex(80));
+            Assertions.assertEquals(5, series.ceilingIndex(81));
+        }
+    }
+
+    @Test
+    public void testInterpolation() {
+        for (boolean isDirect : new boolean[]{false, true}) {
+            TimeSeries series = wrapped(isDirect);
+
+            Assertions.assertEquals(4, series.sample(0));
+            Assertions.assertEquals(4, series.sample(40));
+            Assertions.assertEquals(4.5, series.sample(45), 1e-12);
+            Assertions.assertEquals(6.3, series.sample(63), 1e-12);
+            Assertions.assertEquals(7, series.sample(70));
+            Assertions.assertEquals(7.9, series.sample(79), 1e-12);
+            Assertions.assertEquals(8, series.sample(80));
+            Assertions.assertEquals(8, series.sample(1000));
+
+            /*
+             * Two samples with the same timestamp - the newer one wins at
+             * that timestamp, and the older one is used to interpolate up
+             * to it.
+             */
+            series.add(80, 9);
+
+            Assertions.assertEquals(9, series.sample(80));
+            Assertions.assertEquals(7.5, series.sample(75), 1e-12);
+        }
+    }
+
+    @Test
+    public void testCopyRangeAcrossTheSeam() {
+        for (boolean isDirect : new boolean[]{false, true}) {
+            TimeSeries series = wrapped(isDirect);
+            long[] times = new long[5];
+            double[] values = new double[5];
+
+            /*
+             * 50, 60 | 70 - the seam's in the middle.
+             */
+            Assertions.assertEquals(3, series.copyRange(45, 75, times, values));
+            Assertions.assertArrayEquals(
+                    new long[]{50, 60, 70, 0, 0},
+                    times
+            );
+            Assertions.assertArrayEquals(
+                    new double[]{5, 6, 7, 0, 0},
+                    values
+            );
+
+            Assertions.assertEquals(
+                    5,
+                    series.copyRange(0, Long.MAX_VALUE, times, null)
+            );
+            Assertions.assertArrayEquals(
+                    new long[]{40, 50, 60, 70, 80},
+                    times
+            );
+
+            /*
+             * Arrays that are too small get the oldest samples that fit.
+             */
+            double[] small = new double[2];
+
+            Assertions.assertEquals(2, series.copyRange(55, 80, null, small));
+            Assertions.assertArrayEquals(new double[]{6, 7}, small);
+
+            Assertions.assertEquals(0, series.copyRange(61, 69, times, values));
+            Assertions.assertEquals(0, series.copyRange(80, 40, times, values));
+            Assertions.assertEquals(1, series.copyRange(80, 80, times, values));
+            Assertions.assertEquals(80, times[0]);
+
+            Assertions.assertThrows(
+                    IndexOutOfBoundsException.class,
+                    () -> series.copyTo(3, 3, times, values, 0)
+            );
+        }
+    }
+
+    @Test
+    public void testMatchesPlainList() {
+        Random random = new Random(34);
+
+        for (boolean isDirect : new boolean[]{false, true}) {
+            int capacity = 7;
+            TimeSeries series = new TimeSeries(capacity, isDirect);
+            long[] allTimes = new long[200];
+            double[] allValues = new double[200];
+            long time = 0;
+
+            for (int n = 0; n < allTimes.length; n++) {
+                time += random.nextInt(3);
+                allTimes[n] = time;
+                allValues[n] = random.nextGaussian();
+                series.add(time, allValues[n]);
+
+                int size = Math.min(n + 1, capacity);
+                int oldest = n + 1 - size;
+
+                Assertions.assertEquals(size, series.size());
+
+                for (long query = allTimes[oldest] - 1;
+                     query <= time + 1;
+                     query++) {
+                    int floor = -1;
+                    int ceiling = size;
+
+                    for (int i = 0; i < size; i++) {
+                        if (allTimes[oldest + i] <= query) floor = i;
+                    }
+
+                    for (int i = size - 1; i >= 0; i--) {
+                        if (allTimes[oldest + i] >= query) ceiling = i;
+                    }
+
+                    Assertions.assertEquals(floor, series.floorIndex(query));
+                    Assertions.assertEquals(
+                            ceiling,
+                            series.ceilingIndex(query)
+                    );
+                }
+
+                long[] times = new long[size];
+                double[] values = new double[size];
+
+                series.copyTo(0, size, times, values, 0);
+
+                for (int i = 0; i < size; i++) {
+                    Assertions.assertEquals(allTimes[oldest + i], times[i]);
+                    Assertions.assertEquals(allValues[oldest + i], values[i]);
+                }
+            }
+        }
+    }
+}
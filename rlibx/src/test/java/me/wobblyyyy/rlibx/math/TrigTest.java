@@ -0,0 +1,125 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Check every {@link Trig} mode against {@link StrictMath}, and make sure
+ * none of them are less accurate than they say they are.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class TrigTest {
+    /**
+     * How many random inputs each test checks.
+     */
+    private static final int SAMPLES = 1_000_000;
+
+    /**
+     * Check sine and cosine over a dense grid of small angles, plus random
+     * angles all the way up to {@link Trig#MAXIMUM_INPUT}.
+     */
+    @Test
+    public void testSinCos() {
+        Random random = new Random(0);
+
+        for (Trig trig : Trig.values()) {
+            double error = 0;
+
+            for (int i = -100_000; i <= 100_000; i++) {
+                double angle = i * 1e-4;
+
+                error = Math.max(error, sinCosError(trig, angle));
+            }
+
+            for (int i = 0; i < SAMPLES; i++) {
+                double angle = (random.nextDouble() * 2 - 1) *
+                        Trig.MAXIMUM_INPUT;
+
+                error = Math.max(error, sinCosError(trig, angle));
+            }
+
+            Assertions.assertTrue(
+                    error <= trig.getSinError(),
+                    trig + " sine/cosine error was " + error
+            );
+        }
+    }
+
+    /**
+     * Check arctangent over random points of wildly different magnitudes,
+     * as well as the axes and the origin.
+     */
+    @Test
+    public void testAtan2() {
+        Random random = new Random(1);
+        double[] special = {0.0, -0.0, 1.0, -1.0, 1e-300, -1e300};
+
+        for (Trig trig : Trig.values()) {
+            double error = 0;
+
+            for (double y : special) {
+                for (double x : special) {
+                    error = Math.max(error, atan2Error(trig, y, x));
+                }
+            }
+
+            for (int i = 0; i < SAMPLES; i++) {
+                double y = random.nextGaussian() *
+                        Math.pow(10, random.nextInt(9) - 4);
+                double x = random.nextGaussian() *
+                        Math.pow(10, random.nextInt(9) - 4);
+
+                error = Math.max(error, atan2Error(trig, y, x));
+            }
+
+            Assertions.assertTrue(
+                    error <= trig.getAtanError(),
+                    trig + " arctangent error was " + error
+            );
+        }
+    }
+
+    private static double sinCosError(Trig trig,
+                                      double angle) {
+        return Math.max(
+                Math.abs(trig.sin(angle) - StrictMath.sin(angle)),
+                Math.abs(trig.cos(angle) - StrictMath.cos(angle))
+        );
+    }
+
+    private static double atan2Error(Trig trig,
+                                     double y,
+                                     double x) {
+        return Math.abs(trig.atan2(y, x) - StrictMath.atan2(y, x));
+    }
+}
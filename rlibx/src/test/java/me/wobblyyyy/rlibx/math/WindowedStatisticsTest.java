@@ -0,0 +1,177 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Compare windowed statistics against the same statistics calculated the
+ * slow way, by walking through the window.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class WindowedStatisticsTest {
+    /**
+     * How many values the windows hold.
+     */
+    private static final int SIZE = 50;
+
+    /**
+     * Calculate the population variance of part of an array, the slow way.
+     */
+    private static double variance(double[] values,
+                                   int start,
+                                   int end) {
+        double mean = 0;
+
+        for (int i = start; i < end; i++) mean += values[i];
+
+        mean /= end - start;
+
+        double sum = 0;
+
+        for (int i = start; i < end; i++) {
+            sum += (values[i] - mean) * (values[i] - mean);
+        }
+
+        return sum / (end - start);
+    }
+
+    @Test
+    public void testRingKeepsNewestValues() {
+        DoubleRing ring = new DoubleRing(3);
+
+        Assertions.assertEquals(0, ring.add(1));
+        Assertions.assertEquals(0, ring.add(2));
+        Assertions.assertEquals(0, ring.add(3));
+        Assertions.assertTrue(ring.isFull());
+        Assertions.assertEquals(1, ring.add(4));
+        Assertions.assertEquals(2, ring.getOldest());
+        Assertions.assertEquals(4, ring.getNewest());
+
+        double[] copy = new double[3];
+
+        Assertions.assertEquals(3, ring.copyTo(copy));
+        Assertions.assertArrayEquals(new double[]{2, 3, 4}, copy);
+        Assertions.assertThrows(
+                IndexOutOfBoundsException.class,
+                () -> ring.get(3)
+        );
+    }
+
+    @Test
+    public void testMatchesBruteForce() {
+        Random random = new Random(32);
+        WindowedStatistics statistics = new WindowedStatistics(SIZE);
+        WindowedExtrema extrema = new WindowedExtrema(SIZE);
+        double[] values = new double[SIZE * 20];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian() * 10;
+
+            statistics.accept(values[i]);
+            extrema.accept(values[i]);
+
+            int start = Math.max(0, i + 1 - SIZE);
+            double mean = 0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+
+            for (int j = start; j <= i; j++) {
+                mean += values[j];
+                min = Math.min(min, values[j]);
+                max = Math.max(max, values[j]);
+            }
+
+            mean /= i + 1 - start;
+
+            Assertions.assertEquals(i + 1 - start, statistics.getCount());
+            Assertions.assertEquals(mean, statistics.getMean(), 1e-9);
+            Assertions.assertEquals(
+                    variance(values, start, i + 1),
+                    statistics.getVariance(),
+                    1e-9
+            );
+            Assertions.assertEquals(min, extrema.getMinimum());
+            Assertions.assertEquals(max, extrema.getMaximum());
+        }
+    }
+
+    @Test
+    public void testDoesNotDrift() {
+        /*
+         * Tiny changes on top of a huge offset, for a long time. The
+         * sliding update's rounding error is about as bad as it gets here,
+         * so without recomputing, the variance wanders off (or gets stuck
+         * at zero).
+         */
+        WindowedStatistics statistics = new WindowedStatistics(SIZE);
+        Random random = new Random(7);
+        double[] window = new double[SIZE];
+
+        for (int i = 0; i < 1_000_000; i++) {
+            double value = 1e6 + random.nextDouble();
+
+            window[i % SIZE] = value;
+            statistics.accept(value);
+        }
+
+        Assertions.assertEquals(
+                variance(window, 0, SIZE),
+                statistics.getVariance(),
+                1e-6
+        );
+
+        /*
+         * Once the window's full of the same value, the variance has to be
+         * zero (not just close to it) straight away.
+         */
+        for (int i = 0; i < SIZE; i++) statistics.accept(5);
+
+        Assertions.assertEquals(5, statistics.getMean(), 1e-9);
+        Assertions.assertEquals(0, statistics.getVariance(), 1e-12);
+    }
+
+    @Test
+    public void testReset() {
+        WindowedStatistics statistics = new WindowedStatistics(SIZE);
+
+        for (int i = 0; i < SIZE * 3; i++) statistics.accept(i);
+
+        statistics.reset();
+        statistics.accept(2);
+        statistics.accept(4);
+
+        Assertions.assertEquals(2, statistics.getCount());
+        Assertions.assertEquals(3, statistics.getMean(), 1e-12);
+        Assertions.assertEquals(2, statistics.getSampleVariance(), 1e-12);
+    }
+}
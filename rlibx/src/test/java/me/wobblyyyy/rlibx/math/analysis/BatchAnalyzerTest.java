@@ -0,0 +1,156 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.analysis;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Make sure batch analysis gives exactly the same results no matter how
+ * many threads it's run on.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class BatchAnalyzerTest {
+    private static final int LENGTH = 1_000_000;
+    private static final int CHUNK_SIZE = 4096;
+
+    @Test
+    public void testResultsDontDependOnParallelism() {
+        Random random = new Random(0);
+        double[] x = new double[LENGTH];
+        double[] y = new double[LENGTH];
+
+        /*
+         * Large, close together values make the floating point results
+         * depend heavily on the order everything's added up in.
+         */
+        for (int i = 0; i < LENGTH; i++) {
+            x[i] = 1e6 + random.nextGaussian();
+            y[i] = x[i] * 0.3 + random.nextGaussian() * 1e-3;
+        }
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(8);
+
+        try {
+            BatchAnalyzer a = new BatchAnalyzer(single, CHUNK_SIZE);
+            BatchAnalyzer b = new BatchAnalyzer(many, CHUNK_SIZE);
+
+            Summary summaryA = a.summarize(x);
+            Summary summaryB = b.summarize(x);
+
+            Assertions.assertEquals(LENGTH, summaryA.getCount());
+            Assertions.assertEquals(summaryA.getCount(), summaryB.getCount());
+            Assertions.assertEquals(summaryA.getMean(), summaryB.getMean());
+            Assertions.assertEquals(
+                    summaryA.getSquaredDifferences(),
+                    summaryB.getSquaredDifferences()
+            );
+            Assertions.assertEquals(
+                    summaryA.getMinimum(),
+                    summaryB.getMinimum()
+            );
+            Assertions.assertEquals(
+                    summaryA.getMaximum(),
+                    summaryB.getMaximum()
+            );
+
+            Histogram histogramA = a.histogram(x, 1e6 - 3, 1e6 + 3, 60);
+            Histogram histogramB = b.histogram(x, 1e6 - 3, 1e6 + 3, 60);
+
+            Assertions.assertEquals(LENGTH, histogramA.getTotal());
+            Assertions.assertEquals(
+                    histogramA.getUnderflow(),
+                    histogramB.getUnderflow()
+            );
+            Assertions.assertEquals(
+                    histogramA.getOverflow(),
+                    histogramB.getOverflow()
+            );
+
+            for (int bin = 0; bin < histogramA.getBinCount(); bin++) {
+                Assertions.assertEquals(
+                        histogramA.getCount(bin),
+                        histogramB.getCount(bin)
+                );
+            }
+
+            Correlation correlationA = a.correlate(x, y);
+            Correlation correlationB = b.correlate(x, y);
+
+            Assertions.assertEquals(
+                    correlationA.getCount(),
+                    correlationB.getCount()
+            );
+            Assertions.assertEquals(
+                    correlationA.getCovariance(),
+                    correlationB.getCovariance()
+            );
+            Assertions.assertEquals(
+                    correlationA.getCoefficient(),
+                    correlationB.getCoefficient()
+            );
+            Assertions.assertTrue(correlationA.getCoefficient() > 0.99);
+        } finally {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+
+    @Test
+    public void testHistogramCountsNaNOnItsOwn() {
+        Histogram histogram = new Histogram(0, 10, 10);
+
+        histogram.addAll(
+                new double[]{Double.NaN, -1, 0, 5, 9.999, 10, Double.NaN},
+                0,
+                7
+        );
+
+        Assertions.assertEquals(2, histogram.getNaN());
+        Assertions.assertEquals(1, histogram.getUnderflow());
+        Assertions.assertEquals(1, histogram.getOverflow());
+        Assertions.assertEquals(1, histogram.getCount(0));
+        Assertions.assertEquals(1, histogram.getCount(5));
+        Assertions.assertEquals(1, histogram.getCount(9));
+        Assertions.assertEquals(7, histogram.getTotal());
+
+        Histogram other = new Histogram(0, 10, 10);
+
+        other.add(Double.NaN);
+        histogram.merge(other);
+
+        Assertions.assertEquals(3, histogram.getNaN());
+        Assertions.assertEquals(1, histogram.getCount(0));
+        Assertions.assertEquals(8, histogram.getTotal());
+    }
+}
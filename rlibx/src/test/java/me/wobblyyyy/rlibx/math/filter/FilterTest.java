@@ -0,0 +1,265 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.filter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Check the median filter against a brute force median, the smoothing
+ * filters against a step, and the debouncer against every kind of edge.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class FilterTest {
+    /**
+     * Time between samples, in seconds.
+     */
+    private static final double DT = 0.001;
+
+    /**
+     * Debounce time. This (and the debouncer's time step) is a power of
+     * two, so adding up time steps doesn't round.
+     */
+    private static final double DEBOUNCE = 0.125;
+
+    /**
+     * Find the median of part of an array, the slow way.
+     */
+    private static double median(double[] values,
+                                 int from,
+                                 int to) {
+        double[] sorted = Arrays.copyOfRange(values, from, to);
+        int count = sorted.length;
+
+        Arrays.sort(sorted);
+
+        return (count & 1) == 1
+                ? sorted[count / 2]
+                : (sorted[count / 2 - 1] + sorted[count / 2]) / 2;
+    }
+
+    @Test
+    public void testMedianMatchesBruteForce() {
+        Random random = new Random(37);
+
+        for (int size : new int[]{1, 2, 3, 4, 5, 8, 25}) {
+            MedianFilter filter = new MedianFilter(size);
+            double[] values = new double[size * 40];
+
+            for (int i = 0; i < values.length; i++) {
+                /*
+                 * Lots of repeated values, and the odd outlier.
+                 */
+                values[i] = i % 3 == 0
+                        ? random.nextInt(5)
+                        : random.nextGaussian() * (i % 17 == 0 ? 100 : 1);
+
+                int from = Math.max(0, i + 1 - size);
+
+                Assertions.assertEquals(
+                        median(values, from, i + 1),
+                        filter.calculate(values[i]),
+                        "size " + size + ", sample " + i
+                );
+                Assertions.assertEquals(i + 1 - from, filter.getCount());
+            }
+
+            filter.reset();
+
+            Assertions.assertEquals(0, filter.getCount());
+            Assertions.assertEquals(7, filter.calculate(7));
+        }
+    }
+
+    @Test
+    public void testLowPassStepResponse() {
+        double timeConstant = 0.2;
+        LowPassFilter filter = new LowPassFilter(timeConstant);
+
+        Assertions.assertEquals(0, filter.calculate(0, 0));
+
+        double last = 0;
+        int steps = (int) Math.round(timeConstant / DT);
+
+        for (int i = 1; i <= steps * 5; i++) {
+            double output = filter.calculate(1, DT);
+
+            Assertions.assertTrue(output > last && output < 1);
+
+            last = output;
+
+            /*
+             * After one time constant, a first order filter is 63% of the
+             * way there. After five, it's more than 99% of the way there.
+             */
+            if (i == steps) {
+                Assertions.assertEquals(1 - Math.exp(-1), output, 2e-3);
+            }
+        }
+
+        Assertions.assertEquals(1 - Math.exp(-5), last, 2e-3);
+        Assertions.assertEquals(
+                1 / (2 * Math.PI * 10),
+                LowPassFilter.fromCutoff(10).getTimeConstant(),
+                1e-12
+        );
+    }
+
+    @Test
+    public void testKalmanStepResponse() {
+        KalmanFilter filter = new KalmanFilter(1e-4, 1e-2);
+
+        for (int i = 0; i < 100; i++) filter.calculate(0);
+
+        Assertions.assertEquals(0, filter.getEstimate());
+
+        double last = 0;
+
+        for (int i = 0; i < 300; i++) {
+            double estimate = filter.calculate(1);
+
+            Assertions.assertTrue(estimate > last && estimate <= 1);
+            Assertions.assertTrue(
+                    filter.getGain() > 0 && filter.getGain() < 1
+            );
+
+            last = estimate;
+        }
+
+        Assertions.assertEquals(1, last, 1e-6);
+
+        /*
+         * The steady-state gain solves g = (p + q) / (p + q + r), with
+         * p = (1 - g) * (p + q).
+         */
+        double q = 1e-4;
+        double r = 1e-2;
+        double prior = (q + Math.sqrt(q * q + 4 * q * r)) / 2;
+
+        Assertions.assertEquals(
+                prior / (prior + r),
+                filter.getGain(),
+                1e-9
+        );
+    }
+
+    @Test
+    public void testKalman2DStepResponse() {
+        KalmanFilter2D filter = new KalmanFilter2D(10, 1e-4);
+
+        for (int i = 0; i < 1000; i++) filter.calculate(0, DT);
+
+        Assertions.assertEquals(0, filter.getPosition(), 1e-9);
+        Assertions.assertEquals(0, filter.getVelocity(), 1e-6);
+
+        /*
+         * A step is a sudden burst of speed, as far as a constant velocity
+         * model is concerned, so the filter chases it - but it has to
+         * settle on the new position, at a standstill.
+         */
+        double peak = 0;
+
+        for (int i = 0; i < 5000; i++) {
+            peak = Math.max(peak, filter.calculate(1, DT));
+        }
+
+        Assertions.assertTrue(peak > 0.5);
+        Assertions.assertEquals(1, filter.getPosition(), 1e-6);
+        Assertions.assertEquals(0, filter.getVelocity(), 1e-4);
+
+        /*
+         * And a ramp is exactly what it's built for.
+         */
+        KalmanFilter2D ramp = new KalmanFilter2D(10, 1e-4);
+
+        for (int i = 0; i < 5000; i++) ramp.calculate(3 * i * DT, DT);
+
+        Assertions.assertEquals(3, ramp.getVelocity(), 1e-6);
+        Assertions.assertEquals(3 * 4999 * DT, ramp.getPosition(), 1e-6);
+    }
+
+    /**
+     * Feed a debouncer a string of inputs, one every 1/32nd of a second,
+     * and get its outputs as a string of the same length. 'T' is true and
+     * 'F' is false.
+     */
+    private static String debounce(Debouncer debouncer,
+                                   String inputs) {
+        StringBuilder outputs = new StringBuilder();
+
+        for (char input : inputs.toCharArray()) {
+            boolean output = debouncer.calculate(input == 'T', 1.0 / 32);
+
+            outputs.append(output ? 'T' : 'F');
+        }
+
+        return outputs.toString();
+    }
+
+    @Test
+    public void testDebouncerEdges() {
+        /*
+         * A new value has to be held for 4 samples to get through. A 3
+         * sample flicker never does.
+         */
+        String inputs = "TTTFTTTTTFFFTFFFF";
+
+        Assertions.assertEquals(
+                "FFFFFFFTTTTTTTTTF",
+                debounce(new Debouncer(DEBOUNCE), inputs)
+        );
+        Assertions.assertEquals(
+                "FFFFFFFTTFFFFFFFF",
+                debounce(
+                        new Debouncer(DEBOUNCE, Debouncer.Edge.RISING, false),
+                        inputs
+                )
+        );
+        Assertions.assertEquals(
+                "TTTTTTTTTTTTTTTTF",
+                debounce(
+                        new Debouncer(DEBOUNCE, Debouncer.Edge.FALLING, false),
+                        inputs
+                )
+        );
+
+        Debouncer debouncer =
+                new Debouncer(DEBOUNCE, Debouncer.Edge.BOTH, true);
+
+        Assertions.assertEquals("TTTFF", debounce(debouncer, "FFFFF"));
+
+        debouncer.reset();
+
+        Assertions.assertTrue(debouncer.getOutput());
+        Assertions.assertEquals("TTT", debounce(debouncer, "FFF"));
+    }
+}
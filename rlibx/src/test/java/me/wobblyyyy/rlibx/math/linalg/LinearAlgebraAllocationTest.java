@@ -0,0 +1,222 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.math.linalg;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Make sure the linear algebra package doesn't allocate anything once its
+ * matrices, vectors, and decompositions have been created - and that it
+ * gets the right answers while it's at it.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class LinearAlgebraAllocationTest {
+    /**
+     * The size of the matrices being tested.
+     */
+    private static final int SIZE = 6;
+
+    /**
+     * How many times each round of operations is repeated.
+     */
+    private static final int ITERATIONS = 20_000;
+
+    private final Matrix a = new Matrix(SIZE, SIZE);
+    private final Matrix b = new Matrix(SIZE, SIZE);
+    private final Matrix product = new Matrix(SIZE, SIZE);
+    private final Matrix spd = new Matrix(SIZE, SIZE);
+    private final Matrix inverse = new Matrix(SIZE, SIZE);
+    private final Matrix tall = new Matrix(SIZE * 2, SIZE);
+    private final Matrix pseudoInverse = new Matrix(SIZE, SIZE * 2);
+    private final Vector x = new Vector(SIZE);
+    private final Vector y = new Vector(SIZE);
+    private final Vector z = new Vector(SIZE * 2);
+    private final LuDecomposition lu = new LuDecomposition(SIZE);
+    private final CholeskyDecomposition cholesky =
+            new CholeskyDecomposition(SIZE);
+    private final LeastSquares leastSquares =
+            new LeastSquares(SIZE * 2, SIZE);
+
+    /**
+     * Fill every matrix and vector with random (but reproducible) values.
+     */
+    private void fill() {
+        Random random = new Random(0);
+
+        for (int i = 0; i < SIZE; i++) {
+            x.set(i, random.nextGaussian());
+
+            for (int j = 0; j < SIZE; j++) {
+                a.set(i, j, random.nextGaussian());
+                b.set(i, j, random.nextGaussian());
+            }
+        }
+
+        for (int i = 0; i < SIZE * 2; i++) {
+            z.set(i, random.nextGaussian());
+
+            for (int j = 0; j < SIZE; j++) {
+                tall.set(i, j, random.nextGaussian());
+            }
+        }
+
+        /*
+         * A * A^T, plus a bit on the diagonal, is always symmetric and
+         * positive definite.
+         */
+        a.multiplyTransposed(a, spd);
+
+        for (int i = 0; i < SIZE; i++) spd.set(i, i, spd.get(i, i) + 1);
+    }
+
+    /**
+     * One round of every operation the package has.
+     *
+     * @return a checksum, so none of the work can be optimized away.
+     */
+    private double run() {
+        a.multiply(b, product);
+        product.transpose(product);
+        a.multiplyTransposed(b, product);
+        product.add(a, product).subtract(b, product).scale(0.5, product);
+        a.multiply(x, y);
+
+        lu.decompose(a);
+        lu.invert(inverse);
+        lu.solve(x, y);
+
+        cholesky.decompose(spd);
+        cholesky.invert(inverse);
+        cholesky.solve(x, y);
+
+        leastSquares.factor(tall);
+        leastSquares.solve(z, y);
+        leastSquares.pseudoInverse(pseudoInverse);
+
+        return y.dot(x) + inverse.maxAbs() + lu.getDeterminant();
+    }
+
+    /**
+     * Get how many bytes the current thread has allocated.
+     *
+     * @return allocated bytes, or -1 if the JVM can't tell us.
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean =
+                ManagementFactory.getThreadMXBean();
+
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return -1;
+
+        return ((com.sun.management.ThreadMXBean) bean)
+                .getCurrentThreadAllocatedBytes();
+    }
+
+    @Test
+    public void testResults() {
+        fill();
+
+        lu.decompose(a);
+        lu.invert(inverse);
+        a.multiply(inverse, product);
+
+        Matrix identity = Matrix.identity(SIZE);
+
+        Assertions.assertTrue(
+                product.subtract(identity, product).maxAbs() < 1e-9
+        );
+
+        Assertions.assertTrue(cholesky.decompose(spd));
+        cholesky.invert(inverse);
+        spd.multiply(inverse, product);
+
+        Assertions.assertTrue(
+                product.subtract(identity, product).maxAbs() < 1e-9
+        );
+
+        /*
+         * The least squares residual has to be perpendicular to every
+         * column of the matrix.
+         */
+        Vector residual = new Vector(SIZE * 2);
+
+        Assertions.assertTrue(leastSquares.factor(tall));
+        leastSquares.solve(z, y);
+        tall.multiply(y, residual).subtract(z, residual);
+
+        for (int j = 0; j < SIZE; j++) {
+            double dot = 0;
+
+            for (int i = 0; i < SIZE * 2; i++) {
+                dot += tall.get(i, j) * residual.get(i);
+            }
+
+            Assertions.assertEquals(0, dot, 1e-9);
+        }
+    }
+
+    @Test
+    public void testNoAllocation() {
+        Assumptions.assumeTrue(allocatedBytes() >= 0);
+
+        fill();
+
+        double checksum = 0;
+
+        /*
+         * Warm up first, so the JIT has compiled everything, and calibrate
+         * for whatever measuring allocation costs.
+         */
+        for (int i = 0; i < ITERATIONS; i++) checksum += run();
+
+        long overhead = -(allocatedBytes() - allocatedBytes());
+        long before = allocatedBytes();
+
+        for (int i = 0; i < ITERATIONS; i++) checksum += run();
+
+        long allocated = allocatedBytes() - before - overhead;
+
+        /*
+         * Measuring allocation allocates a little bit itself, and how much
+         * depends on what the JIT is up to. Anything that allocates once
+         * per round would allocate at least 16 bytes per round, though, so
+         * less than a byte per round means nothing is allocating.
+         */
+        Assertions.assertTrue(Double.isFinite(checksum));
+        Assertions.assertTrue(
+                allocated < ITERATIONS,
+                "Linear algebra allocated " + allocated + " bytes over " +
+                        ITERATIONS + " rounds."
+        );
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *
+ * Copyright (c) 2020, Colin Robertson (wobblyyyy@gmail.com)
+ *
+ * This file is part of the elibsx project. The elibsx project is licensed
+ * under the GNU General Public License V3.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the license is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * license for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * Along with this file, you should have received a license file, containing
+ * a copy of the GNU General Public License V3. If you did not receive a copy
+ * of that license, you may find one online.
+ *
+ * elibsx GitHub repository:
+ * https://github.com/Wobblyyyy/elibsx
+ *
+ * GNU General Public License V3:
+ * http://www.gnu.org/licenses/gpl-3.0.en.html
+ *
+ *
+ */
+
+package me.wobblyyyy.rlibx.operation;
+
+import me.wobblyyyy.rlibx.modes.LinearMode;
+import me.wobblyyyy.rlibx.modes.Mode;
+import me.wobblyyyy.rlibx.modes.ModeExecutor;
+import me.wobblyyyy.rlibx.modes.Modes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Make sure preparations resolve deterministically, no matter whether their
+ * work has finished, is still running, or failed.
+ *
+ * @author Colin Robertson
+ * @since 0.2.0
+ */
+public class PreparationServiceTest {
+    @Test
+    public void testFinishedWorkIsUsed() throws InterruptedException {
+        PreparationService service = new PreparationService(2);
+        Preparation<Integer> a = service.submit("a", () -> 1, () -> -1);
+        Preparation<Integer> b = service.submit("b", () -> 2, () -> -2);
+
+        Assertions.assertTrue(service.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(service.isReady());
+        Assertions.assertEquals(0, service.seal());
+        Assertions.assertEquals(1, a.get());
+        Assertions.assertEquals(2, b.get());
+        Assertions.assertEquals(Preparation.Status.READY, a.getStatus());
+
+        service.shutdown();
+    }
+
+    @Test
+    public void testUnfinishedWorkFallsBack() {
+        PreparationService service = new PreparationService(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Preparation<String> slow = service.submit("slow", () -> {
+            release.await();
+            return "slow";
+        }, () -> "fallback");
+        Preparation<String> queued = service.submit(
+                "queued",
+                () -> "queued",
+                () -> "queued fallback"
+        );
+
+        /*
+         * With a single thread, the second piece of work can't start until
+         * the first one is done - and the first one never finishes before
+         * the service is sealed.
+         */
+        Assertions.assertEquals(2, service.seal());
+        release.countDown();
+
+        Assertions.assertEquals("fallback", slow.get());
+        Assertions.assertEquals("queued fallback", queued.get());
+        Assertions.assertEquals(Preparation.Status.FALLBACK, slow.getStatus());
+        Assertions.assertTrue(queued.isFallback());
+
+        service.shutdown();
+    }
+
+    @Test
+    public void testFailedWorkFallsBack() throws InterruptedException {
+        PreparationService service = new PreparationService(1);
+        Preparation<Integer> failing = service.submit("failing", () -> {
+            throw new IllegalStateException("oops");
+        }, () -> 7);
+
+        service.await(5, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(
+                Preparation.Status.FAILED,
+                failing.getStatus()
+        );
+        Assertions.assertEquals(7, failing.get());
+        Assertions.assertTrue(failing.getFailure() instanceof
+                IllegalStateException);
+
+        service.shutdown();
+    }
+
+    @Test
+    public void testWorkWithoutFallbackIsFinished() {
+        PreparationService service = new PreparationService(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        service.submit("blocker", () -> {
+            release.await();
+            return 0;
+        }, () -> 0);
+
+        Preparation<Integer> queued = service.submit("queued", () -> 42);
+
+        service.seal();
+        release.countDown();
+
+        Assertions.assertEquals(42, queued.get());
+        Assertions.assertFalse(queued.isFallback());
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> service.submit("queued", () -> 0)
+        );
+
+        service.shutdown();
+    }
+
+    @Test
+    public void testAutonomousSealsService() {
+        PreparationService service = new PreparationService(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Preparation<String> path = service.submit("path", () -> {
+            release.await();
+            return "path";
+        }, () -> "fallback");
+        MultiModeManager manager = new MultiModeManager(new HashMap<>());
+
+        ArrayList<Mode> autonomous = new ArrayList<>();
+
+        autonomous.add(new LinearMode(() -> {
+
+        }));
+        manager.addMode(Modes.AUTONOMOUS, new ModeExecutor(autonomous));
+        manager.setPreparation(service);
+        manager.activateMode(Modes.AUTONOMOUS);
+        release.countDown();
+
+        Assertions.assertTrue(path.isResolved());
+        Assertions.assertEquals("fallback", path.get());
+
+        service.shutdown();
+    }
+}